@@ -1,5 +1,7 @@
 package com.reviewdashboard;
 
+import com.reviewdashboard.batch.AggregateRebuildCommand;
+import java.util.Arrays;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
@@ -30,9 +32,16 @@ public class ReviewDashBoardApplication {
    * The main method which uses Spring Boot's {@link SpringApplication#run} to launch the
    * application.
    *
+   * <p>If the first argument is {@value AggregateRebuildCommand#NAME}, the offline {@link
+   * AggregateRebuildCommand} runs instead and the JVM exits with its status.
+   *
    * @param args Command line arguments passed to the application.
    */
   public static void main(final String[] args) {
+    if (args.length > 0 && AggregateRebuildCommand.NAME.equals(args[0])) {
+      System.exit(
+          AggregateRebuildCommand.run(Arrays.copyOfRange(args, 1, args.length), System.out));
+    }
     SpringApplication.run(ReviewDashBoardApplication.class, args);
   }
 }
@@ -0,0 +1,133 @@
+package com.reviewdashboard.batch;
+
+import com.reviewdashboard.service.AggregateSnapshot;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds the per-product and per-company aggregate snapshot from NDJSON review dumps.
+ *
+ * <p>Run from the application JAR without starting the web server:
+ *
+ * <pre>
+ * java -jar review-dashboard-1.0.0.jar rebuild-aggregates \
+ *     [--output data/aggregates.snapshot] [--parallelism N] [--chunk-mb 16] dump.ndjson ...
+ * </pre>
+ *
+ * Inputs may be files or directories; a directory contributes its {@code .ndjson} and {@code
+ * .jsonl} files. The snapshot is written atomically, and the service picks it up on its next start.
+ */
+public final class AggregateRebuildCommand {
+
+  /** The first command-line argument that selects this command. */
+  public static final String NAME = "rebuild-aggregates";
+
+  private static final String USAGE =
+      "Usage: "
+          + NAME
+          + " [--output <file>] [--parallelism <n>] [--chunk-mb <n>] <dump file or dir>...";
+
+  private AggregateRebuildCommand() {
+    // no-ops
+  }
+
+  /**
+   * Runs the command.
+   *
+   * @param args The arguments following the command name.
+   * @param out Where the summary and errors are printed.
+   * @return The process exit code: {@code 0} on success, {@code 1} if a file cannot be read or
+   *     written, {@code 2} on invalid arguments.
+   */
+  public static int run(String[] args, PrintStream out) {
+    Path output = Paths.get("data", "aggregates.snapshot");
+    int parallelism = Runtime.getRuntime().availableProcessors();
+    long chunkBytes = 16L << 20;
+    List<Path> inputs = new ArrayList<>();
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--output" -> output = Paths.get(value(args, ++i));
+          case "--parallelism" -> parallelism = Integer.parseInt(value(args, ++i));
+          case "--chunk-mb" -> chunkBytes = Long.parseLong(value(args, ++i)) << 20;
+          default -> inputs.add(Paths.get(args[i]));
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      out.println(e.getMessage());
+      out.println(USAGE);
+      return 2;
+    }
+    if (inputs.isEmpty() || parallelism < 1 || chunkBytes < 1) {
+      out.println(USAGE);
+      return 2;
+    }
+
+    try {
+      List<Path> files = expand(inputs);
+      long started = System.nanoTime();
+      ReviewDumpAggregator.Result result =
+          new ReviewDumpAggregator(parallelism, chunkBytes).aggregate(files);
+      AggregateSnapshot.write(
+          output, System.currentTimeMillis(), result.getProducts(), result.getCompanies());
+      double seconds = Math.max(1e-9, (System.nanoTime() - started) / 1e9);
+      out.printf(
+          Locale.ROOT,
+          "Aggregated %d reviews (%d malformed of %d lines) from %d files: %d products, "
+              + "%d companies in %.2f s (%.0f MB/s, %.0f reviews/s) -> %s%n",
+          result.getReviews(),
+          result.getMalformed(),
+          result.getLines(),
+          result.getFiles(),
+          result.getProducts().size(),
+          result.getCompanies().size(),
+          seconds,
+          result.getBytes() / 1e6 / seconds,
+          result.getReviews() / seconds,
+          output);
+      return 0;
+    } catch (IOException e) {
+      out.println("Failed to rebuild aggregates: " + e);
+      return 1;
+    }
+  }
+
+  private static String value(String[] args, int index) {
+    if (index >= args.length) {
+      throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+    }
+    return args[index];
+  }
+
+  private static List<Path> expand(List<Path> inputs) throws IOException {
+    List<Path> files = new ArrayList<>();
+    for (Path input : inputs) {
+      if (!Files.isDirectory(input)) {
+        if (!Files.isRegularFile(input)) {
+          throw new IOException("No such dump file: " + input);
+        }
+        files.add(input);
+        continue;
+      }
+      try (Stream<Path> listing = Files.list(input)) {
+        listing
+            .filter(Files::isRegularFile)
+            .filter(
+                file -> {
+                  String name = file.getFileName().toString();
+                  return name.endsWith(".ndjson") || name.endsWith(".jsonl");
+                })
+            .sorted()
+            .forEach(files::add);
+      }
+    }
+    return files;
+  }
+}
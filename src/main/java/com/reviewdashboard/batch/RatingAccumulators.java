@@ -0,0 +1,194 @@
+package com.reviewdashboard.batch;
+
+import com.reviewdashboard.model.RatingAggregate;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Count, sum, min and max of ratings per key, held in primitive arrays.
+ *
+ * <p>Keys are UTF-8 byte strings looked up in an open-addressing table straight from the input
+ * buffer, so adding a rating allocates nothing unless the key is new. Not thread-safe: each
+ * fork-join task fills its own instance and the results are merged.
+ */
+final class RatingAccumulators {
+
+  private static final int NO_ENTRY = -1;
+
+  private int[] table;
+  private int mask;
+  private int size;
+  private int[] hashes;
+  private int[] keyOffsets;
+  private int[] keyLengths;
+  private byte[] keys;
+  private int keyBytes;
+  private long[] counts;
+  private double[] sums;
+  private double[] mins;
+  private double[] maxes;
+
+  RatingAccumulators() {
+    table = new int[64];
+    Arrays.fill(table, NO_ENTRY);
+    mask = table.length - 1;
+    int capacity = table.length / 2;
+    hashes = new int[capacity];
+    keyOffsets = new int[capacity];
+    keyLengths = new int[capacity];
+    keys = new byte[capacity * 16];
+    counts = new long[capacity];
+    sums = new double[capacity];
+    mins = new double[capacity];
+    maxes = new double[capacity];
+  }
+
+  /** Returns the number of distinct keys. */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Adds one rating for the key held in {@code source[from, to)}.
+   *
+   * @param source The buffer holding the key bytes.
+   * @param from The first key byte.
+   * @param to One past the last key byte.
+   * @param rating The rating.
+   */
+  void add(ByteBuffer source, int from, int to, double rating) {
+    int hash = hash(source, from, to);
+    int entry = find(source, from, to, hash);
+    if (entry == NO_ENTRY) {
+      entry = insert(source, from, to, hash);
+      mins[entry] = rating;
+      maxes[entry] = rating;
+    } else {
+      mins[entry] = Math.min(mins[entry], rating);
+      maxes[entry] = Math.max(maxes[entry], rating);
+    }
+    counts[entry]++;
+    sums[entry] += rating;
+  }
+
+  /**
+   * Adds every key of {@code other} into this instance.
+   *
+   * @param other The accumulators to merge in; unchanged.
+   */
+  void merge(RatingAccumulators other) {
+    ByteBuffer otherKeys = ByteBuffer.wrap(other.keys);
+    for (int i = 0; i < other.size; i++) {
+      int from = other.keyOffsets[i];
+      int to = from + other.keyLengths[i];
+      int entry = find(otherKeys, from, to, other.hashes[i]);
+      if (entry == NO_ENTRY) {
+        entry = insert(otherKeys, from, to, other.hashes[i]);
+        counts[entry] = other.counts[i];
+        sums[entry] = other.sums[i];
+        mins[entry] = other.mins[i];
+        maxes[entry] = other.maxes[i];
+      } else {
+        counts[entry] += other.counts[i];
+        sums[entry] += other.sums[i];
+        mins[entry] = Math.min(mins[entry], other.mins[i]);
+        maxes[entry] = Math.max(maxes[entry], other.maxes[i]);
+      }
+    }
+  }
+
+  /**
+   * Copies the accumulators into aggregates keyed by the decoded keys.
+   *
+   * @return The aggregates.
+   */
+  Map<String, RatingAggregate> toAggregates() {
+    Map<String, RatingAggregate> aggregates = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+    for (int i = 0; i < size; i++) {
+      aggregates.put(
+          new String(keys, keyOffsets[i], keyLengths[i], StandardCharsets.UTF_8),
+          new RatingAggregate(counts[i], sums[i], mins[i], maxes[i]));
+    }
+    return aggregates;
+  }
+
+  private int find(ByteBuffer source, int from, int to, int hash) {
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == NO_ENTRY) {
+        return NO_ENTRY;
+      }
+      if (hashes[entry] == hash && keyEquals(entry, source, from, to)) {
+        return entry;
+      }
+    }
+  }
+
+  private int insert(ByteBuffer source, int from, int to, int hash) {
+    if (size == hashes.length) {
+      grow();
+    }
+    int length = to - from;
+    if (keyBytes + length > keys.length) {
+      keys = Arrays.copyOf(keys, Math.max(keys.length * 2, keyBytes + length));
+    }
+    source.get(from, keys, keyBytes, length);
+    int entry = size++;
+    hashes[entry] = hash;
+    keyOffsets[entry] = keyBytes;
+    keyLengths[entry] = length;
+    keyBytes += length;
+    place(entry);
+    return entry;
+  }
+
+  private void place(int entry) {
+    int slot = hashes[entry] & mask;
+    while (table[slot] != NO_ENTRY) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = entry;
+  }
+
+  private void grow() {
+    int capacity = hashes.length * 2;
+    hashes = Arrays.copyOf(hashes, capacity);
+    keyOffsets = Arrays.copyOf(keyOffsets, capacity);
+    keyLengths = Arrays.copyOf(keyLengths, capacity);
+    counts = Arrays.copyOf(counts, capacity);
+    sums = Arrays.copyOf(sums, capacity);
+    mins = Arrays.copyOf(mins, capacity);
+    maxes = Arrays.copyOf(maxes, capacity);
+    table = new int[capacity * 2];
+    Arrays.fill(table, NO_ENTRY);
+    mask = table.length - 1;
+    for (int entry = 0; entry < size; entry++) {
+      place(entry);
+    }
+  }
+
+  private boolean keyEquals(int entry, ByteBuffer source, int from, int to) {
+    int length = keyLengths[entry];
+    if (length != to - from) {
+      return false;
+    }
+    int offset = keyOffsets[entry];
+    for (int i = 0; i < length; i++) {
+      if (keys[offset + i] != source.get(from + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int hash(ByteBuffer source, int from, int to) {
+    int hash = 0x811c9dc5;
+    for (int i = from; i < to; i++) {
+      hash = (hash ^ source.get(i)) * 0x01000193;
+    }
+    return hash ^ (hash >>> 16);
+  }
+}
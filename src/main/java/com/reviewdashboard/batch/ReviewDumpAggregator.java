@@ -0,0 +1,537 @@
+package com.reviewdashboard.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reviewdashboard.model.RatingAggregate;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Aggregates ratings per product and per company from NDJSON review dumps.
+ *
+ * <p>Each line is a {@code ReviewDto} with its {@code productId} and, optionally, its {@code
+ * companyId}, e.g. {@code {"id": "r1", "rating": 4.5, "comment": "...", "productId": "p1",
+ * "companyId": "c1"}}. Files are split into chunks that are memory-mapped and parsed in parallel on
+ * a {@link ForkJoinPool}; a chunk owns the lines that start inside it. Each task parses its chunk
+ * straight from the mapped bytes into its own {@link RatingAccumulators}, and the partial results
+ * are merged as the tasks join, so workers share nothing while parsing and throughput scales with
+ * the cores and the disk.
+ *
+ * <p>Lines are parsed with a small scanner that only decodes the three fields it needs; lines it
+ * cannot handle, e.g. because an ID contains escapes, fall back to Jackson. Lines without a product
+ * ID or a numeric rating, or that are not valid JSON, are counted as malformed and skipped.
+ */
+public class ReviewDumpAggregator {
+
+  /** Longest line, in bytes; longer lines are counted as malformed. */
+  static final int MAX_LINE_BYTES = 1 << 20;
+
+  private static final byte[] PRODUCT_ID = "productId".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] COMPANY_ID = "companyId".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] RATING = "rating".getBytes(StandardCharsets.US_ASCII);
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18
+  };
+
+  private final int parallelism;
+  private final long chunkBytes;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Creates a new aggregator.
+   *
+   * @param parallelism The number of worker threads.
+   * @param chunkBytes The size of the chunks files are split into, between 64 KiB and 1 GiB.
+   */
+  public ReviewDumpAggregator(int parallelism, long chunkBytes) {
+    this.parallelism = Math.max(1, parallelism);
+    this.chunkBytes = Math.min(1L << 30, Math.max(1 << 16, chunkBytes));
+  }
+
+  /**
+   * Aggregates every review in the given files.
+   *
+   * @param files The NDJSON dump files.
+   * @return The aggregates and line counts.
+   * @throws IOException If a file cannot be read.
+   */
+  public Result aggregate(List<Path> files) throws IOException {
+    List<FileChannel> channels = new ArrayList<>();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      List<Chunk> chunks = new ArrayList<>();
+      long bytes = 0;
+      for (Path file : files) {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channels.add(channel);
+        long size = channel.size();
+        bytes += size;
+        for (long start = 0; start < size; start += chunkBytes) {
+          chunks.add(new Chunk(channel, start, Math.min(size, start + chunkBytes), size));
+        }
+      }
+      Partial total =
+          chunks.isEmpty() ? new Partial() : pool.invoke(new ChunkTask(chunks, 0, chunks.size()));
+      return new Result(total, files.size(), bytes);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      pool.shutdownNow();
+      for (FileChannel channel : channels) {
+        channel.close();
+      }
+    }
+  }
+
+  /** The outcome of an aggregation. */
+  public static final class Result {
+    private final Map<String, RatingAggregate> products;
+    private final Map<String, RatingAggregate> companies;
+    private final int files;
+    private final long bytes;
+    private final long lines;
+    private final long reviews;
+    private final long malformed;
+
+    private Result(Partial total, int files, long bytes) {
+      this.products = total.products.toAggregates();
+      this.companies = total.companies.toAggregates();
+      this.files = files;
+      this.bytes = bytes;
+      this.lines = total.lines;
+      this.reviews = total.reviews;
+      this.malformed = total.malformed;
+    }
+
+    /** Returns the aggregates by product ID. */
+    public Map<String, RatingAggregate> getProducts() {
+      return products;
+    }
+
+    /** Returns the aggregates by company ID. */
+    public Map<String, RatingAggregate> getCompanies() {
+      return companies;
+    }
+
+    /** Returns the number of files read. */
+    public int getFiles() {
+      return files;
+    }
+
+    /** Returns the number of bytes read. */
+    public long getBytes() {
+      return bytes;
+    }
+
+    /** Returns the number of non-blank lines. */
+    public long getLines() {
+      return lines;
+    }
+
+    /** Returns the number of reviews aggregated. */
+    public long getReviews() {
+      return reviews;
+    }
+
+    /** Returns the number of lines skipped as malformed. */
+    public long getMalformed() {
+      return malformed;
+    }
+  }
+
+  /** A byte range of a file; it owns the lines that start in {@code [start, end)}. */
+  private static final class Chunk {
+    private final FileChannel channel;
+    private final long start;
+    private final long end;
+    private final long fileSize;
+
+    private Chunk(FileChannel channel, long start, long end, long fileSize) {
+      this.channel = channel;
+      this.start = start;
+      this.end = end;
+      this.fileSize = fileSize;
+    }
+  }
+
+  /** The accumulators and counters of one or more chunks. */
+  private static final class Partial {
+    private final RatingAccumulators products = new RatingAccumulators();
+    private final RatingAccumulators companies = new RatingAccumulators();
+    private long lines;
+    private long reviews;
+    private long malformed;
+
+    private Partial merge(Partial other) {
+      Partial into = this;
+      Partial from = other;
+      if (from.products.size() > into.products.size()) {
+        into = other;
+        from = this;
+      }
+      into.products.merge(from.products);
+      into.companies.merge(from.companies);
+      into.lines += from.lines;
+      into.reviews += from.reviews;
+      into.malformed += from.malformed;
+      return into;
+    }
+  }
+
+  /** Parses a range of chunks, splitting it in halves until one chunk is left. */
+  private final class ChunkTask extends RecursiveTask<Partial> {
+    private final List<Chunk> chunks;
+    private final int from;
+    private final int to;
+
+    private ChunkTask(List<Chunk> chunks, int from, int to) {
+      this.chunks = chunks;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Partial compute() {
+      if (to - from == 1) {
+        try {
+          return new ChunkParser().parse(chunks.get(from));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      int middle = (from + to) >>> 1;
+      ChunkTask left = new ChunkTask(chunks, from, middle);
+      left.fork();
+      Partial right = new ChunkTask(chunks, middle, to).compute();
+      return left.join().merge(right);
+    }
+  }
+
+  /** Scans the lines of one chunk; holds the fields of the line being parsed. */
+  private final class ChunkParser {
+    private final Partial partial = new Partial();
+    private ByteBuffer buffer;
+    private int productFrom;
+    private int productTo;
+    private int companyFrom;
+    private int companyTo;
+    private double rating;
+    private boolean hasRating;
+
+    private Partial parse(Chunk chunk) throws IOException {
+      // Map one byte before the chunk to tell whether its first byte starts a line, and enough
+      // bytes after it to finish the last line that starts inside it.
+      long mapStart = Math.max(0, chunk.start - 1);
+      long mapEnd = Math.min(chunk.fileSize, chunk.end + MAX_LINE_BYTES);
+      buffer = chunk.channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+      int limit = (int) (mapEnd - mapStart);
+      int ownedEnd = (int) (chunk.end - mapStart);
+      int position = 0;
+      if (chunk.start > 0) {
+        while (position < limit && buffer.get(position) != '\n') {
+          position++;
+        }
+        position++;
+      }
+      while (position < ownedEnd) {
+        int lineEnd = position;
+        while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+          lineEnd++;
+        }
+        if (lineEnd == limit && mapEnd < chunk.fileSize) {
+          // The line runs past the mapped window.
+          partial.lines++;
+          partial.malformed++;
+          break;
+        }
+        int end = lineEnd > position && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+        parseLine(position, end);
+        position = lineEnd + 1;
+      }
+      return partial;
+    }
+
+    private void parseLine(int from, int to) {
+      int start = skipWhitespace(from, to);
+      if (start == to) {
+        return;
+      }
+      partial.lines++;
+      productFrom = -1;
+      companyFrom = -1;
+      hasRating = false;
+      if (!scanObject(start, to)) {
+        parseWithJackson(from, to);
+        return;
+      }
+      if (productFrom < 0 || !hasRating) {
+        partial.malformed++;
+        return;
+      }
+      partial.products.add(buffer, productFrom, productTo, rating);
+      if (companyFrom >= 0) {
+        partial.companies.add(buffer, companyFrom, companyTo, rating);
+      }
+      partial.reviews++;
+    }
+
+    /** Scans a flat JSON object; returns {@code false} if the line needs the slow path. */
+    private boolean scanObject(int from, int to) {
+      int p = from;
+      if (buffer.get(p) != '{') {
+        return false;
+      }
+      p = skipWhitespace(p + 1, to);
+      if (p < to && buffer.get(p) == '}') {
+        return skipWhitespace(p + 1, to) == to;
+      }
+      while (p < to) {
+        if (buffer.get(p) != '"') {
+          return false;
+        }
+        int keyFrom = p + 1;
+        int keyTo = endOfSimpleString(keyFrom, to);
+        if (keyTo < 0) {
+          return false;
+        }
+        p = skipWhitespace(keyTo + 1, to);
+        if (p >= to || buffer.get(p) != ':') {
+          return false;
+        }
+        p = skipWhitespace(p + 1, to);
+        if (p >= to) {
+          return false;
+        }
+        if (keyEquals(keyFrom, keyTo, PRODUCT_ID) || keyEquals(keyFrom, keyTo, COMPANY_ID)) {
+          boolean product = buffer.get(keyFrom) == 'p';
+          int valueFrom = -1;
+          int valueTo = -1;
+          if (buffer.get(p) == '"') {
+            valueFrom = p + 1;
+            valueTo = endOfSimpleString(valueFrom, to);
+            if (valueTo < 0) {
+              return false;
+            }
+            p = valueTo + 1;
+          } else if (isNull(p, to)) {
+            p += 4;
+          } else {
+            return false;
+          }
+          if (product) {
+            productFrom = valueFrom;
+            productTo = valueTo;
+          } else {
+            companyFrom = valueFrom;
+            companyTo = valueTo;
+          }
+        } else if (keyEquals(keyFrom, keyTo, RATING)) {
+          p = parseNumber(p, to);
+          if (p < 0) {
+            return false;
+          }
+        } else {
+          p = skipValue(p, to);
+          if (p < 0) {
+            return false;
+          }
+        }
+        p = skipWhitespace(p, to);
+        if (p >= to) {
+          return false;
+        }
+        byte b = buffer.get(p);
+        if (b == '}') {
+          return skipWhitespace(p + 1, to) == to;
+        }
+        if (b != ',') {
+          return false;
+        }
+        p = skipWhitespace(p + 1, to);
+      }
+      return false;
+    }
+
+    /** Parses a plain decimal number into {@link #rating}; returns the next position or -1. */
+    private int parseNumber(int from, int to) {
+      int p = from;
+      boolean negative = p < to && buffer.get(p) == '-';
+      if (negative) {
+        p++;
+      }
+      long digits = 0;
+      int significant = 0;
+      int fractionDigits = 0;
+      boolean seenDigit = false;
+      boolean fraction = false;
+      while (p < to) {
+        byte b = buffer.get(p);
+        if (b >= '0' && b <= '9') {
+          seenDigit = true;
+          if (significant < 18 && fractionDigits < 18) {
+            digits = digits * 10 + (b - '0');
+            if (digits > 0) {
+              significant++;
+            }
+            if (fraction) {
+              fractionDigits++;
+            }
+          } else if (!fraction) {
+            // Too large for a long; leave it to the slow path.
+            return -1;
+          }
+        } else if (b == '.' && !fraction) {
+          fraction = true;
+        } else if (b == 'e' || b == 'E') {
+          return -1;
+        } else {
+          break;
+        }
+        p++;
+      }
+      if (!seenDigit) {
+        return -1;
+      }
+      double value = digits / POWERS_OF_TEN[fractionDigits];
+      rating = negative ? -value : value;
+      hasRating = true;
+      return p;
+    }
+
+    /** Returns the position after the value starting at {@code from}, or -1 if malformed. */
+    private int skipValue(int from, int to) {
+      byte first = buffer.get(from);
+      if (first == '"') {
+        int p = from + 1;
+        while (p < to) {
+          byte b = buffer.get(p);
+          if (b == '\\') {
+            p += 2;
+          } else if (b == '"') {
+            return p + 1;
+          } else {
+            p++;
+          }
+        }
+        return -1;
+      }
+      if (first == '{' || first == '[') {
+        int depth = 0;
+        int p = from;
+        while (p < to) {
+          byte b = buffer.get(p);
+          if (b == '"') {
+            p = skipValue(p, to);
+            if (p < 0) {
+              return -1;
+            }
+            continue;
+          }
+          if (b == '{' || b == '[') {
+            depth++;
+          } else if (b == '}' || b == ']') {
+            depth--;
+            if (depth == 0) {
+              return p + 1;
+            }
+          }
+          p++;
+        }
+        return -1;
+      }
+      int p = from;
+      while (p < to) {
+        byte b = buffer.get(p);
+        if (b == ',' || b == '}' || b == ']' || b == ' ' || b == '\t') {
+          break;
+        }
+        p++;
+      }
+      return p > from ? p : -1;
+    }
+
+    /** Returns the position of the closing quote of a string without escapes, or -1. */
+    private int endOfSimpleString(int from, int to) {
+      for (int p = from; p < to; p++) {
+        byte b = buffer.get(p);
+        if (b == '"') {
+          return p;
+        }
+        if (b == '\\') {
+          return -1;
+        }
+      }
+      return -1;
+    }
+
+    private boolean keyEquals(int from, int to, byte[] key) {
+      if (to - from != key.length) {
+        return false;
+      }
+      for (int i = 0; i < key.length; i++) {
+        if (buffer.get(from + i) != key[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean isNull(int p, int to) {
+      return p + 4 <= to
+          && buffer.get(p) == 'n'
+          && buffer.get(p + 1) == 'u'
+          && buffer.get(p + 2) == 'l'
+          && buffer.get(p + 3) == 'l';
+    }
+
+    private int skipWhitespace(int from, int to) {
+      int p = from;
+      while (p < to) {
+        byte b = buffer.get(p);
+        if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+          break;
+        }
+        p++;
+      }
+      return p;
+    }
+
+    /** Parses a line the scanner gave up on with Jackson, decoding escaped IDs. */
+    private void parseWithJackson(int from, int to) {
+      byte[] line = new byte[to - from];
+      buffer.get(from, line);
+      JsonNode node;
+      try {
+        node = objectMapper.readTree(line);
+      } catch (IOException e) {
+        node = null;
+      }
+      JsonNode product = node != null && node.isObject() ? node.get("productId") : null;
+      JsonNode value = node != null && node.isObject() ? node.get("rating") : null;
+      if (product == null || !product.isTextual() || value == null || !value.isNumber()) {
+        partial.malformed++;
+        return;
+      }
+      double parsed = value.asDouble();
+      byte[] productId = product.asText().getBytes(StandardCharsets.UTF_8);
+      partial.products.add(ByteBuffer.wrap(productId), 0, productId.length, parsed);
+      JsonNode company = node.get("companyId");
+      if (company != null && company.isTextual()) {
+        byte[] companyId = company.asText().getBytes(StandardCharsets.UTF_8);
+        partial.companies.add(ByteBuffer.wrap(companyId), 0, companyId.length, parsed);
+      }
+      partial.reviews++;
+    }
+  }
+}
@@ -0,0 +1,2 @@
+/** Offline batch commands packaged with the application, run without starting the web server. */
+package com.reviewdashboard.batch;
@@ -0,0 +1,145 @@
+package com.reviewdashboard.client;
+
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * A Feign {@link Retryer} with exponential backoff, full jitter, a per-call deadline and a shared
+ * {@link RetryBudget}.
+ *
+ * <p>Feign clones the configured retryer once per call, so the clone tracks the attempt number and
+ * the call's deadline, and doubles as the hook that deposits into the budget. A failed attempt is
+ * retried only if all of the following hold:
+ *
+ * <ul>
+ *   <li>the request is safe to repeat: a {@code GET}/{@code HEAD}, or a write carrying an {@value
+ *       #IDEMPOTENCY_KEY_HEADER} header;
+ *   <li>fewer than {@code maxAttempts} attempts have been made;
+ *   <li>the backoff (or the upstream's {@code Retry-After}, if later) ends before the deadline;
+ *   <li>the shared budget has a token to spend.
+ * </ul>
+ */
+public class BudgetedRetryer implements Retryer {
+
+  /** Header that marks a non-idempotent request as safe to retry. */
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+  private final RetryBudget budget;
+  private final int maxAttempts;
+  private final long baseBackoffMillis;
+  private final long maxBackoffMillis;
+  private final long maxElapsedMillis;
+  private final LongSupplier clock;
+  private final long deadlineMillis;
+  private int attempt = 1;
+
+  /**
+   * Creates a retryer template; Feign clones it for each call.
+   *
+   * @param budget The budget shared by all calls.
+   * @param maxAttempts The maximum number of attempts per call, including the first.
+   * @param baseBackoffMillis The backoff cap before the first retry; doubled on each retry.
+   * @param maxBackoffMillis The upper bound of the backoff cap.
+   * @param maxElapsedMillis The time after the call started beyond which no retry is attempted.
+   */
+  public BudgetedRetryer(
+      RetryBudget budget,
+      int maxAttempts,
+      long baseBackoffMillis,
+      long maxBackoffMillis,
+      long maxElapsedMillis) {
+    this(
+        budget,
+        maxAttempts,
+        baseBackoffMillis,
+        maxBackoffMillis,
+        maxElapsedMillis,
+        System::currentTimeMillis);
+  }
+
+  BudgetedRetryer(
+      RetryBudget budget,
+      int maxAttempts,
+      long baseBackoffMillis,
+      long maxBackoffMillis,
+      long maxElapsedMillis,
+      LongSupplier clock) {
+    this.budget = budget;
+    this.maxAttempts = maxAttempts;
+    this.baseBackoffMillis = baseBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+    this.maxElapsedMillis = maxElapsedMillis;
+    this.clock = clock;
+    this.deadlineMillis = clock.getAsLong() + maxElapsedMillis;
+  }
+
+  @Override
+  public void continueOrPropagate(RetryableException e) {
+    if (attempt >= maxAttempts || !isRetrySafe(e.method(), e.hasRequest() ? e.request() : null)) {
+      throw e;
+    }
+    long now = clock.getAsLong();
+    long backoff = backoffMillis(attempt);
+    Long retryAfter = e.retryAfter();
+    if (retryAfter != null) {
+      backoff = Math.max(backoff, retryAfter - now);
+    }
+    if (now + backoff > deadlineMillis || !budget.tryWithdraw()) {
+      throw e;
+    }
+    attempt++;
+    try {
+      Thread.sleep(backoff);
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw e;
+    }
+  }
+
+  @Override
+  public Retryer clone() {
+    budget.deposit();
+    return new BudgetedRetryer(
+        budget, maxAttempts, baseBackoffMillis, maxBackoffMillis, maxElapsedMillis, clock);
+  }
+
+  /**
+   * Returns a random backoff in {@code [0, min(maxBackoff, base * 2^(attempt - 1))]}.
+   *
+   * @param attempt The number of attempts made so far, starting at 1.
+   * @return The backoff in milliseconds.
+   */
+  long backoffMillis(int attempt) {
+    int shift = Math.min(attempt - 1, 30);
+    long cap = Math.min(maxBackoffMillis, baseBackoffMillis << shift);
+    return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+  }
+
+  /**
+   * Returns whether a request may be sent again without risking a duplicate side effect.
+   *
+   * @param method The HTTP method; may be {@code null} if unknown.
+   * @param request The request, used to look for an idempotency key; may be {@code null}.
+   * @return {@code true} for reads and for writes carrying an idempotency key.
+   */
+  static boolean isRetrySafe(Request.HttpMethod method, Request request) {
+    if (method == Request.HttpMethod.GET || method == Request.HttpMethod.HEAD) {
+      return true;
+    }
+    if (request == null) {
+      return false;
+    }
+    for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+      if (IDEMPOTENCY_KEY_HEADER.equalsIgnoreCase(header.getKey())
+          && !header.getValue().isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
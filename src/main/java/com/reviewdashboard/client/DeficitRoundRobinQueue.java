@@ -0,0 +1,138 @@
+package com.reviewdashboard.client;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A multi-flow queue that dequeues items in deficit-round-robin (DRR) order.
+ *
+ * <p>Items are grouped into flows by key. Every time a flow reaches the head of the round it is
+ * credited with its weight, and it may dequeue one item per credit before the round moves on to the
+ * next flow. A flow with weight 3 therefore gets three dispatches for every one given to a flow
+ * with weight 1, while a flow with a single pending item is never stuck behind a long backlog from
+ * another flow.
+ *
+ * <p>This class is not thread-safe; callers must provide their own locking.
+ *
+ * @param <T> The type of queued item.
+ */
+public class DeficitRoundRobinQueue<T> {
+
+  private final Map<String, Flow<T>> flows = new HashMap<>();
+  private final ArrayDeque<Flow<T>> activeFlows = new ArrayDeque<>();
+  private final Map<String, Integer> weights;
+  private final int defaultWeight;
+  private int size;
+
+  /**
+   * Creates a new queue.
+   *
+   * @param weights Per-key weights; keys not present use {@code defaultWeight}.
+   * @param defaultWeight The weight of flows without an explicit weight. Must be at least 1.
+   */
+  public DeficitRoundRobinQueue(Map<String, Integer> weights, int defaultWeight) {
+    if (defaultWeight < 1) {
+      throw new IllegalArgumentException("defaultWeight must be at least 1");
+    }
+    this.weights = Map.copyOf(weights);
+    this.defaultWeight = defaultWeight;
+  }
+
+  /**
+   * Appends an item to the flow identified by {@code key}.
+   *
+   * @param key The flow key, e.g. a user ID.
+   * @param item The item to enqueue.
+   */
+  public void offer(String key, T item) {
+    Flow<T> flow = flows.get(key);
+    if (flow == null) {
+      flow = new Flow<>(key, Math.max(1, weights.getOrDefault(key, defaultWeight)));
+      flows.put(key, flow);
+      activeFlows.addLast(flow);
+    }
+    flow.items.addLast(item);
+    size++;
+  }
+
+  /**
+   * Removes and returns the next item in DRR order.
+   *
+   * @return The next item, or {@code null} if the queue is empty.
+   */
+  public T poll() {
+    Flow<T> flow = activeFlows.peekFirst();
+    if (flow == null) {
+      return null;
+    }
+    if (flow.deficit == 0) {
+      flow.deficit = flow.weight;
+    }
+    T item = flow.items.pollFirst();
+    flow.deficit--;
+    size--;
+    if (flow.items.isEmpty()) {
+      retire(flow);
+    } else if (flow.deficit == 0) {
+      activeFlows.addLast(activeFlows.pollFirst());
+    }
+    return item;
+  }
+
+  /**
+   * Removes a specific item from the flow identified by {@code key}, e.g. after its owner gave up
+   * waiting.
+   *
+   * @param key The flow key the item was offered under.
+   * @param item The item to remove.
+   * @return {@code true} if the item was found and removed.
+   */
+  public boolean remove(String key, T item) {
+    Flow<T> flow = flows.get(key);
+    if (flow == null || !flow.items.remove(item)) {
+      return false;
+    }
+    size--;
+    if (flow.items.isEmpty()) {
+      retire(flow);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the total number of queued items across all flows.
+   *
+   * @return The queue depth.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of flows that currently have pending items.
+   *
+   * @return The number of active flows.
+   */
+  public int activeFlowCount() {
+    return activeFlows.size();
+  }
+
+  private void retire(Flow<T> flow) {
+    activeFlows.remove(flow);
+    flows.remove(flow.key);
+  }
+
+  /** Per-key FIFO with its DRR weight and remaining credit for the current round. */
+  private static final class Flow<T> {
+    private final String key;
+    private final int weight;
+    private final ArrayDeque<T> items = new ArrayDeque<>();
+    private int deficit;
+
+    private Flow(String key, int weight) {
+      this.key = key;
+      this.weight = weight;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.reviewdashboard.client;
+
+import feign.Capability;
+import feign.Client;
+
+/**
+ * A Feign {@link Capability} that wraps each client's HTTP {@link Client} in a {@link
+ * FairSchedulingClient}.
+ *
+ * <p>Feign invokes {@link #enrich(Client)} reflectively, so this must be a public named class; an
+ * anonymous class's methods are not accessible to it.
+ */
+public class FairSchedulingCapability implements Capability {
+
+  private final FairUpstreamScheduler scheduler;
+
+  /**
+   * Creates the capability.
+   *
+   * @param scheduler The scheduler that admits upstream calls.
+   */
+  public FairSchedulingCapability(FairUpstreamScheduler scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public Client enrich(Client client) {
+    return new FairSchedulingClient(client, scheduler);
+  }
+}
@@ -0,0 +1,61 @@
+package com.reviewdashboard.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A Feign {@link Client} decorator that admits each outgoing request through a {@link
+ * FairUpstreamScheduler}, keyed by the request's {@code X-User-Id} header.
+ */
+public class FairSchedulingClient implements Client {
+
+  /** Flow key used for requests that carry no user header, e.g. user creation. */
+  static final String ANONYMOUS = "anonymous";
+
+  private final Client delegate;
+  private final FairUpstreamScheduler scheduler;
+
+  /**
+   * Creates a new scheduling client.
+   *
+   * @param delegate The client that performs the actual HTTP call.
+   * @param scheduler The scheduler that admits calls.
+   */
+  public FairSchedulingClient(Client delegate, FairUpstreamScheduler scheduler) {
+    this.delegate = delegate;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public Response execute(Request request, Request.Options options) throws IOException {
+    try {
+      scheduler.acquire(userKey(request));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for an upstream slot");
+    }
+    try {
+      return delegate.execute(request, options);
+    } finally {
+      scheduler.release();
+    }
+  }
+
+  static String userKey(Request request) {
+    for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+      if ("X-User-Id".equalsIgnoreCase(header.getKey())) {
+        for (String value : header.getValue()) {
+          if (value != null && !value.isBlank()) {
+            return value;
+          }
+        }
+      }
+    }
+    return ANONYMOUS;
+  }
+}
@@ -0,0 +1,174 @@
+package com.reviewdashboard.client;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits upstream calls fairly across users.
+ *
+ * <p>At most {@code maxConcurrency} upstream calls run at once. Callers that find no free slot are
+ * parked in a per-user queue, and when a slot frees up the next waiter is chosen in
+ * deficit-round-robin order (see {@link DeficitRoundRobinQueue}), so a burst from one heavy user
+ * cannot starve users with a single pending call. The total number of parked callers is bounded by
+ * {@code maxQueueDepth}; callers beyond that, or callers that wait longer than {@code maxWait}, are
+ * rejected with an {@link UpstreamRejectedException}.
+ *
+ * <p>The admitted call runs on the caller's own thread, so no executor hand-off is needed and the
+ * request context is preserved.
+ */
+public class FairUpstreamScheduler {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final DeficitRoundRobinQueue<Waiter> queue;
+  private final int maxConcurrency;
+  private final int maxQueueDepth;
+  private final long maxWaitNanos;
+  private final LongAdder rejected = new LongAdder();
+  private int inFlight;
+
+  /**
+   * Creates a new scheduler.
+   *
+   * @param maxConcurrency The maximum number of concurrent upstream calls.
+   * @param maxQueueDepth The maximum number of callers waiting for a slot, across all users.
+   * @param maxWaitMillis How long a caller may wait for a slot before being rejected.
+   * @param weights Per-user DRR weights; users not listed get {@code defaultWeight}.
+   * @param defaultWeight The DRR weight of users without an explicit weight.
+   */
+  public FairUpstreamScheduler(
+      int maxConcurrency,
+      int maxQueueDepth,
+      long maxWaitMillis,
+      Map<String, Integer> weights,
+      int defaultWeight) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be at least 1");
+    }
+    this.maxConcurrency = maxConcurrency;
+    this.maxQueueDepth = Math.max(0, maxQueueDepth);
+    this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    this.queue = new DeficitRoundRobinQueue<>(weights, defaultWeight);
+  }
+
+  /**
+   * Blocks until the caller may issue an upstream call on behalf of {@code userKey}.
+   *
+   * <p>Every successful call must be paired with exactly one {@link #release()}.
+   *
+   * @param userKey The user the call is made for.
+   * @throws InterruptedException If the caller is interrupted while waiting.
+   * @throws UpstreamRejectedException If the queue is full or the wait times out.
+   */
+  public void acquire(String userKey) throws InterruptedException {
+    Waiter waiter;
+    lock.lock();
+    try {
+      if (inFlight < maxConcurrency && queue.size() == 0) {
+        inFlight++;
+        return;
+      }
+      if (queue.size() >= maxQueueDepth) {
+        rejected.increment();
+        throw new UpstreamRejectedException("Upstream queue is full, please retry later");
+      }
+      waiter = new Waiter(lock.newCondition());
+      queue.offer(userKey, waiter);
+
+      long remaining = maxWaitNanos;
+      while (!waiter.granted) {
+        if (remaining <= 0L) {
+          queue.remove(userKey, waiter);
+          rejected.increment();
+          throw new UpstreamRejectedException("Timed out waiting for an upstream slot");
+        }
+        try {
+          remaining = waiter.signal.awaitNanos(remaining);
+        } catch (InterruptedException e) {
+          if (waiter.granted) {
+            // The slot was handed over concurrently; give it back before bailing out.
+            inFlight--;
+            dispatch();
+          } else {
+            queue.remove(userKey, waiter);
+          }
+          throw e;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns a slot taken by {@link #acquire(String)} and hands it to the next waiter, if any. */
+  public void release() {
+    lock.lock();
+    try {
+      inFlight--;
+      dispatch();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of callers currently waiting for a slot.
+   *
+   * @return The queue depth.
+   */
+  public int queueDepth() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of upstream calls currently admitted.
+   *
+   * @return The number of in-flight calls.
+   */
+  public int inFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of calls rejected since startup.
+   *
+   * @return The rejection count.
+   */
+  public long rejectedCount() {
+    return rejected.sum();
+  }
+
+  private void dispatch() {
+    while (inFlight < maxConcurrency) {
+      Waiter next = queue.poll();
+      if (next == null) {
+        return;
+      }
+      inFlight++;
+      next.granted = true;
+      next.signal.signal();
+    }
+  }
+
+  /** A parked caller. Guarded by {@link #lock}. */
+  private static final class Waiter {
+    private final Condition signal;
+    private boolean granted;
+
+    private Waiter(Condition signal) {
+      this.signal = signal;
+    }
+  }
+}
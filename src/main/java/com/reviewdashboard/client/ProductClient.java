@@ -32,6 +32,25 @@ public interface ProductClient {
       @RequestBody ReviewDto review,
       @RequestHeader("X-User-Id") String userId);
 
+  /**
+   * Submits a new review for a specific product, forwarding the caller's idempotency key.
+   *
+   * <p>The key lets the upstream deduplicate the write and marks the call as safe to retry (see
+   * {@link BudgetedRetryer}).
+   *
+   * @param productId The unique identifier of the product being reviewed.
+   * @param review The review data to be posted.
+   * @param userId The user ID for authentication.
+   * @param idempotencyKey The client-supplied idempotency key.
+   * @return The created {@link ReviewDto} as confirmed by the service.
+   */
+  @PostMapping("/{productId}/reviews")
+  ReviewDto postReview(
+      @PathVariable("productId") String productId,
+      @RequestBody ReviewDto review,
+      @RequestHeader("X-User-Id") String userId,
+      @RequestHeader(BudgetedRetryer.IDEMPOTENCY_KEY_HEADER) String idempotencyKey);
+
   /**
    * Retrieves the average rating for a specific product by its ID.
    *
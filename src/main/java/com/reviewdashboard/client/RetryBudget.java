@@ -0,0 +1,114 @@
+package com.reviewdashboard.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A token bucket that caps retries to a fraction of the request volume.
+ *
+ * <p>Every upstream request deposits {@code ratio} tokens and every retry withdraws one, so over
+ * time retries cannot exceed {@code ratio} of requests. The balance is capped at {@code maxTokens},
+ * which also bounds the burst of retries allowed after a quiet period. When the upstream is down
+ * and every call fails, the bucket drains quickly and further failures are returned immediately
+ * instead of multiplying the load on the recovering service.
+ *
+ * <p>The budget is shared by all Feign clients and is safe for concurrent use.
+ */
+public class RetryBudget implements MeterBinder {
+
+  /** Fixed-point scale so fractional deposits can be tracked in a single {@code long}. */
+  private static final long SCALE = 1_000L;
+
+  private final long depositPerRequest;
+  private final long maxBalance;
+  private final AtomicLong balance;
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder exhausted = new LongAdder();
+
+  /**
+   * Creates a full budget.
+   *
+   * @param ratio The fraction of requests that may be retried, e.g. {@code 0.1}.
+   * @param maxTokens The maximum number of retries that can be banked.
+   */
+  public RetryBudget(double ratio, int maxTokens) {
+    if (ratio < 0d || maxTokens < 0) {
+      throw new IllegalArgumentException("ratio and maxTokens must not be negative");
+    }
+    this.depositPerRequest = Math.round(ratio * SCALE);
+    this.maxBalance = maxTokens * SCALE;
+    this.balance = new AtomicLong(maxBalance);
+  }
+
+  /** Records an upstream request, earning {@code ratio} retry tokens. */
+  public void deposit() {
+    long current;
+    long next;
+    do {
+      current = balance.get();
+      next = Math.min(maxBalance, current + depositPerRequest);
+    } while (next != current && !balance.compareAndSet(current, next));
+  }
+
+  /**
+   * Attempts to spend one token on a retry.
+   *
+   * @return {@code true} if the retry may proceed.
+   */
+  public boolean tryWithdraw() {
+    long current;
+    do {
+      current = balance.get();
+      if (current < SCALE) {
+        exhausted.increment();
+        return false;
+      }
+    } while (!balance.compareAndSet(current, current - SCALE));
+    retries.increment();
+    return true;
+  }
+
+  /**
+   * Returns the number of whole retry tokens currently available.
+   *
+   * @return The available tokens.
+   */
+  public double availableTokens() {
+    return (double) balance.get() / SCALE;
+  }
+
+  /**
+   * Returns the number of retries allowed since startup.
+   *
+   * @return The retry count.
+   */
+  public long retryCount() {
+    return retries.sum();
+  }
+
+  /**
+   * Returns the number of retries refused because the budget was empty.
+   *
+   * @return The refusal count.
+   */
+  public long exhaustedCount() {
+    return exhausted.sum();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("upstream.retry.budget.tokens", this, RetryBudget::availableTokens)
+        .description("Retry tokens currently available")
+        .register(registry);
+    FunctionCounter.builder("upstream.retries", retries, LongAdder::sum)
+        .description("Upstream retries performed")
+        .register(registry);
+    FunctionCounter.builder("upstream.retry.budget.exhausted", exhausted, LongAdder::sum)
+        .description("Retries skipped because the retry budget was empty")
+        .register(registry);
+  }
+}
@@ -0,0 +1,121 @@
+package com.reviewdashboard.client;
+
+import feign.Capability;
+import feign.Client;
+import feign.Retryer;
+import feign.codec.ErrorDecoder;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Shared configuration applied to every Feign client.
+ *
+ * <p>Spring Cloud OpenFeign picks up {@link Capability} beans from the application context and
+ * applies them to each client it builds, which lets us decorate the underlying HTTP {@link Client}
+ * without redefining it. {@link Retryer} and {@link ErrorDecoder} beans are picked up the same way.
+ */
+@Configuration
+public class UpstreamClientConfiguration {
+
+  /**
+   * The scheduler that shares upstream concurrency fairly between users.
+   *
+   * @param maxConcurrency The maximum number of concurrent upstream calls.
+   * @param maxQueueDepth The maximum number of calls waiting for a slot.
+   * @param maxWaitMillis How long a call may wait for a slot.
+   * @param weights Comma-separated {@code userId:weight} pairs.
+   * @param defaultWeight The weight of users not listed in {@code weights}.
+   * @return The scheduler.
+   */
+  @Bean
+  public FairUpstreamScheduler fairUpstreamScheduler(
+      @Value("${upstream.scheduler.max-concurrency:64}") int maxConcurrency,
+      @Value("${upstream.scheduler.max-queue-depth:1000}") int maxQueueDepth,
+      @Value("${upstream.scheduler.max-wait-ms:5000}") long maxWaitMillis,
+      @Value("${upstream.scheduler.weights:}") String weights,
+      @Value("${upstream.scheduler.default-weight:1}") int defaultWeight) {
+    return new FairUpstreamScheduler(
+        maxConcurrency, maxQueueDepth, maxWaitMillis, parseWeights(weights), defaultWeight);
+  }
+
+  /**
+   * Wraps each Feign client's HTTP client in a {@link FairSchedulingClient}.
+   *
+   * @param scheduler The scheduler that admits upstream calls.
+   * @return The capability.
+   */
+  @Bean
+  public Capability fairSchedulingCapability(FairUpstreamScheduler scheduler) {
+    return new FairSchedulingCapability(scheduler);
+  }
+
+  /**
+   * The budget that caps upstream retries to a fraction of upstream requests.
+   *
+   * @param ratio The fraction of requests that may be retried.
+   * @param maxTokens The maximum number of retries that can be banked.
+   * @return The retry budget.
+   */
+  @Bean
+  public RetryBudget retryBudget(
+      @Value("${upstream.retry.budget-ratio:0.1}") double ratio,
+      @Value("${upstream.retry.budget-max-tokens:10}") int maxTokens) {
+    return new RetryBudget(ratio, maxTokens);
+  }
+
+  /**
+   * Retries idempotent upstream calls with jittered exponential backoff.
+   *
+   * @param budget The shared retry budget.
+   * @param maxAttempts The maximum attempts per call, including the first.
+   * @param baseBackoffMillis The backoff cap before the first retry.
+   * @param maxBackoffMillis The upper bound of the backoff cap.
+   * @param maxElapsedMillis The per-call deadline after which no retry is attempted.
+   * @return The retryer template.
+   */
+  @Bean
+  public Retryer upstreamRetryer(
+      RetryBudget budget,
+      @Value("${upstream.retry.max-attempts:3}") int maxAttempts,
+      @Value("${upstream.retry.base-backoff-ms:50}") long baseBackoffMillis,
+      @Value("${upstream.retry.max-backoff-ms:1000}") long maxBackoffMillis,
+      @Value("${upstream.retry.max-elapsed-ms:3000}") long maxElapsedMillis) {
+    return new BudgetedRetryer(
+        budget, maxAttempts, baseBackoffMillis, maxBackoffMillis, maxElapsedMillis);
+  }
+
+  /**
+   * Maps upstream error responses to exceptions, marking transient failures as retryable.
+   *
+   * @return The error decoder.
+   */
+  @Bean
+  public ErrorDecoder upstreamErrorDecoder() {
+    return new UpstreamErrorDecoder();
+  }
+
+  /**
+   * Parses a weight list such as {@code "partner-a:4, partner-b:2"}.
+   *
+   * @param spec The comma-separated {@code key:weight} pairs; may be blank.
+   * @return The parsed weights.
+   */
+  static Map<String, Integer> parseWeights(String spec) {
+    Map<String, Integer> weights = new HashMap<>();
+    if (spec == null || spec.isBlank()) {
+      return weights;
+    }
+    for (String entry : spec.split(",")) {
+      int sep = entry.lastIndexOf(':');
+      if (sep <= 0) {
+        throw new IllegalArgumentException("Invalid scheduler weight entry: " + entry.trim());
+      }
+      String weight = entry.substring(sep + 1).trim();
+      weights.put(entry.substring(0, sep).trim(), Integer.parseInt(weight));
+    }
+    return weights;
+  }
+}
@@ -0,0 +1,135 @@
+package com.reviewdashboard.client;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import feign.Util;
+import feign.codec.ErrorDecoder;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Decodes upstream error responses for all Feign clients.
+ *
+ * <p>Expected client-error statuses ({@code 400}, {@code 401}, {@code 403}, {@code 404}, {@code
+ * 409}) are mapped to stackless {@link UpstreamStatusException}s without reading the response body;
+ * their messages are built once per Feign method and status and then reused.
+ *
+ * <p>Transient gateway statuses ({@code 502}, {@code 503}, {@code 504}), typically returned by
+ * Cloud Run while an instance starts or is replaced, are turned into {@link RetryableException}s
+ * for requests that are safe to repeat, so {@link BudgetedRetryer} can retry them. Their {@code
+ * Retry-After} header, in seconds or as an HTTP date, is passed on so the retryer waits at least
+ * that long. Everything else is decoded by Feign's default decoder.
+ */
+public class UpstreamErrorDecoder implements ErrorDecoder {
+
+  private static final int[] EXPECTED_STATUSES = {400, 401, 403, 404, 409};
+  private static final String[] EXPECTED_REASONS = {
+    "Bad Request", "Unauthorized", "Forbidden", "Not Found", "Conflict"
+  };
+
+  private final ErrorDecoder fallback = new ErrorDecoder.Default();
+  private final ConcurrentMap<String, String[]> messages = new ConcurrentHashMap<>();
+  private final LongSupplier clock;
+
+  /** Creates a decoder that uses the system clock. */
+  public UpstreamErrorDecoder() {
+    this(System::currentTimeMillis);
+  }
+
+  UpstreamErrorDecoder(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public Exception decode(String methodKey, Response response) {
+    int expected = expectedIndex(response.status());
+    if (expected >= 0 && response.request() != null) {
+      return new UpstreamStatusException(
+          response.status(), message(methodKey, expected), response.request());
+    }
+    Exception decoded = fallback.decode(methodKey, response);
+    Request request = response.request();
+    if (!isTransient(response.status())
+        || !(decoded instanceof FeignException)
+        || request == null
+        || !BudgetedRetryer.isRetrySafe(request.httpMethod(), request)) {
+      return decoded;
+    }
+    // The default decoder already wraps responses with a Retry-After; keep its FeignException.
+    Throwable cause =
+        decoded instanceof RetryableException && decoded.getCause() != null
+            ? decoded.getCause()
+            : decoded;
+    return new RetryableException(
+        response.status(),
+        decoded.getMessage(),
+        request.httpMethod(),
+        cause,
+        retryAfter(response),
+        request);
+  }
+
+  /**
+   * Returns when a response's {@code Retry-After} header allows the request to be retried.
+   *
+   * @param response The response.
+   * @return The time in epoch milliseconds, or {@code null} if the header is absent or invalid.
+   */
+  Long retryAfter(Response response) {
+    Collection<String> values =
+        response.headers() == null ? null : response.headers().get(Util.RETRY_AFTER);
+    if (values == null || values.isEmpty()) {
+      return null;
+    }
+    String value = values.iterator().next().trim();
+    try {
+      if (!value.isEmpty() && value.chars().allMatch(c -> c >= '0' && c <= '9')) {
+        return Math.addExact(clock.getAsLong(), Math.multiplyExact(Long.parseLong(value), 1000L));
+      }
+      return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME)
+          .toInstant()
+          .toEpochMilli();
+    } catch (ArithmeticException | NumberFormatException | DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  private String message(String methodKey, int expected) {
+    String[] byStatus =
+        messages.computeIfAbsent(methodKey, k -> new String[EXPECTED_STATUSES.length]);
+    String message = byStatus[expected];
+    if (message == null) {
+      // Racing threads may both build the message; either copy is equivalent.
+      message =
+          "["
+              + EXPECTED_STATUSES[expected]
+              + " "
+              + EXPECTED_REASONS[expected]
+              + "] during ["
+              + methodKey
+              + "]";
+      byStatus[expected] = message;
+    }
+    return message;
+  }
+
+  private static int expectedIndex(int status) {
+    for (int i = 0; i < EXPECTED_STATUSES.length; i++) {
+      if (EXPECTED_STATUSES[i] == status) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isTransient(int status) {
+    return status == 502 || status == 503 || status == 504;
+  }
+}
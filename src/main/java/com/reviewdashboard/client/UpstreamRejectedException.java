@@ -0,0 +1,21 @@
+package com.reviewdashboard.client;
+
+/**
+ * Thrown when an upstream call is refused locally before it is sent, e.g. because the fair
+ * scheduler's queue is full or the caller waited too long for a dispatch slot.
+ *
+ * <p>Controllers map this exception to {@code 503 Service Unavailable}.
+ */
+public class UpstreamRejectedException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Creates a new exception with the given message.
+   *
+   * @param message A human-readable reason for the rejection.
+   */
+  public UpstreamRejectedException(String message) {
+    super(message);
+  }
+}
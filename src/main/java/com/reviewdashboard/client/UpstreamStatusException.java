@@ -0,0 +1,36 @@
+package com.reviewdashboard.client;
+
+import feign.FeignException;
+import feign.Request;
+
+/**
+ * A lightweight {@link FeignException} for expected upstream outcomes such as an unknown user
+ * ({@code 401}) or a missing product ({@code 404}).
+ *
+ * <p>These statuses are part of normal traffic, and under abusive load (e.g. floods of bad user
+ * IDs) they dominate the error path. The exception therefore skips stack-trace capture and carries
+ * a message shared by all failures of the same Feign method and status; the response body is not
+ * read. It still extends {@link FeignException} so callers that branch on {@link #status()} keep
+ * working unchanged.
+ */
+public class UpstreamStatusException extends FeignException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Creates a new exception.
+   *
+   * @param status The upstream HTTP status.
+   * @param message The message, typically shared across failures of the same method and status.
+   * @param request The request that failed.
+   */
+  public UpstreamStatusException(int status, String message, Request request) {
+    super(status, message, request);
+  }
+
+  /** Skips stack-trace capture, which is the dominant cost of constructing an exception. */
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
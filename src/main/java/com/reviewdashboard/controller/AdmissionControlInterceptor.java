@@ -0,0 +1,191 @@
+package com.reviewdashboard.controller;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Sheds requests that already waited too long before reaching a controller.
+ *
+ * <p>The queue time is taken from the {@code X-Request-Start} header stamped by the load balancer
+ * when it accepted the request, so it covers both the balancer's queue and the servlet container's
+ * accept and worker queues. Each route's {@link RequestPriority} (see {@link AdmissionPriority})
+ * selects a threshold; once the queue time exceeds it the request is answered with {@code 503
+ * Service Unavailable} before any upstream work is done. Requests without the header are always
+ * admitted, as the container does not expose its own queueing delay to the application.
+ *
+ * <p>Shed counts are kept per route and exported as the {@code admission.shed} meter.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor, MeterBinder {
+
+  /** Header carrying the time at which the load balancer received the request. */
+  public static final String REQUEST_START_HEADER = "X-Request-Start";
+
+  private static final Logger logger = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+
+  private final long[] thresholdMillis = new long[RequestPriority.values().length];
+  private final LongSupplier clock;
+  private final ConcurrentMap<String, LongAdder> shedByRoute = new ConcurrentHashMap<>();
+  private volatile MeterRegistry meterRegistry;
+
+  /**
+   * Creates an interceptor that uses the system clock.
+   *
+   * @param highMillis Queue-time threshold for {@link RequestPriority#HIGH} routes; 0 disables.
+   * @param normalMillis Queue-time threshold for {@link RequestPriority#NORMAL} routes; 0 disables.
+   * @param lowMillis Queue-time threshold for {@link RequestPriority#LOW} routes; 0 disables.
+   */
+  public AdmissionControlInterceptor(long highMillis, long normalMillis, long lowMillis) {
+    this(highMillis, normalMillis, lowMillis, System::currentTimeMillis);
+  }
+
+  AdmissionControlInterceptor(
+      long highMillis, long normalMillis, long lowMillis, LongSupplier clock) {
+    thresholdMillis[RequestPriority.HIGH.ordinal()] = highMillis;
+    thresholdMillis[RequestPriority.NORMAL.ordinal()] = normalMillis;
+    thresholdMillis[RequestPriority.LOW.ordinal()] = lowMillis;
+    this.clock = clock;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    long startMillis = parseRequestStart(request.getHeader(REQUEST_START_HEADER));
+    if (startMillis < 0) {
+      return true;
+    }
+    RequestPriority priority = priorityOf(handlerMethod);
+    long threshold = thresholdMillis[priority.ordinal()];
+    long queuedMillis = clock.getAsLong() - startMillis;
+    if (threshold <= 0 || queuedMillis <= threshold) {
+      return true;
+    }
+
+    String route = routeOf(request);
+    recordShed(route, priority);
+    if (logger.isWarnEnabled()) {
+      logger.warn(
+          "Shedding {} request to {} after {} ms in queue (threshold {} ms)",
+          priority,
+          route,
+          queuedMillis,
+          threshold);
+    }
+    response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    response.setContentType("text/plain;charset=UTF-8");
+    response.getWriter().write("Server is busy, please retry shortly");
+    return false;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.meterRegistry = registry;
+    shedByRoute.forEach((key, counter) -> register(registry, key, counter));
+  }
+
+  /**
+   * Returns a snapshot of shed counts keyed by {@code "PRIORITY METHOD /pattern"}.
+   *
+   * @return The shed counts, sorted by key.
+   */
+  public Map<String, Long> shedCounts() {
+    Map<String, Long> snapshot = new TreeMap<>();
+    shedByRoute.forEach((key, counter) -> snapshot.put(key, counter.sum()));
+    return snapshot;
+  }
+
+  /**
+   * Parses an {@code X-Request-Start} value into epoch milliseconds.
+   *
+   * <p>Accepts an optional {@code t=} prefix followed by seconds with a fractional part (nginx
+   * {@code $msec}) or an integer in seconds, milliseconds, microseconds or nanoseconds; the unit of
+   * an integer is inferred from its magnitude.
+   *
+   * @param header The raw header value; may be {@code null}.
+   * @return The request start in epoch milliseconds, or -1 if absent or unparseable.
+   */
+  static long parseRequestStart(String header) {
+    if (header == null) {
+      return -1L;
+    }
+    String value = header.trim();
+    if (value.startsWith("t=")) {
+      value = value.substring(2);
+    }
+    try {
+      if (value.indexOf('.') >= 0) {
+        return (long) (Double.parseDouble(value) * 1_000d);
+      }
+      long raw = Long.parseLong(value);
+      if (raw >= 1_000_000_000_000_000_000L) {
+        return raw / 1_000_000L;
+      }
+      if (raw >= 1_000_000_000_000_000L) {
+        return raw / 1_000L;
+      }
+      if (raw >= 1_000_000_000_000L) {
+        return raw;
+      }
+      return raw > 0 ? raw * 1_000L : -1L;
+    } catch (NumberFormatException e) {
+      return -1L;
+    }
+  }
+
+  private static RequestPriority priorityOf(HandlerMethod handlerMethod) {
+    AdmissionPriority annotation = handlerMethod.getMethodAnnotation(AdmissionPriority.class);
+    if (annotation == null) {
+      annotation = handlerMethod.getBeanType().getAnnotation(AdmissionPriority.class);
+    }
+    return annotation != null ? annotation.value() : RequestPriority.NORMAL;
+  }
+
+  private static String routeOf(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+  }
+
+  private void recordShed(String route, RequestPriority priority) {
+    String key = priority + " " + route;
+    LongAdder counter = shedByRoute.get(key);
+    if (counter == null) {
+      LongAdder created = new LongAdder();
+      counter = shedByRoute.putIfAbsent(key, created);
+      if (counter == null) {
+        counter = created;
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+          register(registry, key, created);
+        }
+      }
+    }
+    counter.increment();
+  }
+
+  private static void register(MeterRegistry registry, String key, LongAdder counter) {
+    int sep = key.indexOf(' ');
+    FunctionCounter.builder("admission.shed", counter, LongAdder::sum)
+        .description("Requests shed because they queued longer than their route's threshold")
+        .tag("priority", key.substring(0, sep))
+        .tag("route", key.substring(sep + 1))
+        .register(registry);
+  }
+}
@@ -0,0 +1,25 @@
+package com.reviewdashboard.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the {@link RequestPriority} of a controller method (or of every method in a controller)
+ * for {@link AdmissionControlInterceptor}. Unannotated routes are treated as {@link
+ * RequestPriority#NORMAL}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface AdmissionPriority {
+
+  /**
+   * The priority of the annotated route.
+   *
+   * @return The route priority.
+   */
+  RequestPriority value();
+}
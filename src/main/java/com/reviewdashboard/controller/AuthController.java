@@ -1,8 +1,10 @@
 package com.reviewdashboard.controller;
 
+import com.reviewdashboard.model.BulkCreateUsersRequest;
 import com.reviewdashboard.model.CreateUserRequest;
+import com.reviewdashboard.model.UserProvisioningResult;
 import com.reviewdashboard.service.AuthService;
-import feign.FeignException;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -32,6 +34,7 @@ public class AuthController {
    * @return 201 Created on success; readable 400/409/500 messages on failure.
    */
   @PostMapping("users")
+  @AdmissionPriority(RequestPriority.LOW)
   public ResponseEntity<?> createUser(@RequestBody CreateUserRequest request) {
     String userId = request != null ? request.getUserId() : null;
     if (userId == null || userId.trim().isEmpty()) {
@@ -41,47 +44,72 @@ public class AuthController {
       return ResponseEntity.badRequest().body("Please provide a non-empty userId in the body");
     }
 
-    try {
-      ResponseEntity<Void> response = authService.createUser(userId);
-      if (response.getStatusCode().is2xxSuccessful()) {
+    UserProvisioningResult result =
+        AuthService.provision(userId, () -> authService.createUser(userId));
+    switch (result.getStatus()) {
+      case UserProvisioningResult.CREATED:
         if (logger.isInfoEnabled()) {
           logger.info("User created successfully: {}", userId);
         }
-        return ResponseEntity.status(HttpStatus.CREATED).body("User created");
-      }
-      // Fallback: unexpected status from upstream
-      if (logger.isErrorEnabled()) {
-        logger.error("Unexpected status from auth service: {}", response.getStatusCode());
-      }
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("Failed to create user: unexpected upstream status");
-
-    } catch (FeignException e) {
-      int status = e.status();
-      if (status == 409) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(result.getMessage());
+      case UserProvisioningResult.CONFLICT:
         if (logger.isWarnEnabled()) {
           logger.warn("User ID already exists: {}", userId);
         }
-        return ResponseEntity.status(HttpStatus.CONFLICT)
-            .body("This user ID is already taken. Please choose another.");
-      }
-      if (status == 400) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(result.getMessage());
+      case UserProvisioningResult.INVALID:
         if (logger.isWarnEnabled()) {
           logger.warn("Invalid userId provided: {}", userId);
         }
-        return ResponseEntity.badRequest().body("Invalid userId. Please try a different value.");
-      }
-      if (logger.isErrorEnabled()) {
-        logger.error("Auth service error while creating userId={}", userId, e);
+        return ResponseEntity.badRequest().body(result.getMessage());
+      case UserProvisioningResult.UNAVAILABLE:
+        if (logger.isWarnEnabled()) {
+          logger.warn(
+              "Upstream call rejected while creating userId={}: {}", userId, result.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result.getMessage());
+      default:
+        if (logger.isErrorEnabled()) {
+          logger.error("Error while creating userId={}: {}", userId, result.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result.getMessage());
+    }
+  }
+
+  /**
+   * Creates many user IDs at once, e.g. when onboarding a tenant.
+   *
+   * <p>Duplicate IDs are created once. Each distinct ID gets a result whose status mirrors the
+   * single-user endpoint: {@code CREATED} (201), {@code CONFLICT} (409), {@code INVALID} (400),
+   * {@code UNAVAILABLE} (503) or {@code ERROR} (500).
+   *
+   * @param request The request containing the desired {@code userIds}.
+   * @return 200 OK with one result per distinct ID; 400 if the list is missing, empty or too large.
+   */
+  @PostMapping("users/batch")
+  @AdmissionPriority(RequestPriority.LOW)
+  public ResponseEntity<?> createUsers(@RequestBody BulkCreateUsersRequest request) {
+    List<String> userIds = request != null ? request.getUserIds() : null;
+    if (userIds == null || userIds.isEmpty()) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("userIds missing or empty in createUsers request");
       }
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("Failed to create user: " + e.getMessage());
-    } catch (Exception e) {
-      if (logger.isErrorEnabled()) {
-        logger.error("Unexpected error while creating userId={}", userId, e);
+      return ResponseEntity.badRequest().body("Please provide a non-empty list of userIds");
+    }
+
+    List<UserProvisioningResult> results;
+    try {
+      results = authService.createUsers(userIds);
+    } catch (IllegalArgumentException e) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("Rejected createUsers request: {}", e.getMessage());
       }
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("Failed to create user: " + e.getMessage());
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .body("Interrupted while creating users");
     }
+    return ResponseEntity.ok(results);
   }
 }
@@ -0,0 +1,24 @@
+package com.reviewdashboard.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the message prefix {@link UpstreamExceptionHandler} uses when a controller method fails
+ * with a server error, e.g. {@code "Failed to create review"}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface FailureMessage {
+
+  /**
+   * The prefix of the 500 response body; the exception message is appended after a colon.
+   *
+   * @return The message prefix.
+   */
+  String value();
+}
@@ -0,0 +1,18 @@
+package com.reviewdashboard.controller;
+
+/**
+ * Relative importance of an API route when the service is overloaded.
+ *
+ * <p>Lower-priority routes are shed first: each priority has its own queue-time threshold, and the
+ * thresholds are expected to grow from {@link #LOW} to {@link #HIGH}.
+ */
+public enum RequestPriority {
+  /** Cheap, user-facing reads such as average ratings. Shed last. */
+  HIGH,
+
+  /** Regular writes such as review submission. */
+  NORMAL,
+
+  /** Work that can be retried later without user impact, such as user creation. Shed first. */
+  LOW
+}
@@ -1,11 +1,19 @@
 package com.reviewdashboard.controller;
 
 import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.ReviewSubmissionStatus;
 import com.reviewdashboard.service.CompanyService;
+import com.reviewdashboard.service.DuplicateReviewDetector;
+import com.reviewdashboard.service.ProductRatingAggregates;
+import com.reviewdashboard.service.ReviewOutbox;
 import com.reviewdashboard.service.ReviewService;
-import feign.FeignException;
+import com.reviewdashboard.service.ReviewValidator;
+import com.reviewdashboard.service.WriteBehindReviewQueue;
+import java.net.URI;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,7 +27,8 @@ import org.springframework.web.bind.annotation.RestController;
 /**
  * REST controller for handling product and company reviews.
  *
- * <p>Each API logs request entry, successful response, and errors.
+ * <p>Each API logs request entry and successful response. Failures propagate to {@link
+ * UpstreamExceptionHandler}, which maps them to HTTP responses and logs them.
  */
 @RestController
 @RequestMapping("review")
@@ -27,12 +36,29 @@ public class ReviewClientController {
 
   private static final Logger logger = LoggerFactory.getLogger(ReviewClientController.class);
 
+  /** The {@code Prefer} token a client sends to ask for asynchronous submission (RFC 7240). */
+  static final String RESPOND_ASYNC = "respond-async";
+
+  /** Response header set on a created review that nearly duplicates a recent one. */
+  static final String NEAR_DUPLICATE_HEADER = "X-Near-Duplicate";
+
   private final ReviewService reviewService;
   private final CompanyService companyService;
+  private final WriteBehindReviewQueue writeBehindQueue;
+  private final ReviewOutbox outbox;
+  private final DuplicateReviewDetector duplicateDetector;
 
-  public ReviewClientController(ReviewService reviewService, CompanyService companyService) {
+  public ReviewClientController(
+      ReviewService reviewService,
+      CompanyService companyService,
+      WriteBehindReviewQueue writeBehindQueue,
+      ReviewOutbox outbox,
+      DuplicateReviewDetector duplicateDetector) {
     this.reviewService = reviewService;
     this.companyService = companyService;
+    this.writeBehindQueue = writeBehindQueue;
+    this.outbox = outbox;
+    this.duplicateDetector = duplicateDetector;
   }
 
   /**
@@ -47,16 +73,42 @@ public class ReviewClientController {
    * EP5: rating > 5 - EP6: missing mandatory ReviewDto fields - EP7: productId valid but product
    * not found
    *
+   * <p>Invalid EPs are rejected locally by {@link ReviewValidator} with {@code 400} and the
+   * specific violation, so no upstream call is made for them.
+   *
+   * <p>Clients may send an {@code Idempotency-Key} header to make retries safe: a repeated request
+   * with the same key returns the review created by the first one instead of posting a duplicate.
+   *
+   * <p>When write-behind submission is enabled, a client sending {@code Prefer: respond-async} gets
+   * {@code 202 Accepted} with a tracking ID as soon as the review is queued, and can poll {@link
+   * #getSubmissionStatus} for the outcome. A full queue answers {@code 429}.
+   *
+   * <p>When the outbox is enabled and the upstream is unreachable or answers 5xx, the review is
+   * stored durably and {@code 202 Accepted} is returned with status {@code DEFERRED}; the review is
+   * delivered once the upstream recovers. Retrying with the same {@code Idempotency-Key} returns
+   * the created review after delivery instead of storing it again.
+   *
+   * <p>A comment that nearly duplicates a recently accepted review of the same product is answered
+   * with {@code 409} when near-duplicates are rejected, and otherwise submitted with an {@code
+   * X-Near-Duplicate: true} response header. Retries with an {@code Idempotency-Key} that is
+   * already known skip this check.
+   *
    * @param productId The product ID.
    * @param review The review DTO.
    * @param userId The user ID for authentication.
+   * @param idempotencyKey Optional client-generated key identifying this submission.
+   * @param prefer Optional {@code Prefer} header; {@code respond-async} requests queued submission.
    * @return ResponseEntity with status and body.
    */
   @PostMapping("product/{productId}")
+  @AdmissionPriority(RequestPriority.NORMAL)
+  @FailureMessage("Failed to create review")
   public ResponseEntity<?> addReview(
       @PathVariable String productId,
       @RequestBody ReviewDto review,
-      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+      @RequestHeader(name = "X-User-Id", required = false) String userId,
+      @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+      @RequestHeader(name = "Prefer", required = false) String prefer) {
 
     if (logger.isInfoEnabled()) {
       logger.info("Received request to add review for productId={}", productId);
@@ -67,44 +119,98 @@ public class ReviewClientController {
       return ResponseEntity.badRequest().body("Please provide a userID in a header");
     }
 
-    try {
-      ReviewDto createdReview = reviewService.addReview(productId, review, userId);
-
-      if (logger.isInfoEnabled()) {
-        logger.info("Successfully added review for productId={}", productId);
+    ReviewValidator.Violation violation = ReviewValidator.validate(productId, review);
+    if (violation != null) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("Rejected review for productId={}: {}", productId, violation.message());
       }
+      return ResponseEntity.badRequest().body(violation.message());
+    }
 
-      return ResponseEntity.status(HttpStatus.CREATED).body(createdReview);
-
-    } catch (IllegalArgumentException e) {
+    // A retry of a known submission must replay its stored result, not match its own earlier copy.
+    boolean nearDuplicate =
+        !reviewService.isKnownSubmission(productId, userId, idempotencyKey)
+            && duplicateDetector.isNearDuplicate(productId, review);
+    if (nearDuplicate) {
       if (logger.isWarnEnabled()) {
-        logger.warn("Bad request for productId={}: {}", productId, e.getMessage());
+        logger.warn("Near-duplicate review for productId={} from userId={}", productId, userId);
       }
-      return ResponseEntity.badRequest().body(e.getMessage());
-
-    } catch (FeignException e) {
-      if (e.status() == 401) {
-        if (logger.isWarnEnabled()) {
-          logger.warn(
-              "Authentication failed for userId={} while adding review for productId={}",
-              userId,
-              productId);
-        }
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-            .body("Your user ID does not exist. Please create a new user.");
+      if (duplicateDetector.rejects()) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body("This review nearly duplicates a recent review of this product");
       }
-      if (logger.isErrorEnabled()) {
-        logger.error("Feign error adding review for productId={}", productId, e);
+    }
+
+    if (writeBehindQueue.isEnabled() && prefersAsync(prefer)) {
+      return enqueueReview(productId, review, userId, idempotencyKey);
+    }
+
+    ReviewDto createdReview;
+    try {
+      createdReview =
+          idempotencyKey == null
+              ? reviewService.addReview(productId, review, userId)
+              : reviewService.addReview(productId, review, userId, idempotencyKey);
+    } catch (RuntimeException e) {
+      if (!outbox.isEnabled() || !ReviewOutbox.isDeferrable(e)) {
+        throw e;
       }
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("Failed to create review: " + e.getMessage());
-    } catch (Exception e) {
-      if (logger.isErrorEnabled()) {
-        logger.error("Error adding review for productId={}", productId, e);
+      String outboxId = outbox.store(productId, review, userId, idempotencyKey);
+      if (logger.isWarnEnabled()) {
+        logger.warn(
+            "Upstream unavailable, stored review {} for productId={} in the outbox: {}",
+            outboxId,
+            productId,
+            e.getMessage());
       }
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("Failed to create review: " + e.getMessage());
+      return ResponseEntity.accepted()
+          .body(new ReviewSubmissionStatus(outboxId, ReviewSubmissionStatus.DEFERRED, productId));
+    }
+
+    if (logger.isInfoEnabled()) {
+      logger.info("Successfully added review for productId={}", productId);
     }
+
+    if (nearDuplicate) {
+      return ResponseEntity.status(HttpStatus.CREATED)
+          .header(NEAR_DUPLICATE_HEADER, "true")
+          .body(createdReview);
+    }
+    return ResponseEntity.status(HttpStatus.CREATED).body(createdReview);
+  }
+
+  /**
+   * Retrieves the status of a review accepted for asynchronous submission.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: Known trackingId submitted by the same user → returns status
+   *
+   * <p><b>Invalid EPs:</b> - EP2: userId null/empty → returns 400 - EP3: trackingId unknown,
+   * expired or submitted by another user → returns 404
+   *
+   * @param trackingId The tracking ID returned with {@code 202 Accepted}.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the {@link ReviewSubmissionStatus}.
+   */
+  @GetMapping("submissions/{trackingId}")
+  @AdmissionPriority(RequestPriority.HIGH)
+  @FailureMessage("Failed to fetch submission status")
+  public ResponseEntity<?> getSubmissionStatus(
+      @PathVariable String trackingId,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    ReviewSubmissionStatus status = writeBehindQueue.status(trackingId, userId);
+    if (status == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body("No submission found for trackingId: " + trackingId);
+    }
+    return ResponseEntity.ok(status);
   }
 
   /**
@@ -113,7 +219,8 @@ public class ReviewClientController {
    * <p><b>Equivalence Partitions (EPs)</b>
    *
    * <p><b>Valid EPs:</b> - EP1: Valid productId with ≥1 review → returns average rating - EP2:
-   * Valid productId with 0 reviews → returns 404
+   * Valid productId with 0 reviews → returns 404 - EP6: Local reviews not included in the average →
+   * returned in the {@code X-Local-Review-Count} and {@code X-Local-Average-Rating} headers
    *
    * <p><b>Invalid EPs:</b> - EP3: productId null/empty - EP4: productId valid but product not found
    * - EP5: service/DB exception → returns 500
@@ -123,6 +230,8 @@ public class ReviewClientController {
    * @return ResponseEntity with status and average rating.
    */
   @GetMapping("product/{productId}/average-rating")
+  @AdmissionPriority(RequestPriority.HIGH)
+  @FailureMessage("Failed to fetch product rating")
   public ResponseEntity<?> getProductAverageRating(
       @PathVariable String productId,
       @RequestHeader(name = "X-User-Id", required = false) String userId) {
@@ -136,54 +245,33 @@ public class ReviewClientController {
       return ResponseEntity.badRequest().body("Please provide a userID in a header");
     }
 
-    try {
-      ResponseEntity<Double> response = reviewService.getAverageRating(productId, userId);
-
-      if (response.getBody() == null) {
-        if (logger.isWarnEnabled()) {
-          logger.warn("No reviews found for productId={}", productId);
-        }
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-            .body("No reviews found for productId: " + productId);
-      }
-
-      if (logger.isInfoEnabled()) {
-        logger.info(
-            "Successfully fetched average rating for productId={} : {}",
-            productId,
-            response.getBody());
-      }
-      return ResponseEntity.ok(response.getBody());
+    ResponseEntity<Double> response = reviewService.getAverageRating(productId, userId);
 
-    } catch (IllegalArgumentException e) {
+    if (response.getBody() == null) {
       if (logger.isWarnEnabled()) {
-        logger.warn("Bad request for productId={}: {}", productId, e.getMessage());
+        logger.warn("No reviews found for productId={}", productId);
       }
-      return ResponseEntity.badRequest().body(e.getMessage());
-
-    } catch (FeignException e) {
-      if (e.status() == 401) {
-        if (logger.isWarnEnabled()) {
-          logger.warn(
-              "Authentication failed for userId={} while fetching average rating for productId={}",
-              userId,
-              productId);
-        }
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-            .body("Your user ID does not exist. Please create a new user.");
-      }
-      if (logger.isErrorEnabled()) {
-        logger.error("Feign error fetching product rating for productId={}", productId, e);
-      }
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("Failed to fetch product rating: " + e.getMessage());
-    } catch (Exception e) {
-      if (logger.isErrorEnabled()) {
-        logger.error("Error fetching product rating for productId={}", productId, e);
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body("No reviews found for productId: " + productId);
+    }
+
+    if (logger.isInfoEnabled()) {
+      logger.info(
+          "Successfully fetched average rating for productId={} : {}",
+          productId,
+          response.getBody());
+    }
+    ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+    for (String name :
+        List.of(
+            ProductRatingAggregates.LOCAL_REVIEW_COUNT_HEADER,
+            ProductRatingAggregates.LOCAL_AVERAGE_HEADER)) {
+      String value = response.getHeaders().getFirst(name);
+      if (value != null) {
+        ok.header(name, value);
       }
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("Failed to fetch product rating: " + e.getMessage());
     }
+    return ok.body(response.getBody());
   }
 
   /**
@@ -202,6 +290,8 @@ public class ReviewClientController {
    * @return ResponseEntity with status and average rating.
    */
   @GetMapping("company/{companyId}/average-rating")
+  @AdmissionPriority(RequestPriority.HIGH)
+  @FailureMessage("Failed to fetch company rating")
   public ResponseEntity<?> getCompanyAverageRating(
       @PathVariable String companyId,
       @RequestHeader(name = "X-User-Id", required = false) String userId) {
@@ -215,53 +305,59 @@ public class ReviewClientController {
       return ResponseEntity.badRequest().body("Please provide a userID in a header");
     }
 
-    try {
-      ResponseEntity<Double> response = companyService.getAverageRating(companyId, userId);
-
-      if (response.getBody() == null) {
-        if (logger.isWarnEnabled()) {
-          logger.warn("No reviews found for companyId={}", companyId);
-        }
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-            .body("No reviews found for companyId: " + companyId);
-      }
+    ResponseEntity<Double> response = companyService.getAverageRating(companyId, userId);
 
-      if (logger.isInfoEnabled()) {
-        logger.info(
-            "Successfully fetched average rating for companyId={} : {}",
-            companyId,
-            response.getBody());
+    if (response.getBody() == null) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("No reviews found for companyId={}", companyId);
       }
-      return ResponseEntity.ok(response.getBody());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body("No reviews found for companyId: " + companyId);
+    }
 
-    } catch (IllegalArgumentException e) {
+    if (logger.isInfoEnabled()) {
+      logger.info(
+          "Successfully fetched average rating for companyId={} : {}",
+          companyId,
+          response.getBody());
+    }
+    return ResponseEntity.ok(response.getBody());
+  }
+
+  private ResponseEntity<?> enqueueReview(
+      String productId, ReviewDto review, String userId, String idempotencyKey) {
+    ReviewSubmissionStatus status =
+        writeBehindQueue.submit(productId, review, userId, idempotencyKey);
+    if (status == null) {
       if (logger.isWarnEnabled()) {
-        logger.warn("Bad request for companyId={}: {}", companyId, e.getMessage());
-      }
-      return ResponseEntity.badRequest().body(e.getMessage());
-
-    } catch (FeignException e) {
-      if (e.status() == 401) {
-        if (logger.isWarnEnabled()) {
-          logger.warn(
-              "Authentication failed for userId={} while fetching average rating for companyId={}",
-              userId,
-              companyId);
-        }
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-            .body("Your user ID does not exist. Please create a new user.");
+        logger.warn("Review queue is full, rejecting review for productId={}", productId);
       }
-      if (logger.isErrorEnabled()) {
-        logger.error("Feign error fetching company rating for companyId={}", companyId, e);
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+          .header(HttpHeaders.RETRY_AFTER, "1")
+          .body("Review queue is full, please retry later");
+    }
+    if (logger.isInfoEnabled()) {
+      logger.info("Queued review {} for productId={}", status.getTrackingId(), productId);
+    }
+    return ResponseEntity.accepted()
+        .location(URI.create("/review/submissions/" + status.getTrackingId()))
+        .body(status);
+  }
+
+  static boolean prefersAsync(String prefer) {
+    if (prefer == null) {
+      return false;
+    }
+    for (String preference : prefer.split(",")) {
+      String token = preference.trim();
+      int end = token.indexOf(';');
+      if (end >= 0) {
+        token = token.substring(0, end).trim();
       }
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("Failed to fetch company rating: " + e.getMessage());
-    } catch (Exception e) {
-      if (logger.isErrorEnabled()) {
-        logger.error("Error fetching company rating for companyId={}", companyId, e);
+      if (RESPOND_ASYNC.equalsIgnoreCase(token)) {
+        return true;
       }
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("Failed to fetch company rating: " + e.getMessage());
     }
+    return false;
   }
 }
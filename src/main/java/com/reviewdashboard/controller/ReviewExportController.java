@@ -0,0 +1,142 @@
+package com.reviewdashboard.controller;
+
+import com.reviewdashboard.service.ReviewExporter;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for exporting the reviews submitted through this service.
+ *
+ * <p>Exports are written by the {@link ReviewExporter} straight to the response, which is sent with
+ * chunked transfer encoding, so an export of any size is never held in memory.
+ */
+@RestController
+@RequestMapping("review")
+public class ReviewExportController {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewExportController.class);
+
+  /** The gzip buffer size, matching the exporter's 64 KiB writes. */
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+  private final ReviewExporter exporter;
+
+  public ReviewExportController(ReviewExporter exporter) {
+    this.exporter = exporter;
+  }
+
+  /**
+   * Streams all reviews, or their aggregates per product or company, as CSV or columnar binary.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: dataset {@code reviews}, {@code products} or {@code companies},
+   * format {@code csv} or {@code columnar} → returns 200 with the export as an attachment - EP2:
+   * {@code Accept-Encoding} includes {@code gzip} → the export is gzip-compressed
+   *
+   * <p><b>Invalid EPs:</b> - EP3: userId null/empty → returns 400 - EP4: unknown dataset or format
+   * → returns 400
+   *
+   * @param dataset {@code reviews}, {@code products} or {@code companies}.
+   * @param format {@code csv} or {@code columnar}.
+   * @param userId The user ID for authentication.
+   * @param acceptEncoding The {@code Accept-Encoding} header, if any.
+   * @param response The servlet response the export is streamed to.
+   * @throws IOException If writing the export fails.
+   */
+  @GetMapping("export")
+  @AdmissionPriority(RequestPriority.LOW)
+  public void exportReviews(
+      @RequestParam(name = "dataset", defaultValue = "reviews") String dataset,
+      @RequestParam(name = "format", defaultValue = "csv") String format,
+      @RequestHeader(name = "X-User-Id", required = false) String userId,
+      @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      HttpServletResponse response)
+      throws IOException {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      badRequest(response, "Please provide a userID in a header");
+      return;
+    }
+
+    ReviewExporter.Dataset parsedDataset = ReviewExporter.Dataset.parse(dataset);
+    if (parsedDataset == null) {
+      badRequest(response, "dataset must be reviews, products or companies");
+      return;
+    }
+    ReviewExporter.Format parsedFormat = ReviewExporter.Format.parse(format);
+    if (parsedFormat == null) {
+      badRequest(response, "format must be csv or columnar");
+      return;
+    }
+
+    boolean csv = parsedFormat == ReviewExporter.Format.CSV;
+    String fileName = parsedDataset.name().toLowerCase(Locale.ROOT) + (csv ? ".csv" : ".rvc");
+    response.setStatus(HttpServletResponse.SC_OK);
+    if (csv) {
+      response.setContentType("text/csv");
+      response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    } else {
+      response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+    long rows;
+    if (acceptsGzip(acceptEncoding)) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+      GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+      rows = exporter.export(parsedDataset, parsedFormat, gzip);
+      gzip.finish();
+    } else {
+      OutputStream out = response.getOutputStream();
+      rows = exporter.export(parsedDataset, parsedFormat, out);
+    }
+
+    if (logger.isInfoEnabled()) {
+      logger.info("Exported {} rows of {} as {}", rows, parsedDataset, parsedFormat);
+    }
+  }
+
+  /** Whether an {@code Accept-Encoding} header accepts gzip, i.e. lists it without {@code q=0}. */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        for (int i = 1; i < parts.length; i++) {
+          String parameter = parts[i].trim();
+          if (parameter.matches("q=0(\\.0{0,3})?")) {
+            return false;
+          }
+        }
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void badRequest(HttpServletResponse response, String message) throws IOException {
+    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+    response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.getWriter().write(message);
+  }
+}
@@ -0,0 +1,85 @@
+package com.reviewdashboard.controller;
+
+import com.reviewdashboard.service.ReviewImportService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for bulk review import.
+ *
+ * <p>The request body is streamed straight into {@link ReviewImportService} and the per-record
+ * results are streamed back, so neither the upload nor the response is held in memory.
+ */
+@RestController
+@RequestMapping("review")
+public class ReviewImportController {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewImportController.class);
+
+  private final ReviewImportService importService;
+
+  public ReviewImportController(ReviewImportService importService) {
+    this.importService = importService;
+  }
+
+  /**
+   * Imports reviews from an NDJSON body with one record per line, e.g. {@code {"productId": "123",
+   * "idempotencyKey": "k-1", "review": {"rating": 5, "comment": "Great"}}}.
+   *
+   * <p>Records without a {@code userId} are submitted as the {@code X-User-Id} user. Each record is
+   * validated like a single review submission and invalid records are reported without being sent
+   * upstream. The response is {@code 200} with an NDJSON body holding one result per record, in
+   * completion order; each result carries the record's line number and a status of {@code CREATED},
+   * {@code INVALID}, {@code DEFERRED} or {@code FAILED}.
+   *
+   * @param userId The user ID for authentication.
+   * @param body The NDJSON request body.
+   * @param response The servlet response the results are streamed to.
+   * @throws IOException If reading the body or writing the results fails.
+   */
+  @PostMapping(value = "import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  @AdmissionPriority(RequestPriority.LOW)
+  public void importReviews(
+      @RequestHeader(name = "X-User-Id", required = false) String userId,
+      InputStream body,
+      HttpServletResponse response)
+      throws IOException {
+
+    if (logger.isInfoEnabled()) {
+      logger.info("Received request to import reviews");
+    }
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+      response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+      response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+      response.getWriter().write("Please provide a userID in a header");
+      return;
+    }
+
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    long records;
+    try {
+      records = importService.importReviews(body, userId, response.getOutputStream());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while importing reviews", e);
+    }
+
+    if (logger.isInfoEnabled()) {
+      logger.info("Processed {} review import records", records);
+    }
+  }
+}
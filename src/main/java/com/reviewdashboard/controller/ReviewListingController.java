@@ -0,0 +1,149 @@
+package com.reviewdashboard.controller;
+
+import com.reviewdashboard.model.ReviewPage;
+import com.reviewdashboard.service.ReviewColumnStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for listing the reviews submitted through this service, by product or by the user
+ * that submitted them.
+ *
+ * <p>Listings are served from the local {@link ReviewColumnStore} and never call the upstream.
+ */
+@RestController
+@RequestMapping("review")
+public class ReviewListingController {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewListingController.class);
+
+  /** The most reviews per page. */
+  static final int MAX_PAGE_SIZE = 100;
+
+  private final ReviewColumnStore reviewStore;
+
+  public ReviewListingController(ReviewColumnStore reviewStore) {
+    this.reviewStore = reviewStore;
+  }
+
+  /**
+   * Lists a product's reviews, newest first, one page at a time.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: productId with reviews, no cursor → returns the newest reviews and
+   * the cursor of the next page - EP2: cursor of the previous page → returns the following reviews,
+   * with a {@code null} cursor on the last page - EP3: minRating and/or maxRating → only reviews
+   * rated within them are listed
+   *
+   * <p><b>Invalid EPs:</b> - EP4: userId null/empty → returns 400 - EP5: limit outside 1 to 100 →
+   * returns 400 - EP6: cursor not issued for this product → returns 400 - EP7: no reviews of the
+   * product → returns 404
+   *
+   * @param productId The product ID.
+   * @param cursor The {@code nextCursor} of the previous page, if any.
+   * @param limit The most reviews per page.
+   * @param minRating Only reviews rated at least this are listed, if present.
+   * @param maxRating Only reviews rated at most this are listed, if present.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the {@link ReviewPage}.
+   */
+  @GetMapping("product/{productId}/reviews")
+  @AdmissionPriority(RequestPriority.NORMAL)
+  public ResponseEntity<?> getProductReviews(
+      @PathVariable String productId,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "limit", defaultValue = "50") int limit,
+      @RequestParam(name = "minRating", required = false) Double minRating,
+      @RequestParam(name = "maxRating", required = false) Double maxRating,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    if (limit > MAX_PAGE_SIZE) {
+      return ResponseEntity.badRequest().body("limit must be at most " + MAX_PAGE_SIZE);
+    }
+    ReviewPage page;
+    try {
+      page = reviewStore.productReviews(productId, cursor, minRating, maxRating, limit);
+    } catch (IllegalArgumentException e) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("Rejected getProductReviews request: {}", e.getMessage());
+      }
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+    if (page == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body("No reviews found for productId: " + productId);
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Listed {} reviews of product {}", page.getReviews().size(), productId);
+    }
+    return ResponseEntity.ok(page);
+  }
+
+  /**
+   * Lists the reviews the calling user submitted, newest first, one page at a time.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: userId with reviews, no cursor → returns the newest reviews and the
+   * cursor of the next page - EP2: cursor of the previous page → returns the following reviews,
+   * with a {@code null} cursor on the last page - EP3: userId without reviews → returns an empty
+   * page - EP4: minRating and/or maxRating → only reviews rated within them are listed
+   *
+   * <p><b>Invalid EPs:</b> - EP5: userId null/empty → returns 400 - EP6: limit outside 1 to 100 →
+   * returns 400 - EP7: cursor not issued for this user → returns 400
+   *
+   * @param cursor The {@code nextCursor} of the previous page, if any.
+   * @param limit The most reviews per page.
+   * @param minRating Only reviews rated at least this are listed, if present.
+   * @param maxRating Only reviews rated at most this are listed, if present.
+   * @param userId The user ID for authentication; only this user's reviews are listed.
+   * @return ResponseEntity with status and the {@link ReviewPage}.
+   */
+  @GetMapping("history")
+  @AdmissionPriority(RequestPriority.NORMAL)
+  public ResponseEntity<?> getReviewHistory(
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "limit", defaultValue = "50") int limit,
+      @RequestParam(name = "minRating", required = false) Double minRating,
+      @RequestParam(name = "maxRating", required = false) Double maxRating,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    if (limit > MAX_PAGE_SIZE) {
+      return ResponseEntity.badRequest().body("limit must be at most " + MAX_PAGE_SIZE);
+    }
+    ReviewPage page;
+    try {
+      page = reviewStore.userReviews(userId, cursor, minRating, maxRating, limit);
+    } catch (IllegalArgumentException e) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("Rejected getReviewHistory request: {}", e.getMessage());
+      }
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Listed {} reviews of user {}", page.getReviews().size(), userId);
+    }
+    return ResponseEntity.ok(page);
+  }
+}
@@ -0,0 +1,85 @@
+package com.reviewdashboard.controller;
+
+import com.reviewdashboard.model.ReviewSearchResult;
+import com.reviewdashboard.service.ReviewSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for searching the comments of reviews submitted through this service.
+ *
+ * <p>Searches run against the local {@link ReviewSearchIndex} and never call the upstream.
+ */
+@RestController
+@RequestMapping("review")
+public class ReviewSearchController {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewSearchController.class);
+
+  /** The most reviews per page. */
+  static final int MAX_PAGE_SIZE = 100;
+
+  private final ReviewSearchIndex searchIndex;
+
+  public ReviewSearchController(ReviewSearchIndex searchIndex) {
+    this.searchIndex = searchIndex;
+  }
+
+  /**
+   * Searches review comments for words and phrases.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: query with words and/or double-quoted phrases, optional productId →
+   * returns the page of matching reviews, best first, possibly empty
+   *
+   * <p><b>Invalid EPs:</b> - EP2: userId null/empty → returns 400 - EP3: query without words →
+   * returns 400 - EP4: page &lt; 0, size outside 1 to 100 or a page beyond the first 10,000 results
+   * → returns 400
+   *
+   * @param query Words and double-quoted phrases, all of which must occur in the comment.
+   * @param productId Only reviews of this product are returned, if present.
+   * @param page The zero-based page number.
+   * @param size The most reviews per page.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the {@link ReviewSearchResult}.
+   */
+  @GetMapping("search")
+  @AdmissionPriority(RequestPriority.LOW)
+  public ResponseEntity<?> searchReviews(
+      @RequestParam(name = "q", required = false) String query,
+      @RequestParam(name = "productId", required = false) String productId,
+      @RequestParam(name = "page", defaultValue = "0") int page,
+      @RequestParam(name = "size", defaultValue = "20") int size,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    if (size > MAX_PAGE_SIZE) {
+      return ResponseEntity.badRequest().body("size must be at most " + MAX_PAGE_SIZE);
+    }
+    ReviewSearchResult result;
+    try {
+      result = searchIndex.search(query, productId, page, size);
+    } catch (IllegalArgumentException e) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("Rejected searchReviews request: {}", e.getMessage());
+      }
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Search matched {} reviews", result.getTotal());
+    }
+    return ResponseEntity.ok(result);
+  }
+}
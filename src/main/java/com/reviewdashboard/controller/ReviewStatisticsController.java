@@ -0,0 +1,318 @@
+package com.reviewdashboard.controller;
+
+import com.reviewdashboard.model.DistinctCount;
+import com.reviewdashboard.model.LeaderboardEntry;
+import com.reviewdashboard.model.RatingDistribution;
+import com.reviewdashboard.model.RatingTrend;
+import com.reviewdashboard.model.TrendingProduct;
+import com.reviewdashboard.service.DistinctReviewers;
+import com.reviewdashboard.service.RatingDistributions;
+import com.reviewdashboard.service.RatingLeaderboard;
+import com.reviewdashboard.service.RatingTrends;
+import com.reviewdashboard.service.TrendingProducts;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for statistics computed locally from the reviews submitted through this service.
+ *
+ * <p>None of these endpoints call the upstream; they only reflect reviews this instance has seen.
+ */
+@RestController
+@RequestMapping("review")
+public class ReviewStatisticsController {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewStatisticsController.class);
+
+  private final RatingTrends ratingTrends;
+  private final RatingLeaderboard leaderboard;
+  private final TrendingProducts trendingProducts;
+  private final DistinctReviewers distinctReviewers;
+  private final RatingDistributions ratingDistributions;
+
+  public ReviewStatisticsController(
+      RatingTrends ratingTrends,
+      RatingLeaderboard leaderboard,
+      TrendingProducts trendingProducts,
+      DistinctReviewers distinctReviewers,
+      RatingDistributions ratingDistributions) {
+    this.ratingTrends = ratingTrends;
+    this.leaderboard = leaderboard;
+    this.trendingProducts = trendingProducts;
+    this.distinctReviewers = distinctReviewers;
+    this.ratingDistributions = ratingDistributions;
+  }
+
+  /**
+   * Retrieves the number and average of a product's ratings over the last hour, day and week.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: productId with reviews in the last week → returns the trend
+   *
+   * <p><b>Invalid EPs:</b> - EP2: userId null/empty → returns 400 - EP3: no reviews of the product
+   * in the last week → returns 404
+   *
+   * @param productId The product ID.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the {@link RatingTrend}.
+   */
+  @GetMapping("product/{productId}/trend")
+  @AdmissionPriority(RequestPriority.HIGH)
+  public ResponseEntity<?> getProductTrend(
+      @PathVariable String productId,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    RatingTrend trend = ratingTrends.productTrend(productId);
+    if (trend == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body("No recent reviews found for productId: " + productId);
+    }
+    return ResponseEntity.ok(trend);
+  }
+
+  /**
+   * Retrieves the number and average of a company's ratings over the last hour, day and week.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: companyId with reviews in the last week → returns the trend
+   *
+   * <p><b>Invalid EPs:</b> - EP2: userId null/empty → returns 400 - EP3: no reviews of the company
+   * in the last week → returns 404
+   *
+   * @param companyId The company ID.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the {@link RatingTrend}.
+   */
+  @GetMapping("company/{companyId}/trend")
+  @AdmissionPriority(RequestPriority.HIGH)
+  public ResponseEntity<?> getCompanyTrend(
+      @PathVariable String companyId,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    RatingTrend trend = ratingTrends.companyTrend(companyId);
+    if (trend == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body("No recent reviews found for companyId: " + companyId);
+    }
+    return ResponseEntity.ok(trend);
+  }
+
+  /**
+   * Retrieves the best or worst rated products or companies.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: scope {@code product} or {@code company}, order {@code top} or
+   * {@code bottom}, limit ≥ 1 → returns up to {@code limit} entries, possibly none
+   *
+   * <p><b>Invalid EPs:</b> - EP2: userId null/empty → returns 400 - EP3: unknown scope or order →
+   * returns 400 - EP4: limit &lt; 1 → returns 400
+   *
+   * @param scope {@code product} or {@code company}.
+   * @param order {@code top} for the best rated first, {@code bottom} for the worst rated first.
+   * @param limit The most entries returned.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the list of {@link LeaderboardEntry}s.
+   */
+  @GetMapping("leaderboard")
+  @AdmissionPriority(RequestPriority.HIGH)
+  public ResponseEntity<?> getLeaderboard(
+      @RequestParam(name = "scope", defaultValue = "product") String scope,
+      @RequestParam(name = "order", defaultValue = "top") String order,
+      @RequestParam(name = "limit", defaultValue = "10") int limit,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    RatingLeaderboard.Scope parsedScope = RatingLeaderboard.Scope.parse(scope);
+    if (parsedScope == null) {
+      return ResponseEntity.badRequest().body("scope must be product or company");
+    }
+    if (limit < 1) {
+      return ResponseEntity.badRequest().body("limit must be at least 1");
+    }
+    List<LeaderboardEntry> entries;
+    if ("top".equalsIgnoreCase(order)) {
+      entries = leaderboard.top(parsedScope, limit);
+    } else if ("bottom".equalsIgnoreCase(order)) {
+      entries = leaderboard.bottom(parsedScope, limit);
+    } else {
+      return ResponseEntity.badRequest().body("order must be top or bottom");
+    }
+    return ResponseEntity.ok(entries);
+  }
+
+  /**
+   * Retrieves the products reviewed most often right now.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: limit ≥ 1 → returns up to {@code limit} products with estimated
+   * counts and error bounds, possibly none
+   *
+   * <p><b>Invalid EPs:</b> - EP2: userId null/empty → returns 400 - EP3: limit &lt; 1 → returns 400
+   *
+   * @param limit The most products returned.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the list of {@link TrendingProduct}s.
+   */
+  @GetMapping("trending")
+  @AdmissionPriority(RequestPriority.HIGH)
+  public ResponseEntity<?> getTrendingProducts(
+      @RequestParam(name = "limit", defaultValue = "10") int limit,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    if (limit < 1) {
+      return ResponseEntity.badRequest().body("limit must be at least 1");
+    }
+    List<TrendingProduct> trending = trendingProducts.top(limit);
+    return ResponseEntity.ok(trending);
+  }
+
+  /**
+   * Retrieves the estimated number of distinct users that reviewed a product.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: productId with reviews → returns the estimate and its standard
+   * error
+   *
+   * <p><b>Invalid EPs:</b> - EP2: userId null/empty → returns 400 - EP3: no reviews of the product
+   * → returns 404
+   *
+   * @param productId The product ID.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the {@link DistinctCount}.
+   */
+  @GetMapping("product/{productId}/reviewers")
+  @AdmissionPriority(RequestPriority.HIGH)
+  public ResponseEntity<?> getProductReviewers(
+      @PathVariable String productId,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    DistinctCount reviewers = distinctReviewers.productReviewers(productId);
+    if (reviewers == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body("No reviewers found for productId: " + productId);
+    }
+    return ResponseEntity.ok(reviewers);
+  }
+
+  /**
+   * Retrieves the estimated number of distinct users that reviewed a company's products.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: companyId with reviews → returns the estimate and its standard
+   * error
+   *
+   * <p><b>Invalid EPs:</b> - EP2: userId null/empty → returns 400 - EP3: no reviews of the company
+   * → returns 404
+   *
+   * @param companyId The company ID.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the {@link DistinctCount}.
+   */
+  @GetMapping("company/{companyId}/reviewers")
+  @AdmissionPriority(RequestPriority.HIGH)
+  public ResponseEntity<?> getCompanyReviewers(
+      @PathVariable String companyId,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    DistinctCount reviewers = distinctReviewers.companyReviewers(companyId);
+    if (reviewers == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body("No reviewers found for companyId: " + companyId);
+    }
+    return ResponseEntity.ok(reviewers);
+  }
+
+  /**
+   * Retrieves the distribution of a product's ratings: counts per whole star and quantiles.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: productId with reviews, comma-separated quantiles in [0, 1] →
+   * returns the star counts and the rating at each quantile
+   *
+   * <p><b>Invalid EPs:</b> - EP2: userId null/empty → returns 400 - EP3: a quantile that is not a
+   * number in [0, 1] → returns 400 - EP4: no reviews of the product → returns 404
+   *
+   * @param productId The product ID.
+   * @param quantiles Comma-separated quantiles, e.g. {@code 0.25,0.5,0.75}.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the {@link RatingDistribution}.
+   */
+  @GetMapping("product/{productId}/distribution")
+  @AdmissionPriority(RequestPriority.HIGH)
+  public ResponseEntity<?> getProductDistribution(
+      @PathVariable String productId,
+      @RequestParam(name = "quantiles", defaultValue = "0.25,0.5,0.75") String quantiles,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    List<Double> parsed = new ArrayList<>();
+    for (String quantile : quantiles.split(",")) {
+      double value;
+      try {
+        value = Double.parseDouble(quantile.trim());
+      } catch (NumberFormatException e) {
+        value = Double.NaN;
+      }
+      if (!(value >= 0 && value <= 1)) {
+        return ResponseEntity.badRequest().body("quantiles must be numbers between 0 and 1");
+      }
+      parsed.add(value);
+    }
+    RatingDistribution distribution = ratingDistributions.distribution(productId, parsed);
+    if (distribution == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body("No reviews found for productId: " + productId);
+    }
+    return ResponseEntity.ok(distribution);
+  }
+}
@@ -0,0 +1,83 @@
+package com.reviewdashboard.controller;
+
+import com.reviewdashboard.model.SentimentBatchRequest;
+import com.reviewdashboard.model.SentimentScore;
+import com.reviewdashboard.service.SentimentScorer;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for scoring review comments with the local {@link SentimentScorer}.
+ *
+ * <p>Scoring never calls the upstream, so it gives a provisional sentiment for comments without
+ * waiting on the sentiment analyzer service.
+ */
+@RestController
+@RequestMapping("review")
+public class SentimentController {
+
+  private static final Logger logger = LoggerFactory.getLogger(SentimentController.class);
+
+  private final SentimentScorer sentimentScorer;
+
+  public SentimentController(SentimentScorer sentimentScorer) {
+    this.sentimentScorer = sentimentScorer;
+  }
+
+  /**
+   * Scores a batch of comments.
+   *
+   * <p><b>Equivalence Partitions (EPs)</b>
+   *
+   * <p><b>Valid EPs:</b> - EP1: Non-empty list of comments → returns one score per comment, in
+   * order
+   *
+   * <p><b>Invalid EPs:</b> - EP2: userId null/empty → returns 400 - EP3: comments missing or empty
+   * → returns 400 - EP4: more comments than the configured maximum → returns 400
+   *
+   * @param request The comments to score.
+   * @param userId The user ID for authentication.
+   * @return ResponseEntity with status and the list of {@link SentimentScore}s.
+   */
+  @PostMapping("sentiment")
+  @AdmissionPriority(RequestPriority.LOW)
+  public ResponseEntity<?> scoreComments(
+      @RequestBody SentimentBatchRequest request,
+      @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+    if (userId == null || userId.trim().isEmpty()) {
+      logger.warn("userId is missing from the request header");
+      return ResponseEntity.badRequest().body("Please provide a userID in a header");
+    }
+
+    List<String> comments = request != null ? request.getComments() : null;
+    if (comments == null || comments.isEmpty()) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("comments missing or empty in scoreComments request");
+      }
+      return ResponseEntity.badRequest().body("Please provide a non-empty list of comments");
+    }
+
+    List<SentimentScore> scores;
+    try {
+      scores = sentimentScorer.scoreAll(comments);
+    } catch (IllegalArgumentException e) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("Rejected scoreComments request: {}", e.getMessage());
+      }
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    if (logger.isInfoEnabled()) {
+      logger.info("Scored {} comments", scores.size());
+    }
+    return ResponseEntity.ok(scores);
+  }
+}
@@ -0,0 +1,125 @@
+package com.reviewdashboard.controller;
+
+import com.reviewdashboard.client.UpstreamRejectedException;
+import com.reviewdashboard.client.UpstreamStatusException;
+import feign.FeignException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * Maps exceptions thrown by {@link ReviewClientController} to HTTP responses.
+ *
+ * <ul>
+ *   <li>{@link IllegalArgumentException} → 400 with the exception message
+ *   <li>{@link UpstreamRejectedException} → 503 with the exception message
+ *   <li>{@link FeignException} with upstream status 401 → 401 asking the caller to create a user
+ *   <li>Any other exception → 500 prefixed with the method's {@link FailureMessage}
+ * </ul>
+ *
+ * <p>Expected upstream failures arrive as stackless {@link UpstreamStatusException}s and are logged
+ * without a stack trace; only unexpected failures are logged at error level with one. Spring MVC's
+ * own exceptions (e.g. an unreadable body) keep their standard status codes via {@link
+ * ResponseEntityExceptionHandler}.
+ */
+@RestControllerAdvice(assignableTypes = ReviewClientController.class)
+public class UpstreamExceptionHandler extends ResponseEntityExceptionHandler {
+
+  private static final Logger logger = LoggerFactory.getLogger(UpstreamExceptionHandler.class);
+
+  private static final String DEFAULT_FAILURE_MESSAGE = "Request failed";
+
+  /**
+   * Handles invalid input detected locally or reported by the service layer.
+   *
+   * @param e The exception.
+   * @param request The current request.
+   * @return 400 with the exception message.
+   */
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<String> handleIllegalArgument(
+      IllegalArgumentException e, HttpServletRequest request) {
+    if (logger.isWarnEnabled()) {
+      logger.warn("Bad request for {}: {}", request.getRequestURI(), e.getMessage());
+    }
+    return ResponseEntity.badRequest().body(e.getMessage());
+  }
+
+  /**
+   * Handles upstream calls refused locally because the upstream is saturated.
+   *
+   * @param e The exception.
+   * @param request The current request.
+   * @return 503 with the exception message.
+   */
+  @ExceptionHandler(UpstreamRejectedException.class)
+  public ResponseEntity<String> handleRejected(
+      UpstreamRejectedException e, HttpServletRequest request) {
+    if (logger.isWarnEnabled()) {
+      logger.warn("Upstream call rejected for {}: {}", request.getRequestURI(), e.getMessage());
+    }
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+  }
+
+  /**
+   * Handles errors returned by an upstream service.
+   *
+   * @param e The exception.
+   * @param handler The controller method that made the call.
+   * @param request The current request.
+   * @return 401 for an unknown user, otherwise 500.
+   */
+  @ExceptionHandler(FeignException.class)
+  public ResponseEntity<String> handleFeign(
+      FeignException e, HandlerMethod handler, HttpServletRequest request) {
+    if (e.status() == 401) {
+      if (logger.isWarnEnabled()) {
+        logger.warn(
+            "Authentication failed for userId={} on {}",
+            request.getHeader("X-User-Id"),
+            request.getRequestURI());
+      }
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+          .body("Your user ID does not exist. Please create a new user.");
+    }
+    if (e instanceof UpstreamStatusException) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("Upstream error for {}: {}", request.getRequestURI(), e.getMessage());
+      }
+    } else if (logger.isErrorEnabled()) {
+      logger.error("Feign error for {}", request.getRequestURI(), e);
+    }
+    return serverError(handler, e);
+  }
+
+  /**
+   * Handles any other failure.
+   *
+   * @param e The exception.
+   * @param handler The controller method that failed.
+   * @param request The current request.
+   * @return 500 with the method's failure message.
+   */
+  @ExceptionHandler(Exception.class)
+  public ResponseEntity<String> handleUnexpected(
+      Exception e, HandlerMethod handler, HttpServletRequest request) {
+    if (logger.isErrorEnabled()) {
+      logger.error("Error handling {}", request.getRequestURI(), e);
+    }
+    return serverError(handler, e);
+  }
+
+  private static ResponseEntity<String> serverError(HandlerMethod handler, Exception e) {
+    FailureMessage failure =
+        handler != null ? handler.getMethodAnnotation(FailureMessage.class) : null;
+    String prefix = failure != null ? failure.value() : DEFAULT_FAILURE_MESSAGE;
+    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+        .body(prefix + ": " + e.getMessage());
+  }
+}
@@ -0,0 +1,44 @@
+package com.reviewdashboard.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** Spring MVC configuration shared by all controllers. */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private final AdmissionControlInterceptor admissionControlInterceptor;
+
+  /**
+   * Creates the MVC configuration.
+   *
+   * @param highMillis Queue-time threshold for high-priority routes.
+   * @param normalMillis Queue-time threshold for normal-priority routes.
+   * @param lowMillis Queue-time threshold for low-priority routes.
+   */
+  public WebConfig(
+      @Value("${admission.shed.high-priority-ms:2000}") long highMillis,
+      @Value("${admission.shed.normal-priority-ms:1000}") long normalMillis,
+      @Value("${admission.shed.low-priority-ms:500}") long lowMillis) {
+    this.admissionControlInterceptor =
+        new AdmissionControlInterceptor(highMillis, normalMillis, lowMillis);
+  }
+
+  /**
+   * Exposes the admission-control interceptor so its shed counters are bound to the meter registry.
+   *
+   * @return The interceptor registered with Spring MVC.
+   */
+  @Bean
+  public AdmissionControlInterceptor admissionControlInterceptor() {
+    return admissionControlInterceptor;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(admissionControlInterceptor);
+  }
+}
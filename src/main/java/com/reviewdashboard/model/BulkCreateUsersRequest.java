@@ -0,0 +1,33 @@
+package com.reviewdashboard.model;
+
+import java.util.List;
+
+/** Request payload for creating many users in the auth service at once. */
+public class BulkCreateUsersRequest {
+  /** The requested user identifiers; duplicates are created once. */
+  private List<String> userIds;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public BulkCreateUsersRequest() {
+    // no-ops
+  }
+
+  /** Convenience constructor. */
+  public BulkCreateUsersRequest(List<String> userIds) {
+    this.userIds = userIds;
+  }
+
+  /** Returns the requested user IDs. */
+  public List<String> getUserIds() {
+    return userIds;
+  }
+
+  /** Sets the requested user IDs. */
+  public void setUserIds(List<String> userIds) {
+    this.userIds = userIds;
+  }
+}
@@ -0,0 +1,66 @@
+package com.reviewdashboard.model;
+
+/** An estimated number of distinct values, such as the reviewers of a product. */
+public class DistinctCount {
+  /** The estimated number of distinct values. */
+  private long estimate;
+
+  /** The standard error of the estimate, in the same unit. */
+  private double standardError;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public DistinctCount() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param estimate The estimated number of distinct values.
+   * @param standardError The standard error of the estimate.
+   */
+  public DistinctCount(long estimate, double standardError) {
+    this.estimate = estimate;
+    this.standardError = standardError;
+  }
+
+  /**
+   * Gets the estimated number of distinct values.
+   *
+   * @return The estimate.
+   */
+  public long getEstimate() {
+    return estimate;
+  }
+
+  /**
+   * Sets the estimated number of distinct values.
+   *
+   * @param estimate The estimate.
+   */
+  public void setEstimate(long estimate) {
+    this.estimate = estimate;
+  }
+
+  /**
+   * Gets the standard error of the estimate.
+   *
+   * @return The standard error.
+   */
+  public double getStandardError() {
+    return standardError;
+  }
+
+  /**
+   * Sets the standard error of the estimate.
+   *
+   * @param standardError The standard error.
+   */
+  public void setStandardError(double standardError) {
+    this.standardError = standardError;
+  }
+}
@@ -0,0 +1,89 @@
+package com.reviewdashboard.model;
+
+/** A product or company ranked by its average rating. */
+public class LeaderboardEntry {
+  /** The product or company ID. */
+  private String id;
+
+  /** The average rating. */
+  private double average;
+
+  /** The number of reviews the average is based on. */
+  private long count;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public LeaderboardEntry() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param id The product or company ID.
+   * @param average The average rating.
+   * @param count The number of reviews.
+   */
+  public LeaderboardEntry(String id, double average, long count) {
+    this.id = id;
+    this.average = average;
+    this.count = count;
+  }
+
+  /**
+   * Gets the product or company ID.
+   *
+   * @return The ID.
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Sets the product or company ID.
+   *
+   * @param id The ID.
+   */
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  /**
+   * Gets the average rating.
+   *
+   * @return The average.
+   */
+  public double getAverage() {
+    return average;
+  }
+
+  /**
+   * Sets the average rating.
+   *
+   * @param average The average.
+   */
+  public void setAverage(double average) {
+    this.average = average;
+  }
+
+  /**
+   * Gets the number of reviews the average is based on.
+   *
+   * @return The count.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Sets the number of reviews the average is based on.
+   *
+   * @param count The count.
+   */
+  public void setCount(long count) {
+    this.count = count;
+  }
+}
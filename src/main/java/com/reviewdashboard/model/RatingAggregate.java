@@ -0,0 +1,121 @@
+package com.reviewdashboard.model;
+
+/** Rating statistics over a set of reviews, e.g. all reviews of one product. */
+public class RatingAggregate {
+  /** The number of reviews. */
+  private long count;
+
+  /** The sum of their ratings. */
+  private double sum;
+
+  /** The lowest rating. */
+  private double min;
+
+  /** The highest rating. */
+  private double max;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public RatingAggregate() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param count The number of reviews.
+   * @param sum The sum of their ratings.
+   * @param min The lowest rating.
+   * @param max The highest rating.
+   */
+  public RatingAggregate(long count, double sum, double min, double max) {
+    this.count = count;
+    this.sum = sum;
+    this.min = min;
+    this.max = max;
+  }
+
+  /**
+   * Gets the number of reviews.
+   *
+   * @return The count.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Sets the number of reviews.
+   *
+   * @param count The count.
+   */
+  public void setCount(long count) {
+    this.count = count;
+  }
+
+  /**
+   * Gets the sum of the ratings.
+   *
+   * @return The sum.
+   */
+  public double getSum() {
+    return sum;
+  }
+
+  /**
+   * Sets the sum of the ratings.
+   *
+   * @param sum The sum.
+   */
+  public void setSum(double sum) {
+    this.sum = sum;
+  }
+
+  /**
+   * Gets the lowest rating.
+   *
+   * @return The minimum.
+   */
+  public double getMin() {
+    return min;
+  }
+
+  /**
+   * Sets the lowest rating.
+   *
+   * @param min The minimum.
+   */
+  public void setMin(double min) {
+    this.min = min;
+  }
+
+  /**
+   * Gets the highest rating.
+   *
+   * @return The maximum.
+   */
+  public double getMax() {
+    return max;
+  }
+
+  /**
+   * Sets the highest rating.
+   *
+   * @param max The maximum.
+   */
+  public void setMax(double max) {
+    this.max = max;
+  }
+
+  /**
+   * Gets the average rating.
+   *
+   * @return The average, or {@code 0} when there are no reviews.
+   */
+  public double getAverage() {
+    return count > 0 ? sum / count : 0;
+  }
+}
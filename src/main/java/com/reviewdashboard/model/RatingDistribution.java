@@ -0,0 +1,91 @@
+package com.reviewdashboard.model;
+
+import java.util.Map;
+
+/** The distribution of a product's ratings: counts per whole star and requested quantiles. */
+public class RatingDistribution {
+  /** The number of ratings. */
+  private long count;
+
+  /** The number of ratings per whole star; index {@code s} holds the ratings of {@code s} stars. */
+  private long[] stars;
+
+  /** The rating at each requested quantile, keyed by the quantile as requested. */
+  private Map<String, Double> quantiles;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public RatingDistribution() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param count The number of ratings.
+   * @param stars The number of ratings per whole star.
+   * @param quantiles The rating at each requested quantile.
+   */
+  public RatingDistribution(long count, long[] stars, Map<String, Double> quantiles) {
+    this.count = count;
+    this.stars = stars;
+    this.quantiles = quantiles;
+  }
+
+  /**
+   * Gets the number of ratings.
+   *
+   * @return The count.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Sets the number of ratings.
+   *
+   * @param count The count.
+   */
+  public void setCount(long count) {
+    this.count = count;
+  }
+
+  /**
+   * Gets the number of ratings per whole star.
+   *
+   * @return The counts, indexed by star.
+   */
+  public long[] getStars() {
+    return stars;
+  }
+
+  /**
+   * Sets the number of ratings per whole star.
+   *
+   * @param stars The counts, indexed by star.
+   */
+  public void setStars(long[] stars) {
+    this.stars = stars;
+  }
+
+  /**
+   * Gets the rating at each requested quantile.
+   *
+   * @return The ratings keyed by quantile.
+   */
+  public Map<String, Double> getQuantiles() {
+    return quantiles;
+  }
+
+  /**
+   * Sets the rating at each requested quantile.
+   *
+   * @param quantiles The ratings keyed by quantile.
+   */
+  public void setQuantiles(Map<String, Double> quantiles) {
+    this.quantiles = quantiles;
+  }
+}
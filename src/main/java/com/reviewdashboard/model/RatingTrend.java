@@ -0,0 +1,89 @@
+package com.reviewdashboard.model;
+
+/** Recent ratings of a product or company over the last hour, day and week. */
+public class RatingTrend {
+  /** The ratings of the last hour. */
+  private RatingWindow lastHour;
+
+  /** The ratings of the last day. */
+  private RatingWindow lastDay;
+
+  /** The ratings of the last week. */
+  private RatingWindow lastWeek;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public RatingTrend() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param lastHour The ratings of the last hour.
+   * @param lastDay The ratings of the last day.
+   * @param lastWeek The ratings of the last week.
+   */
+  public RatingTrend(RatingWindow lastHour, RatingWindow lastDay, RatingWindow lastWeek) {
+    this.lastHour = lastHour;
+    this.lastDay = lastDay;
+    this.lastWeek = lastWeek;
+  }
+
+  /**
+   * Gets the ratings of the last hour.
+   *
+   * @return The window.
+   */
+  public RatingWindow getLastHour() {
+    return lastHour;
+  }
+
+  /**
+   * Sets the ratings of the last hour.
+   *
+   * @param lastHour The window.
+   */
+  public void setLastHour(RatingWindow lastHour) {
+    this.lastHour = lastHour;
+  }
+
+  /**
+   * Gets the ratings of the last day.
+   *
+   * @return The window.
+   */
+  public RatingWindow getLastDay() {
+    return lastDay;
+  }
+
+  /**
+   * Sets the ratings of the last day.
+   *
+   * @param lastDay The window.
+   */
+  public void setLastDay(RatingWindow lastDay) {
+    this.lastDay = lastDay;
+  }
+
+  /**
+   * Gets the ratings of the last week.
+   *
+   * @return The window.
+   */
+  public RatingWindow getLastWeek() {
+    return lastWeek;
+  }
+
+  /**
+   * Sets the ratings of the last week.
+   *
+   * @param lastWeek The window.
+   */
+  public void setLastWeek(RatingWindow lastWeek) {
+    this.lastWeek = lastWeek;
+  }
+}
@@ -0,0 +1,66 @@
+package com.reviewdashboard.model;
+
+/** The number and average of ratings submitted within a recent time window. */
+public class RatingWindow {
+  /** The number of ratings in the window. */
+  private long count;
+
+  /** Their average, or {@code null} when the window has none. */
+  private Double average;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public RatingWindow() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param count The number of ratings.
+   * @param average Their average, or {@code null} when there are none.
+   */
+  public RatingWindow(long count, Double average) {
+    this.count = count;
+    this.average = average;
+  }
+
+  /**
+   * Gets the number of ratings in the window.
+   *
+   * @return The count.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Sets the number of ratings in the window.
+   *
+   * @param count The count.
+   */
+  public void setCount(long count) {
+    this.count = count;
+  }
+
+  /**
+   * Gets the average rating in the window.
+   *
+   * @return The average, or {@code null} when the window has no ratings.
+   */
+  public Double getAverage() {
+    return average;
+  }
+
+  /**
+   * Sets the average rating in the window.
+   *
+   * @param average The average.
+   */
+  public void setAverage(Double average) {
+    this.average = average;
+  }
+}
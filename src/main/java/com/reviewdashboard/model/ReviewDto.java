@@ -1,5 +1,8 @@
 package com.reviewdashboard.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * Data Transfer Object for representing a review.
  *
@@ -19,6 +22,21 @@ public class ReviewDto {
   /** The user who submitted the review. */
   private UserDto user;
 
+  /**
+   * The provisional sentiment of the comment, scored locally when the review is created. It is only
+   * ever written in responses and never sent upstream.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private SentimentScore sentiment;
+
+  /**
+   * The company that makes the reviewed product, optionally supplied by the client for local
+   * per-company statistics. It is only ever read from requests and never sent upstream.
+   */
+  @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+  private String companyId;
+
   /**
    * Gets the unique identifier of the review.
    *
@@ -90,4 +108,40 @@ public class ReviewDto {
   public void setUser(UserDto user) {
     this.user = user;
   }
+
+  /**
+   * Gets the provisional sentiment of the comment.
+   *
+   * @return The sentiment, or {@code null} if the review was not scored.
+   */
+  public SentimentScore getSentiment() {
+    return sentiment;
+  }
+
+  /**
+   * Sets the provisional sentiment of the comment.
+   *
+   * @param sentiment The sentiment.
+   */
+  public void setSentiment(SentimentScore sentiment) {
+    this.sentiment = sentiment;
+  }
+
+  /**
+   * Gets the company that makes the reviewed product.
+   *
+   * @return The company ID, or {@code null} if the client did not supply it.
+   */
+  public String getCompanyId() {
+    return companyId;
+  }
+
+  /**
+   * Sets the company that makes the reviewed product.
+   *
+   * @param companyId The company ID.
+   */
+  public void setCompanyId(String companyId) {
+    this.companyId = companyId;
+  }
 }
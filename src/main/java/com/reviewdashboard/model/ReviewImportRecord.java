@@ -0,0 +1,92 @@
+package com.reviewdashboard.model;
+
+/**
+ * One line of a bulk review import.
+ *
+ * <p>Example: {@code {"productId":"p1","userId":"u1","review":{"comment":"Great","rating":5}}}.
+ */
+public class ReviewImportRecord {
+  /** The product the review is for. */
+  private String productId;
+
+  /** The submitting user; must be the importing user when present. */
+  private String userId;
+
+  /** Optional idempotency key that makes re-importing the record safe. */
+  private String idempotencyKey;
+
+  /** The review to submit. */
+  private ReviewDto review;
+
+  /**
+   * Gets the product ID.
+   *
+   * @return The product ID.
+   */
+  public String getProductId() {
+    return productId;
+  }
+
+  /**
+   * Sets the product ID.
+   *
+   * @param productId The product ID.
+   */
+  public void setProductId(String productId) {
+    this.productId = productId;
+  }
+
+  /**
+   * Gets the submitting user ID.
+   *
+   * @return The user ID, or {@code null} for the importing user.
+   */
+  public String getUserId() {
+    return userId;
+  }
+
+  /**
+   * Sets the submitting user ID.
+   *
+   * @param userId The user ID.
+   */
+  public void setUserId(String userId) {
+    this.userId = userId;
+  }
+
+  /**
+   * Gets the idempotency key.
+   *
+   * @return The idempotency key, or {@code null}.
+   */
+  public String getIdempotencyKey() {
+    return idempotencyKey;
+  }
+
+  /**
+   * Sets the idempotency key.
+   *
+   * @param idempotencyKey The idempotency key.
+   */
+  public void setIdempotencyKey(String idempotencyKey) {
+    this.idempotencyKey = idempotencyKey;
+  }
+
+  /**
+   * Gets the review.
+   *
+   * @return The review DTO.
+   */
+  public ReviewDto getReview() {
+    return review;
+  }
+
+  /**
+   * Sets the review.
+   *
+   * @param review The review DTO.
+   */
+  public void setReview(ReviewDto review) {
+    this.review = review;
+  }
+}
@@ -0,0 +1,153 @@
+package com.reviewdashboard.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of one line of a bulk review import, streamed back to the client as one NDJSON line.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReviewImportResult {
+  /** The review was created upstream. */
+  public static final String CREATED = "CREATED";
+
+  /** The record was malformed or failed validation and was not sent upstream. */
+  public static final String INVALID = "INVALID";
+
+  /** Upstream was unavailable; the review is stored locally and delivered once it recovers. */
+  public static final String DEFERRED = "DEFERRED";
+
+  /** The upstream call failed. */
+  public static final String FAILED = "FAILED";
+
+  /** The 1-based line number of the record in the import stream. */
+  private long line;
+
+  /** One of {@link #CREATED}, {@link #INVALID}, {@link #DEFERRED} or {@link #FAILED}. */
+  private String status;
+
+  /** The product the record was for, if it could be parsed. */
+  private String productId;
+
+  /** The ID of the created review. */
+  private String reviewId;
+
+  /** Why the record was not created. */
+  private String error;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public ReviewImportResult() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param line The line number.
+   * @param status The outcome.
+   * @param productId The product ID; may be {@code null}.
+   * @param reviewId The created review ID; may be {@code null}.
+   * @param error The failure reason; may be {@code null}.
+   */
+  public ReviewImportResult(
+      long line, String status, String productId, String reviewId, String error) {
+    this.line = line;
+    this.status = status;
+    this.productId = productId;
+    this.reviewId = reviewId;
+    this.error = error;
+  }
+
+  /**
+   * Gets the line number.
+   *
+   * @return The 1-based line number.
+   */
+  public long getLine() {
+    return line;
+  }
+
+  /**
+   * Sets the line number.
+   *
+   * @param line The 1-based line number.
+   */
+  public void setLine(long line) {
+    this.line = line;
+  }
+
+  /**
+   * Gets the outcome.
+   *
+   * @return The status.
+   */
+  public String getStatus() {
+    return status;
+  }
+
+  /**
+   * Sets the outcome.
+   *
+   * @param status The status.
+   */
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  /**
+   * Gets the product ID.
+   *
+   * @return The product ID.
+   */
+  public String getProductId() {
+    return productId;
+  }
+
+  /**
+   * Sets the product ID.
+   *
+   * @param productId The product ID.
+   */
+  public void setProductId(String productId) {
+    this.productId = productId;
+  }
+
+  /**
+   * Gets the created review ID.
+   *
+   * @return The review ID.
+   */
+  public String getReviewId() {
+    return reviewId;
+  }
+
+  /**
+   * Sets the created review ID.
+   *
+   * @param reviewId The review ID.
+   */
+  public void setReviewId(String reviewId) {
+    this.reviewId = reviewId;
+  }
+
+  /**
+   * Gets the failure reason.
+   *
+   * @return The failure reason.
+   */
+  public String getError() {
+    return error;
+  }
+
+  /**
+   * Sets the failure reason.
+   *
+   * @param error The failure reason.
+   */
+  public void setError(String error) {
+    this.error = error;
+  }
+}
@@ -0,0 +1,68 @@
+package com.reviewdashboard.model;
+
+import java.util.List;
+
+/** One page of stored reviews, newest first, with the cursor of the next page. */
+public class ReviewPage {
+  /** The reviews on this page, newest first. */
+  private List<StoredReview> reviews;
+
+  /** The opaque cursor of the next page, or {@code null} on the last page. */
+  private String nextCursor;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public ReviewPage() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param reviews The reviews on this page, newest first.
+   * @param nextCursor The cursor of the next page, or {@code null} on the last page.
+   */
+  public ReviewPage(List<StoredReview> reviews, String nextCursor) {
+    this.reviews = reviews;
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Gets the reviews on this page.
+   *
+   * @return The reviews.
+   */
+  public List<StoredReview> getReviews() {
+    return reviews;
+  }
+
+  /**
+   * Sets the reviews on this page.
+   *
+   * @param reviews The reviews.
+   */
+  public void setReviews(List<StoredReview> reviews) {
+    this.reviews = reviews;
+  }
+
+  /**
+   * Gets the cursor of the next page.
+   *
+   * @return The cursor.
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  /**
+   * Sets the cursor of the next page.
+   *
+   * @param nextCursor The cursor.
+   */
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+}
@@ -0,0 +1,114 @@
+package com.reviewdashboard.model;
+
+import java.util.List;
+
+/** One page of the reviews matching a search, best matches first. */
+public class ReviewSearchResult {
+  /** The number of matching reviews across all pages. */
+  private long total;
+
+  /** The zero-based page number. */
+  private int page;
+
+  /** The most reviews per page. */
+  private int size;
+
+  /** The matching reviews on this page. */
+  private List<ReviewSearchHit> hits;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public ReviewSearchResult() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param total The number of matching reviews.
+   * @param page The zero-based page number.
+   * @param size The most reviews per page.
+   * @param hits The matching reviews on this page.
+   */
+  public ReviewSearchResult(long total, int page, int size, List<ReviewSearchHit> hits) {
+    this.total = total;
+    this.page = page;
+    this.size = size;
+    this.hits = hits;
+  }
+
+  /**
+   * Gets the number of matching reviews across all pages.
+   *
+   * @return The total.
+   */
+  public long getTotal() {
+    return total;
+  }
+
+  /**
+   * Sets the number of matching reviews across all pages.
+   *
+   * @param total The total.
+   */
+  public void setTotal(long total) {
+    this.total = total;
+  }
+
+  /**
+   * Gets the zero-based page number.
+   *
+   * @return The page.
+   */
+  public int getPage() {
+    return page;
+  }
+
+  /**
+   * Sets the zero-based page number.
+   *
+   * @param page The page.
+   */
+  public void setPage(int page) {
+    this.page = page;
+  }
+
+  /**
+   * Gets the most reviews per page.
+   *
+   * @return The page size.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Sets the most reviews per page.
+   *
+   * @param size The page size.
+   */
+  public void setSize(int size) {
+    this.size = size;
+  }
+
+  /**
+   * Gets the matching reviews on this page.
+   *
+   * @return The hits.
+   */
+  public List<ReviewSearchHit> getHits() {
+    return hits;
+  }
+
+  /**
+   * Sets the matching reviews on this page.
+   *
+   * @param hits The hits.
+   */
+  public void setHits(List<ReviewSearchHit> hits) {
+    this.hits = hits;
+  }
+}
@@ -0,0 +1,148 @@
+package com.reviewdashboard.model;
+
+/**
+ * Data Transfer Object describing the progress of a review accepted for asynchronous submission.
+ *
+ * <p>Returned with {@code 202 Accepted} when a review is queued and by the submission status
+ * endpoint afterwards.
+ */
+public class ReviewSubmissionStatus {
+  /** Review is queued and has not been delivered upstream yet. */
+  public static final String PENDING = "PENDING";
+
+  /** Review was created upstream; {@link #getReview()} holds the created review. */
+  public static final String SUBMITTED = "SUBMITTED";
+
+  /** Review could not be delivered; {@link #getError()} holds the reason. */
+  public static final String FAILED = "FAILED";
+
+  /** Upstream was unavailable; the review is stored locally and delivered once it recovers. */
+  public static final String DEFERRED = "DEFERRED";
+
+  /** The tracking ID handed out when the review was accepted. */
+  private String trackingId;
+
+  /** One of {@link #PENDING}, {@link #SUBMITTED}, {@link #FAILED} or {@link #DEFERRED}. */
+  private String status;
+
+  /** The product the review is for. */
+  private String productId;
+
+  /** The review as created upstream, once submitted. */
+  private ReviewDto review;
+
+  /** The failure reason, if the submission failed. */
+  private String error;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public ReviewSubmissionStatus() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param trackingId The tracking ID.
+   * @param status The submission status.
+   * @param productId The product ID.
+   */
+  public ReviewSubmissionStatus(String trackingId, String status, String productId) {
+    this.trackingId = trackingId;
+    this.status = status;
+    this.productId = productId;
+  }
+
+  /**
+   * Gets the tracking ID.
+   *
+   * @return The tracking ID.
+   */
+  public String getTrackingId() {
+    return trackingId;
+  }
+
+  /**
+   * Sets the tracking ID.
+   *
+   * @param trackingId The tracking ID.
+   */
+  public void setTrackingId(String trackingId) {
+    this.trackingId = trackingId;
+  }
+
+  /**
+   * Gets the submission status.
+   *
+   * @return The status.
+   */
+  public String getStatus() {
+    return status;
+  }
+
+  /**
+   * Sets the submission status.
+   *
+   * @param status The status.
+   */
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  /**
+   * Gets the product ID.
+   *
+   * @return The product ID.
+   */
+  public String getProductId() {
+    return productId;
+  }
+
+  /**
+   * Sets the product ID.
+   *
+   * @param productId The product ID.
+   */
+  public void setProductId(String productId) {
+    this.productId = productId;
+  }
+
+  /**
+   * Gets the review as created upstream.
+   *
+   * @return The created review, or {@code null} if not yet submitted.
+   */
+  public ReviewDto getReview() {
+    return review;
+  }
+
+  /**
+   * Sets the review as created upstream.
+   *
+   * @param review The created review.
+   */
+  public void setReview(ReviewDto review) {
+    this.review = review;
+  }
+
+  /**
+   * Gets the failure reason.
+   *
+   * @return The failure reason, or {@code null} if the submission has not failed.
+   */
+  public String getError() {
+    return error;
+  }
+
+  /**
+   * Sets the failure reason.
+   *
+   * @param error The failure reason.
+   */
+  public void setError(String error) {
+    this.error = error;
+  }
+}
@@ -0,0 +1,33 @@
+package com.reviewdashboard.model;
+
+import java.util.List;
+
+/** Request payload for scoring many comments at once. */
+public class SentimentBatchRequest {
+  /** The comments to score. */
+  private List<String> comments;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public SentimentBatchRequest() {
+    // no-ops
+  }
+
+  /** Convenience constructor. */
+  public SentimentBatchRequest(List<String> comments) {
+    this.comments = comments;
+  }
+
+  /** Returns the comments to score. */
+  public List<String> getComments() {
+    return comments;
+  }
+
+  /** Sets the comments to score. */
+  public void setComments(List<String> comments) {
+    this.comments = comments;
+  }
+}
@@ -0,0 +1,98 @@
+package com.reviewdashboard.model;
+
+/** A provisional sentiment computed locally from a review comment. */
+public class SentimentScore {
+  /** The comment leans positive. */
+  public static final String POSITIVE = "POSITIVE";
+
+  /** The comment leans negative. */
+  public static final String NEGATIVE = "NEGATIVE";
+
+  /** The comment has no clear sentiment. */
+  public static final String NEUTRAL = "NEUTRAL";
+
+  /** The normalized score in [-1, 1]. */
+  private double score;
+
+  /** One of {@link #POSITIVE}, {@link #NEGATIVE} or {@link #NEUTRAL}. */
+  private String label;
+
+  /** The number of lexicon terms that contributed to the score. */
+  private int matches;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public SentimentScore() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param score The normalized score.
+   * @param label The label.
+   * @param matches The number of contributing lexicon terms.
+   */
+  public SentimentScore(double score, String label, int matches) {
+    this.score = score;
+    this.label = label;
+    this.matches = matches;
+  }
+
+  /**
+   * Gets the normalized score.
+   *
+   * @return The score in [-1, 1].
+   */
+  public double getScore() {
+    return score;
+  }
+
+  /**
+   * Sets the normalized score.
+   *
+   * @param score The score.
+   */
+  public void setScore(double score) {
+    this.score = score;
+  }
+
+  /**
+   * Gets the label.
+   *
+   * @return The label.
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * Sets the label.
+   *
+   * @param label The label.
+   */
+  public void setLabel(String label) {
+    this.label = label;
+  }
+
+  /**
+   * Gets the number of lexicon terms that contributed to the score.
+   *
+   * @return The number of matches.
+   */
+  public int getMatches() {
+    return matches;
+  }
+
+  /**
+   * Sets the number of lexicon terms that contributed to the score.
+   *
+   * @param matches The number of matches.
+   */
+  public void setMatches(int matches) {
+    this.matches = matches;
+  }
+}
@@ -0,0 +1,136 @@
+package com.reviewdashboard.model;
+
+/** A review submitted through this service, as kept by the local review store. */
+public class StoredReview {
+  /** The product the review is for. */
+  private String productId;
+
+  /** The user that submitted the review. */
+  private String userId;
+
+  /** The numerical rating given in the review. */
+  private double rating;
+
+  /** The review's comment. */
+  private String comment;
+
+  /** When the review was accepted, in epoch milliseconds. */
+  private long timestampMillis;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public StoredReview() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param productId The product ID.
+   * @param userId The user ID.
+   * @param rating The rating.
+   * @param comment The comment.
+   * @param timestampMillis When the review was accepted, in epoch milliseconds.
+   */
+  public StoredReview(
+      String productId, String userId, double rating, String comment, long timestampMillis) {
+    this.productId = productId;
+    this.userId = userId;
+    this.rating = rating;
+    this.comment = comment;
+    this.timestampMillis = timestampMillis;
+  }
+
+  /**
+   * Gets the product the review is for.
+   *
+   * @return The product ID.
+   */
+  public String getProductId() {
+    return productId;
+  }
+
+  /**
+   * Sets the product the review is for.
+   *
+   * @param productId The product ID.
+   */
+  public void setProductId(String productId) {
+    this.productId = productId;
+  }
+
+  /**
+   * Gets the user that submitted the review.
+   *
+   * @return The user ID.
+   */
+  public String getUserId() {
+    return userId;
+  }
+
+  /**
+   * Sets the user that submitted the review.
+   *
+   * @param userId The user ID.
+   */
+  public void setUserId(String userId) {
+    this.userId = userId;
+  }
+
+  /**
+   * Gets the rating of the review.
+   *
+   * @return The rating.
+   */
+  public double getRating() {
+    return rating;
+  }
+
+  /**
+   * Sets the rating of the review.
+   *
+   * @param rating The rating.
+   */
+  public void setRating(double rating) {
+    this.rating = rating;
+  }
+
+  /**
+   * Gets the review's comment.
+   *
+   * @return The comment.
+   */
+  public String getComment() {
+    return comment;
+  }
+
+  /**
+   * Sets the review's comment.
+   *
+   * @param comment The comment.
+   */
+  public void setComment(String comment) {
+    this.comment = comment;
+  }
+
+  /**
+   * Gets when the review was accepted.
+   *
+   * @return The epoch milliseconds.
+   */
+  public long getTimestampMillis() {
+    return timestampMillis;
+  }
+
+  /**
+   * Sets when the review was accepted.
+   *
+   * @param timestampMillis The epoch milliseconds.
+   */
+  public void setTimestampMillis(long timestampMillis) {
+    this.timestampMillis = timestampMillis;
+  }
+}
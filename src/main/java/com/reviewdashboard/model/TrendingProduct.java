@@ -0,0 +1,89 @@
+package com.reviewdashboard.model;
+
+/** A product that is reviewed often right now, with its estimated decayed review count. */
+public class TrendingProduct {
+  /** The product ID. */
+  private String productId;
+
+  /** The estimated number of recent reviews, each weighted down by its age. */
+  private double estimatedCount;
+
+  /** How far the estimate may exceed the true count; it is never below it. */
+  private double errorBound;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public TrendingProduct() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param productId The product ID.
+   * @param estimatedCount The estimated decayed review count.
+   * @param errorBound How far the estimate may exceed the true count.
+   */
+  public TrendingProduct(String productId, double estimatedCount, double errorBound) {
+    this.productId = productId;
+    this.estimatedCount = estimatedCount;
+    this.errorBound = errorBound;
+  }
+
+  /**
+   * Gets the product ID.
+   *
+   * @return The product ID.
+   */
+  public String getProductId() {
+    return productId;
+  }
+
+  /**
+   * Sets the product ID.
+   *
+   * @param productId The product ID.
+   */
+  public void setProductId(String productId) {
+    this.productId = productId;
+  }
+
+  /**
+   * Gets the estimated decayed review count.
+   *
+   * @return The estimate.
+   */
+  public double getEstimatedCount() {
+    return estimatedCount;
+  }
+
+  /**
+   * Sets the estimated decayed review count.
+   *
+   * @param estimatedCount The estimate.
+   */
+  public void setEstimatedCount(double estimatedCount) {
+    this.estimatedCount = estimatedCount;
+  }
+
+  /**
+   * Gets how far the estimate may exceed the true count.
+   *
+   * @return The error bound.
+   */
+  public double getErrorBound() {
+    return errorBound;
+  }
+
+  /**
+   * Sets how far the estimate may exceed the true count.
+   *
+   * @param errorBound The error bound.
+   */
+  public void setErrorBound(double errorBound) {
+    this.errorBound = errorBound;
+  }
+}
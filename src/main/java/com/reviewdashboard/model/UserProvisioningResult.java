@@ -0,0 +1,107 @@
+package com.reviewdashboard.model;
+
+/** The outcome of creating one user ID in the auth service. */
+public class UserProvisioningResult {
+  /** The user was created. */
+  public static final String CREATED = "CREATED";
+
+  /** The user ID is already taken (upstream {@code 409}). */
+  public static final String CONFLICT = "CONFLICT";
+
+  /** The user ID was blank or rejected by the auth service (upstream {@code 400}). */
+  public static final String INVALID = "INVALID";
+
+  /** The call was rejected locally because the auth service is saturated. */
+  public static final String UNAVAILABLE = "UNAVAILABLE";
+
+  /** Any other failure. */
+  public static final String ERROR = "ERROR";
+
+  /** The user ID. */
+  private String userId;
+
+  /**
+   * One of {@link #CREATED}, {@link #CONFLICT}, {@link #INVALID}, {@link #UNAVAILABLE} or {@link
+   * #ERROR}.
+   */
+  private String status;
+
+  /** The client-facing message for this outcome. */
+  private String message;
+
+  /**
+   * Default constructor.
+   *
+   * <p>This constructor is required for JSON deserialization.
+   */
+  public UserProvisioningResult() {
+    // no-ops
+  }
+
+  /**
+   * Convenience constructor.
+   *
+   * @param userId The user ID.
+   * @param status The outcome.
+   * @param message The client-facing message.
+   */
+  public UserProvisioningResult(String userId, String status, String message) {
+    this.userId = userId;
+    this.status = status;
+    this.message = message;
+  }
+
+  /**
+   * Gets the user ID.
+   *
+   * @return The user ID.
+   */
+  public String getUserId() {
+    return userId;
+  }
+
+  /**
+   * Sets the user ID.
+   *
+   * @param userId The user ID.
+   */
+  public void setUserId(String userId) {
+    this.userId = userId;
+  }
+
+  /**
+   * Gets the outcome.
+   *
+   * @return The status.
+   */
+  public String getStatus() {
+    return status;
+  }
+
+  /**
+   * Sets the outcome.
+   *
+   * @param status The status.
+   */
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  /**
+   * Gets the client-facing message.
+   *
+   * @return The message.
+   */
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * Sets the client-facing message.
+   *
+   * @param message The message.
+   */
+  public void setMessage(String message) {
+    this.message = message;
+  }
+}
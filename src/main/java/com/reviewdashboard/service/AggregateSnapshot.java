@@ -0,0 +1,216 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.RatingAggregate;
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-product and per-company rating aggregates computed offline from historical review dumps.
+ *
+ * <p>Snapshots are written by the {@code rebuild-aggregates} command and loaded from {@code
+ * review.aggregates.snapshot} at startup when that file exists. The file is binary: a magic number
+ * and version, the creation time, then the product and company sections, each a count followed by
+ * {@code (key, count, sum, min, max)} entries. Writes go to a temporary file that is then moved
+ * into place, so a running service never sees a partial snapshot.
+ */
+@Component
+public class AggregateSnapshot {
+
+  private static final Logger logger = LoggerFactory.getLogger(AggregateSnapshot.class);
+
+  private static final int MAGIC = 0x52414747; // "RAGG"
+  private static final int VERSION = 1;
+
+  private final Path path;
+  private volatile Data data = new Data(0, Map.of(), Map.of());
+
+  /**
+   * Creates a snapshot holder.
+   *
+   * @param path The snapshot file loaded at startup; blank disables loading.
+   */
+  public AggregateSnapshot(
+      @Value("${review.aggregates.snapshot:data/aggregates.snapshot}") String path) {
+    this.path = path == null || path.isBlank() ? null : Paths.get(path.trim());
+  }
+
+  /**
+   * Loads the configured snapshot if it exists. A missing or unreadable snapshot leaves the holder
+   * empty.
+   */
+  @PostConstruct
+  public void load() {
+    if (path == null || !Files.isRegularFile(path)) {
+      return;
+    }
+    try {
+      data = read(path);
+      if (logger.isInfoEnabled()) {
+        logger.info(
+            "Loaded aggregate snapshot {} with {} products and {} companies",
+            path,
+            data.products.size(),
+            data.companies.size());
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failed to load aggregate snapshot {}", path, e);
+    }
+  }
+
+  /**
+   * Returns the aggregate of a product.
+   *
+   * @param productId The product ID.
+   * @return The aggregate, or {@code null} if the snapshot has none for the product.
+   */
+  public RatingAggregate product(String productId) {
+    return data.products.get(productId);
+  }
+
+  /**
+   * Returns the aggregate of a company.
+   *
+   * @param companyId The company ID.
+   * @return The aggregate, or {@code null} if the snapshot has none for the company.
+   */
+  public RatingAggregate company(String companyId) {
+    return data.companies.get(companyId);
+  }
+
+  /**
+   * Returns when the loaded snapshot was created.
+   *
+   * @return Milliseconds since the epoch, or {@code 0} if no snapshot is loaded.
+   */
+  public long createdMillis() {
+    return data.createdMillis;
+  }
+
+  /**
+   * Writes a snapshot atomically.
+   *
+   * @param target The snapshot file.
+   * @param createdMillis The creation time recorded in the snapshot.
+   * @param products Aggregates by product ID.
+   * @param companies Aggregates by company ID.
+   * @throws IOException If the snapshot cannot be written.
+   */
+  public static void write(
+      Path target,
+      long createdMillis,
+      Map<String, RatingAggregate> products,
+      Map<String, RatingAggregate> companies)
+      throws IOException {
+    Path parent = target.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(createdMillis);
+        writeSection(out, products);
+        writeSection(out, companies);
+      }
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Reads a snapshot file.
+   *
+   * @param source The snapshot file.
+   * @return The snapshot contents.
+   * @throws IOException If the file cannot be read or is not a snapshot.
+   */
+  static Data read(Path source) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(source), 1 << 16))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException(source + " is not an aggregate snapshot");
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported aggregate snapshot version " + version);
+      }
+      long createdMillis = in.readLong();
+      Map<String, RatingAggregate> products = readSection(in);
+      Map<String, RatingAggregate> companies = readSection(in);
+      return new Data(createdMillis, products, companies);
+    }
+  }
+
+  private static void writeSection(DataOutputStream out, Map<String, RatingAggregate> section)
+      throws IOException {
+    out.writeInt(section.size());
+    for (Map.Entry<String, RatingAggregate> entry : section.entrySet()) {
+      byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      RatingAggregate aggregate = entry.getValue();
+      out.writeInt(key.length);
+      out.write(key);
+      out.writeLong(aggregate.getCount());
+      out.writeDouble(aggregate.getSum());
+      out.writeDouble(aggregate.getMin());
+      out.writeDouble(aggregate.getMax());
+    }
+  }
+
+  private static Map<String, RatingAggregate> readSection(DataInputStream in) throws IOException {
+    int size = in.readInt();
+    if (size < 0) {
+      throw new IOException("Corrupt aggregate snapshot section size " + size);
+    }
+    Map<String, RatingAggregate> section = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+    for (int i = 0; i < size; i++) {
+      byte[] key = new byte[in.readInt()];
+      in.readFully(key);
+      section.put(
+          new String(key, StandardCharsets.UTF_8),
+          new RatingAggregate(in.readLong(), in.readDouble(), in.readDouble(), in.readDouble()));
+    }
+    return Collections.unmodifiableMap(section);
+  }
+
+  /** The contents of one snapshot file. */
+  static final class Data {
+    private final long createdMillis;
+    private final Map<String, RatingAggregate> products;
+    private final Map<String, RatingAggregate> companies;
+
+    Data(
+        long createdMillis,
+        Map<String, RatingAggregate> products,
+        Map<String, RatingAggregate> companies) {
+      this.createdMillis = createdMillis;
+      this.products = products;
+      this.companies = companies;
+    }
+
+    Map<String, RatingAggregate> products() {
+      return products;
+    }
+
+    Map<String, RatingAggregate> companies() {
+      return companies;
+    }
+  }
+}
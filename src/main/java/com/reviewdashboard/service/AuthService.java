@@ -1,7 +1,23 @@
 package com.reviewdashboard.service;
 
 import com.reviewdashboard.client.AuthClient;
+import com.reviewdashboard.client.UpstreamRejectedException;
 import com.reviewdashboard.model.CreateUserRequest;
+import com.reviewdashboard.model.UserProvisioningResult;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -9,10 +25,43 @@ import org.springframework.stereotype.Service;
 @Service
 public class AuthService {
 
+  private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
   private final AuthClient authClient;
+  private final int bulkConcurrency;
+  private final int bulkMaxUsers;
+  private final ExecutorService bulkExecutor;
 
-  public AuthService(AuthClient authClient) {
+  /**
+   * Creates a new auth service.
+   *
+   * @param authClient The auth service client.
+   * @param bulkConcurrency The maximum number of concurrent upstream calls for bulk creation.
+   * @param bulkMaxUsers The maximum number of distinct user IDs in one bulk creation.
+   */
+  public AuthService(
+      AuthClient authClient,
+      @Value("${auth.bulk.concurrency:16}") int bulkConcurrency,
+      @Value("${auth.bulk.max-users:10000}") int bulkMaxUsers) {
     this.authClient = authClient;
+    this.bulkConcurrency = Math.max(1, bulkConcurrency);
+    this.bulkMaxUsers = bulkMaxUsers;
+    AtomicInteger threads = new AtomicInteger();
+    this.bulkExecutor =
+        Executors.newFixedThreadPool(
+            this.bulkConcurrency,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "user-provisioning-" + threads.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Stops the bulk creation threads. */
+  @PreDestroy
+  public void shutdown() {
+    bulkExecutor.shutdownNow();
   }
 
   /**
@@ -24,4 +73,108 @@ public class AuthService {
   public ResponseEntity<Void> createUser(final String userId) {
     return authClient.createUser(new CreateUserRequest(userId));
   }
+
+  /**
+   * Creates many users, deduplicating the IDs and calling the auth service with bounded
+   * concurrency.
+   *
+   * <p>Blank IDs are reported as {@link UserProvisioningResult#INVALID} without an upstream call.
+   * The calls run on a shared pool of {@code auth.bulk.concurrency} threads, so concurrent batches
+   * together never exceed that many upstream calls.
+   *
+   * @param userIds The desired user IDs; duplicates are created once.
+   * @return One result per distinct ID, in the order the IDs were first given.
+   * @throws IllegalArgumentException If there are more distinct IDs than {@code
+   *     auth.bulk.max-users}.
+   * @throws InterruptedException If interrupted while waiting for the upstream calls.
+   */
+  public List<UserProvisioningResult> createUsers(Collection<String> userIds)
+      throws InterruptedException {
+    String[] distinct = new LinkedHashSet<>(userIds).toArray(new String[0]);
+    if (distinct.length > bulkMaxUsers) {
+      throw new IllegalArgumentException(
+          "At most " + bulkMaxUsers + " distinct user IDs can be created at once");
+    }
+    UserProvisioningResult[] results = new UserProvisioningResult[distinct.length];
+    AtomicInteger next = new AtomicInteger();
+    int workers = Math.min(bulkConcurrency, distinct.length);
+    CountDownLatch done = new CountDownLatch(workers);
+    for (int i = 0; i < workers; i++) {
+      bulkExecutor.execute(
+          () -> {
+            try {
+              int index;
+              while ((index = next.getAndIncrement()) < distinct.length) {
+                String userId = distinct[index];
+                results[index] =
+                    userId == null || userId.trim().isEmpty()
+                        ? new UserProvisioningResult(
+                            userId, UserProvisioningResult.INVALID, "userId must not be blank")
+                        : provision(userId, () -> createUser(userId));
+              }
+            } finally {
+              done.countDown();
+            }
+          });
+    }
+    done.await();
+
+    List<UserProvisioningResult> outcomes = new ArrayList<>(results.length);
+    int created = 0;
+    for (UserProvisioningResult result : results) {
+      outcomes.add(result);
+      if (UserProvisioningResult.CREATED.equals(result.getStatus())) {
+        created++;
+      }
+    }
+    if (logger.isInfoEnabled()) {
+      logger.info(
+          "Bulk user creation: {} requested, {} distinct, {} created",
+          userIds.size(),
+          distinct.length,
+          created);
+    }
+    return outcomes;
+  }
+
+  /**
+   * Runs one user creation call and maps its outcome the way {@code POST /auth/users} reports it.
+   *
+   * @param userId The user ID being created.
+   * @param call The upstream call.
+   * @return The outcome, with the client-facing message.
+   */
+  public static UserProvisioningResult provision(
+      String userId, Supplier<ResponseEntity<Void>> call) {
+    try {
+      ResponseEntity<Void> response = call.get();
+      if (response.getStatusCode().is2xxSuccessful()) {
+        return new UserProvisioningResult(userId, UserProvisioningResult.CREATED, "User created");
+      }
+      return new UserProvisioningResult(
+          userId,
+          UserProvisioningResult.ERROR,
+          "Failed to create user: unexpected upstream status");
+    } catch (UpstreamRejectedException e) {
+      return new UserProvisioningResult(userId, UserProvisioningResult.UNAVAILABLE, e.getMessage());
+    } catch (FeignException e) {
+      if (e.status() == 409) {
+        return new UserProvisioningResult(
+            userId,
+            UserProvisioningResult.CONFLICT,
+            "This user ID is already taken. Please choose another.");
+      }
+      if (e.status() == 400) {
+        return new UserProvisioningResult(
+            userId,
+            UserProvisioningResult.INVALID,
+            "Invalid userId. Please try a different value.");
+      }
+      return new UserProvisioningResult(
+          userId, UserProvisioningResult.ERROR, "Failed to create user: " + e.getMessage());
+    } catch (RuntimeException e) {
+      return new UserProvisioningResult(
+          userId, UserProvisioningResult.ERROR, "Failed to create user: " + e.getMessage());
+    }
+  }
 }
@@ -8,19 +8,23 @@ import org.springframework.stereotype.Service;
  * Service layer for handling company-related business logic.
  *
  * <p>This service acts as an intermediary between the controller and the {@link CompanyClient},
- * delegating calls to the external company microservice.
+ * delegating calls to the external company microservice. Fetched averages are passed on to the
+ * {@link RatingLeaderboard}.
  */
 @Service
 public class CompanyService {
   private final CompanyClient companyClient;
+  private final RatingLeaderboard leaderboard;
 
   /**
    * Constructs a new CompanyService with the necessary Feign client.
    *
    * @param companyClient The Feign client for communicating with the company service.
+   * @param leaderboard The leaderboard updated with fetched averages.
    */
-  public CompanyService(CompanyClient companyClient) {
+  public CompanyService(CompanyClient companyClient, RatingLeaderboard leaderboard) {
     this.companyClient = companyClient;
+    this.leaderboard = leaderboard;
   }
 
   /**
@@ -32,6 +36,10 @@ public class CompanyService {
    * @return A {@link ResponseEntity} containing the average rating as a {@link Double}.
    */
   public ResponseEntity<Double> getAverageRating(String companyId, String userId) {
-    return companyClient.getAverageRating(companyId, userId);
+    ResponseEntity<Double> response = companyClient.getAverageRating(companyId, userId);
+    if (response != null) {
+      leaderboard.updateCompany(companyId, response.getBody());
+    }
+    return response;
   }
 }
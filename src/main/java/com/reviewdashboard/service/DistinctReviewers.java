@@ -0,0 +1,164 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.DistinctCount;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The number of distinct users that reviewed each product and company, estimated with one {@link
+ * HyperLogLog} per key.
+ *
+ * <p>A user is counted from the {@code X-User-Id} of every accepted review, and the company of a
+ * review is its optional {@code companyId}. A key's sketch starts sparse, a few bytes per distinct
+ * reviewer, and never grows past {@code 2^precision} bytes. This is a {@link
+ * ReviewSubmissionListener} stage, so only the pipeline thread writes; it and readers synchronize
+ * on the key's sketch. Reviews for keys beyond {@code max-keys} are counted as dropped.
+ */
+@Component
+public class DistinctReviewers implements ReviewSubmissionListener, MeterBinder {
+
+  private final boolean enabled;
+  private final int precision;
+  private final int maxKeys;
+  private final Map<String, HyperLogLog> products = new ConcurrentHashMap<>();
+  private final Map<String, HyperLogLog> companies = new ConcurrentHashMap<>();
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * Creates the sketches.
+   *
+   * @param enabled Whether reviewers are counted.
+   * @param precision The index bits of each sketch; the relative standard error is {@code 1.04 /
+   *     sqrt(2^precision)}.
+   * @param maxKeys The most products, and separately companies, tracked at once.
+   */
+  public DistinctReviewers(
+      @Value("${review.reviewers.enabled:true}") boolean enabled,
+      @Value("${review.reviewers.precision:10}") int precision,
+      @Value("${review.reviewers.max-keys:1000000}") int maxKeys) {
+    this.enabled = enabled;
+    this.precision =
+        Math.min(HyperLogLog.MAX_PRECISION, Math.max(HyperLogLog.MIN_PRECISION, precision));
+    this.maxKeys = Math.max(1, maxKeys);
+  }
+
+  @Override
+  public void onReviewSubmitted(ReviewEvent event) {
+    record(event.getProductId(), event.getReview().getCompanyId(), event.getUserId());
+  }
+
+  @Override
+  public String stageName() {
+    return "reviewers";
+  }
+
+  /**
+   * Returns the estimated number of distinct users that reviewed a product.
+   *
+   * @param productId The product ID.
+   * @return The estimate, or {@code null} if no reviews of the product were seen.
+   */
+  public DistinctCount productReviewers(String productId) {
+    return count(products.get(productId));
+  }
+
+  /**
+   * Returns the estimated number of distinct users that reviewed a company's products.
+   *
+   * @param companyId The company ID.
+   * @return The estimate, or {@code null} if no reviews of the company were seen.
+   */
+  public DistinctCount companyReviewers(String companyId) {
+    return count(companies.get(companyId));
+  }
+
+  /**
+   * Returns a copy of a product's sketch, e.g. to {@link HyperLogLog#merge merge} with the sketch
+   * of another replica.
+   *
+   * @param productId The product ID.
+   * @return The copy, or {@code null} if no reviews of the product were seen.
+   */
+  public HyperLogLog productSketch(String productId) {
+    return copy(products.get(productId));
+  }
+
+  /**
+   * Returns a copy of a company's sketch, e.g. to {@link HyperLogLog#merge merge} with the sketch
+   * of another replica.
+   *
+   * @param companyId The company ID.
+   * @return The copy, or {@code null} if no reviews of the company were seen.
+   */
+  public HyperLogLog companySketch(String companyId) {
+    return copy(companies.get(companyId));
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("review.reviewers.keys", products, Map::size)
+        .tag("type", "product")
+        .description("Products with a distinct reviewer sketch")
+        .register(registry);
+    Gauge.builder("review.reviewers.keys", companies, Map::size)
+        .tag("type", "company")
+        .description("Companies with a distinct reviewer sketch")
+        .register(registry);
+    FunctionCounter.builder("review.reviewers.dropped", dropped, LongAdder::sum)
+        .description("Reviewers not counted because the key limit was reached")
+        .register(registry);
+  }
+
+  /** Counts one reviewer; called by the pipeline thread only. */
+  void record(String productId, String companyId, String userId) {
+    if (!enabled || productId == null || userId == null) {
+      return;
+    }
+    long hash = HyperLogLog.hash(userId);
+    add(products, productId, hash);
+    if (companyId != null && !companyId.isBlank()) {
+      add(companies, companyId, hash);
+    }
+  }
+
+  private void add(Map<String, HyperLogLog> sketches, String key, long hash) {
+    HyperLogLog sketch = sketches.get(key);
+    if (sketch == null) {
+      if (sketches.size() >= maxKeys) {
+        dropped.increment();
+        return;
+      }
+      sketch = sketches.computeIfAbsent(key, k -> new HyperLogLog(precision));
+    }
+    synchronized (sketch) {
+      sketch.addHash(hash);
+    }
+  }
+
+  private static DistinctCount count(HyperLogLog sketch) {
+    if (sketch == null) {
+      return null;
+    }
+    long estimate;
+    synchronized (sketch) {
+      estimate = sketch.estimate();
+    }
+    return new DistinctCount(estimate, estimate * sketch.relativeStandardError());
+  }
+
+  private static HyperLogLog copy(HyperLogLog sketch) {
+    if (sketch == null) {
+      return null;
+    }
+    synchronized (sketch) {
+      return sketch.copy();
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.ReviewDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Detects reviews whose comment nearly duplicates a recently accepted review of the same product.
+ *
+ * <p>Each comment is reduced to a 64-bit SimHash over its lower-cased word tokens; two comments are
+ * near-duplicates when their fingerprints differ in at most {@code maxDistance} bits. Recent
+ * fingerprints are kept in a banded LSH index: the fingerprint is split into {@value #BANDS} bands
+ * of {@value #BAND_BITS} bits, and by the pigeonhole principle two fingerprints within {@code
+ * maxDistance < BANDS} bits agree exactly on at least one band. Each band hashes, together with the
+ * product, to a small set-associative bucket, so a lookup reads at most {@code BANDS * WAYS} slots.
+ *
+ * <p>The index is a fixed array of {@code capacity} slots per band, so memory does not grow with
+ * traffic; when a bucket is full an older entry is overwritten. Entries are stored XORed with a
+ * per-product salt, which keeps reviews of other products from matching without storing product
+ * IDs. Fingerprints are added by the {@link ReviewPipeline} once the upstream accepts a review, so
+ * this is the index's only writer; request threads only read it.
+ */
+@Component
+public class DuplicateReviewDetector implements ReviewSubmissionListener, MeterBinder {
+
+  /** What to do with near-duplicates. */
+  public enum Mode {
+    /** Detection is disabled. */
+    OFF,
+    /** Near-duplicates are counted and reported, but still submitted. */
+    FLAG,
+    /** Near-duplicates are rejected before they are submitted. */
+    REJECT
+  }
+
+  static final int BANDS = 8;
+  static final int BAND_BITS = 64 / BANDS;
+  private static final int WAYS = 4;
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final Mode mode;
+  private final int maxDistance;
+  private final int minTokens;
+  private final int bucketsPerBand;
+  private final AtomicLongArray slots;
+  private final LongAdder checked = new LongAdder();
+  private final LongAdder duplicates = new LongAdder();
+  private long insertions;
+
+  /**
+   * Creates a new detector.
+   *
+   * @param mode {@code off}, {@code flag} or {@code reject}.
+   * @param capacity The number of fingerprints remembered per band, rounded up to a power of two.
+   * @param maxDistance The largest Hamming distance counted as a near-duplicate; at most 7.
+   * @param minTokens Comments with fewer words are never treated as duplicates.
+   */
+  public DuplicateReviewDetector(
+      @Value("${review.dedup.mode:flag}") String mode,
+      @Value("${review.dedup.capacity:65536}") int capacity,
+      @Value("${review.dedup.max-distance:7}") int maxDistance,
+      @Value("${review.dedup.min-tokens:5}") int minTokens) {
+    this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    this.maxDistance = Math.max(0, Math.min(BANDS - 1, maxDistance));
+    this.minTokens = Math.max(1, minTokens);
+    int buckets = Math.max(1, capacity / WAYS);
+    this.bucketsPerBand = Integer.highestOneBit(buckets * 2 - 1);
+    this.slots = new AtomicLongArray(BANDS * bucketsPerBand * WAYS);
+  }
+
+  /**
+   * Returns whether near-duplicates are rejected rather than only flagged.
+   *
+   * @return {@code true} in {@link Mode#REJECT}.
+   */
+  public boolean rejects() {
+    return mode == Mode.REJECT;
+  }
+
+  /**
+   * Checks a review against the recently accepted reviews of its product.
+   *
+   * @param productId The product the review is for.
+   * @param review The review.
+   * @return {@code true} if detection is enabled and the comment nearly duplicates a recent one.
+   */
+  public boolean isNearDuplicate(String productId, ReviewDto review) {
+    if (mode == Mode.OFF || review == null) {
+      return false;
+    }
+    long fingerprint = fingerprint(review.getComment());
+    if (fingerprint == 0) {
+      return false;
+    }
+    checked.increment();
+    long salt = productSalt(productId);
+    for (int band = 0; band < BANDS; band++) {
+      int base = bucketBase(band, salt, fingerprint);
+      for (int way = 0; way < WAYS; way++) {
+        long stored = slots.get(base + way);
+        if (stored != 0 && Long.bitCount(stored ^ salt ^ fingerprint) <= maxDistance) {
+          duplicates.increment();
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /** Remembers the fingerprint of an accepted review. */
+  @Override
+  public void onReviewSubmitted(ReviewEvent event) {
+    if (mode == Mode.OFF || event.getReview() == null) {
+      return;
+    }
+    long fingerprint = fingerprint(event.getReview().getComment());
+    if (fingerprint == 0) {
+      return;
+    }
+    long salt = productSalt(event.getProductId());
+    long entry = fingerprint ^ salt;
+    for (int band = 0; band < BANDS; band++) {
+      int base = bucketBase(band, salt, fingerprint);
+      int target = -1;
+      for (int way = 0; way < WAYS; way++) {
+        long stored = slots.get(base + way);
+        if (stored == entry) {
+          target = -2;
+          break;
+        }
+        if (stored == 0 && target == -1) {
+          target = way;
+        }
+      }
+      if (target == -2) {
+        continue;
+      }
+      if (target == -1) {
+        target = (int) (insertions & (WAYS - 1));
+      }
+      slots.lazySet(base + target, entry);
+    }
+    insertions++;
+  }
+
+  @Override
+  public String stageName() {
+    return "dedup";
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("review.dedup.checked", checked, LongAdder::sum)
+        .description("Reviews checked for near-duplicates")
+        .register(registry);
+    FunctionCounter.builder("review.dedup.duplicates", duplicates, LongAdder::sum)
+        .description("Reviews found to nearly duplicate a recent review")
+        .register(registry);
+  }
+
+  /**
+   * Computes the SimHash of a comment over its lower-cased letter-and-digit tokens.
+   *
+   * @param comment The comment.
+   * @return The fingerprint, or {@code 0} if the comment has fewer than {@code minTokens} tokens.
+   */
+  long fingerprint(String comment) {
+    if (comment == null) {
+      return 0;
+    }
+    int[] weights = new int[64];
+    int tokens = 0;
+    long hash = FNV_OFFSET;
+    boolean inToken = false;
+    int length = comment.length();
+    for (int i = 0; i <= length; i++) {
+      char c = i < length ? comment.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        hash = (hash ^ Character.toLowerCase(c)) * FNV_PRIME;
+        inToken = true;
+      } else if (inToken) {
+        long feature = mix(hash);
+        for (int bit = 0; bit < 64; bit++) {
+          weights[bit] += (int) ((feature >>> bit) & 1L) * 2 - 1;
+        }
+        tokens++;
+        hash = FNV_OFFSET;
+        inToken = false;
+      }
+    }
+    if (tokens < minTokens) {
+      return 0;
+    }
+    long fingerprint = 0;
+    for (int bit = 0; bit < 64; bit++) {
+      if (weights[bit] > 0) {
+        fingerprint |= 1L << bit;
+      }
+    }
+    return fingerprint;
+  }
+
+  private int bucketBase(int band, long salt, long fingerprint) {
+    long bandValue = (fingerprint >>> (band * BAND_BITS)) & ((1L << BAND_BITS) - 1);
+    long hash = mix(salt + band * 0x9e3779b97f4a7c15L + bandValue);
+    int bucket = (int) (hash >>> 32) & (bucketsPerBand - 1);
+    return (band * bucketsPerBand + bucket) * WAYS;
+  }
+
+  private static long productSalt(String productId) {
+    long hash = FNV_OFFSET;
+    if (productId != null) {
+      for (int i = 0; i < productId.length(); i++) {
+        hash = (hash ^ productId.charAt(i)) * FNV_PRIME;
+      }
+    }
+    return mix(hash);
+  }
+
+  /** The MurmurHash3 64-bit finalizer. */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+    z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return z ^ (z >>> 33);
+  }
+}
@@ -0,0 +1,276 @@
+package com.reviewdashboard.service;
+
+import java.util.Arrays;
+
+/**
+ * A HyperLogLog sketch estimating how many distinct values were added, in at most {@code 2^p}
+ * bytes.
+ *
+ * <p>Each value's 64-bit hash picks one of {@code m = 2^p} registers with its top {@code p} bits;
+ * the register keeps the longest run of leading zeros, plus one, seen in the remaining bits. The
+ * estimate's relative standard error is {@code 1.04 / sqrt(m)}, e.g. 3.25% for {@code p = 10}.
+ * Small counts are estimated by linear counting over the empty registers, which is far more
+ * accurate while most registers are empty.
+ *
+ * <p>A new sketch is sparse: it keeps only its non-empty registers, one {@code int} each, and
+ * switches to a dense {@code byte} per register once that would take more than {@code m / 2} bytes.
+ * Sketches of the same precision merge losslessly by taking the larger of each register, so
+ * sketches from other replicas or periods can be combined into one counting their union; {@link
+ * #toByteArray} and {@link #fromByteArray} carry them between processes.
+ *
+ * <p>Not thread-safe; callers synchronize on the sketch.
+ */
+public final class HyperLogLog {
+
+  /** The fewest index bits supported. */
+  public static final int MIN_PRECISION = 4;
+
+  /** The most index bits supported. */
+  public static final int MAX_PRECISION = 16;
+
+  private static final int RANK_BITS = 6;
+  private static final int RANK_MASK = (1 << RANK_BITS) - 1;
+  private static final int INITIAL_SPARSE = 4;
+
+  private final int precision;
+  private final int registerCount;
+
+  /** Non-empty registers as {@code index << 6 | rank}, or {@code null} once dense. */
+  private int[] sparse = new int[INITIAL_SPARSE];
+
+  private int sparseSize;
+
+  /** One register per byte, or {@code null} while sparse. */
+  private byte[] dense;
+
+  /**
+   * Creates an empty sketch.
+   *
+   * @param precision The number of index bits {@code p}; {@code 2^p} registers.
+   * @throws IllegalArgumentException if the precision is outside {@value #MIN_PRECISION} to {@value
+   *     #MAX_PRECISION}.
+   */
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException(
+          "precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION);
+    }
+    this.precision = precision;
+    this.registerCount = 1 << precision;
+  }
+
+  /**
+   * Hashes a value for {@link #addHash}; a 64-bit FNV-1a hash with a Murmur3 finalizer.
+   *
+   * @param value The value.
+   * @return The hash.
+   */
+  public static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /**
+   * Adds a value.
+   *
+   * @param value The value.
+   */
+  public void add(String value) {
+    addHash(hash(value));
+  }
+
+  /**
+   * Adds a value by its hash, so one hash can feed several sketches.
+   *
+   * @param hash The value's {@link #hash}.
+   */
+  public void addHash(long hash) {
+    int index = (int) (hash >>> (Long.SIZE - precision));
+    // The sentinel bit caps the rank at 64 - p + 1 when the remaining bits are all zero.
+    int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+    set(index, rank);
+  }
+
+  /**
+   * Adds every value counted by another sketch.
+   *
+   * @param other A sketch of the same precision.
+   * @throws IllegalArgumentException if the precisions differ.
+   */
+  public void merge(HyperLogLog other) {
+    if (other.precision != precision) {
+      throw new IllegalArgumentException(
+          "Cannot merge precision " + other.precision + " into precision " + precision);
+    }
+    if (other.dense != null) {
+      for (int index = 0; index < registerCount; index++) {
+        if (other.dense[index] != 0) {
+          set(index, other.dense[index]);
+        }
+      }
+    } else {
+      for (int i = 0; i < other.sparseSize; i++) {
+        set(other.sparse[i] >>> RANK_BITS, other.sparse[i] & RANK_MASK);
+      }
+    }
+  }
+
+  /**
+   * Estimates the number of distinct values added.
+   *
+   * @return The estimate.
+   */
+  public long estimate() {
+    double sum = 0;
+    int zeros = registerCount;
+    if (dense != null) {
+      zeros = 0;
+      for (byte register : dense) {
+        sum += 1.0 / (1L << register);
+        if (register == 0) {
+          zeros++;
+        }
+      }
+    } else {
+      for (int i = 0; i < sparseSize; i++) {
+        sum += 1.0 / (1L << (sparse[i] & RANK_MASK));
+      }
+      zeros -= sparseSize;
+      sum += zeros;
+    }
+    double m = registerCount;
+    double estimate = alpha() * m * m / sum;
+    if (estimate <= 2.5 * m && zeros > 0) {
+      estimate = m * Math.log(m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  /**
+   * Returns the relative standard error of {@link #estimate}, {@code 1.04 / sqrt(2^p)}.
+   *
+   * @return The relative standard error.
+   */
+  public double relativeStandardError() {
+    return 1.04 / Math.sqrt(registerCount);
+  }
+
+  /**
+   * Gets the number of index bits.
+   *
+   * @return The precision.
+   */
+  public int getPrecision() {
+    return precision;
+  }
+
+  /**
+   * Returns a copy that can be changed independently.
+   *
+   * @return The copy.
+   */
+  public HyperLogLog copy() {
+    HyperLogLog copy = new HyperLogLog(precision);
+    copy.merge(this);
+    return copy;
+  }
+
+  /**
+   * Serializes the sketch as its precision followed by one byte per register.
+   *
+   * @return The bytes.
+   */
+  public byte[] toByteArray() {
+    byte[] bytes = new byte[1 + registerCount];
+    bytes[0] = (byte) precision;
+    if (dense != null) {
+      System.arraycopy(dense, 0, bytes, 1, registerCount);
+    } else {
+      for (int i = 0; i < sparseSize; i++) {
+        bytes[1 + (sparse[i] >>> RANK_BITS)] = (byte) (sparse[i] & RANK_MASK);
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Reads a sketch written by {@link #toByteArray}.
+   *
+   * @param bytes The bytes.
+   * @return The sketch.
+   * @throws IllegalArgumentException if the bytes are not a sketch.
+   */
+  public static HyperLogLog fromByteArray(byte[] bytes) {
+    if (bytes.length == 0 || bytes.length != 1 + (1 << Math.min(bytes[0], 30))) {
+      throw new IllegalArgumentException("Not a HyperLogLog sketch");
+    }
+    HyperLogLog sketch = new HyperLogLog(bytes[0]);
+    int maxRank = Long.SIZE - sketch.precision + 1;
+    for (int index = 0; index < sketch.registerCount; index++) {
+      int rank = bytes[1 + index];
+      if (rank < 0 || rank > maxRank) {
+        throw new IllegalArgumentException("Not a HyperLogLog sketch");
+      }
+      if (rank != 0) {
+        sketch.set(index, rank);
+      }
+    }
+    return sketch;
+  }
+
+  private void set(int index, int rank) {
+    if (dense != null) {
+      if (dense[index] < rank) {
+        dense[index] = (byte) rank;
+      }
+      return;
+    }
+    for (int i = 0; i < sparseSize; i++) {
+      if (sparse[i] >>> RANK_BITS == index) {
+        if ((sparse[i] & RANK_MASK) < rank) {
+          sparse[i] = index << RANK_BITS | rank;
+        }
+        return;
+      }
+    }
+    if (sparseSize == sparse.length) {
+      if (sparse.length * 2 * Integer.BYTES > registerCount / 2) {
+        toDense();
+        dense[index] = (byte) rank;
+        return;
+      }
+      sparse = Arrays.copyOf(sparse, sparse.length * 2);
+    }
+    sparse[sparseSize++] = index << RANK_BITS | rank;
+  }
+
+  private void toDense() {
+    dense = new byte[registerCount];
+    for (int i = 0; i < sparseSize; i++) {
+      dense[sparse[i] >>> RANK_BITS] = (byte) (sparse[i] & RANK_MASK);
+    }
+    sparse = null;
+    sparseSize = 0;
+  }
+
+  private double alpha() {
+    switch (registerCount) {
+      case 16:
+        return 0.673;
+      case 32:
+        return 0.697;
+      case 64:
+        return 0.709;
+      default:
+        return 0.7213 / (1 + 1.079 / registerCount);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package com.reviewdashboard.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the outcome of operations by idempotency key so that retried requests do not repeat
+ * their side effects.
+ *
+ * <p>The first caller for a key runs the operation; callers arriving while it is in flight wait for
+ * and share its result, and callers arriving later get the stored result without running it again.
+ * Failed operations are forgotten so the client can retry them. Entries expire after a fixed
+ * time-to-live, and the store holds at most {@code maxEntries} keys, evicting the oldest first.
+ */
+@Component
+public class IdempotencyStore implements MeterBinder {
+
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final LongAdder replays = new LongAdder();
+
+  /**
+   * Creates a new store.
+   *
+   * @param ttlMillis How long a completed result is remembered.
+   * @param maxEntries The maximum number of keys kept at once.
+   */
+  public IdempotencyStore(
+      @Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+      @Value("${idempotency.max-entries:100000}") int maxEntries) {
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.maxEntries = Math.max(1, maxEntries);
+  }
+
+  /**
+   * Runs {@code action} at most once per live key and returns its result.
+   *
+   * @param key The idempotency key, already scoped to the caller and operation.
+   * @param action The operation to run if no result is known for the key.
+   * @param <V> The result type; all callers of a key must agree on it.
+   * @return The result of this call or of an earlier call with the same key.
+   */
+  @SuppressWarnings("unchecked")
+  public <V> V execute(String key, Supplier<V> action) {
+    long now = System.nanoTime();
+    Entry mine = new Entry(key, now + ttlNanos);
+    while (true) {
+      Entry existing = entries.putIfAbsent(key, mine);
+      if (existing == null) {
+        break;
+      }
+      if (existing.expiresAt - now > 0) {
+        replays.increment();
+        return (V) await(existing);
+      }
+      if (entries.replace(key, existing, mine)) {
+        break;
+      }
+    }
+    insertionOrder.add(mine);
+    queued.incrementAndGet();
+    evict(now);
+
+    try {
+      V value = action.get();
+      mine.result.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      entries.remove(key, mine);
+      mine.result.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Returns whether a key has a live entry, either in flight or completed and not yet expired.
+   *
+   * @param key The idempotency key, already scoped to the caller and operation.
+   * @return {@code true} if {@link #execute} would replay a result for the key.
+   */
+  public boolean contains(String key) {
+    Entry existing = entries.get(key);
+    return existing != null && existing.expiresAt - System.nanoTime() > 0;
+  }
+
+  /**
+   * Returns the number of keys currently remembered.
+   *
+   * @return The number of entries.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns how many calls were answered from a stored or in-flight result.
+   *
+   * @return The replay count.
+   */
+  public long replayCount() {
+    return replays.sum();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("idempotency.entries", this, IdempotencyStore::size)
+        .description("Idempotency keys currently remembered")
+        .register(registry);
+    FunctionCounter.builder("idempotency.replays", replays, LongAdder::sum)
+        .description("Requests answered from a stored or in-flight result")
+        .register(registry);
+  }
+
+  private void evict(long now) {
+    Entry head;
+    while ((head = insertionOrder.peek()) != null
+        && (queued.get() > maxEntries || head.expiresAt - now <= 0)) {
+      if (insertionOrder.remove(head)) {
+        queued.decrementAndGet();
+        entries.remove(head.key, head);
+      }
+    }
+  }
+
+  private static Object await(Entry entry) {
+    try {
+      return entry.result.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+
+  /** The pending or completed result of one keyed operation. */
+  private static final class Entry {
+    private final String key;
+    private final long expiresAt;
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+    private Entry(String key, long expiresAt) {
+      this.key = key;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
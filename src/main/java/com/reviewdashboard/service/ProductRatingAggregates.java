@@ -0,0 +1,378 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.RatingAggregate;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process rating aggregates per product, so average ratings can be served locally and reflect
+ * reviews submitted through this instance immediately.
+ *
+ * <p>Each product holds a seed and the reviews recorded locally since. The seed is the upstream
+ * average, fetched on the first read and again once it is older than {@code refresh-ms}. The
+ * upstream only reports the average, so local reviews are blended into it only when the {@link
+ * AggregateSnapshot} has the product's review count; a product with no reviews upstream has an
+ * exact, empty seed. Without a count the upstream average is served unchanged and the local reviews
+ * are reported beside it in the {@link #LOCAL_REVIEW_COUNT_HEADER} and {@link
+ * #LOCAL_AVERAGE_HEADER} headers. Local reviews are kept as count, min, max and Welford's running
+ * mean and variance.
+ *
+ * <p>A refresh keeps only the reviews recorded after it started, since the upstream average may not
+ * include them yet. While one caller refreshes, concurrent readers are served the current local
+ * value. Every product's state is an immutable value swapped with a compare-and-set, so reads never
+ * block and concurrent writers to the same product retry instead of queueing on a lock. Every
+ * change is passed on to the {@link RatingLeaderboard}.
+ */
+@Component
+public class ProductRatingAggregates implements MeterBinder {
+
+  /** Reviews recorded locally but left out of an average whose upstream review count is unknown. */
+  public static final String LOCAL_REVIEW_COUNT_HEADER = "X-Local-Review-Count";
+
+  /** The average of the reviews counted in {@link #LOCAL_REVIEW_COUNT_HEADER}. */
+  public static final String LOCAL_AVERAGE_HEADER = "X-Local-Average-Rating";
+
+  private final boolean enabled;
+  private final long refreshNanos;
+  private final int maxProducts;
+  private final AggregateSnapshot snapshot;
+  private final RatingLeaderboard leaderboard;
+  private final ConcurrentHashMap<String, AtomicReference<State>> products =
+      new ConcurrentHashMap<>();
+  private final LongAdder localReads = new LongAdder();
+  private final LongAdder upstreamReads = new LongAdder();
+
+  /**
+   * Creates the aggregates.
+   *
+   * @param enabled Whether reads are served locally; when {@code false} every read goes upstream.
+   * @param refreshMillis How long an upstream seed is used before it is fetched again.
+   * @param maxProducts The most products tracked; reads of further products go upstream.
+   * @param snapshot The offline snapshot that provides review counts, min and max.
+   * @param leaderboard The leaderboard updated with every change; may be {@code null}.
+   */
+  public ProductRatingAggregates(
+      @Value("${review.aggregates.enabled:true}") boolean enabled,
+      @Value("${review.aggregates.refresh-ms:60000}") long refreshMillis,
+      @Value("${review.aggregates.max-products:1000000}") int maxProducts,
+      AggregateSnapshot snapshot,
+      RatingLeaderboard leaderboard) {
+    this.enabled = enabled;
+    this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, refreshMillis));
+    this.maxProducts = Math.max(0, maxProducts);
+    this.snapshot = snapshot;
+    this.leaderboard = leaderboard;
+  }
+
+  /**
+   * Records a review the upstream accepted, so the next read reflects it.
+   *
+   * @param productId The product ID.
+   * @param rating The review's rating.
+   */
+  public void record(String productId, double rating) {
+    if (!enabled || Double.isNaN(rating)) {
+      return;
+    }
+    AtomicReference<State> entry = entry(productId);
+    if (entry == null) {
+      return;
+    }
+    State current;
+    do {
+      current = entry.get();
+    } while (!entry.compareAndSet(current, current.plus(rating)));
+    changed(productId, entry);
+  }
+
+  /**
+   * Returns the average rating of a product, served locally when its seed is fresh.
+   *
+   * @param productId The product ID.
+   * @param upstream Fetches the upstream average; called to seed or refresh the product.
+   * @return The average rating; the body is {@code null} when the product has no reviews.
+   */
+  public ResponseEntity<Double> averageRating(
+      String productId, Supplier<ResponseEntity<Double>> upstream) {
+    AtomicReference<State> entry = enabled ? entry(productId) : null;
+    if (entry == null) {
+      upstreamReads.increment();
+      return upstream.get();
+    }
+    long now = System.nanoTime();
+    State current;
+    do {
+      current = entry.get();
+      if (current.seeded && (current.pending != null || now - current.seededAt < refreshNanos)) {
+        localReads.increment();
+        return current.response();
+      }
+      if (current.pending != null) {
+        // Another caller is seeding this product; do not wait for it.
+        upstreamReads.increment();
+        return upstream.get();
+      }
+    } while (!entry.compareAndSet(current, current.beginRefresh()));
+
+    upstreamReads.increment();
+    ResponseEntity<Double> response;
+    try {
+      response = upstream.get();
+    } catch (RuntimeException e) {
+      do {
+        current = entry.get();
+      } while (!entry.compareAndSet(current, current.abortRefresh()));
+      if (!current.seeded && current.local.count == 0) {
+        products.remove(productId, entry);
+      }
+      throw e;
+    }
+
+    Double average = response == null ? null : response.getBody();
+    RatingAggregate base = snapshot == null ? null : snapshot.product(productId);
+    do {
+      current = entry.get();
+    } while (!entry.compareAndSet(current, current.seed(average, base, now)));
+    changed(productId, entry);
+    State seeded = entry.get();
+    return seeded.local.count == 0 ? response : seeded.response();
+  }
+
+  /**
+   * Returns the local aggregate of a product: the seed plus the reviews recorded since.
+   *
+   * @param productId The product ID.
+   * @return The aggregate, or {@code null} if the product is not seeded or has reviews upstream but
+   *     no count for them in the snapshot.
+   */
+  public RatingAggregate aggregate(String productId) {
+    AtomicReference<State> entry = products.get(productId);
+    State state = entry == null ? null : entry.get();
+    return state == null ? null : state.toAggregate();
+  }
+
+  /**
+   * Returns the sample variance of the ratings recorded locally for a product since it was seeded.
+   *
+   * @param productId The product ID.
+   * @return The variance, or {@code 0} with fewer than two local ratings.
+   */
+  public double localVariance(String productId) {
+    AtomicReference<State> entry = products.get(productId);
+    return entry == null ? 0 : entry.get().local.variance();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("review.aggregates.reads", localReads, LongAdder::sum)
+        .tag("source", "local")
+        .description("Average rating reads served from local aggregates")
+        .register(registry);
+    FunctionCounter.builder("review.aggregates.reads", upstreamReads, LongAdder::sum)
+        .tag("source", "upstream")
+        .description("Average rating reads that fetched the upstream average")
+        .register(registry);
+    Gauge.builder("review.aggregates.products", products, ConcurrentHashMap::size)
+        .description("Products with a local rating aggregate")
+        .register(registry);
+  }
+
+  /**
+   * Passes a product's latest state on to the leaderboard. A concurrent change may land between
+   * reading the state and updating the leaderboard, so the state is published again until it is
+   * still current afterwards; whichever writer publishes last has then published the latest state.
+   */
+  private void changed(String productId, AtomicReference<State> entry) {
+    if (leaderboard == null) {
+      return;
+    }
+    State published;
+    State latest = entry.get();
+    do {
+      published = latest;
+      if (published.seeded) {
+        // An upstream average without a count is not ranked; toAggregate() removes it.
+        leaderboard.updateProduct(productId, published.toAggregate());
+      }
+      latest = entry.get();
+    } while (latest != published);
+  }
+
+  private AtomicReference<State> entry(String productId) {
+    AtomicReference<State> entry = products.get(productId);
+    if (entry == null && products.size() < maxProducts) {
+      entry = products.computeIfAbsent(productId, id -> new AtomicReference<>(State.UNSEEDED));
+    }
+    return entry;
+  }
+
+  /** Count, min, max, mean and sum of squared deviations of ratings, per Welford. */
+  private static final class Moments {
+    private static final Moments EMPTY =
+        new Moments(0, 0, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+    private final long count;
+    private final double mean;
+    private final double m2;
+    private final double min;
+    private final double max;
+
+    private Moments(long count, double mean, double m2, double min, double max) {
+      this.count = count;
+      this.mean = mean;
+      this.m2 = m2;
+      this.min = min;
+      this.max = max;
+    }
+
+    private Moments plus(double rating) {
+      long n = count + 1;
+      double delta = rating - mean;
+      double nextMean = mean + delta / n;
+      return new Moments(
+          n,
+          nextMean,
+          m2 + delta * (rating - nextMean),
+          Math.min(min, rating),
+          Math.max(max, rating));
+    }
+
+    private double variance() {
+      return count > 1 ? m2 / (count - 1) : 0;
+    }
+  }
+
+  /** The immutable state of one product. */
+  private static final class State {
+    private static final State UNSEEDED =
+        new State(false, true, 0, 0, Double.NaN, Double.NaN, 0, Moments.EMPTY, null);
+
+    private final boolean seeded;
+
+    /** Whether the upstream review count is known: from the snapshot, or none at all. */
+    private final boolean counted;
+
+    private final long seedCount;
+
+    private final double seedMean;
+    private final double seedMin;
+    private final double seedMax;
+    private final long seededAt;
+    private final Moments local;
+
+    /** Reviews recorded since the running refresh started, or {@code null} if none is running. */
+    private final Moments pending;
+
+    private State(
+        boolean seeded,
+        boolean counted,
+        long seedCount,
+        double seedMean,
+        double seedMin,
+        double seedMax,
+        long seededAt,
+        Moments local,
+        Moments pending) {
+      this.seeded = seeded;
+      this.counted = counted;
+      this.seedCount = seedCount;
+      this.seedMean = seedMean;
+      this.seedMin = seedMin;
+      this.seedMax = seedMax;
+      this.seededAt = seededAt;
+      this.local = local;
+      this.pending = pending;
+    }
+
+    private State plus(double rating) {
+      return new State(
+          seeded,
+          counted,
+          seedCount,
+          seedMean,
+          seedMin,
+          seedMax,
+          seededAt,
+          local.plus(rating),
+          pending == null ? null : pending.plus(rating));
+    }
+
+    private State beginRefresh() {
+      return new State(
+          seeded, counted, seedCount, seedMean, seedMin, seedMax, seededAt, local, Moments.EMPTY);
+    }
+
+    private State abortRefresh() {
+      return new State(
+          seeded, counted, seedCount, seedMean, seedMin, seedMax, seededAt, local, null);
+    }
+
+    private State seed(Double average, RatingAggregate base, long now) {
+      Moments since = pending == null ? Moments.EMPTY : pending;
+      if (average == null) {
+        return new State(true, true, 0, 0, Double.NaN, Double.NaN, now, since, null);
+      }
+      if (base == null || base.getCount() <= 0) {
+        return new State(true, false, 0, average, Double.NaN, Double.NaN, now, since, null);
+      }
+      return new State(
+          true,
+          true,
+          base.getCount(),
+          average,
+          Math.min(base.getMin(), average),
+          Math.max(base.getMax(), average),
+          now,
+          since,
+          null);
+    }
+
+    /**
+     * Returns the average of the seed and the local reviews, or the seed alone when its review
+     * count is unknown, since the local reviews cannot then be weighted against it.
+     */
+    private Double average() {
+      if (!counted) {
+        return seedMean;
+      }
+      long count = seedCount + local.count;
+      return count == 0 ? null : (seedCount * seedMean + local.count * local.mean) / count;
+    }
+
+    /** Returns the average, with the local reviews it leaves out reported in headers. */
+    private ResponseEntity<Double> response() {
+      if (counted || local.count == 0) {
+        return ResponseEntity.ok(average());
+      }
+      return ResponseEntity.ok()
+          .header(LOCAL_REVIEW_COUNT_HEADER, Long.toString(local.count))
+          .header(LOCAL_AVERAGE_HEADER, Double.toString(local.mean))
+          .body(seedMean);
+    }
+
+    /** Returns the aggregate, or {@code null} unless seeded with a known upstream count. */
+    private RatingAggregate toAggregate() {
+      if (!seeded || !counted) {
+        return null;
+      }
+      long count = seedCount + local.count;
+      if (count == 0) {
+        return new RatingAggregate(0, 0, 0, 0);
+      }
+      double sum = seedCount * seedMean + local.count * local.mean;
+      double min = seedCount > 0 ? Math.min(seedMin, local.min) : local.min;
+      double max = seedCount > 0 ? Math.max(seedMax, local.max) : local.max;
+      return new RatingAggregate(count, sum, min, max);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.RatingDistribution;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The distribution of each product's ratings, kept as one {@link RatingHistogram} per product.
+ *
+ * <p>This is a {@link ReviewSubmissionListener} stage, so only the pipeline thread writes; it and
+ * readers synchronize on the product's histogram. Ratings for products beyond {@code max-products}
+ * are counted as dropped.
+ */
+@Component
+public class RatingDistributions implements ReviewSubmissionListener, MeterBinder {
+
+  private final boolean enabled;
+  private final int maxProducts;
+  private final Map<String, RatingHistogram> products = new ConcurrentHashMap<>();
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * Creates the distributions.
+   *
+   * @param enabled Whether ratings are recorded.
+   * @param maxProducts The most products tracked at once.
+   */
+  public RatingDistributions(
+      @Value("${review.distribution.enabled:true}") boolean enabled,
+      @Value("${review.distribution.max-products:1000000}") int maxProducts) {
+    this.enabled = enabled;
+    this.maxProducts = Math.max(1, maxProducts);
+  }
+
+  @Override
+  public void onReviewSubmitted(ReviewEvent event) {
+    record(event.getProductId(), event.getReview().getRating());
+  }
+
+  @Override
+  public String stageName() {
+    return "distribution";
+  }
+
+  /**
+   * Returns the distribution of a product's ratings.
+   *
+   * @param productId The product ID.
+   * @param quantiles The quantiles to estimate, each between {@code 0} and {@code 1}.
+   * @return The distribution with the quantiles keyed by their string form, or {@code null} if no
+   *     reviews of the product were seen.
+   * @throws IllegalArgumentException if a quantile is outside {@code [0, 1]}.
+   */
+  public RatingDistribution distribution(String productId, List<Double> quantiles) {
+    RatingHistogram histogram = products.get(productId);
+    if (histogram == null) {
+      return null;
+    }
+    synchronized (histogram) {
+      Map<String, Double> values = new LinkedHashMap<>();
+      for (double quantile : quantiles) {
+        values.put(String.valueOf(quantile), histogram.quantile(quantile));
+      }
+      return new RatingDistribution(histogram.count(), histogram.stars(), values);
+    }
+  }
+
+  /**
+   * Returns a copy of a product's histogram, e.g. to {@link RatingHistogram#merge merge} with the
+   * histogram of another replica.
+   *
+   * @param productId The product ID.
+   * @return The copy, or {@code null} if no reviews of the product were seen.
+   */
+  public RatingHistogram histogram(String productId) {
+    RatingHistogram histogram = products.get(productId);
+    if (histogram == null) {
+      return null;
+    }
+    synchronized (histogram) {
+      return histogram.copy();
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("review.distribution.products", products, Map::size)
+        .description("Products with a rating histogram")
+        .register(registry);
+    FunctionCounter.builder("review.distribution.dropped", dropped, LongAdder::sum)
+        .description("Ratings not recorded because the product limit was reached")
+        .register(registry);
+  }
+
+  /** Records one rating; called by the pipeline thread only. */
+  void record(String productId, double rating) {
+    if (!enabled || productId == null || Double.isNaN(rating)) {
+      return;
+    }
+    RatingHistogram histogram = products.get(productId);
+    if (histogram == null) {
+      if (products.size() >= maxProducts) {
+        dropped.increment();
+        return;
+      }
+      histogram = products.computeIfAbsent(productId, id -> new RatingHistogram());
+    }
+    synchronized (histogram) {
+      histogram.add(rating);
+    }
+  }
+}
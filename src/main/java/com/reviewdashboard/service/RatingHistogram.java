@@ -0,0 +1,156 @@
+package com.reviewdashboard.service;
+
+/**
+ * A fixed-bin histogram of ratings between {@link ReviewValidator#MIN_RATING} and {@link
+ * ReviewValidator#MAX_RATING}, giving the star distribution and approximate quantiles in a few
+ * dozen bytes.
+ *
+ * <p>There are 21 bins, one per quarter star. Bin {@code i} holds ratings of exactly {@code i / 4}
+ * when {@code i} is even, i.e. whole and half stars, and ratings strictly between the neighbouring
+ * half stars when it is odd. Whole and half star ratings are therefore kept exactly, and any other
+ * rating is placed within a quarter star of its bin's value. Bins never straddle a star boundary,
+ * so the star counts, with ratings rounded half up to whole stars, are exact.
+ *
+ * <p>Counts start as 16-bit {@code char}s, 42 bytes in all, and widen to {@code int}s the first
+ * time one would overflow. Histograms merge losslessly by adding their counts, so histograms from
+ * other replicas or periods can be combined into one describing all their ratings.
+ *
+ * <p>Not thread-safe; callers synchronize on the histogram.
+ */
+public final class RatingHistogram {
+
+  /** The number of bins, one per quarter star from the lowest to the highest rating. */
+  public static final int BINS = (int) (ReviewValidator.MAX_RATING * 4) + 1;
+
+  /** The number of whole stars, from the lowest to the highest rating. */
+  public static final int STARS = (int) ReviewValidator.MAX_RATING + 1;
+
+  private char[] narrow = new char[BINS];
+
+  /** The counts once one outgrew a {@code char}, or {@code null} until then. */
+  private int[] wide;
+
+  private long count;
+
+  /**
+   * Adds a rating; ratings outside the valid range are clamped to it.
+   *
+   * @param rating The rating.
+   */
+  public void add(double rating) {
+    if (Double.isNaN(rating)) {
+      return;
+    }
+    increment(bin(rating), 1);
+  }
+
+  /**
+   * Adds every rating counted by another histogram.
+   *
+   * @param other The other histogram.
+   */
+  public void merge(RatingHistogram other) {
+    for (int bin = 0; bin < BINS; bin++) {
+      int added = other.get(bin);
+      if (added != 0) {
+        increment(bin, added);
+      }
+    }
+  }
+
+  /**
+   * Gets the number of ratings added.
+   *
+   * @return The count.
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Returns the number of ratings per whole star, each rating rounded half up.
+   *
+   * @return The counts; index {@code s} holds the ratings of {@code s} stars.
+   */
+  public long[] stars() {
+    long[] stars = new long[STARS];
+    for (int bin = 0; bin < BINS; bin++) {
+      // Bins 4s-2 to 4s+1 hold the ratings from s - 0.5 inclusive to s + 0.5 exclusive.
+      stars[(bin + 2) / 4] += get(bin);
+    }
+    return stars;
+  }
+
+  /**
+   * Estimates a quantile by the nearest-rank method; exact when the ratings are whole or half stars
+   * and within a quarter star otherwise.
+   *
+   * @param quantile The quantile, {@code 0} for the lowest rating and {@code 1} for the highest.
+   * @return The rating, or {@code null} if the histogram is empty.
+   * @throws IllegalArgumentException if the quantile is outside {@code [0, 1]}.
+   */
+  public Double quantile(double quantile) {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("quantile must be between 0 and 1");
+    }
+    if (count == 0) {
+      return null;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * count));
+    long seen = 0;
+    for (int bin = 0; bin < BINS; bin++) {
+      seen += get(bin);
+      if (seen >= rank) {
+        return value(bin);
+      }
+    }
+    return value(BINS - 1);
+  }
+
+  /**
+   * Returns a copy that can be changed independently.
+   *
+   * @return The copy.
+   */
+  public RatingHistogram copy() {
+    RatingHistogram copy = new RatingHistogram();
+    copy.merge(this);
+    return copy;
+  }
+
+  private static int bin(double rating) {
+    double quarters =
+        Math.min(ReviewValidator.MAX_RATING, Math.max(ReviewValidator.MIN_RATING, rating)) * 4;
+    int below = (int) Math.floor(quarters);
+    if ((below & 1) == 0) {
+      // An exact whole or half star stays in its own bin; anything above it moves to the next.
+      return quarters == below ? below : below + 1;
+    }
+    // Strictly between two half stars.
+    return below;
+  }
+
+  private static double value(int bin) {
+    return ReviewValidator.MIN_RATING + bin / 4.0;
+  }
+
+  private int get(int bin) {
+    return wide != null ? wide[bin] : narrow[bin];
+  }
+
+  private void increment(int bin, int added) {
+    if (wide == null && narrow[bin] + added > Character.MAX_VALUE) {
+      wide = new int[BINS];
+      for (int i = 0; i < BINS; i++) {
+        wide[i] = narrow[i];
+      }
+      narrow = null;
+    }
+    if (wide != null) {
+      wide[bin] += added;
+    } else {
+      narrow[bin] += (char) added;
+    }
+    count += added;
+  }
+}
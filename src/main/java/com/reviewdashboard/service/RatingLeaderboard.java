@@ -0,0 +1,247 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.LeaderboardEntry;
+import com.reviewdashboard.model.RatingAggregate;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The best and worst rated products and companies, kept up to date as ratings change.
+ *
+ * <p>Products are updated from the {@link ProductRatingAggregates} whenever one is seeded or
+ * records a review; companies whenever their upstream average is fetched. Upstream averages come
+ * without a count, so a company is counted by its review count in the {@link AggregateSnapshot},
+ * and products and companies without a known count are not ranked. Only keys with at least {@code
+ * min-reviews} reviews are ranked.
+ *
+ * <p>Each scope keeps its latest value per key and a concurrent skip list of the eligible keys
+ * ordered by average. An update replaces the key's entry inside a per-key {@code compute}, so
+ * updates to different keys never contend and no global lock is taken. The top and bottom {@code
+ * size} entries are copied out of the skip list by the first read after a change and handed to
+ * readers as immutable lists, so reads do not walk the ranking.
+ */
+@Component
+public class RatingLeaderboard implements MeterBinder {
+
+  /** What a leaderboard ranks. */
+  public enum Scope {
+    PRODUCT,
+    COMPANY;
+
+    /**
+     * Parses a scope case-insensitively.
+     *
+     * @param value The scope name, e.g. {@code product}.
+     * @return The scope, or {@code null} if the name is unknown.
+     */
+    public static Scope parse(String value) {
+      for (Scope scope : values()) {
+        if (scope.name().equals(value == null ? null : value.toUpperCase(Locale.ROOT))) {
+          return scope;
+        }
+      }
+      return null;
+    }
+  }
+
+  private final int size;
+  private final long minReviews;
+  private final int maxKeys;
+  private final AggregateSnapshot snapshot;
+  private final Board products = new Board();
+  private final Board companies = new Board();
+
+  /**
+   * Creates the leaderboard.
+   *
+   * @param size The number of entries kept at each end of a ranking.
+   * @param minReviews The fewest reviews a key needs to be ranked.
+   * @param maxKeys The most products, and separately companies, tracked at once.
+   * @param snapshot The offline snapshot that provides company review counts.
+   */
+  public RatingLeaderboard(
+      @Value("${review.leaderboard.size:100}") int size,
+      @Value("${review.leaderboard.min-reviews:5}") long minReviews,
+      @Value("${review.leaderboard.max-keys:1000000}") int maxKeys,
+      AggregateSnapshot snapshot) {
+    this.size = Math.max(1, size);
+    this.minReviews = Math.max(0, minReviews);
+    this.maxKeys = Math.max(1, maxKeys);
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * Updates the rating of a product.
+   *
+   * @param productId The product ID.
+   * @param aggregate Its aggregate, or {@code null} to remove it.
+   */
+  public void updateProduct(String productId, RatingAggregate aggregate) {
+    if (aggregate == null || aggregate.getCount() == 0) {
+      products.update(productId, null);
+    } else {
+      products.update(
+          productId, new Ranked(productId, aggregate.getAverage(), aggregate.getCount()));
+    }
+  }
+
+  /**
+   * Updates the rating of a company from its upstream average. Companies without a review count in
+   * the snapshot are not ranked.
+   *
+   * @param companyId The company ID.
+   * @param average The average, or {@code null} if the company has no reviews.
+   */
+  public void updateCompany(String companyId, Double average) {
+    RatingAggregate base = snapshot == null ? null : snapshot.company(companyId);
+    if (average == null || average.isNaN() || base == null || base.getCount() <= 0) {
+      companies.update(companyId, null);
+      return;
+    }
+    companies.update(companyId, new Ranked(companyId, average, base.getCount()));
+  }
+
+  /**
+   * Returns the best rated keys, best first.
+   *
+   * @param scope What to rank.
+   * @param limit The most entries returned; at most the configured size.
+   * @return The entries.
+   */
+  public List<LeaderboardEntry> top(Scope scope, int limit) {
+    return head(board(scope).snapshot().top, limit);
+  }
+
+  /**
+   * Returns the worst rated keys, worst first.
+   *
+   * @param scope What to rank.
+   * @param limit The most entries returned; at most the configured size.
+   * @return The entries.
+   */
+  public List<LeaderboardEntry> bottom(Scope scope, int limit) {
+    return head(board(scope).snapshot().bottom, limit);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("review.leaderboard.ranked", products.ranking, ConcurrentSkipListSet::size)
+        .tag("scope", "product")
+        .description("Products with enough reviews to be ranked")
+        .register(registry);
+    Gauge.builder("review.leaderboard.ranked", companies.ranking, ConcurrentSkipListSet::size)
+        .tag("scope", "company")
+        .description("Companies with enough reviews to be ranked")
+        .register(registry);
+  }
+
+  private Board board(Scope scope) {
+    return scope == Scope.COMPANY ? companies : products;
+  }
+
+  private static List<LeaderboardEntry> head(List<LeaderboardEntry> entries, int limit) {
+    return limit >= entries.size() ? entries : entries.subList(0, Math.max(0, limit));
+  }
+
+  /** The rankings of one scope. */
+  private final class Board {
+    private final ConcurrentHashMap<String, Ranked> latest = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>(Ranked.ORDER);
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private volatile Snapshot snapshot = new Snapshot(List.of(), List.of());
+
+    private void update(String id, Ranked next) {
+      if (next == null) {
+        latest.computeIfPresent(
+            id,
+            (key, previous) -> {
+              if (ranking.remove(previous)) {
+                changed.set(true);
+              }
+              return null;
+            });
+        return;
+      }
+      if (!latest.containsKey(id) && latest.size() >= maxKeys) {
+        return;
+      }
+      latest.compute(
+          id,
+          (key, previous) -> {
+            if (previous != null && ranking.remove(previous)) {
+              changed.set(true);
+            }
+            if (next.count >= minReviews) {
+              ranking.add(next);
+              changed.set(true);
+            }
+            return next;
+          });
+    }
+
+    private Snapshot snapshot() {
+      if (changed.get()) {
+        synchronized (this) {
+          if (changed.compareAndSet(true, false)) {
+            snapshot = new Snapshot(copy(ranking.iterator()), copy(ranking.descendingIterator()));
+          }
+        }
+      }
+      return snapshot;
+    }
+
+    private List<LeaderboardEntry> copy(Iterator<Ranked> ranked) {
+      List<LeaderboardEntry> entries = new ArrayList<>(size);
+      while (entries.size() < size && ranked.hasNext()) {
+        Ranked next = ranked.next();
+        entries.add(new LeaderboardEntry(next.id, next.average, next.count));
+      }
+      return Collections.unmodifiableList(entries);
+    }
+  }
+
+  /** The precomputed ends of one ranking. */
+  private static final class Snapshot {
+    private final List<LeaderboardEntry> top;
+    private final List<LeaderboardEntry> bottom;
+
+    private Snapshot(List<LeaderboardEntry> top, List<LeaderboardEntry> bottom) {
+      this.top = top;
+      this.bottom = bottom;
+    }
+  }
+
+  /** One key's rating; best first, ties broken by more reviews, then by ID. */
+  private static final class Ranked {
+    private static final Comparator<Ranked> ORDER =
+        (a, b) -> {
+          int order = Double.compare(b.average, a.average);
+          if (order == 0) {
+            order = Long.compare(b.count, a.count);
+          }
+          return order != 0 ? order : a.id.compareTo(b.id);
+        };
+
+    private final String id;
+    private final double average;
+    private final long count;
+
+    private Ranked(String id, double average, long count) {
+      this.id = id;
+      this.average = average;
+      this.count = count;
+    }
+  }
+}
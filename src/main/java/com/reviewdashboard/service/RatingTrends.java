@@ -0,0 +1,250 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.RatingTrend;
+import com.reviewdashboard.model.RatingWindow;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rating counts and averages per product and company over the last hour, day and week.
+ *
+ * <p>Each key owns one fixed {@code long[]} of time buckets, used as three rings: twelve 5-minute
+ * buckets for the hour, 24 hourly buckets for the day and 7 daily buckets for the week. A bucket
+ * packs the review count into its top 24 bits and the sum of ratings, in hundredths, into the other
+ * 40, so a key costs about 370 bytes however many reviews it gets. Buckets that fall out of a
+ * window are cleared lazily when the key's next review arrives, so an update touches one bucket per
+ * ring and a query sums at most 43. Windows are aligned to bucket boundaries: the last hour is the
+ * current 5-minute bucket and the eleven before it.
+ *
+ * <p>This is a {@link ReviewSubmissionListener} stage, so only the pipeline thread writes; readers
+ * use opaque accesses and may see a review a moment late. The company of a review is its optional
+ * {@code companyId}. Keys idle for a week are swept out when the {@code max-keys} limit is reached;
+ * reviews for further keys are counted as dropped.
+ */
+@Component
+public class RatingTrends implements ReviewSubmissionListener, MeterBinder {
+
+  private static final VarHandle BUCKETS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private static final long SLOT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final int COUNT_SHIFT = 40;
+  private static final long SUM_MASK = (1L << COUNT_SHIFT) - 1;
+
+  /** Index of the newest 5-minute slot a key has seen. */
+  private static final int LAST_SLOT = 0;
+
+  private static final Ring HOUR = new Ring(1, 1, 12);
+  private static final Ring DAY = new Ring(13, 12, 24);
+  private static final Ring WEEK = new Ring(37, 12 * 24, 7);
+  private static final int ROW_LENGTH = 44;
+
+  private final boolean enabled;
+  private final int maxKeys;
+  private final Keys products = new Keys();
+  private final Keys companies = new Keys();
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * Creates the trends.
+   *
+   * @param enabled Whether reviews are recorded.
+   * @param maxKeys The most products, and separately companies, tracked at once.
+   */
+  public RatingTrends(
+      @Value("${review.trends.enabled:true}") boolean enabled,
+      @Value("${review.trends.max-keys:1000000}") int maxKeys) {
+    this.enabled = enabled;
+    this.maxKeys = Math.max(1, maxKeys);
+  }
+
+  @Override
+  public void onReviewSubmitted(ReviewEvent event) {
+    record(
+        event.getProductId(),
+        event.getReview().getCompanyId(),
+        event.getReview().getRating(),
+        event.getTimestampMillis());
+  }
+
+  @Override
+  public String stageName() {
+    return "trends";
+  }
+
+  /**
+   * Returns the recent ratings of a product.
+   *
+   * @param productId The product ID.
+   * @return The trend, or {@code null} if the product has no reviews in the last week.
+   */
+  public RatingTrend productTrend(String productId) {
+    return productTrend(productId, System.currentTimeMillis());
+  }
+
+  /**
+   * Returns the recent ratings of a company.
+   *
+   * @param companyId The company ID.
+   * @return The trend, or {@code null} if the company has no reviews in the last week.
+   */
+  public RatingTrend companyTrend(String companyId) {
+    return companyTrend(companyId, System.currentTimeMillis());
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("review.trends.keys", products.rows, Map::size)
+        .tag("type", "product")
+        .description("Products with recent rating buckets")
+        .register(registry);
+    Gauge.builder("review.trends.keys", companies.rows, Map::size)
+        .tag("type", "company")
+        .description("Companies with recent rating buckets")
+        .register(registry);
+    FunctionCounter.builder("review.trends.dropped", dropped, LongAdder::sum)
+        .description("Reviews not recorded because the key limit was reached")
+        .register(registry);
+  }
+
+  /** Records one review; called by the pipeline thread only. */
+  void record(String productId, String companyId, double rating, long timestampMillis) {
+    if (!enabled || productId == null || Double.isNaN(rating)) {
+      return;
+    }
+    long slot = Math.floorDiv(timestampMillis, SLOT_MILLIS);
+    long hundredths = Math.max(0, Math.round(rating * 100));
+    long packed = (1L << COUNT_SHIFT) + hundredths;
+    add(products, productId, slot, packed);
+    if (companyId != null && !companyId.isBlank()) {
+      add(companies, companyId, slot, packed);
+    }
+  }
+
+  RatingTrend productTrend(String productId, long nowMillis) {
+    return trend(products.rows.get(productId), nowMillis);
+  }
+
+  RatingTrend companyTrend(String companyId, long nowMillis) {
+    return trend(companies.rows.get(companyId), nowMillis);
+  }
+
+  private static RatingTrend trend(long[] row, long nowMillis) {
+    if (row == null) {
+      return null;
+    }
+    long now = Math.floorDiv(nowMillis, SLOT_MILLIS);
+    long last = (long) BUCKETS.getOpaque(row, LAST_SLOT);
+    if (now - last >= WEEK.span()) {
+      return null;
+    }
+    return new RatingTrend(
+        HOUR.window(row, last, now), DAY.window(row, last, now), WEEK.window(row, last, now));
+  }
+
+  private void add(Keys keys, String key, long slot, long packed) {
+    long[] row = keys.rows.get(key);
+    if (row == null) {
+      if (keys.rows.size() >= maxKeys && !sweep(keys, slot)) {
+        dropped.increment();
+        return;
+      }
+      row = new long[ROW_LENGTH];
+      row[LAST_SLOT] = slot;
+      keys.rows.put(key, row);
+    }
+    long last = row[LAST_SLOT];
+    if (slot > last) {
+      HOUR.advance(row, last, slot);
+      DAY.advance(row, last, slot);
+      WEEK.advance(row, last, slot);
+      BUCKETS.setOpaque(row, LAST_SLOT, slot);
+      last = slot;
+    }
+    HOUR.add(row, last, slot, packed);
+    DAY.add(row, last, slot, packed);
+    WEEK.add(row, last, slot, packed);
+  }
+
+  /**
+   * Removes keys without reviews in the last week, at most once per 5-minute slot.
+   *
+   * @return Whether there is room for another key.
+   */
+  private boolean sweep(Keys keys, long slot) {
+    if (slot != keys.lastSweepSlot) {
+      keys.lastSweepSlot = slot;
+      keys.rows.values().removeIf(row -> slot - row[LAST_SLOT] >= WEEK.span());
+    }
+    return keys.rows.size() < maxKeys;
+  }
+
+  /** The rows of one kind of key. */
+  private static final class Keys {
+    private final Map<String, long[]> rows = new ConcurrentHashMap<>();
+    private long lastSweepSlot = Long.MIN_VALUE;
+  }
+
+  /** One ring of buckets within a row, each covering {@code unit} 5-minute slots. */
+  private static final class Ring {
+    private final int offset;
+    private final long unit;
+    private final int length;
+
+    private Ring(int offset, long unit, int length) {
+      this.offset = offset;
+      this.unit = unit;
+      this.length = length;
+    }
+
+    /** Returns how many 5-minute slots the ring covers. */
+    private long span() {
+      return unit * length;
+    }
+
+    /** Clears the buckets reused between the key's last slot and {@code slot}. */
+    private void advance(long[] row, long last, long slot) {
+      long from = Math.floorDiv(last, unit) + 1;
+      long to = Math.min(Math.floorDiv(slot, unit), from + length - 1);
+      for (long bucket = from; bucket <= to; bucket++) {
+        BUCKETS.setOpaque(row, index(bucket), 0L);
+      }
+    }
+
+    /** Adds a review unless it is older than the ring covers. */
+    private void add(long[] row, long last, long slot, long packed) {
+      long bucket = Math.floorDiv(slot, unit);
+      if (Math.floorDiv(last, unit) - bucket < length) {
+        int index = index(bucket);
+        BUCKETS.setOpaque(row, index, row[index] + packed);
+      }
+    }
+
+    /** Sums the buckets of the window ending at {@code now}. */
+    private RatingWindow window(long[] row, long last, long now) {
+      long newest = Math.floorDiv(last, unit);
+      long oldest = Math.max(Math.floorDiv(now, unit), newest) - length + 1;
+      long count = 0;
+      long hundredths = 0;
+      for (long bucket = oldest; bucket <= newest; bucket++) {
+        long packed = (long) BUCKETS.getOpaque(row, index(bucket));
+        count += packed >>> COUNT_SHIFT;
+        hundredths += packed & SUM_MASK;
+      }
+      return new RatingWindow(count, count == 0 ? null : hundredths / 100.0 / count);
+    }
+
+    private int index(long bucket) {
+      return offset + (int) Math.floorMod(bucket, (long) length);
+    }
+  }
+}
@@ -0,0 +1,508 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.ReviewPage;
+import com.reviewdashboard.model.StoredReview;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A compact in-process store of accepted reviews, for listing a product's or a user's reviews
+ * newest first.
+ *
+ * <p>Reviews are rows of parallel primitive columns rather than objects: the product and user as
+ * ordinals into dictionaries, the optional company likewise, the rating as a {@code float}, the
+ * timestamp, and the comment as an offset and length into an arena of 1 MiB {@code byte[]} chunks
+ * holding UTF-8 text. Each row also links to the previous row of its product and of its user, and
+ * each product and user keeps its newest row, so a listing walks only that product's or user's
+ * rows, newest first. A review takes 44 bytes plus its comment's UTF-8 bytes. A user costs a
+ * dictionary entry and one {@code int} however many reviews they wrote, so millions of users with a
+ * review or two stay cheap.
+ *
+ * <p>Pages are addressed by opaque cursors naming the row to continue from, so a page costs the
+ * same however deep it is and stays stable while new reviews arrive. A page collects row numbers
+ * into one {@code int[]} and creates objects only for the reviews it returns. A page scans at most
+ * {@value #MAX_SCANNED_ROWS} rows; when a rating filter skips that many, it returns fewer reviews
+ * and a cursor to carry on from.
+ *
+ * <p>This is a {@link ReviewSubmissionListener} stage, so rows are appended by the pipeline thread
+ * only. A row is written completely before the newest rows of its product and user are updated with
+ * release writes, and listings read them with acquire reads, so they never take a lock and never
+ * see a half-written row. Reviews beyond {@code max-reviews} are not stored and are counted as
+ * dropped.
+ */
+@Component
+public class ReviewColumnStore implements ReviewSubmissionListener, MeterBinder {
+
+  /** The most rows a page scans before returning a cursor to continue from. */
+  static final int MAX_SCANNED_ROWS = 10_000;
+
+  private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+  private static final int CHUNK_BITS = 20;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+  /** Marks the end of a product's rows, and a review without a comment. */
+  private static final int NONE = -1;
+
+  private final boolean enabled;
+  private final int maxReviews;
+  private final LongAdder dropped = new LongAdder();
+
+  /** Products by ordinal, the ordinal of each product, and each product's newest row. */
+  private final Map<String, Integer> productOrdinals = new ConcurrentHashMap<>();
+
+  private String[] productIds = new String[64];
+
+  /** Replaced when products are added; its elements use release/acquire access. */
+  private volatile int[] productHeads = new int[64];
+
+  /** Users by ordinal, the ordinal of each user, and each user's newest row. */
+  private final Map<String, Integer> userOrdinals = new ConcurrentHashMap<>();
+
+  private String[] userIds = new String[64];
+
+  /** Replaced when users are added; its elements use release/acquire access. */
+  private volatile int[] userHeads = new int[64];
+
+  /** Companies by ordinal, and the ordinal of each company. */
+  private final Map<String, Integer> companyOrdinals = new ConcurrentHashMap<>();
+
+  private String[] companyIds = new String[64];
+
+  /** Rows: the reviews stored so far, oldest first. */
+  private volatile int rowCount;
+
+  private int[] rowProducts = new int[1024];
+  private int[] rowUsers = new int[1024];
+  private int[] rowCompanies = new int[1024];
+  private float[] rowRatings = new float[1024];
+  private long[] rowTimes = new long[1024];
+  private long[] rowCommentOffsets = new long[1024];
+  private int[] rowCommentLengths = new int[1024];
+
+  /** The previous row of the same product, or {@link #NONE}. */
+  private int[] previousProductRows = new int[1024];
+
+  /** The previous row of the same user, or {@link #NONE}. */
+  private int[] previousUserRows = new int[1024];
+
+  /** The comment arena: chunks of UTF-8 bytes, filled in order. */
+  private byte[][] chunks = new byte[16][];
+
+  private volatile long arenaSize;
+
+  /**
+   * Creates the store.
+   *
+   * @param enabled Whether reviews are stored.
+   * @param maxReviews The most reviews stored.
+   */
+  public ReviewColumnStore(
+      @Value("${review.store.enabled:true}") boolean enabled,
+      @Value("${review.store.max-reviews:1000000}") int maxReviews) {
+    this.enabled = enabled;
+    this.maxReviews = Math.max(1, maxReviews);
+  }
+
+  @Override
+  public void onReviewSubmitted(ReviewEvent event) {
+    append(
+        event.getProductId(),
+        event.getUserId(),
+        event.getReview().getCompanyId(),
+        event.getReview().getRating(),
+        event.getReview().getComment(),
+        event.getTimestampMillis());
+  }
+
+  @Override
+  public String stageName() {
+    return "store";
+  }
+
+  /**
+   * Lists a product's stored reviews, newest first.
+   *
+   * @param productId The product ID.
+   * @param cursor The {@link ReviewPage#getNextCursor()} of the previous page, or {@code null} for
+   *     the first page.
+   * @param minRating Only reviews rated at least this are listed, or {@code null} for no minimum.
+   * @param maxRating Only reviews rated at most this are listed, or {@code null} for no maximum.
+   * @param limit The most reviews on the page.
+   * @return The page of reviews, or {@code null} if no review of the product is stored.
+   * @throws IllegalArgumentException if the limit is less than 1 or the cursor was not issued for
+   *     this product.
+   */
+  public ReviewPage productReviews(
+      String productId, String cursor, Double minRating, Double maxRating, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("limit must be at least 1");
+    }
+    Integer ordinal = productId == null ? null : productOrdinals.get(productId);
+    if (ordinal == null) {
+      return null;
+    }
+    return page(ordinal, false, cursor, minRating, maxRating, limit);
+  }
+
+  /**
+   * Lists the stored reviews a user submitted, newest first.
+   *
+   * @param userId The user ID.
+   * @param cursor The {@link ReviewPage#getNextCursor()} of the previous page, or {@code null} for
+   *     the first page.
+   * @param minRating Only reviews rated at least this are listed, or {@code null} for no minimum.
+   * @param maxRating Only reviews rated at most this are listed, or {@code null} for no maximum.
+   * @param limit The most reviews on the page.
+   * @return The page of reviews, empty if the user has no stored review.
+   * @throws IllegalArgumentException if the limit is less than 1 or the cursor was not issued for
+   *     this user.
+   */
+  public ReviewPage userReviews(
+      String userId, String cursor, Double minRating, Double maxRating, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("limit must be at least 1");
+    }
+    Integer ordinal = userId == null ? null : userOrdinals.get(userId);
+    if (ordinal == null) {
+      if (cursor != null) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      return new ReviewPage(List.of(), null);
+    }
+    return page(ordinal, true, cursor, minRating, maxRating, limit);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("review.store.reviews", this, store -> store.rowCount)
+        .description("Reviews in the local review store")
+        .register(registry);
+    Gauge.builder("review.store.comment.bytes", this, store -> store.arenaSize)
+        .description("Bytes of the comment arena of the local review store")
+        .register(registry);
+    FunctionCounter.builder("review.store.dropped", dropped, LongAdder::sum)
+        .description("Reviews not stored because the review limit was reached")
+        .register(registry);
+  }
+
+  // ---------------- row access for the ReviewExporter ----------------
+  // Read size() first; rows below it, and the ordinals they use, are then safe to read.
+
+  /** The number of stored reviews. */
+  int size() {
+    return rowCount;
+  }
+
+  /** The number of distinct products, users or companies; at least those of the rows read. */
+  int productCount() {
+    return productOrdinals.size();
+  }
+
+  int userCount() {
+    return userOrdinals.size();
+  }
+
+  int companyCount() {
+    return companyOrdinals.size();
+  }
+
+  String productId(int ordinal) {
+    return productIds[ordinal];
+  }
+
+  String userId(int ordinal) {
+    return userIds[ordinal];
+  }
+
+  String companyId(int ordinal) {
+    return companyIds[ordinal];
+  }
+
+  int product(int row) {
+    return rowProducts[row];
+  }
+
+  int user(int row) {
+    return rowUsers[row];
+  }
+
+  /** The row's company ordinal, or {@code -1} if the review named no company. */
+  int company(int row) {
+    return rowCompanies[row];
+  }
+
+  float rating(int row) {
+    return rowRatings[row];
+  }
+
+  long timestamp(int row) {
+    return rowTimes[row];
+  }
+
+  /** The length of the row's UTF-8 comment, or {@code -1} if it has none. */
+  int commentLength(int row) {
+    return rowCommentLengths[row];
+  }
+
+  /** The arena chunk holding the row's comment, which starts at {@link #commentStart}. */
+  byte[] commentChunk(int row) {
+    return chunks[(int) (rowCommentOffsets[row] >>> CHUNK_BITS)];
+  }
+
+  int commentStart(int row) {
+    return (int) rowCommentOffsets[row] & (CHUNK_SIZE - 1);
+  }
+
+  /** Stores one review; called by the pipeline thread only. */
+  void append(
+      String productId,
+      String userId,
+      String companyId,
+      double rating,
+      String comment,
+      long timestamp) {
+    if (!enabled || productId == null || userId == null) {
+      return;
+    }
+    int row = rowCount;
+    // Every char takes at most three UTF-8 bytes, so a comment fits in one chunk.
+    if (row >= maxReviews || (comment != null && comment.length() > CHUNK_SIZE / 3)) {
+      dropped.increment();
+      return;
+    }
+    if (row == rowProducts.length) {
+      growRows(row * 2);
+    }
+    int product = productOrdinal(productId);
+    int user = userOrdinal(userId);
+    rowProducts[row] = product;
+    rowUsers[row] = user;
+    rowCompanies[row] = companyId == null ? NONE : companyOrdinal(companyId);
+    rowRatings[row] = (float) rating;
+    rowTimes[row] = timestamp;
+    if (comment == null) {
+      rowCommentLengths[row] = NONE;
+    } else {
+      storeComment(row, comment);
+    }
+    previousProductRows[row] = productHeads[product];
+    previousUserRows[row] = userHeads[user];
+    INTS.setRelease(productHeads, product, row);
+    INTS.setRelease(userHeads, user, row);
+    rowCount = row + 1;
+  }
+
+  /**
+   * Walks the rows of one product or user from its newest row or the cursor's row, collecting the
+   * row numbers of a page before creating any object.
+   */
+  private ReviewPage page(
+      int owner, boolean byUser, String cursor, Double minRating, Double maxRating, int limit) {
+    int row;
+    if (cursor == null) {
+      row = (int) INTS.getAcquire(byUser ? userHeads : productHeads, owner);
+    } else {
+      row = decodeCursor(cursor, owner, byUser);
+    }
+
+    int[] previous = byUser ? previousUserRows : previousProductRows;
+    float[] ratings = rowRatings;
+    float min = minRating == null ? Float.NEGATIVE_INFINITY : minRating.floatValue();
+    float max = maxRating == null ? Float.POSITIVE_INFINITY : maxRating.floatValue();
+    int[] rows = new int[limit];
+    int found = 0;
+    for (int scanned = 0; row != NONE && found < limit && scanned < MAX_SCANNED_ROWS; scanned++) {
+      float rating = ratings[row];
+      if (rating >= min && rating <= max) {
+        rows[found++] = row;
+      }
+      row = previous[row];
+    }
+
+    List<StoredReview> reviews = new ArrayList<>(found);
+    for (int i = 0; i < found; i++) {
+      reviews.add(review(rows[i]));
+    }
+    return new ReviewPage(reviews, row == NONE ? null : encodeCursor(owner, row));
+  }
+
+  /** Creates the object for one row; the only allocation per listed review. */
+  private StoredReview review(int row) {
+    int length = rowCommentLengths[row];
+    String comment = null;
+    if (length != NONE) {
+      long offset = rowCommentOffsets[row];
+      byte[] chunk = chunks[(int) (offset >>> CHUNK_BITS)];
+      comment = new String(chunk, (int) offset & (CHUNK_SIZE - 1), length, StandardCharsets.UTF_8);
+    }
+    return new StoredReview(
+        productIds[rowProducts[row]],
+        userIds[rowUsers[row]],
+        // The shortest decimal of the float, so that a stored 4.7 is listed as 4.7.
+        Double.parseDouble(Float.toString(rowRatings[row])),
+        comment,
+        rowTimes[row]);
+  }
+
+  /** Encodes a comment into the arena, starting a new chunk if it might not fit in this one. */
+  private void storeComment(int row, String comment) {
+    long offset = arenaSize;
+    int chunk = (int) (offset >>> CHUNK_BITS);
+    int position = (int) offset & (CHUNK_SIZE - 1);
+    if (chunks[chunk] != null && position + comment.length() * 3 > CHUNK_SIZE) {
+      chunk++;
+      position = 0;
+    }
+    if (chunk == chunks.length) {
+      chunks = Arrays.copyOf(chunks, chunks.length * 2);
+    }
+    if (chunks[chunk] == null) {
+      chunks[chunk] = new byte[CHUNK_SIZE];
+    }
+    int length = encode(comment, chunks[chunk], position);
+    rowCommentOffsets[row] = (long) chunk << CHUNK_BITS | position;
+    rowCommentLengths[row] = length;
+    arenaSize = ((long) chunk << CHUNK_BITS) + position + length;
+  }
+
+  /**
+   * Writes a string as UTF-8 without an intermediate array; unpaired surrogates become {@code ?},
+   * as {@link String#getBytes} does.
+   *
+   * @return The number of bytes written.
+   */
+  static int encode(String text, byte[] out, int start) {
+    int position = start;
+    int length = text.length();
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c < 0x80) {
+        out[position++] = (byte) c;
+      } else if (c < 0x800) {
+        out[position++] = (byte) (0xC0 | c >> 6);
+        out[position++] = (byte) (0x80 | c & 0x3F);
+      } else if (!Character.isSurrogate(c)) {
+        out[position++] = (byte) (0xE0 | c >> 12);
+        out[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+        out[position++] = (byte) (0x80 | c & 0x3F);
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(text.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, text.charAt(++i));
+        out[position++] = (byte) (0xF0 | codePoint >> 18);
+        out[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+        out[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+        out[position++] = (byte) (0x80 | codePoint & 0x3F);
+      } else {
+        out[position++] = '?';
+      }
+    }
+    return position - start;
+  }
+
+  private static String encodeCursor(int owner, int row) {
+    byte[] bytes = ByteBuffer.allocate(8).putInt(owner).putInt(row).array();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  /** Decodes a cursor, checking that it names a stored row of the given product or user. */
+  private int decodeCursor(String cursor, int expected, boolean byUser) {
+    byte[] bytes;
+    try {
+      bytes = Base64.getUrlDecoder().decode(cursor);
+    } catch (IllegalArgumentException e) {
+      bytes = null;
+    }
+    if (bytes == null || bytes.length != 8) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    int owner = buffer.getInt();
+    int row = buffer.getInt();
+    if (owner != expected || row < 0 || row >= rowCount) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+    // Read after the row count, so the column holds the row.
+    if ((byUser ? rowUsers : rowProducts)[row] != expected) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+    return row;
+  }
+
+  /** Returns the product's ordinal, adding the product if new; pipeline thread only. */
+  private int productOrdinal(String productId) {
+    Integer ordinal = productOrdinals.get(productId);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    int next = productOrdinals.size();
+    if (next == productIds.length) {
+      productIds = Arrays.copyOf(productIds, next * 2);
+      productHeads = Arrays.copyOf(productHeads, next * 2);
+    }
+    productIds[next] = productId;
+    productHeads[next] = NONE;
+    productOrdinals.put(productId, next);
+    return next;
+  }
+
+  /** Returns the company's ordinal, adding the company if new; pipeline thread only. */
+  private int companyOrdinal(String companyId) {
+    Integer ordinal = companyOrdinals.get(companyId);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    int next = companyOrdinals.size();
+    if (next == companyIds.length) {
+      companyIds = Arrays.copyOf(companyIds, next * 2);
+    }
+    companyIds[next] = companyId;
+    companyOrdinals.put(companyId, next);
+    return next;
+  }
+
+  /** Returns the user's ordinal, adding the user if new; pipeline thread only. */
+  private int userOrdinal(String userId) {
+    Integer ordinal = userOrdinals.get(userId);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    int next = userOrdinals.size();
+    if (next == userIds.length) {
+      userIds = Arrays.copyOf(userIds, next * 2);
+      userHeads = Arrays.copyOf(userHeads, next * 2);
+    }
+    userIds[next] = userId;
+    userHeads[next] = NONE;
+    userOrdinals.put(userId, next);
+    return next;
+  }
+
+  private void growRows(int capacity) {
+    rowProducts = Arrays.copyOf(rowProducts, capacity);
+    rowUsers = Arrays.copyOf(rowUsers, capacity);
+    rowCompanies = Arrays.copyOf(rowCompanies, capacity);
+    rowRatings = Arrays.copyOf(rowRatings, capacity);
+    rowTimes = Arrays.copyOf(rowTimes, capacity);
+    rowCommentOffsets = Arrays.copyOf(rowCommentOffsets, capacity);
+    rowCommentLengths = Arrays.copyOf(rowCommentLengths, capacity);
+    previousProductRows = Arrays.copyOf(previousProductRows, capacity);
+    previousUserRows = Arrays.copyOf(previousUserRows, capacity);
+  }
+}
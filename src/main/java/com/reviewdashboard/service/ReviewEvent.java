@@ -0,0 +1,91 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.ReviewDto;
+
+/**
+ * A review that was accepted by the upstream, as seen by {@link ReviewSubmissionListener}s.
+ *
+ * <p>Events are slots of the {@link ReviewPipeline} ring buffer and are reused once every listener
+ * has processed them, so listeners must copy whatever they need and never keep a reference to the
+ * event itself.
+ */
+public final class ReviewEvent {
+
+  private long sequence;
+  private String productId;
+  private String userId;
+  private ReviewDto review;
+  private ReviewDto created;
+  private long timestampMillis;
+
+  ReviewEvent() {}
+
+  void set(
+      long sequence,
+      String productId,
+      String userId,
+      ReviewDto review,
+      ReviewDto created,
+      long timestampMillis) {
+    this.sequence = sequence;
+    this.productId = productId;
+    this.userId = userId;
+    this.review = review;
+    this.created = created;
+    this.timestampMillis = timestampMillis;
+  }
+
+  /**
+   * Gets the position of this event in the pipeline; increases by one per published event.
+   *
+   * @return The sequence number.
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Gets the product the review is for.
+   *
+   * @return The product ID.
+   */
+  public String getProductId() {
+    return productId;
+  }
+
+  /**
+   * Gets the user that submitted the review, from the {@code X-User-Id} header.
+   *
+   * @return The user ID.
+   */
+  public String getUserId() {
+    return userId;
+  }
+
+  /**
+   * Gets the review as submitted.
+   *
+   * @return The submitted review.
+   */
+  public ReviewDto getReview() {
+    return review;
+  }
+
+  /**
+   * Gets the review as created by the upstream.
+   *
+   * @return The created review, or {@code null} if the upstream returned no body.
+   */
+  public ReviewDto getCreated() {
+    return created;
+  }
+
+  /**
+   * Gets when the upstream accepted the review.
+   *
+   * @return The wall-clock time in epoch milliseconds.
+   */
+  public long getTimestampMillis() {
+    return timestampMillis;
+  }
+}
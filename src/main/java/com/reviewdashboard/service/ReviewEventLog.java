@@ -0,0 +1,519 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.UserDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * An append-only local log of every review the upstream accepted, for rebuilding derived views
+ * without asking the upstream again.
+ *
+ * <p>The log is a {@link ReviewPipeline} stage, so appends happen on the pipeline thread and never
+ * block a request. Entries are written into memory-mapped segment files ({@code
+ * events-<offset>.log}, named after the offset of their first entry) as length-prefixed binary
+ * records protected by a CRC32, with varint-length strings. A segment is mapped at its full size
+ * when created; when the next record does not fit, a new segment is started and segments beyond
+ * {@code maxSegments}, or whose newest entry is older than the retention period, are deleted.
+ * Mapped pages are forced to disk at most once per flush interval.
+ *
+ * <p>Every entry has an offset that increases by one per appended review. {@link #replay} reads
+ * entries from any retained offset, concurrently with appends and without locking: the writer
+ * publishes each record through a volatile counter after writing it, and readers only read up to
+ * that counter. A sparse in-memory index of every {@value #INDEX_INTERVAL}th record keeps seeking
+ * to an offset cheap. On startup all segments are scanned and the log continues after the last
+ * valid record of the newest one.
+ */
+@Component
+public class ReviewEventLog implements ReviewSubmissionListener, MeterBinder {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewEventLog.class);
+
+  static final int INDEX_INTERVAL = 256;
+
+  private static final int HEADER_BYTES = 8;
+  private static final int MIN_SEGMENT_BYTES = 4096;
+  private static final String SEGMENT_PREFIX = "events-";
+  private static final String SEGMENT_SUFFIX = ".log";
+
+  private final boolean enabled;
+  private final Path directory;
+  private final int segmentBytes;
+  private final int maxSegments;
+  private final long retentionMillis;
+  private final long flushIntervalNanos;
+  private final LongAdder appended = new LongAdder();
+  private final LongAdder skipped = new LongAdder();
+  private final CRC32 crc = new CRC32();
+
+  private ByteBuffer scratch = ByteBuffer.allocate(1024);
+  private volatile Segment[] segments = new Segment[0];
+  private volatile long endOffset;
+  private Segment active;
+  private long lastFlushNanos;
+  private boolean dirty;
+
+  /**
+   * Creates a new event log.
+   *
+   * @param enabled Whether accepted reviews are logged at all.
+   * @param directory The directory holding the segment files.
+   * @param segmentBytes The size of each segment file.
+   * @param maxSegments The number of segments kept, including the active one.
+   * @param retentionHours How long entries are kept; 0 keeps them until {@code maxSegments}.
+   * @param flushIntervalMillis The minimum time between forcing mapped pages to disk.
+   */
+  public ReviewEventLog(
+      @Value("${review.event-log.enabled:false}") boolean enabled,
+      @Value("${review.event-log.dir:data/events}") String directory,
+      @Value("${review.event-log.segment-bytes:67108864}") int segmentBytes,
+      @Value("${review.event-log.max-segments:32}") int maxSegments,
+      @Value("${review.event-log.retention-hours:168}") long retentionHours,
+      @Value("${review.event-log.flush-interval-ms:1000}") long flushIntervalMillis) {
+    this.enabled = enabled;
+    this.directory = Paths.get(directory);
+    this.segmentBytes = Math.max(MIN_SEGMENT_BYTES, segmentBytes);
+    this.maxSegments = Math.max(1, maxSegments);
+    this.retentionMillis = TimeUnit.HOURS.toMillis(Math.max(0, retentionHours));
+    this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushIntervalMillis));
+  }
+
+  /**
+   * Maps the existing segments and positions the log after the last valid record.
+   *
+   * @throws IOException If the log directory cannot be read or written.
+   */
+  @PostConstruct
+  public void start() throws IOException {
+    if (!enabled) {
+      return;
+    }
+    Files.createDirectories(directory);
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream =
+        Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+      stream.forEach(files::add);
+    }
+    files.sort(null);
+    List<Segment> recovered = new ArrayList<>();
+    for (int i = 0; i < files.size(); i++) {
+      Path file = files.get(i);
+      String name = file.getFileName().toString();
+      long baseOffset =
+          Long.parseLong(
+              name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+      boolean last = i == files.size() - 1;
+      Segment segment = map(file, baseOffset, Files.size(file), last);
+      scan(segment);
+      recovered.add(segment);
+    }
+    segments = recovered.toArray(new Segment[0]);
+    if (recovered.isEmpty()) {
+      roll(0);
+    } else {
+      active = recovered.get(recovered.size() - 1);
+      endOffset = active.baseOffset + active.records;
+    }
+    lastFlushNanos = System.nanoTime();
+    applyRetention();
+    if (logger.isInfoEnabled()) {
+      logger.info(
+          "Review event log holds offsets {} to {} in {} segments",
+          firstOffset(),
+          endOffset,
+          segments.length);
+    }
+  }
+
+  /** Forces the active segment to disk. */
+  @PreDestroy
+  public void shutdown() {
+    if (active != null && dirty) {
+      active.buffer.force();
+      dirty = false;
+    }
+  }
+
+  /**
+   * Returns whether accepted reviews are logged.
+   *
+   * @return {@code true} if the log is enabled.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the offset of the oldest retained entry.
+   *
+   * @return The first offset, which equals {@link #endOffset()} when the log is empty.
+   */
+  public long firstOffset() {
+    Segment[] current = segments;
+    return current.length > 0 ? current[0].baseOffset : endOffset;
+  }
+
+  /**
+   * Returns the offset the next appended entry will get.
+   *
+   * @return The end offset.
+   */
+  public long endOffset() {
+    return endOffset;
+  }
+
+  /** Appends an accepted review. */
+  @Override
+  public void onReviewSubmitted(ReviewEvent event) {
+    if (!enabled || active == null) {
+      return;
+    }
+    ReviewDto review = event.getCreated() != null ? event.getCreated() : event.getReview();
+    if (review == null) {
+      return;
+    }
+    int length =
+        encode(event.getTimestampMillis(), event.getProductId(), event.getUserId(), review);
+    int recordBytes = HEADER_BYTES + length;
+    if (recordBytes > segmentBytes) {
+      skipped.increment();
+      if (logger.isWarnEnabled()) {
+        logger.warn(
+            "Review for productId={} is too large for the event log ({} bytes)",
+            event.getProductId(),
+            recordBytes);
+      }
+      return;
+    }
+    if (active.size + recordBytes > active.capacity) {
+      roll(endOffset);
+    }
+    Segment segment = active;
+    int position = segment.size;
+    crc.reset();
+    crc.update(scratch.array(), 0, length);
+    segment.buffer.putInt(position, length);
+    segment.buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+    segment.buffer.put(position + HEADER_BYTES, scratch.array(), 0, length);
+    segment.addRecord(position, recordBytes, event.getTimestampMillis());
+    endOffset++;
+    appended.increment();
+    dirty = true;
+  }
+
+  @Override
+  public void onBatchEnd() {
+    if (dirty && System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+      active.buffer.force();
+      lastFlushNanos = System.nanoTime();
+      dirty = false;
+    }
+  }
+
+  @Override
+  public String stageName() {
+    return "event-log";
+  }
+
+  /**
+   * Reads entries in offset order, starting at {@code fromOffset}.
+   *
+   * <p>Entries that are no longer retained are skipped, so reading starts at {@link #firstOffset()}
+   * if {@code fromOffset} is older. Safe to call from any thread, concurrently with appends.
+   *
+   * @param fromOffset The offset of the first entry to read.
+   * @param maxEntries The most entries to read.
+   * @param consumer Receives each entry.
+   * @return The offset to continue reading from.
+   */
+  public long replay(long fromOffset, int maxEntries, Consumer<ReviewLogEntry> consumer) {
+    Segment[] current = segments;
+    long offset = fromOffset;
+    int delivered = 0;
+    for (int i = 0; i < current.length && delivered < maxEntries; i++) {
+      Segment segment = current[i];
+      long records = segment.records;
+      long segmentEnd = segment.baseOffset + records;
+      if (offset >= segmentEnd) {
+        continue;
+      }
+      offset = Math.max(offset, segment.baseOffset);
+      ByteBuffer view = segment.buffer.duplicate();
+      int position = segment.positionOf(view, offset - segment.baseOffset);
+      while (offset < segmentEnd && delivered < maxEntries) {
+        int length = view.getInt(position);
+        consumer.accept(decode(view, position + HEADER_BYTES, length, offset));
+        position += HEADER_BYTES + length;
+        offset++;
+        delivered++;
+      }
+    }
+    return offset;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("review.event-log.appended", appended, LongAdder::sum)
+        .description("Accepted reviews appended to the event log")
+        .register(registry);
+    FunctionCounter.builder("review.event-log.skipped", skipped, LongAdder::sum)
+        .description("Accepted reviews too large for an event log segment")
+        .register(registry);
+    Gauge.builder("review.event-log.segments", this, log -> log.segments.length)
+        .description("Event log segment files retained")
+        .register(registry);
+  }
+
+  // ---------------- segments; only the pipeline thread writes ----------------
+
+  private void roll(long baseOffset) {
+    try {
+      if (active != null) {
+        active.buffer.force();
+      }
+      Path path =
+          directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, baseOffset, SEGMENT_SUFFIX));
+      Segment segment = map(path, baseOffset, segmentBytes, true);
+      Segment[] current = segments;
+      Segment[] next = Arrays.copyOf(current, current.length + 1);
+      next[current.length] = segment;
+      segments = next;
+      active = segment;
+      dirty = false;
+      lastFlushNanos = System.nanoTime();
+      applyRetention();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to start event log segment", e);
+    }
+  }
+
+  private void applyRetention() throws IOException {
+    long cutoff =
+        retentionMillis > 0 ? System.currentTimeMillis() - retentionMillis : Long.MIN_VALUE;
+    Segment[] current = segments;
+    int drop = 0;
+    while (drop < current.length - 1
+        && (current.length - drop > maxSegments || current[drop].lastTimestampMillis < cutoff)) {
+      drop++;
+    }
+    if (drop == 0) {
+      return;
+    }
+    segments = Arrays.copyOfRange(current, drop, current.length);
+    for (int i = 0; i < drop; i++) {
+      // Readers still holding the mapping keep reading it; the pages go once it is unmapped.
+      Files.deleteIfExists(current[i].path);
+    }
+    if (logger.isInfoEnabled()) {
+      logger.info("Deleted {} expired event log segments", drop);
+    }
+  }
+
+  private static Segment map(Path path, long baseOffset, long size, boolean writable)
+      throws IOException {
+    StandardOpenOption[] options =
+        writable
+            ? new StandardOpenOption[] {
+              StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+            }
+            : new StandardOpenOption[] {StandardOpenOption.READ};
+    try (FileChannel channel = FileChannel.open(path, options)) {
+      int capacity = (int) Math.min(Integer.MAX_VALUE, size);
+      MappedByteBuffer buffer =
+          channel.map(
+              writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+              0,
+              capacity);
+      return new Segment(path, baseOffset, buffer, capacity);
+    }
+  }
+
+  /** Finds the valid records of a recovered segment; the first torn or corrupt one ends it. */
+  private void scan(Segment segment) {
+    ByteBuffer view = segment.buffer.duplicate();
+    CRC32 check = new CRC32();
+    int position = 0;
+    while (position + HEADER_BYTES <= segment.capacity) {
+      int length = view.getInt(position);
+      if (length <= 0 || length > segment.capacity - position - HEADER_BYTES) {
+        break;
+      }
+      check.reset();
+      check.update(view.slice(position + HEADER_BYTES, length));
+      if ((int) check.getValue() != view.getInt(position + Integer.BYTES)) {
+        if (logger.isWarnEnabled()) {
+          logger.warn("Event log segment {} ends in a corrupt record", segment.path);
+        }
+        break;
+      }
+      long timestamp = view.getLong(position + HEADER_BYTES);
+      segment.addRecord(position, HEADER_BYTES + length, timestamp);
+      position += HEADER_BYTES + length;
+    }
+    if (position + HEADER_BYTES <= segment.capacity && !segment.buffer.isReadOnly()) {
+      // Clear a torn header so the next append does not leave a stale record behind it.
+      segment.buffer.putLong(position, 0L);
+    }
+  }
+
+  // ---------------- record encoding ----------------
+
+  private int encode(long timestampMillis, String productId, String userId, ReviewDto review) {
+    UserDto user = review.getUser();
+    byte[][] fields = {
+      utf8(productId),
+      utf8(userId),
+      utf8(review.getId()),
+      utf8(review.getComment()),
+      utf8(user != null ? user.getId() : null),
+      utf8(user != null ? user.getUsername() : null),
+      utf8(review.getCompanyId())
+    };
+    int length = Long.BYTES + Double.BYTES;
+    for (byte[] field : fields) {
+      length += 5 + (field != null ? field.length : 0);
+    }
+    if (scratch.capacity() < length) {
+      scratch = ByteBuffer.allocate(Math.max(length, scratch.capacity() * 2));
+    }
+    ByteBuffer out = scratch.clear();
+    out.putLong(timestampMillis);
+    out.putDouble(review.getRating());
+    for (byte[] field : fields) {
+      putString(out, field);
+    }
+    return out.position();
+  }
+
+  private static ReviewLogEntry decode(ByteBuffer view, int position, int length, long offset) {
+    ByteBuffer in = view.slice(position, length);
+    try {
+      long timestamp = in.getLong();
+      double rating = in.getDouble();
+      String productId = getString(in);
+      String userId = getString(in);
+      ReviewDto review = new ReviewDto();
+      review.setId(getString(in));
+      review.setComment(getString(in));
+      review.setRating(rating);
+      String reviewerId = getString(in);
+      String username = getString(in);
+      if (reviewerId != null || username != null) {
+        UserDto user = new UserDto();
+        user.setId(reviewerId);
+        user.setUsername(username);
+        review.setUser(user);
+      }
+      review.setCompanyId(getString(in));
+      return new ReviewLogEntry(offset, timestamp, productId, userId, review);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalStateException("Corrupt event log record at offset " + offset, e);
+    }
+  }
+
+  private static byte[] utf8(String value) {
+    return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+  }
+
+  /** Writes the length plus one as a varint, with 0 for null, then the bytes. */
+  private static void putString(ByteBuffer out, byte[] value) {
+    int length = value != null ? value.length + 1 : 0;
+    while ((length & ~0x7F) != 0) {
+      out.put((byte) ((length & 0x7F) | 0x80));
+      length >>>= 7;
+    }
+    out.put((byte) length);
+    if (value != null) {
+      out.put(value);
+    }
+  }
+
+  private static String getString(ByteBuffer in) {
+    int length = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = in.get();
+      length |= (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0 && shift < 35);
+    if (length == 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length - 1];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** A mapped segment file; counters are written by the pipeline thread and read by replays. */
+  private static final class Segment {
+    private final Path path;
+    private final long baseOffset;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private volatile int[] index = new int[16];
+    private volatile long records;
+    private int size;
+    private long lastTimestampMillis = Long.MIN_VALUE;
+
+    private Segment(Path path, long baseOffset, MappedByteBuffer buffer, int capacity) {
+      this.path = path;
+      this.baseOffset = baseOffset;
+      this.buffer = buffer;
+      this.capacity = capacity;
+    }
+
+    /** Records a written record; the volatile write of {@link #records} publishes it. */
+    private void addRecord(int position, int recordBytes, long timestampMillis) {
+      long count = records;
+      if (count % INDEX_INTERVAL == 0) {
+        int slot = (int) (count / INDEX_INTERVAL);
+        int[] current = index;
+        if (slot == current.length) {
+          current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[slot] = position;
+        index = current;
+      }
+      size = position + recordBytes;
+      lastTimestampMillis = timestampMillis;
+      records = count + 1;
+    }
+
+    /** Returns the byte position of the record {@code relative} entries into the segment. */
+    private int positionOf(ByteBuffer view, long relative) {
+      int position = index[(int) (relative / INDEX_INTERVAL)];
+      for (long skip = relative % INDEX_INTERVAL; skip > 0; skip--) {
+        position += HEADER_BYTES + view.getInt(position);
+      }
+      return position;
+    }
+  }
+}
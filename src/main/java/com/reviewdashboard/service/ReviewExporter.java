@@ -0,0 +1,477 @@
+package com.reviewdashboard.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams the reviews in the {@link ReviewColumnStore}, or their aggregates per product or company,
+ * as CSV or as a compact columnar binary format.
+ *
+ * <p>Rows are read straight from the store's columns into a fixed 64 KiB buffer that is written to
+ * the output whenever it fills, so an export never holds more than one buffer of output and never
+ * creates an object per review. Comments are copied from the store's UTF-8 arena without decoding.
+ * Aggregates need one count, sum, min and max per product or company, built in one pass over the
+ * reviews. An export covers the reviews stored when it starts; reviews stored meanwhile are left
+ * out.
+ *
+ * <p><b>CSV</b> has a header line, one line per row and RFC 4180 quoting; comments are always
+ * quoted and an absent comment or company is an empty field. Reviews have the columns {@code
+ * productId,userId,companyId,rating,comment,timestampMillis}, aggregates {@code
+ * productId,count,average,min,max} or the same with {@code companyId}.
+ *
+ * <p><b>Columnar</b> starts with the magic {@code RVC1} and the dataset's ordinal as one byte,
+ * followed by blocks of up to {@value #BLOCK_ROWS} rows and a terminating zero. Integers are
+ * unsigned LEB128 varints, strings are a varint byte length followed by UTF-8, and floating-point
+ * numbers are big-endian IEEE 754. A block is its row count followed by its columns:
+ *
+ * <ul>
+ *   <li>Reviews: the product, user and company IDs first used in the block, each as a count
+ *       followed by the IDs, which take the next ordinals in order; the product and user ordinals;
+ *       the company ordinal plus one, or zero for none; the ratings as 4-byte floats; the
+ *       timestamps as zigzag-encoded differences from the previous review; the comment lengths plus
+ *       one, or zero for none; then the comments' bytes back to back.
+ *   <li>Aggregates: the IDs; the counts; then the averages, minimums and maximums as 8-byte
+ *       doubles.
+ * </ul>
+ */
+@Component
+public class ReviewExporter {
+
+  /** What an export contains. */
+  public enum Dataset {
+    REVIEWS,
+    PRODUCTS,
+    COMPANIES;
+
+    /**
+     * Parses a dataset case-insensitively.
+     *
+     * @param value The dataset name, e.g. {@code reviews}.
+     * @return The dataset, or {@code null} if the name is unknown.
+     */
+    public static Dataset parse(String value) {
+      for (Dataset dataset : values()) {
+        if (dataset.name().equals(value == null ? null : value.toUpperCase(Locale.ROOT))) {
+          return dataset;
+        }
+      }
+      return null;
+    }
+  }
+
+  /** How an export is encoded. */
+  public enum Format {
+    CSV,
+    COLUMNAR;
+
+    /**
+     * Parses a format case-insensitively.
+     *
+     * @param value The format name, e.g. {@code csv}.
+     * @return The format, or {@code null} if the name is unknown.
+     */
+    public static Format parse(String value) {
+      for (Format format : values()) {
+        if (format.name().equals(value == null ? null : value.toUpperCase(Locale.ROOT))) {
+          return format;
+        }
+      }
+      return null;
+    }
+  }
+
+  /** The most rows in one block of the columnar format. */
+  static final int BLOCK_ROWS = 4096;
+
+  private static final byte[] MAGIC = {'R', 'V', 'C', '1'};
+
+  private static final byte[] REVIEWS_HEADER =
+      "productId,userId,companyId,rating,comment,timestampMillis\n"
+          .getBytes(StandardCharsets.US_ASCII);
+
+  private final ReviewColumnStore store;
+
+  public ReviewExporter(ReviewColumnStore store) {
+    this.store = store;
+  }
+
+  /**
+   * Writes an export to a stream, flushing but not closing it.
+   *
+   * @param dataset What to export.
+   * @param format How to encode it.
+   * @param out The stream to write to.
+   * @return The number of rows written.
+   * @throws IOException If writing to the stream fails.
+   */
+  public long export(Dataset dataset, Format format, OutputStream out) throws IOException {
+    Sink sink = new Sink(out);
+    int reviews = store.size();
+    boolean csv = format == Format.CSV;
+    if (!csv) {
+      sink.write(MAGIC, 0, MAGIC.length);
+      sink.write(dataset.ordinal());
+    }
+    long rows;
+    if (dataset == Dataset.REVIEWS) {
+      rows = csv ? reviewsCsv(sink, reviews) : reviewsColumnar(sink, reviews);
+    } else {
+      Aggregates aggregates = aggregate(reviews, dataset == Dataset.COMPANIES);
+      rows = csv ? aggregatesCsv(sink, aggregates) : aggregatesColumnar(sink, aggregates);
+    }
+    sink.flush();
+    return rows;
+  }
+
+  private long reviewsCsv(Sink sink, int reviews) throws IOException {
+    sink.write(REVIEWS_HEADER, 0, REVIEWS_HEADER.length);
+    for (int row = 0; row < reviews; row++) {
+      sink.writeCsvField(store.productId(store.product(row)));
+      sink.write(',');
+      sink.writeCsvField(store.userId(store.user(row)));
+      sink.write(',');
+      int company = store.company(row);
+      if (company >= 0) {
+        sink.writeCsvField(store.companyId(company));
+      }
+      sink.write(',');
+      sink.writeRating(store.rating(row));
+      sink.write(',');
+      int length = store.commentLength(row);
+      if (length >= 0) {
+        sink.writeQuoted(store.commentChunk(row), store.commentStart(row), length);
+      }
+      sink.write(',');
+      sink.writeDecimal(store.timestamp(row));
+      sink.write('\n');
+    }
+    return reviews;
+  }
+
+  private long reviewsColumnar(Sink sink, int reviews) throws IOException {
+    int products = 0;
+    int users = 0;
+    int companies = 0;
+    long previousTime = 0;
+    for (int start = 0; start < reviews; start += BLOCK_ROWS) {
+      int end = Math.min(reviews, start + BLOCK_ROWS);
+      sink.writeVarint(end - start);
+
+      // Ordinals are assigned in row order, so the IDs new to this block are the next ordinals.
+      int maxProduct = products - 1;
+      int maxUser = users - 1;
+      int maxCompany = companies - 1;
+      for (int row = start; row < end; row++) {
+        maxProduct = Math.max(maxProduct, store.product(row));
+        maxUser = Math.max(maxUser, store.user(row));
+        maxCompany = Math.max(maxCompany, store.company(row));
+      }
+      sink.writeVarint(maxProduct + 1 - products);
+      for (; products <= maxProduct; products++) {
+        sink.writeString(store.productId(products));
+      }
+      sink.writeVarint(maxUser + 1 - users);
+      for (; users <= maxUser; users++) {
+        sink.writeString(store.userId(users));
+      }
+      sink.writeVarint(maxCompany + 1 - companies);
+      for (; companies <= maxCompany; companies++) {
+        sink.writeString(store.companyId(companies));
+      }
+
+      for (int row = start; row < end; row++) {
+        sink.writeVarint(store.product(row));
+      }
+      for (int row = start; row < end; row++) {
+        sink.writeVarint(store.user(row));
+      }
+      for (int row = start; row < end; row++) {
+        sink.writeVarint(store.company(row) + 1);
+      }
+      for (int row = start; row < end; row++) {
+        sink.writeInt(Float.floatToIntBits(store.rating(row)));
+      }
+      for (int row = start; row < end; row++) {
+        long delta = store.timestamp(row) - previousTime;
+        sink.writeVarint(delta << 1 ^ delta >> 63);
+        previousTime = store.timestamp(row);
+      }
+      for (int row = start; row < end; row++) {
+        sink.writeVarint(store.commentLength(row) + 1);
+      }
+      for (int row = start; row < end; row++) {
+        int length = store.commentLength(row);
+        if (length > 0) {
+          sink.write(store.commentChunk(row), store.commentStart(row), length);
+        }
+      }
+    }
+    sink.writeVarint(0);
+    return reviews;
+  }
+
+  private Aggregates aggregate(int reviews, boolean byCompany) {
+    int keys = byCompany ? store.companyCount() : store.productCount();
+    Aggregates aggregates = new Aggregates(keys, byCompany);
+    for (int row = 0; row < reviews; row++) {
+      int key = byCompany ? store.company(row) : store.product(row);
+      if (key < 0) {
+        continue;
+      }
+      float rating = store.rating(row);
+      if (aggregates.counts[key]++ == 0) {
+        aggregates.mins[key] = rating;
+        aggregates.maxs[key] = rating;
+      } else {
+        aggregates.mins[key] = Math.min(aggregates.mins[key], rating);
+        aggregates.maxs[key] = Math.max(aggregates.maxs[key], rating);
+      }
+      // The shortest decimal of the float, so that a stored 4.7 averages as 4.7.
+      aggregates.sums[key] += Double.parseDouble(Float.toString(rating));
+    }
+    return aggregates;
+  }
+
+  private long aggregatesCsv(Sink sink, Aggregates aggregates) throws IOException {
+    sink.writeAscii(aggregates.byCompany ? "companyId" : "productId");
+    sink.writeAscii(",count,average,min,max\n");
+    long rows = 0;
+    for (int key = 0; key < aggregates.counts.length; key++) {
+      long count = aggregates.counts[key];
+      if (count == 0) {
+        continue;
+      }
+      sink.writeCsvField(aggregates.id(key));
+      sink.write(',');
+      sink.writeDecimal(count);
+      sink.write(',');
+      sink.writeAscii(Double.toString(aggregates.sums[key] / count));
+      sink.write(',');
+      sink.writeAscii(Float.toString(aggregates.mins[key]));
+      sink.write(',');
+      sink.writeAscii(Float.toString(aggregates.maxs[key]));
+      sink.write('\n');
+      rows++;
+    }
+    return rows;
+  }
+
+  private long aggregatesColumnar(Sink sink, Aggregates aggregates) throws IOException {
+    long rows = 0;
+    int keys = aggregates.counts.length;
+    int start = 0;
+    int[] block = new int[BLOCK_ROWS];
+    while (true) {
+      // Gather the next block of keys with reviews, skipping any without.
+      int size = 0;
+      for (; start < keys && size < BLOCK_ROWS; start++) {
+        if (aggregates.counts[start] > 0) {
+          block[size++] = start;
+        }
+      }
+      sink.writeVarint(size);
+      if (size == 0) {
+        return rows;
+      }
+      for (int i = 0; i < size; i++) {
+        sink.writeString(aggregates.id(block[i]));
+      }
+      for (int i = 0; i < size; i++) {
+        sink.writeVarint(aggregates.counts[block[i]]);
+      }
+      for (int i = 0; i < size; i++) {
+        sink.writeLong(
+            Double.doubleToLongBits(aggregates.sums[block[i]] / aggregates.counts[block[i]]));
+      }
+      for (int i = 0; i < size; i++) {
+        sink.writeLong(Double.doubleToLongBits(aggregates.mins[block[i]]));
+      }
+      for (int i = 0; i < size; i++) {
+        sink.writeLong(Double.doubleToLongBits(aggregates.maxs[block[i]]));
+      }
+      rows += size;
+    }
+  }
+
+  /** Count, sum, min and max of the ratings per product or company ordinal. */
+  private final class Aggregates {
+    private final boolean byCompany;
+    private final long[] counts;
+    private final double[] sums;
+    private final float[] mins;
+    private final float[] maxs;
+
+    private Aggregates(int keys, boolean byCompany) {
+      this.byCompany = byCompany;
+      this.counts = new long[keys];
+      this.sums = new double[keys];
+      this.mins = new float[keys];
+      this.maxs = new float[keys];
+    }
+
+    private String id(int key) {
+      return byCompany ? store.companyId(key) : store.productId(key);
+    }
+  }
+
+  /** A fixed output buffer that is written to the stream whenever it fills. */
+  private static final class Sink {
+    private static final int CAPACITY = 64 * 1024;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[CAPACITY];
+    private int position;
+
+    private Sink(OutputStream out) {
+      this.out = out;
+    }
+
+    private void write(int b) throws IOException {
+      if (position == CAPACITY) {
+        drain();
+      }
+      buffer[position++] = (byte) b;
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+      while (length > 0) {
+        if (position == CAPACITY) {
+          drain();
+        }
+        int n = Math.min(length, CAPACITY - position);
+        System.arraycopy(bytes, offset, buffer, position, n);
+        position += n;
+        offset += n;
+        length -= n;
+      }
+    }
+
+    private void writeAscii(String text) throws IOException {
+      for (int i = 0; i < text.length(); i++) {
+        write(text.charAt(i));
+      }
+    }
+
+    private void writeDecimal(long value) throws IOException {
+      if (value < 0) {
+        write('-');
+        if (value == Long.MIN_VALUE) {
+          writeAscii("9223372036854775808");
+          return;
+        }
+        value = -value;
+      }
+      long divisor = 1;
+      while (value / divisor >= 10) {
+        divisor *= 10;
+      }
+      for (; divisor > 0; divisor /= 10) {
+        write((int) ('0' + value / divisor % 10));
+      }
+    }
+
+    /**
+     * Writes a rating as {@link Float#toString} does, without creating a string for ratings with at
+     * most two decimals, which are all ratings clients send in practice.
+     */
+    private void writeRating(float rating) throws IOException {
+      long hundredths = Math.round(rating * 100.0);
+      if (rating < 0 || hundredths / 100f != rating) {
+        writeAscii(Float.toString(rating));
+        return;
+      }
+      writeDecimal(hundredths / 100);
+      write('.');
+      int fraction = (int) (hundredths % 100);
+      write('0' + fraction / 10);
+      if (fraction % 10 != 0) {
+        write('0' + fraction % 10);
+      }
+    }
+
+    /** Writes a CSV field, quoted only if it holds a comma, quote or line break. */
+    private void writeCsvField(String value) throws IOException {
+      boolean quote = false;
+      for (int i = 0; i < value.length() && !quote; i++) {
+        char c = value.charAt(i);
+        quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+      }
+      if (quote) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeQuoted(bytes, 0, bytes.length);
+      } else {
+        writeUtf8(value);
+      }
+    }
+
+    /**
+     * Writes UTF-8 bytes as a quoted CSV field, doubling quotes. A quote byte never occurs inside a
+     * multi-byte UTF-8 sequence, so the bytes need no decoding.
+     */
+    private void writeQuoted(byte[] bytes, int offset, int length) throws IOException {
+      write('"');
+      int run = offset;
+      int end = offset + length;
+      for (int i = offset; i < end; i++) {
+        if (bytes[i] == '"') {
+          write(bytes, run, i + 1 - run);
+          run = i;
+        }
+      }
+      write(bytes, run, end - run);
+      write('"');
+    }
+
+    private void writeUtf8(String value) throws IOException {
+      int worst = value.length() * 3;
+      if (worst > CAPACITY) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        write(bytes, 0, bytes.length);
+        return;
+      }
+      if (position + worst > CAPACITY) {
+        drain();
+      }
+      position += ReviewColumnStore.encode(value, buffer, position);
+    }
+
+    private void writeString(String value) throws IOException {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarint(bytes.length);
+      write(bytes, 0, bytes.length);
+    }
+
+    private void writeVarint(long value) throws IOException {
+      while ((value & ~0x7FL) != 0) {
+        write((int) (value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      write((int) value);
+    }
+
+    private void writeInt(int value) throws IOException {
+      write(value >>> 24);
+      write(value >>> 16);
+      write(value >>> 8);
+      write(value);
+    }
+
+    private void writeLong(long value) throws IOException {
+      writeInt((int) (value >>> 32));
+      writeInt((int) value);
+    }
+
+    private void drain() throws IOException {
+      out.write(buffer, 0, position);
+      position = 0;
+    }
+
+    private void flush() throws IOException {
+      drain();
+      out.flush();
+    }
+  }
+}
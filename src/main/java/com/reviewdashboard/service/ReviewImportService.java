@@ -0,0 +1,384 @@
+package com.reviewdashboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.ReviewImportRecord;
+import com.reviewdashboard.model.ReviewImportResult;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Imports reviews from an NDJSON stream, one {@link ReviewImportRecord} per line.
+ *
+ * <p>The stream is read incrementally through a fixed-size buffer, so memory use does not depend on
+ * the size of the import: at most one line (capped at {@link #MAX_LINE_CHARS}) is buffered, and at
+ * most {@code parallelism} records per import are in flight. Each record is validated with {@link
+ * ReviewValidator}, and checked by the {@link DuplicateReviewDetector} when it rejects
+ * near-duplicates, before anything is sent upstream. Valid records are submitted through {@link
+ * ReviewService} on a shared pool of {@code parallelism} threads, which also bounds the upstream
+ * concurrency of all imports together. Reviews the upstream could not accept because it was
+ * unavailable are stored in the {@link ReviewOutbox} when it is enabled.
+ *
+ * <p>One {@link ReviewImportResult} per non-blank line is written to the output as NDJSON as soon
+ * as the record completes, so results arrive in completion order and carry their line number.
+ */
+@Service
+public class ReviewImportService {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewImportService.class);
+
+  /** Longest accepted record, in chars. */
+  public static final int MAX_LINE_CHARS = 64 * 1024;
+
+  private static final int FLUSH_EVERY = 64;
+
+  private final ReviewService reviewService;
+  private final ReviewOutbox outbox;
+  private final DuplicateReviewDetector duplicateDetector;
+  private final ObjectReader recordReader;
+  private final ObjectWriter resultWriter;
+  private final int parallelism;
+  private final ExecutorService executor;
+
+  /**
+   * Creates a new import service.
+   *
+   * @param reviewService The service that posts reviews upstream.
+   * @param outbox The outbox that keeps reviews the upstream could not accept.
+   * @param duplicateDetector The near-duplicate detector.
+   * @param objectMapper The JSON mapper.
+   * @param parallelism The maximum number of concurrent upstream submissions.
+   */
+  public ReviewImportService(
+      ReviewService reviewService,
+      ReviewOutbox outbox,
+      DuplicateReviewDetector duplicateDetector,
+      ObjectMapper objectMapper,
+      @Value("${review.import.parallelism:16}") int parallelism) {
+    this.reviewService = reviewService;
+    this.outbox = outbox;
+    this.duplicateDetector = duplicateDetector;
+    this.recordReader = objectMapper.readerFor(ReviewImportRecord.class);
+    this.resultWriter = objectMapper.writerFor(ReviewImportResult.class);
+    this.parallelism = Math.max(1, parallelism);
+    AtomicInteger threads = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            this.parallelism,
+            runnable -> {
+              Thread thread = new Thread(runnable, "review-import-" + threads.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Stops the submission threads. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Imports every record in {@code in} and streams one result per record to {@code out}.
+   *
+   * @param in The NDJSON input.
+   * @param userId The importing user, whom every record is submitted as; records naming another
+   *     user are rejected.
+   * @param out Where the NDJSON results are written; not closed.
+   * @return The number of records processed.
+   * @throws IOException If reading the input or writing the results fails.
+   * @throws InterruptedException If interrupted while waiting for in-flight records.
+   */
+  public long importReviews(InputStream in, String userId, OutputStream out)
+      throws IOException, InterruptedException {
+    LineReader lines = new LineReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    ResultSink results =
+        new ResultSink(new OutputStreamWriter(out, StandardCharsets.UTF_8), resultWriter);
+    Semaphore permits = new Semaphore(parallelism);
+    long lineNumber = 0;
+    long records = 0;
+    try {
+      int state;
+      while ((state = lines.next()) != LineReader.EOF) {
+        lineNumber++;
+        results.rethrowFailure();
+        if (state == LineReader.TOO_LONG) {
+          records++;
+          results.write(
+              new ReviewImportResult(
+                  lineNumber,
+                  ReviewImportResult.INVALID,
+                  null,
+                  null,
+                  "Record exceeds " + MAX_LINE_CHARS + " characters"));
+          continue;
+        }
+        if (lines.isBlank()) {
+          continue;
+        }
+        records++;
+        ReviewImportRecord record;
+        try {
+          record = recordReader.readValue(lines.line());
+        } catch (JsonProcessingException e) {
+          results.write(
+              new ReviewImportResult(
+                  lineNumber,
+                  ReviewImportResult.INVALID,
+                  null,
+                  null,
+                  "Malformed record: " + e.getOriginalMessage()));
+          continue;
+        }
+        ReviewImportResult invalid = validate(lineNumber, record, userId);
+        if (invalid != null) {
+          results.write(invalid);
+          continue;
+        }
+        permits.acquire();
+        long recordLine = lineNumber;
+        try {
+          executor.execute(
+              () -> {
+                try {
+                  results.write(submit(recordLine, record, userId));
+                } finally {
+                  permits.release();
+                }
+              });
+        } catch (RejectedExecutionException e) {
+          permits.release();
+          results.write(
+              new ReviewImportResult(
+                  recordLine,
+                  ReviewImportResult.FAILED,
+                  record.getProductId(),
+                  null,
+                  "Import is shutting down"));
+        }
+      }
+    } finally {
+      // Wait for in-flight records so that their results are written before returning.
+      permits.acquireUninterruptibly(parallelism);
+      permits.release(parallelism);
+    }
+    results.flush();
+    results.rethrowFailure();
+    if (logger.isInfoEnabled()) {
+      logger.info("Imported {} review records for userId={}", records, userId);
+    }
+    return records;
+  }
+
+  private ReviewImportResult validate(long line, ReviewImportRecord record, String userId) {
+    if (record == null) {
+      return new ReviewImportResult(
+          line, ReviewImportResult.INVALID, null, null, "Record must be a JSON object");
+    }
+    if (userId == null || userId.isBlank()) {
+      return new ReviewImportResult(
+          line, ReviewImportResult.INVALID, record.getProductId(), null, "userId is required");
+    }
+    String recordUserId = record.getUserId();
+    if (recordUserId != null && !recordUserId.isBlank() && !recordUserId.equals(userId)) {
+      return new ReviewImportResult(
+          line,
+          ReviewImportResult.INVALID,
+          record.getProductId(),
+          null,
+          "userId must match the X-User-Id header");
+    }
+    ReviewValidator.Violation violation =
+        ReviewValidator.validate(record.getProductId(), record.getReview());
+    if (violation != null) {
+      return new ReviewImportResult(
+          line, ReviewImportResult.INVALID, record.getProductId(), null, violation.message());
+    }
+    // A retry of a known submission must replay its stored result, not match its own earlier copy.
+    if (duplicateDetector.rejects()
+        && !reviewService.isKnownSubmission(
+            record.getProductId(), userId, record.getIdempotencyKey())
+        && duplicateDetector.isNearDuplicate(record.getProductId(), record.getReview())) {
+      return new ReviewImportResult(
+          line,
+          ReviewImportResult.INVALID,
+          record.getProductId(),
+          null,
+          "Review nearly duplicates a recent review of this product");
+    }
+    return null;
+  }
+
+  private ReviewImportResult submit(long line, ReviewImportRecord record, String userId) {
+    String productId = record.getProductId();
+    String key = record.getIdempotencyKey();
+    try {
+      ReviewDto created =
+          key == null
+              ? reviewService.addReview(productId, record.getReview(), userId)
+              : reviewService.addReview(productId, record.getReview(), userId, key);
+      return new ReviewImportResult(
+          line,
+          ReviewImportResult.CREATED,
+          productId,
+          created != null ? created.getId() : null,
+          null);
+    } catch (RuntimeException e) {
+      RuntimeException failure = e;
+      if (outbox.isEnabled() && ReviewOutbox.isDeferrable(e)) {
+        try {
+          String outboxId = outbox.store(productId, record.getReview(), userId, key);
+          return new ReviewImportResult(
+              line, ReviewImportResult.DEFERRED, productId, null, "Stored as " + outboxId);
+        } catch (RuntimeException storeFailure) {
+          failure = storeFailure;
+        }
+      }
+      boolean invalid =
+          failure instanceof IllegalArgumentException
+              || (failure instanceof FeignException feign && feign.status() == 400);
+      return new ReviewImportResult(
+          line,
+          invalid ? ReviewImportResult.INVALID : ReviewImportResult.FAILED,
+          productId,
+          null,
+          failure.getMessage());
+    }
+  }
+
+  /** Serializes results from concurrent workers onto one writer, flushing periodically. */
+  private static final class ResultSink {
+    private final Writer writer;
+    private final ObjectWriter json;
+    private int unflushed;
+    private IOException failure;
+
+    private ResultSink(Writer writer, ObjectWriter json) {
+      this.writer = writer;
+      this.json = json;
+    }
+
+    private synchronized void write(ReviewImportResult result) {
+      if (failure != null) {
+        return;
+      }
+      try {
+        writer.write(json.writeValueAsString(result));
+        writer.write('\n');
+        if (++unflushed >= FLUSH_EVERY) {
+          writer.flush();
+          unflushed = 0;
+        }
+      } catch (IOException e) {
+        failure = e;
+      }
+    }
+
+    private synchronized void flush() {
+      if (failure != null) {
+        return;
+      }
+      try {
+        writer.flush();
+        unflushed = 0;
+      } catch (IOException e) {
+        failure = e;
+      }
+    }
+
+    private synchronized void rethrowFailure() throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  /** Reads lines through a fixed buffer, reusing one builder and capping the line length. */
+  private static final class LineReader {
+    private static final int EOF = -1;
+    private static final int LINE = 0;
+    private static final int TOO_LONG = 1;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder line = new StringBuilder(256);
+    private int position;
+    private int limit;
+
+    private LineReader(Reader reader) {
+      this.reader = reader;
+    }
+
+    /** Advances to the next line and returns {@link #LINE}, {@link #TOO_LONG} or {@link #EOF}. */
+    private int next() throws IOException {
+      line.setLength(0);
+      boolean tooLong = false;
+      boolean sawAny = false;
+      while (true) {
+        if (position == limit) {
+          limit = reader.read(buffer, 0, buffer.length);
+          position = 0;
+          if (limit <= 0) {
+            limit = 0;
+            return sawAny ? (tooLong ? TOO_LONG : LINE) : EOF;
+          }
+        }
+        sawAny = true;
+        int start = position;
+        while (position < limit && buffer[position] != '\n') {
+          position++;
+        }
+        int length = position - start;
+        if (!tooLong) {
+          if (line.length() + length > MAX_LINE_CHARS) {
+            tooLong = true;
+            line.setLength(0);
+          } else {
+            line.append(buffer, start, length);
+          }
+        }
+        if (position < limit) {
+          position++;
+          return tooLong ? TOO_LONG : LINE;
+        }
+      }
+    }
+
+    private boolean isBlank() {
+      for (int i = 0; i < line.length(); i++) {
+        if (!Character.isWhitespace(line.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private String line() {
+      int end = line.length();
+      if (end > 0 && line.charAt(end - 1) == '\r') {
+        end--;
+      }
+      return line.substring(0, end);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.ReviewDto;
+
+/**
+ * A review read back from the {@link ReviewEventLog}.
+ *
+ * <p>Entries are decoded fresh for every read, so consumers may keep them.
+ */
+public final class ReviewLogEntry {
+
+  private final long offset;
+  private final long timestampMillis;
+  private final String productId;
+  private final String userId;
+  private final ReviewDto review;
+
+  ReviewLogEntry(
+      long offset, long timestampMillis, String productId, String userId, ReviewDto review) {
+    this.offset = offset;
+    this.timestampMillis = timestampMillis;
+    this.productId = productId;
+    this.userId = userId;
+    this.review = review;
+  }
+
+  /**
+   * Gets the position of this entry in the log; increases by one per appended review.
+   *
+   * @return The offset.
+   */
+  public long getOffset() {
+    return offset;
+  }
+
+  /**
+   * Gets the time the upstream accepted the review.
+   *
+   * @return Milliseconds since the epoch.
+   */
+  public long getTimestampMillis() {
+    return timestampMillis;
+  }
+
+  /**
+   * Gets the product the review is for.
+   *
+   * @return The product ID.
+   */
+  public String getProductId() {
+    return productId;
+  }
+
+  /**
+   * Gets the submitting user.
+   *
+   * @return The user ID.
+   */
+  public String getUserId() {
+    return userId;
+  }
+
+  /**
+   * Gets the review with the ID the upstream assigned, when it returned one.
+   *
+   * @return The review.
+   */
+  public ReviewDto getReview() {
+    return review;
+  }
+}
@@ -0,0 +1,691 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.client.UpstreamRejectedException;
+import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.UserDto;
+import feign.FeignException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A durable, append-only outbox for reviews that could not be delivered because the upstream was
+ * unavailable.
+ *
+ * <p>Reviews are appended to segment files ({@code outbox-<sequence>.log}) as length-prefixed
+ * binary records protected by a CRC32; a delivered or abandoned review is marked by appending an
+ * acknowledgement record. A segment is deleted once it and every older segment hold no
+ * unacknowledged reviews. On startup all segments are scanned, a torn or corrupt tail is truncated
+ * at the last valid record, and the reviews without an acknowledgement are queued again, so a crash
+ * loses at most the writes that the fsync policy had not yet flushed.
+ *
+ * <p>A background replayer posts pending reviews in order through {@link ReviewService} at a
+ * bounded rate. Delivery is at least once: a review whose acknowledgement was lost, for example in
+ * a crash, is posted again after a restart. Each review is posted upstream with the client's {@code
+ * Idempotency-Key} when the client sent one, so such a replay is deduplicated only if the upstream
+ * honours that key; the local {@link IdempotencyStore} does not survive a restart. Reviews without
+ * a key are posted without one, as they would have been originally. The outbox ID scopes the key to
+ * the user and product, as {@link ReviewService} does, so a review stored twice is kept once while
+ * different users reusing a key are not merged.
+ *
+ * <p>While the upstream keeps failing, the replayer stops at the first failure and waits before
+ * trying again, doubling the wait after each consecutive failure up to {@code maxBackoffMillis}.
+ * Such failures never drop a review; only reviews the upstream rejects outright are dropped.
+ */
+@Component
+public class ReviewOutbox implements MeterBinder {
+
+  /** When appended records are forced to disk. */
+  enum FsyncPolicy {
+    /** After every append. */
+    ALWAYS,
+    /** At most once per fsync interval, and on every replayer tick. */
+    INTERVAL,
+    /** Never explicitly; the OS decides. */
+    NEVER
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewOutbox.class);
+
+  /** A review with its upstream idempotency key and company ID. */
+  static final byte REVIEW = 1;
+
+  static final byte ACK = 2;
+
+  static final int MAX_RECORD_BYTES = 1 << 20;
+  private static final int HEADER_BYTES = 8;
+  private static final String SEGMENT_PREFIX = "outbox-";
+  private static final String SEGMENT_SUFFIX = ".log";
+
+  private final ReviewService reviewService;
+  private final boolean enabled;
+  private final Path directory;
+  private final long segmentBytes;
+  private final FsyncPolicy fsyncPolicy;
+  private final long fsyncIntervalNanos;
+  private final long replayIntervalMillis;
+  private final long replayPauseNanos;
+  private final long maxBackoffNanos;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, PendingReview> pending = new LinkedHashMap<>();
+  private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+  private final LongAdder stored = new LongAdder();
+  private final LongAdder replayed = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private Segment active;
+  private FileChannel channel;
+  private long lastSyncNanos;
+  private boolean dirty;
+  private ScheduledExecutorService replayer;
+
+  // Replayer thread only.
+  private int consecutiveFailures;
+  private long nextReplayNanos;
+
+  /**
+   * Creates a new outbox.
+   *
+   * @param reviewService The service that posts replayed reviews upstream.
+   * @param enabled Whether undeliverable reviews are stored at all.
+   * @param directory The directory holding the segment files.
+   * @param segmentBytes The size after which a new segment is started.
+   * @param fsync The fsync policy: {@code always}, {@code interval} or {@code never}.
+   * @param fsyncIntervalMillis The fsync interval for the {@code interval} policy.
+   * @param replayIntervalMillis How often the replayer checks for pending reviews; 0 disables it.
+   * @param replayRatePerSecond The maximum number of reviews replayed per second.
+   * @param maxBackoffMillis The longest wait between replays while the upstream stays unavailable.
+   */
+  public ReviewOutbox(
+      ReviewService reviewService,
+      @Value("${review.outbox.enabled:false}") boolean enabled,
+      @Value("${review.outbox.dir:data/outbox}") String directory,
+      @Value("${review.outbox.segment-bytes:16777216}") long segmentBytes,
+      @Value("${review.outbox.fsync:always}") String fsync,
+      @Value("${review.outbox.fsync-interval-ms:1000}") long fsyncIntervalMillis,
+      @Value("${review.outbox.replay-interval-ms:1000}") long replayIntervalMillis,
+      @Value("${review.outbox.replay-rate-per-second:20}") int replayRatePerSecond,
+      @Value("${review.outbox.max-backoff-ms:60000}") long maxBackoffMillis) {
+    this.reviewService = reviewService;
+    this.enabled = enabled;
+    this.directory = Paths.get(directory);
+    this.segmentBytes = Math.max(HEADER_BYTES + 1, segmentBytes);
+    this.fsyncPolicy = FsyncPolicy.valueOf(fsync.trim().toUpperCase(Locale.ROOT));
+    this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+    this.replayIntervalMillis = replayIntervalMillis;
+    this.replayPauseNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, replayRatePerSecond);
+    this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxBackoffMillis));
+  }
+
+  /**
+   * Recovers pending reviews from disk, opens a fresh segment and starts the replayer.
+   *
+   * @throws IOException If the outbox directory cannot be read or written.
+   */
+  @PostConstruct
+  public void start() throws IOException {
+    if (!enabled) {
+      return;
+    }
+    int recovered;
+    lock.lock();
+    try {
+      Files.createDirectories(directory);
+      recover();
+      openSegment(segments.isEmpty() ? 0L : segments.peekLast().sequence + 1);
+      recovered = pending.size();
+    } finally {
+      lock.unlock();
+    }
+    if (recovered > 0 && logger.isInfoEnabled()) {
+      logger.info("Recovered {} undelivered reviews from the outbox", recovered);
+    }
+    if (replayIntervalMillis > 0) {
+      replayer =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "review-outbox-replayer");
+                thread.setDaemon(true);
+                return thread;
+              });
+      replayer.scheduleWithFixedDelay(
+          this::replayPending, replayIntervalMillis, replayIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /** Stops the replayer and closes the active segment. */
+  @PreDestroy
+  public void shutdown() {
+    if (replayer != null) {
+      replayer.shutdownNow();
+      try {
+        replayer.awaitTermination(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    lock.lock();
+    try {
+      if (channel != null) {
+        channel.force(false);
+        channel.close();
+        channel = null;
+      }
+    } catch (IOException e) {
+      logger.warn("Failed to close the outbox segment", e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns whether undeliverable reviews are stored.
+   *
+   * @return {@code true} if {@link #store} may be called.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns whether a failed submission should be stored for later delivery, i.e. whether it failed
+   * because the upstream was unreachable or unavailable rather than because it rejected the review.
+   *
+   * @param e The failure.
+   * @return {@code true} for connection failures, upstream 5xx responses and local saturation.
+   */
+  public static boolean isDeferrable(RuntimeException e) {
+    if (e instanceof UpstreamRejectedException) {
+      return true;
+    }
+    return e instanceof FeignException feign && (feign.status() < 0 || feign.status() >= 500);
+  }
+
+  /**
+   * Durably stores a review for later delivery.
+   *
+   * @param productId The product the review is for.
+   * @param review The review.
+   * @param userId The submitting user.
+   * @param idempotencyKey The client's idempotency key; may be {@code null}.
+   * @return The outbox ID, {@code userId|productId|key} where the key is {@code idempotencyKey} or,
+   *     without one, a generated ID that is never sent upstream.
+   * @throws UncheckedIOException If the review cannot be written.
+   */
+  public String store(String productId, ReviewDto review, String userId, String idempotencyKey) {
+    String id =
+        userId
+            + "|"
+            + productId
+            + "|"
+            + (idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString());
+    lock.lock();
+    try {
+      if (channel == null) {
+        throw new IllegalStateException("Review outbox is not open");
+      }
+      if (pending.containsKey(id)) {
+        return id;
+      }
+      append(encodeReview(id, idempotencyKey, productId, review, userId));
+      pending.put(id, new PendingReview(id, idempotencyKey, productId, review, userId, active));
+      active.unacknowledged++;
+      stored.increment();
+      return id;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write review to the outbox", e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of stored reviews not yet delivered.
+   *
+   * @return The pending count.
+   */
+  public int pendingCount() {
+    lock.lock();
+    try {
+      return pending.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns whether a review with the given outbox ID is waiting for delivery.
+   *
+   * @param id The outbox ID.
+   * @return {@code true} if the review is pending.
+   */
+  public boolean isPending(String id) {
+    lock.lock();
+    try {
+      return pending.containsKey(id);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("review.outbox.pending", this, ReviewOutbox::pendingCount)
+        .description("Reviews stored in the outbox awaiting delivery")
+        .register(registry);
+    FunctionCounter.builder("review.outbox.stored", stored, LongAdder::sum)
+        .description("Reviews stored because the upstream was unavailable")
+        .register(registry);
+    FunctionCounter.builder("review.outbox.replayed", replayed, LongAdder::sum)
+        .description("Stored reviews delivered upstream")
+        .register(registry);
+    FunctionCounter.builder("review.outbox.dropped", dropped, LongAdder::sum)
+        .description("Stored reviews abandoned because the upstream rejected them")
+        .register(registry);
+  }
+
+  /**
+   * Delivers pending reviews in order until the outbox is empty or the upstream fails. Does nothing
+   * while backing off after an earlier failure.
+   *
+   * @return The number of reviews delivered.
+   */
+  int replayPending() {
+    int delivered = 0;
+    PendingReview next;
+    while ((consecutiveFailures == 0 || System.nanoTime() - nextReplayNanos >= 0)
+        && (next = firstPending()) != null
+        && !Thread.currentThread().isInterrupted()) {
+      try {
+        reviewService.addReview(next.productId, next.review, next.userId, next.idempotencyKey);
+        acknowledge(next);
+        replayed.increment();
+        delivered++;
+        consecutiveFailures = 0;
+      } catch (RuntimeException e) {
+        if (isDeferrable(e)) {
+          consecutiveFailures++;
+          long backoff = backoffNanos(consecutiveFailures);
+          nextReplayNanos = System.nanoTime() + backoff;
+          if (logger.isDebugEnabled()) {
+            logger.debug(
+                "Upstream still unavailable, pausing outbox replay for {} ms: {}",
+                TimeUnit.NANOSECONDS.toMillis(backoff),
+                e.getMessage());
+          }
+          break;
+        }
+        if (logger.isWarnEnabled()) {
+          logger.warn(
+              "Dropping outbox review {} for productId={}: {}",
+              next.id,
+              next.productId,
+              e.getMessage());
+        }
+        acknowledge(next);
+        dropped.increment();
+      }
+      LockSupport.parkNanos(replayPauseNanos);
+    }
+    lock.lock();
+    try {
+      if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+        sync(true);
+      }
+    } catch (IOException e) {
+      logger.warn("Failed to sync the outbox", e);
+    } finally {
+      lock.unlock();
+    }
+    return delivered;
+  }
+
+  /** Returns the wait after the given number of consecutive failures, doubling up to the cap. */
+  private long backoffNanos(int failures) {
+    long base = TimeUnit.MILLISECONDS.toNanos(Math.max(1, replayIntervalMillis));
+    int shift = Math.min(failures - 1, 62);
+    return base > maxBackoffNanos >> shift ? maxBackoffNanos : base << shift;
+  }
+
+  private PendingReview firstPending() {
+    lock.lock();
+    try {
+      Iterator<PendingReview> it = pending.values().iterator();
+      return it.hasNext() ? it.next() : null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void acknowledge(PendingReview review) {
+    lock.lock();
+    try {
+      if (channel == null || !pending.remove(review.id, review)) {
+        return;
+      }
+      append(encodeAck(review.id));
+      review.segment.unacknowledged--;
+      releaseSegments();
+    } catch (IOException e) {
+      // The review stays acknowledged in memory; after a restart it is replayed once more under
+      // the same idempotency key.
+      logger.warn("Failed to acknowledge outbox review {}", review.id, e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // ---------------- segment files; callers hold the lock ----------------
+
+  private void recover() throws IOException {
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream =
+        Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+      stream.forEach(files::add);
+    }
+    files.sort(null);
+    for (Path file : files) {
+      String name = file.getFileName().toString();
+      long sequence =
+          Long.parseLong(
+              name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+      Segment segment = new Segment(file, sequence);
+      segments.addLast(segment);
+      readSegment(segment);
+    }
+    releaseSegments();
+  }
+
+  private void readSegment(Segment segment) throws IOException {
+    try (FileChannel in =
+        FileChannel.open(segment.path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      long size = in.size();
+      long position = 0;
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+      while (position + HEADER_BYTES <= size) {
+        header.clear();
+        readFully(in, header, position);
+        header.flip();
+        int length = header.getInt();
+        int checksum = header.getInt();
+        if (length <= 0 || length > MAX_RECORD_BYTES || position + HEADER_BYTES + length > size) {
+          break;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length);
+        readFully(in, body, position + HEADER_BYTES);
+        body.flip();
+        if (crc(body) != checksum || !apply(segment, body)) {
+          break;
+        }
+        position += HEADER_BYTES + length;
+      }
+      if (position < size) {
+        if (logger.isWarnEnabled()) {
+          logger.warn(
+              "Truncating {} bytes of torn or corrupt records from {}",
+              size - position,
+              segment.path);
+        }
+        in.truncate(position);
+        in.force(true);
+      }
+      segment.size = position;
+    }
+  }
+
+  private boolean apply(Segment segment, ByteBuffer body) {
+    try {
+      byte type = body.get();
+      String id = getString(body);
+      if (type == REVIEW) {
+        String key = getString(body);
+        String productId = getString(body);
+        String userId = getString(body);
+        ReviewDto review = new ReviewDto();
+        review.setComment(getString(body));
+        review.setRating(body.getDouble());
+        String reviewerId = getString(body);
+        String username = getString(body);
+        if (reviewerId != null || username != null) {
+          UserDto user = new UserDto();
+          user.setId(reviewerId);
+          user.setUsername(username);
+          review.setUser(user);
+        }
+        review.setCompanyId(getString(body));
+        if (!pending.containsKey(id)) {
+          pending.put(id, new PendingReview(id, key, productId, review, userId, segment));
+          segment.unacknowledged++;
+        }
+        return true;
+      }
+      if (type == ACK) {
+        PendingReview acknowledged = pending.remove(id);
+        if (acknowledged != null) {
+          acknowledged.segment.unacknowledged--;
+        }
+        return true;
+      }
+      return false;
+    } catch (BufferUnderflowException e) {
+      return false;
+    }
+  }
+
+  private void openSegment(long sequence) throws IOException {
+    Path path =
+        directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    active = new Segment(path, sequence);
+    segments.addLast(active);
+    lastSyncNanos = System.nanoTime();
+  }
+
+  private void append(ByteBuffer record) throws IOException {
+    if (active.size > 0 && active.size + record.remaining() > segmentBytes) {
+      channel.force(false);
+      channel.close();
+      openSegment(active.sequence + 1);
+      releaseSegments();
+    }
+    int length = record.remaining();
+    while (record.hasRemaining()) {
+      channel.write(record);
+    }
+    active.size += length;
+    dirty = true;
+    sync(false);
+  }
+
+  private void sync(boolean tick) throws IOException {
+    if (!dirty || channel == null) {
+      return;
+    }
+    boolean due =
+        switch (fsyncPolicy) {
+          case ALWAYS -> true;
+          case INTERVAL -> tick || System.nanoTime() - lastSyncNanos >= fsyncIntervalNanos;
+          case NEVER -> false;
+        };
+    if (due) {
+      channel.force(false);
+      lastSyncNanos = System.nanoTime();
+      dirty = false;
+    }
+  }
+
+  private void releaseSegments() throws IOException {
+    Segment oldest;
+    while ((oldest = segments.peekFirst()) != null
+        && oldest != active
+        && oldest.unacknowledged == 0) {
+      segments.pollFirst();
+      Files.deleteIfExists(oldest.path);
+    }
+  }
+
+  private static void readFully(FileChannel in, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      if (in.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of outbox segment");
+      }
+    }
+  }
+
+  // ---------------- record encoding ----------------
+
+  private static ByteBuffer encodeReview(
+      String id, String key, String productId, ReviewDto review, String userId) {
+    UserDto user = review.getUser();
+    byte[][] fields = {
+      utf8(id),
+      utf8(key),
+      utf8(productId),
+      utf8(userId),
+      utf8(review.getComment()),
+      utf8(user != null ? user.getId() : null),
+      utf8(user != null ? user.getUsername() : null),
+      utf8(review.getCompanyId())
+    };
+    int length = 1 + Double.BYTES;
+    for (byte[] field : fields) {
+      length += Integer.BYTES + (field != null ? field.length : 0);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + length);
+    buffer.position(HEADER_BYTES);
+    buffer.put(REVIEW);
+    putString(buffer, fields[0]);
+    putString(buffer, fields[1]);
+    putString(buffer, fields[2]);
+    putString(buffer, fields[3]);
+    putString(buffer, fields[4]);
+    buffer.putDouble(review.getRating());
+    putString(buffer, fields[5]);
+    putString(buffer, fields[6]);
+    putString(buffer, fields[7]);
+    return frame(buffer);
+  }
+
+  private static ByteBuffer encodeAck(String id) {
+    byte[] key = utf8(id);
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 1 + Integer.BYTES + key.length);
+    buffer.position(HEADER_BYTES);
+    buffer.put(ACK);
+    putString(buffer, key);
+    return frame(buffer);
+  }
+
+  private static ByteBuffer frame(ByteBuffer buffer) {
+    int length = buffer.position() - HEADER_BYTES;
+    buffer.flip();
+    ByteBuffer body = buffer.duplicate();
+    body.position(HEADER_BYTES);
+    buffer.putInt(0, length);
+    buffer.putInt(Integer.BYTES, crc(body));
+    return buffer;
+  }
+
+  private static int crc(ByteBuffer body) {
+    CRC32 crc = new CRC32();
+    crc.update(body.duplicate());
+    return (int) crc.getValue();
+  }
+
+  private static byte[] utf8(String value) {
+    return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+  }
+
+  private static void putString(ByteBuffer buffer, byte[] value) {
+    if (value == null) {
+      buffer.putInt(-1);
+    } else {
+      buffer.putInt(value.length);
+      buffer.put(value);
+    }
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    if (length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+    buffer.position(buffer.position() + length);
+    return value;
+  }
+
+  /** A segment file and the number of its reviews still awaiting delivery. */
+  private static final class Segment {
+    private final Path path;
+    private final long sequence;
+    private long size;
+    private int unacknowledged;
+
+    private Segment(Path path, long sequence) {
+      this.path = path;
+      this.sequence = sequence;
+    }
+  }
+
+  /** A stored review awaiting delivery. */
+  private static final class PendingReview {
+    private final String id;
+    private final String idempotencyKey;
+    private final String productId;
+    private final ReviewDto review;
+    private final String userId;
+    private final Segment segment;
+
+    private PendingReview(
+        String id,
+        String idempotencyKey,
+        String productId,
+        ReviewDto review,
+        String userId,
+        Segment segment) {
+      this.id = id;
+      this.idempotencyKey = idempotencyKey;
+      this.productId = productId;
+      this.review = review;
+      this.userId = userId;
+      this.segment = segment;
+    }
+  }
+}
@@ -0,0 +1,296 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.ReviewDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fans accepted reviews out to the {@link ReviewSubmissionListener} stages off the request thread.
+ *
+ * <p>The pipeline is a pre-allocated ring buffer of {@link ReviewEvent} slots in the style of the
+ * LMAX Disruptor. Publishers claim a sequence with a single CAS, fill the slot in place and mark it
+ * available; no objects are allocated per review. Every listener is an independent stage with its
+ * own thread and sequence, consuming events in order and advancing its sequence as it goes. A slot
+ * is reused only once every stage has passed it. When the slowest stage is a whole ring behind,
+ * {@link #publish} drops the event and counts it rather than blocking the caller.
+ *
+ * <p>Idle stages spin briefly, then yield, then park, so an idle pipeline costs no CPU while a busy
+ * one is handed events with no locking or signalling. Per-stage depth, throughput and failures are
+ * exported as metrics.
+ */
+@Component
+public class ReviewPipeline implements MeterBinder {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewPipeline.class);
+
+  private static final int SPIN_TRIES = 100;
+  private static final int YIELD_TRIES = 200;
+  private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+  private final ReviewEvent[] events;
+  private final int mask;
+  private final int indexShift;
+  private final AtomicIntegerArray available;
+  private final AtomicLong cursor = new AtomicLong(-1);
+  private final Stage[] stages;
+  private final long drainTimeoutMillis;
+  private final LongAdder published = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private volatile long gatingSequenceCache = -1;
+  private volatile boolean running;
+
+  /**
+   * Creates a new pipeline.
+   *
+   * @param listeners The downstream stages; each gets its own thread.
+   * @param bufferSize The number of ring buffer slots, rounded up to a power of two.
+   * @param drainTimeoutMillis How long shutdown waits for the stages to catch up.
+   */
+  public ReviewPipeline(
+      List<ReviewSubmissionListener> listeners,
+      @Value("${review.pipeline.buffer-size:16384}") int bufferSize,
+      @Value("${review.pipeline.drain-timeout-ms:5000}") long drainTimeoutMillis) {
+    int size = Integer.highestOneBit(Math.max(2, bufferSize) * 2 - 1);
+    this.events = new ReviewEvent[size];
+    for (int i = 0; i < size; i++) {
+      events[i] = new ReviewEvent();
+    }
+    this.mask = size - 1;
+    this.indexShift = Integer.numberOfTrailingZeros(size);
+    this.available = new AtomicIntegerArray(size);
+    for (int i = 0; i < size; i++) {
+      available.set(i, -1);
+    }
+    this.stages = new Stage[listeners.size()];
+    for (int i = 0; i < stages.length; i++) {
+      stages[i] = new Stage(listeners.get(i));
+    }
+    this.drainTimeoutMillis = drainTimeoutMillis;
+  }
+
+  /** Starts one thread per stage. */
+  @PostConstruct
+  public void start() {
+    running = true;
+    for (Stage stage : stages) {
+      stage.thread = new Thread(stage, "review-pipeline-" + stage.name);
+      stage.thread.setDaemon(true);
+      stage.thread.start();
+    }
+  }
+
+  /**
+   * Stops accepting events and waits up to the drain timeout for the stages to process what was
+   * published.
+   */
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis);
+    for (Stage stage : stages) {
+      if (stage.thread == null) {
+        continue;
+      }
+      long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+      try {
+        stage.thread.join(Math.max(1, remaining));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    for (Stage stage : stages) {
+      if (stage.thread != null) {
+        stage.thread.interrupt();
+      }
+    }
+  }
+
+  /**
+   * Publishes an accepted review to every stage without blocking.
+   *
+   * @param productId The product the review is for.
+   * @param userId The submitting user.
+   * @param review The review as submitted.
+   * @param created The review as created upstream; may be {@code null}.
+   * @return {@code true} if the event was published, {@code false} if the pipeline has no stages,
+   *     is not running or the slowest stage is a full ring behind.
+   */
+  public boolean publish(String productId, String userId, ReviewDto review, ReviewDto created) {
+    if (stages.length == 0 || !running) {
+      return false;
+    }
+    long current;
+    long next;
+    do {
+      current = cursor.get();
+      next = current + 1;
+      long wrapPoint = next - events.length;
+      if (wrapPoint > gatingSequenceCache) {
+        long gatingSequence = minimumStageSequence(current);
+        gatingSequenceCache = gatingSequence;
+        if (wrapPoint > gatingSequence) {
+          dropped.increment();
+          return false;
+        }
+      }
+    } while (!cursor.compareAndSet(current, next));
+
+    int index = (int) next & mask;
+    events[index].set(next, productId, userId, review, created, System.currentTimeMillis());
+    // Release store: a stage that observes the flag also observes the event's fields.
+    available.lazySet(index, (int) (next >>> indexShift));
+    published.increment();
+    return true;
+  }
+
+  /**
+   * Waits until every stage has processed every published event.
+   *
+   * @param timeoutMillis The maximum time to wait.
+   * @return {@code true} if the stages caught up in time.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    long target = cursor.get();
+    while (minimumStageSequence(target) < target) {
+      if (System.nanoTime() - deadline > 0) {
+        return false;
+      }
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      LockSupport.parkNanos(PARK_NANOS);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of events published but not yet processed by the slowest stage.
+   *
+   * @return The backlog of the slowest stage.
+   */
+  public long backlog() {
+    long current = cursor.get();
+    return current - minimumStageSequence(current);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("review.pipeline.published", published, LongAdder::sum)
+        .description("Accepted reviews published to the pipeline")
+        .register(registry);
+    FunctionCounter.builder("review.pipeline.dropped", dropped, LongAdder::sum)
+        .description("Accepted reviews dropped because a stage was a full ring behind")
+        .register(registry);
+    for (Stage stage : stages) {
+      Gauge.builder("review.pipeline.stage.depth", stage, s -> cursor.get() - s.sequence.get())
+          .tag("stage", stage.name)
+          .description("Events waiting for the stage")
+          .register(registry);
+      FunctionCounter.builder("review.pipeline.stage.processed", stage, s -> s.sequence.get() + 1)
+          .tag("stage", stage.name)
+          .description("Events processed by the stage")
+          .register(registry);
+      FunctionCounter.builder("review.pipeline.stage.failures", stage.failures, LongAdder::sum)
+          .tag("stage", stage.name)
+          .description("Events the stage failed to process")
+          .register(registry);
+    }
+  }
+
+  private long minimumStageSequence(long minimum) {
+    for (Stage stage : stages) {
+      minimum = Math.min(minimum, stage.sequence.get());
+    }
+    return minimum;
+  }
+
+  private boolean isAvailable(long sequence) {
+    return available.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+  }
+
+  /** A listener, its thread and how far it has got. */
+  private final class Stage implements Runnable {
+    private final ReviewSubmissionListener listener;
+    private final String name;
+    private final AtomicLong sequence = new AtomicLong(-1);
+    private final LongAdder failures = new LongAdder();
+    private Thread thread;
+
+    private Stage(ReviewSubmissionListener listener) {
+      this.listener = listener;
+      this.name = listener.stageName();
+    }
+
+    @Override
+    public void run() {
+      long next = sequence.get() + 1;
+      int idle = 0;
+      while (true) {
+        if (isAvailable(next)) {
+          do {
+            handle(events[(int) next & mask]);
+            sequence.lazySet(next);
+            next++;
+          } while (isAvailable(next));
+          endBatch();
+          idle = 0;
+        } else if (!running && next > cursor.get()) {
+          return;
+        } else if (Thread.currentThread().isInterrupted()) {
+          return;
+        } else if (idle < SPIN_TRIES) {
+          Thread.onSpinWait();
+          idle++;
+        } else if (idle < YIELD_TRIES) {
+          Thread.yield();
+          idle++;
+        } else {
+          LockSupport.parkNanos(PARK_NANOS);
+        }
+      }
+    }
+
+    private void handle(ReviewEvent event) {
+      try {
+        listener.onReviewSubmitted(event);
+      } catch (RuntimeException e) {
+        failures.increment();
+        if (logger.isWarnEnabled()) {
+          logger.warn(
+              "Pipeline stage {} failed on review for productId={}: {}",
+              name,
+              event.getProductId(),
+              e.getMessage());
+        }
+      }
+    }
+
+    private void endBatch() {
+      try {
+        listener.onBatchEnd();
+      } catch (RuntimeException e) {
+        failures.increment();
+        if (logger.isWarnEnabled()) {
+          logger.warn("Pipeline stage {} failed to end a batch: {}", name, e.getMessage());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,640 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.ReviewSearchHit;
+import com.reviewdashboard.model.ReviewSearchResult;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * An in-process inverted index over the comments of accepted reviews, for term and phrase search.
+ *
+ * <p>Comments are split into lower-cased letter-and-digit tokens, like the {@link
+ * DuplicateReviewDetector} does. Each distinct token is a term with one posting list: a growing
+ * {@code byte[]} of variable-length integers holding, per review, the gap from the previous
+ * review's document number, the term frequency and the gaps between the term's positions. Most
+ * postings take three bytes. The tokenizer scans the comment in place and looks terms up in an
+ * open-addressing table over a shared {@code char} arena, so indexing allocates only for new terms
+ * and growing arrays.
+ *
+ * <p>A query is a list of words and double-quoted phrases, all of which must match. Matches are
+ * found by leapfrogging the posting lists of the query terms in document order, phrases are checked
+ * against the term positions, and matches are ranked by BM25 over their terms.
+ *
+ * <p>This is a {@link ReviewSubmissionListener} stage, so indexing runs on the pipeline thread and
+ * never blocks review submission or searches. A review is written completely, then published by a
+ * volatile write of the document count; every posting list publishes its length with a release
+ * write. Searches read the document count first and ignore later documents, so they never take a
+ * lock and never see a half-indexed review. Reviews beyond {@code max-documents} are not indexed
+ * and are counted as dropped.
+ */
+@Component
+public class ReviewSearchIndex implements ReviewSubmissionListener, MeterBinder {
+
+  /** The deepest result a search can page to; narrower queries reach further. */
+  public static final int MAX_RESULTS = 10_000;
+
+  private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+  /** BM25 term frequency saturation. */
+  private static final double K1 = 1.2;
+
+  /** BM25 document length normalization. */
+  private static final double B = 0.75;
+
+  /** Longer tokens, such as URLs or runs of digits, are skipped. */
+  private static final int MAX_TOKEN_LENGTH = 64;
+
+  private static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+  private final boolean enabled;
+  private final int maxDocuments;
+  private final LongAdder dropped = new LongAdder();
+
+  /** Products by ordinal, and the ordinal of each product. */
+  private final Map<String, Integer> productOrdinals = new ConcurrentHashMap<>();
+
+  private String[] productIds = new String[64];
+
+  /** Term numbers by term, for searches; the pipeline thread uses the {@link #terms} table. */
+  private final Map<String, Integer> termIds = new ConcurrentHashMap<>();
+
+  private final TermTable terms = new TermTable();
+
+  /** Documents: the reviews indexed so far, by document number. */
+  private volatile int documentCount;
+
+  private volatile long tokenCount;
+  private int[] documentProducts = new int[1024];
+  private String[] documentUsers = new String[1024];
+  private double[] documentRatings = new double[1024];
+  private String[] documentComments = new String[1024];
+  private long[] documentTimes = new long[1024];
+  private int[] documentLengths = new int[1024];
+
+  /** Posting lists by term number; lengths and document frequencies use release/opaque writes. */
+  private byte[][] postings = new byte[1024][];
+
+  private int[] postingLengths = new int[1024];
+  private int[] documentFrequencies = new int[1024];
+  private volatile long postingBytes;
+
+  /** The last document of each term; pipeline thread only. */
+  private int[] lastDocuments = new int[1024];
+
+  /** Scratch space of the pipeline thread: a token, and its comment's term-position pairs. */
+  private final char[] token = new char[MAX_TOKEN_LENGTH];
+
+  private long[] occurrences = new long[256];
+
+  private int occurrenceCount;
+
+  /**
+   * Creates the index.
+   *
+   * @param enabled Whether reviews are indexed.
+   * @param maxDocuments The most reviews indexed.
+   */
+  public ReviewSearchIndex(
+      @Value("${review.search.enabled:true}") boolean enabled,
+      @Value("${review.search.max-documents:1000000}") int maxDocuments) {
+    this.enabled = enabled;
+    this.maxDocuments = Math.max(1, maxDocuments);
+  }
+
+  @Override
+  public void onReviewSubmitted(ReviewEvent event) {
+    index(
+        event.getProductId(),
+        event.getUserId(),
+        event.getReview().getRating(),
+        event.getReview().getComment(),
+        event.getTimestampMillis());
+  }
+
+  @Override
+  public String stageName() {
+    return "search";
+  }
+
+  /**
+   * Searches the comments of the indexed reviews.
+   *
+   * @param query Words and double-quoted phrases, all of which must occur, e.g. {@code refund
+   *     "arrived broken"}.
+   * @param productId Only reviews of this product match, or {@code null} for any product.
+   * @param page The zero-based page number.
+   * @param size The most reviews per page.
+   * @return The page of matching reviews, best matches first.
+   * @throws IllegalArgumentException if the query has no words or the page is beyond {@link
+   *     #MAX_RESULTS}.
+   */
+  public ReviewSearchResult search(String query, String productId, int page, int size) {
+    List<List<String>> clauses = parse(query);
+    if (clauses.isEmpty()) {
+      throw new IllegalArgumentException("Please provide at least one word to search for");
+    }
+    if (page < 0 || size < 1 || ((long) page + 1) * size > MAX_RESULTS) {
+      throw new IllegalArgumentException(
+          "page and size must select results within the first " + MAX_RESULTS);
+    }
+    ReviewSearchResult empty = new ReviewSearchResult(0, page, size, List.of());
+
+    int documents = documentCount;
+    int product = -1;
+    if (productId != null) {
+      Integer ordinal = productOrdinals.get(productId);
+      if (ordinal == null) {
+        return empty;
+      }
+      product = ordinal;
+    }
+
+    // One cursor per distinct term; phrases refer to them by index.
+    Map<String, Integer> distinct = new LinkedHashMap<>();
+    List<int[]> phrases = new ArrayList<>();
+    for (List<String> clause : clauses) {
+      int[] phrase = new int[clause.size()];
+      for (int i = 0; i < phrase.length; i++) {
+        phrase[i] = distinct.computeIfAbsent(clause.get(i), t -> distinct.size());
+      }
+      if (phrase.length > 1) {
+        phrases.add(phrase);
+      }
+    }
+    Cursor[] cursors = new Cursor[distinct.size()];
+    for (Map.Entry<String, Integer> entry : distinct.entrySet()) {
+      Integer term = termIds.get(entry.getKey());
+      if (term == null) {
+        return empty;
+      }
+      cursors[entry.getValue()] = new Cursor(term, documents);
+    }
+    Cursor[] byFrequency = cursors.clone();
+    Arrays.sort(byFrequency, Comparator.comparingInt((Cursor c) -> c.frequency));
+
+    double averageLength = documents == 0 ? 1 : Math.max(1, (double) tokenCount / documents);
+    long keep = ((long) page + 1) * size;
+    PriorityQueue<Scored> best = new PriorityQueue<>(Scored.WORST_FIRST);
+    long total = 0;
+    int target = 0;
+    outer:
+    while (true) {
+      for (Cursor cursor : byFrequency) {
+        cursor.advance(target);
+        if (cursor.document == NO_MORE_DOCS) {
+          break outer;
+        }
+        if (cursor.document > target) {
+          target = cursor.document;
+          continue outer;
+        }
+      }
+      int document = target++;
+      if ((product >= 0 && documentProducts[document] != product)
+          || !containsPhrases(cursors, phrases)) {
+        continue;
+      }
+      total++;
+      double score = score(cursors, documents, documentLengths[document] / averageLength);
+      Scored scored = new Scored(document, score);
+      if (best.size() < keep) {
+        best.add(scored);
+      } else if (Scored.WORST_FIRST.compare(scored, best.peek()) > 0) {
+        best.poll();
+        best.add(scored);
+      }
+    }
+
+    Scored[] ranked = best.toArray(new Scored[0]);
+    Arrays.sort(ranked, Scored.WORST_FIRST.reversed());
+    List<ReviewSearchHit> hits = new ArrayList<>();
+    for (int i = (int) Math.min((long) page * size, ranked.length); i < ranked.length; i++) {
+      int document = ranked[i].document;
+      hits.add(
+          new ReviewSearchHit(
+              productIds[documentProducts[document]],
+              documentUsers[document],
+              documentRatings[document],
+              documentComments[document],
+              documentTimes[document],
+              ranked[i].score));
+    }
+    return new ReviewSearchResult(total, page, size, hits);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("review.search.documents", this, index -> index.documentCount)
+        .description("Reviews in the comment search index")
+        .register(registry);
+    Gauge.builder("review.search.terms", termIds, Map::size)
+        .description("Distinct terms in the comment search index")
+        .register(registry);
+    Gauge.builder("review.search.postings.bytes", this, index -> index.postingBytes)
+        .description("Bytes of compressed posting lists in the comment search index")
+        .register(registry);
+    FunctionCounter.builder("review.search.dropped", dropped, LongAdder::sum)
+        .description("Reviews not indexed because the document limit was reached")
+        .register(registry);
+  }
+
+  /** Indexes one review; called by the pipeline thread only. */
+  void index(String productId, String userId, double rating, String comment, long timestamp) {
+    if (!enabled || productId == null || comment == null) {
+      return;
+    }
+    int document = documentCount;
+    if (document >= maxDocuments) {
+      dropped.increment();
+      return;
+    }
+    int length = tokenize(comment);
+    int pairs = occurrenceCount;
+    if (pairs == 0) {
+      return;
+    }
+    if (document == documentProducts.length) {
+      growDocuments(document * 2);
+    }
+    documentProducts[document] = productOrdinal(productId);
+    documentUsers[document] = userId;
+    documentRatings[document] = rating;
+    documentComments[document] = comment;
+    documentTimes[document] = timestamp;
+    documentLengths[document] = length;
+
+    Arrays.sort(occurrences, 0, pairs);
+    long written = 0;
+    for (int start = 0, end; start < pairs; start = end) {
+      int term = (int) (occurrences[start] >>> 32);
+      end = start + 1;
+      while (end < pairs && (int) (occurrences[end] >>> 32) == term) {
+        end++;
+      }
+      written += append(term, document, start, end);
+    }
+    postingBytes += written;
+    tokenCount += length;
+    documentCount = document + 1;
+  }
+
+  /**
+   * Splits a comment into terms, recording a {@code term << 32 | position} pair per kept token in
+   * {@link #occurrences} and their number in {@link #occurrenceCount}.
+   *
+   * @return The number of token positions, including skipped overlong tokens.
+   */
+  private int tokenize(String comment) {
+    int positions = 0;
+    int pairs = 0;
+    int tokenLength = 0;
+    int hash = 0;
+    int length = comment.length();
+    for (int i = 0; i <= length; i++) {
+      char c = i < length ? comment.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        if (tokenLength < MAX_TOKEN_LENGTH) {
+          char lower = Character.toLowerCase(c);
+          token[tokenLength] = lower;
+          hash = 31 * hash + lower;
+        }
+        tokenLength++;
+      } else if (tokenLength > 0) {
+        if (tokenLength <= MAX_TOKEN_LENGTH) {
+          if (pairs == occurrences.length) {
+            occurrences = Arrays.copyOf(occurrences, occurrences.length * 2);
+          }
+          occurrences[pairs++] = (long) term(tokenLength, hash) << 32 | positions;
+        }
+        positions++;
+        tokenLength = 0;
+        hash = 0;
+      }
+    }
+    occurrenceCount = pairs;
+    return positions;
+  }
+
+  /** Returns the number of the term in {@link #token}, adding it if it is new. */
+  private int term(int length, int hash) {
+    int term = terms.find(token, length, hash);
+    if (term >= 0) {
+      return term;
+    }
+    term = terms.add(token, length, hash);
+    if (term == postingLengths.length) {
+      int capacity = term * 2;
+      postings = Arrays.copyOf(postings, capacity);
+      postingLengths = Arrays.copyOf(postingLengths, capacity);
+      documentFrequencies = Arrays.copyOf(documentFrequencies, capacity);
+      lastDocuments = Arrays.copyOf(lastDocuments, capacity);
+    }
+    postings[term] = new byte[8];
+    lastDocuments[term] = -1;
+    // Published after the arrays above, so a search that finds the term can read them.
+    termIds.put(new String(token, 0, length), term);
+    return term;
+  }
+
+  /**
+   * Appends one document's occurrences {@code [start, end)} of a term to its posting list.
+   *
+   * @return The number of bytes written.
+   */
+  private int append(int term, int document, int start, int end) {
+    int frequency = end - start;
+    byte[] bytes = postings[term];
+    int offset = postingLengths[term];
+    int needed = offset + 5 * (2 + frequency);
+    if (needed > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(needed, bytes.length * 2));
+      postings[term] = bytes;
+    }
+    int at = offset;
+    at = writeVarint(bytes, at, document - lastDocuments[term]);
+    at = writeVarint(bytes, at, frequency);
+    int previous = 0;
+    for (int i = start; i < end; i++) {
+      int position = (int) occurrences[i];
+      at = writeVarint(bytes, at, position - previous);
+      previous = position;
+    }
+    lastDocuments[term] = document;
+    INTS.setOpaque(documentFrequencies, term, documentFrequencies[term] + 1);
+    INTS.setRelease(postingLengths, term, at);
+    return at - offset;
+  }
+
+  private int productOrdinal(String productId) {
+    Integer ordinal = productOrdinals.get(productId);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    int next = productOrdinals.size();
+    if (next == productIds.length) {
+      productIds = Arrays.copyOf(productIds, next * 2);
+    }
+    productIds[next] = productId;
+    productOrdinals.put(productId, next);
+    return next;
+  }
+
+  private void growDocuments(int capacity) {
+    documentProducts = Arrays.copyOf(documentProducts, capacity);
+    documentUsers = Arrays.copyOf(documentUsers, capacity);
+    documentRatings = Arrays.copyOf(documentRatings, capacity);
+    documentComments = Arrays.copyOf(documentComments, capacity);
+    documentTimes = Arrays.copyOf(documentTimes, capacity);
+    documentLengths = Arrays.copyOf(documentLengths, capacity);
+  }
+
+  private static boolean containsPhrases(Cursor[] cursors, List<int[]> phrases) {
+    for (int[] phrase : phrases) {
+      int[] first = cursors[phrase[0]].positions();
+      boolean found = false;
+      for (int i = 0; i < first.length && !found; i++) {
+        found = true;
+        for (int word = 1; word < phrase.length && found; word++) {
+          found = Arrays.binarySearch(cursors[phrase[word]].positions(), first[i] + word) >= 0;
+        }
+      }
+      if (!found) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static double score(Cursor[] cursors, int documents, double relativeLength) {
+    double score = 0;
+    for (Cursor cursor : cursors) {
+      double idf = Math.log(1 + (documents - cursor.frequency + 0.5) / (cursor.frequency + 0.5));
+      double tf = cursor.termFrequency;
+      score += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * relativeLength));
+    }
+    return score;
+  }
+
+  /**
+   * Parses a query into clauses: one per word, and one per double-quoted phrase.
+   *
+   * @param query The query.
+   * @return The clauses, each a list of lower-cased tokens.
+   */
+  static List<List<String>> parse(String query) {
+    List<List<String>> clauses = new ArrayList<>();
+    if (query == null) {
+      return clauses;
+    }
+    List<String> phrase = null;
+    StringBuilder word = new StringBuilder();
+    int length = query.length();
+    for (int i = 0; i <= length; i++) {
+      char c = i < length ? query.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        word.append(Character.toLowerCase(c));
+        continue;
+      }
+      if (word.length() > 0) {
+        if (phrase != null) {
+          phrase.add(word.toString());
+        } else {
+          clauses.add(List.of(word.toString()));
+        }
+        word.setLength(0);
+      }
+      if (c == '"' || (i == length && phrase != null)) {
+        if (phrase == null) {
+          phrase = new ArrayList<>();
+        } else {
+          if (!phrase.isEmpty()) {
+            clauses.add(phrase);
+          }
+          phrase = null;
+        }
+      }
+    }
+    return clauses;
+  }
+
+  private static int writeVarint(byte[] bytes, int offset, int value) {
+    while ((value & ~0x7F) != 0) {
+      bytes[offset++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    bytes[offset++] = (byte) value;
+    return offset;
+  }
+
+  /** Walks one term's posting list in document order, up to a document count. */
+  private final class Cursor {
+    private final byte[] bytes;
+    private final int limit;
+    private final int documents;
+    private final int frequency;
+    private int offset;
+    private int document = -1;
+    private int termFrequency;
+    private int positionsOffset;
+    private int[] positions;
+
+    private Cursor(int term, int documents) {
+      this.limit = (int) INTS.getAcquire(postingLengths, term);
+      this.bytes = postings[term];
+      this.frequency = Math.max(1, (int) INTS.getOpaque(documentFrequencies, term));
+      this.documents = documents;
+    }
+
+    /** Moves to the first document at or after {@code target}. */
+    private void advance(int target) {
+      while (document < target) {
+        if (offset >= limit) {
+          document = NO_MORE_DOCS;
+          return;
+        }
+        document += readVarint();
+        termFrequency = readVarint();
+        positionsOffset = offset;
+        positions = null;
+        for (int i = 0; i < termFrequency; i++) {
+          readVarint();
+        }
+        if (document >= documents) {
+          document = NO_MORE_DOCS;
+          return;
+        }
+      }
+    }
+
+    /** Returns the positions of the term in the current document, ascending. */
+    private int[] positions() {
+      if (positions == null) {
+        int end = offset;
+        offset = positionsOffset;
+        positions = new int[termFrequency];
+        int position = 0;
+        for (int i = 0; i < termFrequency; i++) {
+          position += readVarint();
+          positions[i] = position;
+        }
+        offset = end;
+      }
+      return positions;
+    }
+
+    private int readVarint() {
+      int value = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte b = bytes[offset++];
+        value |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+    }
+  }
+
+  /** A matching document and its score. */
+  private static final class Scored {
+    /** Lowest score first; among equal scores, the older review first. */
+    private static final Comparator<Scored> WORST_FIRST =
+        Comparator.comparingDouble((Scored s) -> s.score).thenComparingInt(s -> s.document);
+
+    private final int document;
+    private final double score;
+
+    private Scored(int document, double score) {
+      this.document = document;
+      this.score = score;
+    }
+  }
+
+  /**
+   * Terms by their characters, in an open-addressing hash table over one {@code char} arena. Only
+   * the pipeline thread uses it, so indexing never allocates a {@code String} to look up a term.
+   */
+  private static final class TermTable {
+    private int[] slots = emptySlots(4096);
+    private int[] hashes = new int[1024];
+    private int[] starts = new int[1024];
+    private int[] lengths = new int[1024];
+    private char[] arena = new char[16384];
+    private int arenaSize;
+    private int size;
+
+    private int find(char[] chars, int length, int hash) {
+      int mask = slots.length - 1;
+      for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+        int term = slots[slot];
+        if (term < 0) {
+          return -1;
+        }
+        if (hashes[term] == hash
+            && lengths[term] == length
+            && Arrays.equals(arena, starts[term], starts[term] + length, chars, 0, length)) {
+          return term;
+        }
+      }
+    }
+
+    private int add(char[] chars, int length, int hash) {
+      if (size == hashes.length) {
+        hashes = Arrays.copyOf(hashes, size * 2);
+        starts = Arrays.copyOf(starts, size * 2);
+        lengths = Arrays.copyOf(lengths, size * 2);
+      }
+      if (arenaSize + length > arena.length) {
+        arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+      }
+      System.arraycopy(chars, 0, arena, arenaSize, length);
+      int term = size++;
+      hashes[term] = hash;
+      starts[term] = arenaSize;
+      lengths[term] = length;
+      arenaSize += length;
+      if (size * 2 > slots.length) {
+        slots = emptySlots(slots.length * 2);
+        for (int t = 0; t < size; t++) {
+          insert(t);
+        }
+      } else {
+        insert(term);
+      }
+      return term;
+    }
+
+    private void insert(int term) {
+      int mask = slots.length - 1;
+      int slot = mix(hashes[term]) & mask;
+      while (slots[slot] >= 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = term;
+    }
+
+    private static int mix(int hash) {
+      return (hash ^ (hash >>> 16)) * 0x45d9f3b;
+    }
+
+    private static int[] emptySlots(int capacity) {
+      int[] slots = new int[capacity];
+      Arrays.fill(slots, -1);
+      return slots;
+    }
+  }
+}
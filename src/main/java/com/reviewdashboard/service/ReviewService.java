@@ -9,19 +9,43 @@ import org.springframework.stereotype.Service;
  * Service layer for handling product review-related business logic.
  *
  * <p>This service acts as an intermediary between the controller and the {@link ProductClient},
- * delegating calls to the external product/review microservice.
+ * delegating calls to the external product/review microservice. Every review the upstream accepts
+ * is published to the {@link ReviewPipeline} for local bookkeeping off the request thread, and
+ * carries a provisional sentiment scored locally by the {@link SentimentScorer}. Accepted ratings
+ * are also recorded in the {@link ProductRatingAggregates} before returning, so average ratings
+ * served from them include the caller's own review.
  */
 @Service
 public class ReviewService {
+  /** Longest accepted {@code Idempotency-Key}. */
+  static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
   private final ProductClient productClient;
+  private final IdempotencyStore idempotencyStore;
+  private final ReviewPipeline pipeline;
+  private final SentimentScorer sentimentScorer;
+  private final ProductRatingAggregates ratingAggregates;
 
   /**
    * Constructs a new ReviewService with the necessary Feign client.
    *
    * @param productClient The Feign client for communicating with the product/review service.
+   * @param idempotencyStore The store that deduplicates keyed review submissions.
+   * @param pipeline The pipeline accepted reviews are published to.
+   * @param sentimentScorer The scorer for the provisional sentiment of created reviews.
+   * @param ratingAggregates The local per-product rating aggregates.
    */
-  public ReviewService(ProductClient productClient) {
+  public ReviewService(
+      ProductClient productClient,
+      IdempotencyStore idempotencyStore,
+      ReviewPipeline pipeline,
+      SentimentScorer sentimentScorer,
+      ProductRatingAggregates ratingAggregates) {
     this.productClient = productClient;
+    this.idempotencyStore = idempotencyStore;
+    this.pipeline = pipeline;
+    this.sentimentScorer = sentimentScorer;
+    this.ratingAggregates = ratingAggregates;
   }
 
   /**
@@ -33,17 +57,89 @@ public class ReviewService {
    * @return The created {@link ReviewDto} as confirmed by the external service.
    */
   public ReviewDto addReview(String productId, ReviewDto review, String userId) {
-    return productClient.postReview(productId, review, userId);
+    ReviewDto created = scored(productClient.postReview(productId, review, userId), review);
+    accepted(productId, userId, review, created);
+    return created;
+  }
+
+  /**
+   * Submits a new review at most once per idempotency key.
+   *
+   * <p>The key is scoped to the user and product. A retry with the same key while the first
+   * submission is still in flight waits for and returns its result; a retry after it completed
+   * returns the stored review without posting again. Failed submissions are not remembered. A
+   * missing key falls back to {@link #addReview(String, ReviewDto, String)}.
+   *
+   * @param productId The unique identifier of the product.
+   * @param review The {@link ReviewDto} object containing the review details.
+   * @param userId The user ID for authentication.
+   * @param idempotencyKey The client-supplied idempotency key; may be {@code null}.
+   * @return The created {@link ReviewDto} as confirmed by the external service.
+   * @throws IllegalArgumentException If the key is longer than 255 characters.
+   */
+  public ReviewDto addReview(
+      String productId, ReviewDto review, String userId, String idempotencyKey) {
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return addReview(productId, review, userId);
+    }
+    if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+      throw new IllegalArgumentException(
+          "Idempotency-Key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+    }
+    return idempotencyStore.execute(
+        scopedKey(productId, userId, idempotencyKey),
+        () -> {
+          ReviewDto created =
+              scored(productClient.postReview(productId, review, userId, idempotencyKey), review);
+          accepted(productId, userId, review, created);
+          return created;
+        });
+  }
+
+  /**
+   * Returns whether a keyed review submission is in flight or already completed, so that a retry
+   * with the same key will be answered with the stored result.
+   *
+   * @param productId The unique identifier of the product.
+   * @param userId The user ID for authentication.
+   * @param idempotencyKey The client-supplied idempotency key; may be {@code null}.
+   * @return {@code true} if the key is known for this user and product.
+   */
+  public boolean isKnownSubmission(String productId, String userId, String idempotencyKey) {
+    return idempotencyKey != null
+        && !idempotencyKey.isBlank()
+        && idempotencyStore.contains(scopedKey(productId, userId, idempotencyKey));
   }
 
   /**
-   * Retrieves the average rating for a specific product by delegating the call to the ReviewClient.
+   * Retrieves the average rating for a specific product from the local aggregates, which delegate
+   * to the ReviewClient to seed and refresh them.
    *
    * @param productId The unique identifier of the product.
    * @param userId The user ID for authentication.
    * @return A {@link ResponseEntity} containing the average rating as a {@link Double}.
    */
   public ResponseEntity<Double> getAverageRating(String productId, String userId) {
-    return productClient.getAverageRating(productId, userId);
+    return ratingAggregates.averageRating(
+        productId, () -> productClient.getAverageRating(productId, userId));
+  }
+
+  /** Applies a review the upstream accepted to the local aggregates and the pipeline. */
+  private void accepted(String productId, String userId, ReviewDto review, ReviewDto created) {
+    ratingAggregates.record(productId, review.getRating());
+    pipeline.publish(productId, userId, review, created);
+  }
+
+  /** Attaches the provisional sentiment of the submitted comment to the created review. */
+  private ReviewDto scored(ReviewDto created, ReviewDto review) {
+    if (created != null) {
+      created.setSentiment(sentimentScorer.score(review.getComment()));
+    }
+    return created;
+  }
+
+  /** Scopes a client idempotency key to the user and product. */
+  private static String scopedKey(String productId, String userId, String idempotencyKey) {
+    return "review|" + userId + "|" + productId + "|" + idempotencyKey;
   }
 }
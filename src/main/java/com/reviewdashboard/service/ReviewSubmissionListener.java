@@ -0,0 +1,34 @@
+package com.reviewdashboard.service;
+
+/**
+ * A downstream stage of the {@link ReviewPipeline}, notified of every review the upstream accepted.
+ *
+ * <p>Each listener bean runs on its own pipeline thread and sees events one at a time in
+ * publication order, so its state has a single writer and needs no locking against other listeners.
+ * Listeners must not block for long: the ring buffer only reuses a slot once every listener has
+ * passed it.
+ */
+public interface ReviewSubmissionListener {
+
+  /**
+   * Handles one accepted review. Exceptions are logged and counted; they do not stop the stage.
+   *
+   * @param event The review; only valid for the duration of the call.
+   */
+  void onReviewSubmitted(ReviewEvent event);
+
+  /**
+   * Called after a run of events has been handled and no more are immediately available, e.g. to
+   * flush buffered state.
+   */
+  default void onBatchEnd() {}
+
+  /**
+   * Gets the stage name used for the pipeline thread and metrics tags.
+   *
+   * @return The stage name.
+   */
+  default String stageName() {
+    return getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,88 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.UserDto;
+
+/**
+ * Local validation of review submissions, run before any upstream call.
+ *
+ * <p>The checks mirror the invalid partitions documented on {@code addReview}: a missing review, a
+ * blank product ID, a rating outside [0, 5], a blank or overlong comment and a user without an ID
+ * or username. Each failure is reported as a {@link Violation} constant whose message is built
+ * once, so validating a well-formed review allocates nothing.
+ */
+public final class ReviewValidator {
+
+  /** Lowest accepted rating. */
+  public static final double MIN_RATING = 0.0;
+
+  /** Highest accepted rating. */
+  public static final double MAX_RATING = 5.0;
+
+  /** Longest accepted comment, in UTF-16 chars. */
+  public static final int MAX_COMMENT_LENGTH = 5000;
+
+  /** A reason a review was rejected, with the message returned to the client. */
+  public enum Violation {
+    MISSING_REVIEW("Please provide a review in the request body"),
+    BLANK_PRODUCT_ID("Product ID must not be blank"),
+    RATING_OUT_OF_RANGE("Rating must be between " + (int) MIN_RATING + " and " + (int) MAX_RATING),
+    BLANK_COMMENT("Comment must not be blank"),
+    COMMENT_TOO_LONG("Comment must be at most " + MAX_COMMENT_LENGTH + " characters"),
+    BLANK_USER("Review user must have an id or username");
+
+    private final String message;
+
+    Violation(String message) {
+      this.message = message;
+    }
+
+    /**
+     * Returns the client-facing description of this violation.
+     *
+     * @return The message.
+     */
+    public String message() {
+      return message;
+    }
+  }
+
+  private ReviewValidator() {}
+
+  /**
+   * Validates a review submission.
+   *
+   * @param productId The product the review is for.
+   * @param review The submitted review; may be {@code null}.
+   * @return The first violation found, or {@code null} if the review is valid.
+   */
+  public static Violation validate(String productId, ReviewDto review) {
+    if (review == null) {
+      return Violation.MISSING_REVIEW;
+    }
+    if (productId == null || productId.isBlank()) {
+      return Violation.BLANK_PRODUCT_ID;
+    }
+    double rating = review.getRating();
+    // Written so that NaN fails as well.
+    if (!(rating >= MIN_RATING && rating <= MAX_RATING)) {
+      return Violation.RATING_OUT_OF_RANGE;
+    }
+    String comment = review.getComment();
+    if (comment == null || comment.isBlank()) {
+      return Violation.BLANK_COMMENT;
+    }
+    if (comment.length() > MAX_COMMENT_LENGTH) {
+      return Violation.COMMENT_TOO_LONG;
+    }
+    UserDto user = review.getUser();
+    if (user != null && isBlank(user.getId()) && isBlank(user.getUsername())) {
+      return Violation.BLANK_USER;
+    }
+    return null;
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
+}
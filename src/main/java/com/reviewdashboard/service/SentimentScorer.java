@@ -0,0 +1,364 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.SentimentScore;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scores review comments against a sentiment lexicon, locally and without calling the upstream.
+ *
+ * <p>The lexicon is compiled into an Aho-Corasick automaton whose transitions are flattened into a
+ * single {@code int} table, so a comment is scored in one pass with one array read per character
+ * and no allocation besides the result. Text is matched on whole words: letters and digits are
+ * lower-cased, apostrophes are kept, and every other run of characters counts as one word break, so
+ * {@code "Works GREAT!!"} matches the phrase {@code works great}. When several terms end on the
+ * same word the longest wins, and a phrase replaces a shorter term it starts with or covers.
+ *
+ * <p>A negator such as {@code not} or {@code never} flips and dampens the weight of terms starting
+ * within the next {@code negationWindow} words, up to the end of the sentence. The summed weight is
+ * normalized into [-1, 1] as {@code sum / sqrt(sum² + 15)}, the VADER normalization.
+ *
+ * <p>The lexicon is a tab-separated file of {@code term<TAB>weight} lines, with {@code NEGATE} in
+ * place of the weight for negators; the bundled {@code sentiment-lexicon.tsv} is used unless a file
+ * is configured.
+ */
+@Component
+public class SentimentScorer {
+
+  private static final Logger logger = LoggerFactory.getLogger(SentimentScorer.class);
+
+  private static final String DEFAULT_LEXICON = "/sentiment-lexicon.tsv";
+  private static final String NEGATE = "NEGATE";
+
+  /** Dampened sign flip applied to negated terms. */
+  static final double NEGATION_SCALAR = -0.74;
+
+  private static final double NORMALIZATION_ALPHA = 15;
+  private static final double NEUTRAL_THRESHOLD = 0.05;
+
+  private static final int SPACE = 0;
+  private static final int APOSTROPHE = 37;
+  private static final int OTHER_LETTER = 38;
+  private static final int ALPHABET = 39;
+  private static final int SEPARATOR = -1;
+  private static final int SENTENCE_END = -2;
+  private static final byte[] ASCII = new byte[128];
+
+  static {
+    Arrays.fill(ASCII, (byte) SEPARATOR);
+    for (char c = 'a'; c <= 'z'; c++) {
+      ASCII[c] = (byte) (c - 'a' + 1);
+      ASCII[Character.toUpperCase(c)] = (byte) (c - 'a' + 1);
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      ASCII[c] = (byte) (c - '0' + 27);
+    }
+    ASCII['\''] = APOSTROPHE;
+    for (char c : new char[] {'.', '!', '?', ';'}) {
+      ASCII[c] = SENTENCE_END;
+    }
+  }
+
+  private final int negationWindow;
+  private final int maxBatch;
+  private final int[] transitions;
+  private final int[] output;
+  private final int[] termTokens;
+  private final double[] termWeights;
+  private final boolean[] negators;
+  private final int start;
+
+  /**
+   * Creates a scorer for the configured lexicon.
+   *
+   * @param lexicon Path of a lexicon file; blank for the bundled lexicon.
+   * @param negationWindow How many words after a negator are negated.
+   * @param maxBatch The most comments scored by one {@link #scoreAll} call.
+   * @throws UncheckedIOException If the lexicon cannot be read.
+   * @throws IllegalArgumentException If the lexicon is malformed.
+   */
+  public SentimentScorer(
+      @Value("${review.sentiment.lexicon:}") String lexicon,
+      @Value("${review.sentiment.negation-window:3}") int negationWindow,
+      @Value("${review.sentiment.max-batch:1000}") int maxBatch) {
+    this.negationWindow = Math.max(0, negationWindow);
+    this.maxBatch = Math.max(1, maxBatch);
+    Map<String, Double> entries = readLexicon(lexicon);
+    List<int[]> patterns = new ArrayList<>(entries.size());
+    List<Double> weights = new ArrayList<>(entries.size());
+    for (Map.Entry<String, Double> entry : entries.entrySet()) {
+      int[] pattern = pattern(entry.getKey());
+      if (pattern != null) {
+        patterns.add(pattern);
+        weights.add(entry.getValue());
+      }
+    }
+    int terms = patterns.size();
+    this.termTokens = new int[terms];
+    this.termWeights = new double[terms];
+    this.negators = new boolean[terms];
+    for (int term = 0; term < terms; term++) {
+      int[] pattern = patterns.get(term);
+      for (int i = 1; i < pattern.length; i++) {
+        if (pattern[i] == SPACE) {
+          termTokens[term]++;
+        }
+      }
+      double weight = weights.get(term);
+      negators[term] = Double.isNaN(weight);
+      termWeights[term] = negators[term] ? 0 : weight;
+    }
+
+    // Build the trie, then turn it into a complete automaton in breadth-first order.
+    int maxStates = 1;
+    for (int[] pattern : patterns) {
+      maxStates += pattern.length;
+    }
+    int[] trie = new int[maxStates * ALPHABET];
+    Arrays.fill(trie, -1);
+    int[] terminal = new int[maxStates];
+    Arrays.fill(terminal, -1);
+    int states = 1;
+    for (int term = 0; term < terms; term++) {
+      int state = 0;
+      for (int symbol : patterns.get(term)) {
+        int index = state * ALPHABET + symbol;
+        if (trie[index] < 0) {
+          trie[index] = states++;
+        }
+        state = trie[index];
+      }
+      terminal[state] = term;
+    }
+    int[] fail = new int[states];
+    int[] out = new int[states];
+    out[0] = -1;
+    ArrayDeque<Integer> queue = new ArrayDeque<>();
+    for (int symbol = 0; symbol < ALPHABET; symbol++) {
+      int child = trie[symbol];
+      if (child < 0) {
+        trie[symbol] = 0;
+      } else {
+        fail[child] = 0;
+        queue.add(child);
+      }
+    }
+    while (!queue.isEmpty()) {
+      int state = queue.poll();
+      out[state] = terminal[state] >= 0 ? terminal[state] : out[fail[state]];
+      for (int symbol = 0; symbol < ALPHABET; symbol++) {
+        int index = state * ALPHABET + symbol;
+        int child = trie[index];
+        int fallback = trie[fail[state] * ALPHABET + symbol];
+        if (child < 0) {
+          trie[index] = fallback;
+        } else {
+          fail[child] = fallback;
+          queue.add(child);
+        }
+      }
+    }
+    this.transitions = Arrays.copyOf(trie, states * ALPHABET);
+    this.output = out;
+    this.start = transitions[SPACE];
+
+    if (logger.isInfoEnabled()) {
+      logger.info("Compiled sentiment lexicon of {} terms into {} states", terms, states);
+    }
+  }
+
+  /**
+   * Scores one comment.
+   *
+   * @param comment The comment; {@code null} scores as neutral.
+   * @return The score.
+   */
+  public SentimentScore score(String comment) {
+    if (comment == null) {
+      return new SentimentScore(0, SentimentScore.NEUTRAL, 0);
+    }
+    int[] delta = transitions;
+    int state = start;
+    boolean inToken = false;
+    int tokens = 0;
+    int negatedFrom = 0;
+    int negatedUntil = 0;
+    double sum = 0;
+    int matches = 0;
+    int lastFirst = -1;
+    double lastWeight = 0;
+    int length = comment.length();
+    for (int i = 0; i <= length; i++) {
+      int symbol = i < length ? symbol(comment.charAt(i)) : SEPARATOR;
+      if (symbol >= 0) {
+        state = delta[state * ALPHABET + symbol];
+        inToken = true;
+        continue;
+      }
+      if (inToken) {
+        state = delta[state * ALPHABET + SPACE];
+        tokens++;
+        inToken = false;
+        int term = output[state];
+        if (term >= 0) {
+          int first = tokens - termTokens[term];
+          if (negators[term]) {
+            negatedFrom = tokens;
+            negatedUntil = tokens + negationWindow;
+          } else {
+            double weight = termWeights[term];
+            if (first >= negatedFrom && first < negatedUntil) {
+              weight *= NEGATION_SCALAR;
+            }
+            if (first <= lastFirst) {
+              // A longer phrase covering the previous match replaces it.
+              sum -= lastWeight;
+              matches--;
+            }
+            sum += weight;
+            matches++;
+            lastFirst = first;
+            lastWeight = weight;
+          }
+        }
+      }
+      if (symbol == SENTENCE_END) {
+        negatedUntil = 0;
+      }
+    }
+    double score = sum / Math.sqrt(sum * sum + NORMALIZATION_ALPHA);
+    String label =
+        score >= NEUTRAL_THRESHOLD
+            ? SentimentScore.POSITIVE
+            : score <= -NEUTRAL_THRESHOLD ? SentimentScore.NEGATIVE : SentimentScore.NEUTRAL;
+    return new SentimentScore(score, label, matches);
+  }
+
+  /**
+   * Scores many comments.
+   *
+   * @param comments The comments.
+   * @return One score per comment, in order.
+   * @throws IllegalArgumentException If there are more comments than the configured maximum.
+   */
+  public List<SentimentScore> scoreAll(Collection<String> comments) {
+    if (comments.size() > maxBatch) {
+      throw new IllegalArgumentException(
+          "Please provide at most " + maxBatch + " comments per request");
+    }
+    List<SentimentScore> scores = new ArrayList<>(comments.size());
+    for (String comment : comments) {
+      scores.add(score(comment));
+    }
+    return scores;
+  }
+
+  private static int symbol(char c) {
+    if (c < 128) {
+      return ASCII[c];
+    }
+    if (c == '\u2019') {
+      return APOSTROPHE;
+    }
+    return Character.isLetterOrDigit(c) ? OTHER_LETTER : SEPARATOR;
+  }
+
+  /** Returns the symbols of {@code " term "} with word breaks collapsed, or null if empty. */
+  private static int[] pattern(String term) {
+    int[] symbols = new int[term.length() + 2];
+    int length = 0;
+    symbols[length++] = SPACE;
+    for (int i = 0; i < term.length(); i++) {
+      int symbol = symbol(term.charAt(i));
+      if (symbol >= 0) {
+        symbols[length++] = symbol;
+      } else if (symbols[length - 1] != SPACE) {
+        symbols[length++] = SPACE;
+      }
+    }
+    if (length == 1) {
+      return null;
+    }
+    if (symbols[length - 1] != SPACE) {
+      symbols[length++] = SPACE;
+    }
+    return Arrays.copyOf(symbols, length);
+  }
+
+  private static Map<String, Double> readLexicon(String location) {
+    try (Reader reader = open(location)) {
+      return parseLexicon(new BufferedReader(reader));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read sentiment lexicon " + location, e);
+    }
+  }
+
+  private static Reader open(String location) throws IOException {
+    if (location != null && !location.isBlank()) {
+      return Files.newBufferedReader(Path.of(location.trim()), StandardCharsets.UTF_8);
+    }
+    InputStream in = SentimentScorer.class.getResourceAsStream(DEFAULT_LEXICON);
+    if (in == null) {
+      throw new IOException("Bundled lexicon " + DEFAULT_LEXICON + " not found");
+    }
+    return new InputStreamReader(in, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Parses {@code term<TAB>weight} lines; later entries for the same term win.
+   *
+   * @param reader The lexicon.
+   * @return Weights by term, with {@link Double#NaN} marking negators.
+   */
+  private static Map<String, Double> parseLexicon(BufferedReader reader) throws IOException {
+    Map<String, Double> lexicon = new LinkedHashMap<>();
+    String line;
+    int lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      String trimmed = line.trim();
+      if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+        continue;
+      }
+      int tab = trimmed.lastIndexOf('\t');
+      if (tab <= 0) {
+        throw new IllegalArgumentException(
+            "Sentiment lexicon line " + lineNumber + " must be <term><TAB><weight>");
+      }
+      String term = trimmed.substring(0, tab).trim().toLowerCase(Locale.ROOT);
+      String value = trimmed.substring(tab + 1).trim();
+      double weight;
+      if (NEGATE.equalsIgnoreCase(value)) {
+        weight = Double.NaN;
+      } else {
+        try {
+          weight = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException(
+              "Sentiment lexicon line " + lineNumber + " has an invalid weight: " + value, e);
+        }
+      }
+      lexicon.put(term, weight);
+    }
+    return lexicon;
+  }
+}
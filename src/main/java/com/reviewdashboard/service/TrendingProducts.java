@@ -0,0 +1,281 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.TrendingProduct;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The products reviewed most often right now, found in fixed memory however large the catalogue.
+ *
+ * <p>Review counts are kept in a count-min sketch: {@code depth} rows of {@code width} counters,
+ * each product hashed to one counter per row. A product's estimate is the smallest of its counters,
+ * which never undercounts and, with probability {@code 1 - e^-depth}, overcounts by at most {@code
+ * e / width} of all reviews in the sketch. Counters are raised conservatively, only as far as the
+ * new estimate, which keeps collisions from inflating them further than needed.
+ *
+ * <p>Reviews decay with a half-life: a review counts as 1 when it arrives and as 1/2 one half-life
+ * later. Rather than touching every counter as time passes, a review at time {@code t} adds {@code
+ * 2^((t - landmark) / half-life)} and reads divide by the weight of the current time, so estimates
+ * of different products stay comparable and the ranking never needs decaying. Once weights grow too
+ * large, the counters are scaled down and the landmark moves to the present.
+ *
+ * <p>The {@code size} products with the highest estimates are kept in a min-heap, updated as each
+ * review arrives. This is a {@link ReviewSubmissionListener} stage, so only the pipeline thread
+ * writes; it and the rare readers share a monitor held for a handful of array accesses.
+ */
+@Component
+public class TrendingProducts implements ReviewSubmissionListener, MeterBinder {
+
+  /** Weights are rescaled before they exceed {@code 2^64}, far from overflowing a double. */
+  private static final double RESCALE_EXPONENT = 64;
+
+  private final boolean enabled;
+  private final int width;
+  private final int depth;
+  private final int size;
+  private final double halfLifeMillis;
+  private final double[] counters;
+  private final int[] indexes;
+  private final Candidate[] heap;
+  private final Map<String, Candidate> candidates = new HashMap<>();
+  private int heapSize;
+  private long landmark;
+  private boolean started;
+
+  /** The weight of every review in the sketch, relative to the landmark. */
+  private double total;
+
+  /**
+   * Creates the sketch.
+   *
+   * @param enabled Whether reviews are counted.
+   * @param width The counters per row; estimates overcount by at most {@code e / width} of all
+   *     reviews.
+   * @param depth The rows; an estimate exceeds that bound with probability {@code e^-depth}.
+   * @param size The most trending products tracked; the largest allowed limit.
+   * @param halfLifeMinutes How long until a review counts half as much.
+   */
+  public TrendingProducts(
+      @Value("${review.trending.enabled:true}") boolean enabled,
+      @Value("${review.trending.width:2048}") int width,
+      @Value("${review.trending.depth:4}") int depth,
+      @Value("${review.trending.size:100}") int size,
+      @Value("${review.trending.half-life-minutes:60}") long halfLifeMinutes) {
+    this.enabled = enabled;
+    this.width = Math.max(1, width);
+    this.depth = Math.max(1, depth);
+    this.size = Math.max(1, size);
+    this.halfLifeMillis = TimeUnit.MINUTES.toMillis(Math.max(1, halfLifeMinutes));
+    this.counters = new double[this.width * this.depth];
+    this.indexes = new int[this.depth];
+    this.heap = new Candidate[this.size];
+  }
+
+  @Override
+  public void onReviewSubmitted(ReviewEvent event) {
+    record(event.getProductId(), event.getTimestampMillis());
+  }
+
+  @Override
+  public String stageName() {
+    return "trending";
+  }
+
+  /**
+   * Returns the products reviewed most often right now, most reviewed first.
+   *
+   * @param limit The most products returned; at most the configured size.
+   * @return The products with their estimated decayed review counts.
+   */
+  public List<TrendingProduct> top(int limit) {
+    return top(limit, System.currentTimeMillis());
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("review.trending.reviews", this, t -> t.decayedTotal(System.currentTimeMillis()))
+        .description("Reviews in the trending sketch, each weighted down by its age")
+        .register(registry);
+  }
+
+  /** Counts one review; called by the pipeline thread only. */
+  synchronized void record(String productId, long timestampMillis) {
+    if (!enabled || productId == null) {
+      return;
+    }
+    if (!started) {
+      landmark = timestampMillis;
+      started = true;
+    }
+    double exponent = (timestampMillis - landmark) / halfLifeMillis;
+    if (exponent > RESCALE_EXPONENT) {
+      rescale(Math.pow(2, -exponent));
+      landmark = timestampMillis;
+      exponent = 0;
+    }
+    double weight = Math.pow(2, exponent);
+
+    hash(productId);
+    double estimate = estimate() + weight;
+    for (int index : indexes) {
+      counters[index] = Math.max(counters[index], estimate);
+    }
+    total += weight;
+    offer(productId, estimate);
+  }
+
+  synchronized List<TrendingProduct> top(int limit, long nowMillis) {
+    if (!started || limit < 1) {
+      return List.of();
+    }
+    Candidate[] ranked = Arrays.copyOf(heap, heapSize);
+    for (Candidate candidate : ranked) {
+      hash(candidate.productId);
+      candidate.estimate = estimate();
+    }
+    Arrays.sort(ranked, Comparator.comparingDouble((Candidate c) -> c.estimate).reversed());
+    double decay = decay(nowMillis);
+    double errorBound = Math.E / width * total * decay;
+    List<TrendingProduct> trending = new ArrayList<>(Math.min(limit, ranked.length));
+    for (int i = 0; i < ranked.length && i < limit; i++) {
+      trending.add(
+          new TrendingProduct(ranked[i].productId, ranked[i].estimate * decay, errorBound));
+    }
+    return trending;
+  }
+
+  synchronized double decayedTotal(long nowMillis) {
+    return started ? total * decay(nowMillis) : 0;
+  }
+
+  /** Returns one over the weight of a review at {@code nowMillis}. */
+  private double decay(long nowMillis) {
+    return Math.pow(2, -(nowMillis - landmark) / halfLifeMillis);
+  }
+
+  /** Returns the smallest counter of the product last {@link #hash hashed}. */
+  private double estimate() {
+    double estimate = Double.POSITIVE_INFINITY;
+    for (int index : indexes) {
+      estimate = Math.min(estimate, counters[index]);
+    }
+    return estimate;
+  }
+
+  private void rescale(double factor) {
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] *= factor;
+    }
+    for (int i = 0; i < heapSize; i++) {
+      heap[i].value *= factor;
+    }
+    total *= factor;
+  }
+
+  /**
+   * Sets {@link #indexes} to the product's counter in each row, using double hashing over one
+   * 64-bit FNV-1a hash of its ID.
+   */
+  private void hash(String productId) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < productId.length(); i++) {
+      hash = (hash ^ productId.charAt(i)) * 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    for (int row = 0; row < depth; row++) {
+      indexes[row] = row * width + Math.floorMod(h1 + row * h2, width);
+    }
+  }
+
+  /** Adds or moves a product in the heap after its estimate rose to {@code value}. */
+  private void offer(String productId, double value) {
+    Candidate candidate = candidates.get(productId);
+    if (candidate != null) {
+      candidate.value = value;
+      siftDown(candidate.index);
+    } else if (heapSize < size) {
+      candidate = new Candidate(productId, value);
+      candidates.put(productId, candidate);
+      place(candidate, heapSize++);
+      siftUp(candidate.index);
+    } else if (value > heap[0].value) {
+      // Reuse the evicted entry, so a full heap allocates nothing.
+      candidate = heap[0];
+      candidates.remove(candidate.productId);
+      candidate.productId = productId;
+      candidate.value = value;
+      candidates.put(productId, candidate);
+      siftDown(0);
+    }
+  }
+
+  private void siftUp(int index) {
+    while (index > 0) {
+      int parent = (index - 1) / 2;
+      if (heap[parent].value <= heap[index].value) {
+        return;
+      }
+      swap(index, parent);
+      index = parent;
+    }
+  }
+
+  private void siftDown(int index) {
+    while (true) {
+      int smallest = index;
+      for (int child = 2 * index + 1; child <= 2 * index + 2 && child < heapSize; child++) {
+        if (heap[child].value < heap[smallest].value) {
+          smallest = child;
+        }
+      }
+      if (smallest == index) {
+        return;
+      }
+      swap(index, smallest);
+      index = smallest;
+    }
+  }
+
+  private void swap(int a, int b) {
+    Candidate first = heap[a];
+    place(heap[b], a);
+    place(first, b);
+  }
+
+  private void place(Candidate candidate, int index) {
+    heap[index] = candidate;
+    candidate.index = index;
+  }
+
+  /** A product in the heap. */
+  private static final class Candidate {
+    private String productId;
+
+    /** The estimate when the product was last reviewed, relative to the landmark. */
+    private double value;
+
+    /** The current estimate, set while answering a read. */
+    private double estimate;
+
+    private int index;
+
+    private Candidate(String productId, double value) {
+      this.productId = productId;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,336 @@
+package com.reviewdashboard.service;
+
+import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.ReviewSubmissionStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Accepts validated reviews for asynchronous submission and delivers them upstream in the
+ * background.
+ *
+ * <p>Accepted reviews are held in a bounded in-memory queue and get a tracking ID. A fixed number
+ * of flusher threads drain the queue in small batches and post each review through {@link
+ * ReviewService}, so the number of concurrent upstream submissions never exceeds the flusher count
+ * no matter how bursty the traffic is. When the queue is full, {@link #submit} refuses the review
+ * instead of buffering without limit. On shutdown, new submissions are refused and the flushers
+ * drain what is left before the application context closes.
+ *
+ * <p>Each submission is posted with the client's idempotency key, if it sent one; submissions
+ * without a key are posted without one, so they are not retried at the transport level. Reviews the
+ * upstream could not accept because it was unavailable are handed to the {@link ReviewOutbox}, when
+ * enabled, and reported as deferred. The outcome of the most recent {@code maxTracked} completed
+ * submissions is kept for the status endpoint.
+ */
+@Component
+public class WriteBehindReviewQueue implements MeterBinder {
+
+  private static final Logger logger = LoggerFactory.getLogger(WriteBehindReviewQueue.class);
+
+  private static final long POLL_INTERVAL_MILLIS = 100;
+
+  private final ReviewService reviewService;
+  private final ReviewOutbox outbox;
+  private final boolean enabled;
+  private final int concurrency;
+  private final int batchSize;
+  private final int maxTracked;
+  private final long drainTimeoutMillis;
+  private final BlockingQueue<Submission> queue;
+  private final Map<String, Submission> submissions = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Submission> completed = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger completedCount = new AtomicInteger();
+  private final List<Thread> flushers = new ArrayList<>();
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private volatile boolean accepting;
+
+  /**
+   * Creates a new queue.
+   *
+   * @param reviewService The service that posts reviews upstream.
+   * @param outbox The outbox that keeps reviews the upstream could not accept.
+   * @param enabled Whether asynchronous submission is available at all.
+   * @param capacity The maximum number of reviews waiting to be flushed.
+   * @param concurrency The number of flusher threads, i.e. concurrent upstream submissions.
+   * @param batchSize The maximum number of reviews a flusher takes from the queue at once.
+   * @param maxTracked The number of completed submissions whose status is kept.
+   * @param drainTimeoutMillis How long shutdown waits for the queue to drain.
+   */
+  public WriteBehindReviewQueue(
+      ReviewService reviewService,
+      ReviewOutbox outbox,
+      @Value("${review.write-behind.enabled:false}") boolean enabled,
+      @Value("${review.write-behind.capacity:10000}") int capacity,
+      @Value("${review.write-behind.concurrency:8}") int concurrency,
+      @Value("${review.write-behind.batch-size:16}") int batchSize,
+      @Value("${review.write-behind.max-tracked:100000}") int maxTracked,
+      @Value("${review.write-behind.drain-timeout-ms:30000}") long drainTimeoutMillis) {
+    this.reviewService = reviewService;
+    this.outbox = outbox;
+    this.enabled = enabled;
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.concurrency = Math.max(1, concurrency);
+    this.batchSize = Math.max(1, batchSize);
+    this.maxTracked = Math.max(1, maxTracked);
+    this.drainTimeoutMillis = drainTimeoutMillis;
+  }
+
+  /** Starts the flusher threads if asynchronous submission is enabled. */
+  @PostConstruct
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    accepting = true;
+    for (int i = 0; i < concurrency; i++) {
+      Thread flusher = new Thread(this::flushLoop, "review-flusher-" + i);
+      flusher.start();
+      flushers.add(flusher);
+    }
+  }
+
+  /**
+   * Stops accepting reviews and waits up to the drain timeout for queued reviews to be delivered.
+   * Reviews still queued after that are marked as failed.
+   */
+  @PreDestroy
+  public void shutdown() {
+    accepting = false;
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis);
+    for (Thread flusher : flushers) {
+      long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+      try {
+        flusher.join(Math.max(1, remaining));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    for (Thread flusher : flushers) {
+      flusher.interrupt();
+    }
+    List<Submission> undelivered = new ArrayList<>();
+    queue.drainTo(undelivered);
+    for (Submission submission : undelivered) {
+      fail(submission, "Shut down before the review was delivered");
+    }
+    if (!undelivered.isEmpty() && logger.isWarnEnabled()) {
+      logger.warn("{} queued reviews were not delivered before shutdown", undelivered.size());
+    }
+  }
+
+  /**
+   * Returns whether asynchronous submission is enabled.
+   *
+   * @return {@code true} if {@link #submit} may accept reviews.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Queues a validated review for asynchronous submission.
+   *
+   * @param productId The product the review is for.
+   * @param review The review.
+   * @param userId The submitting user.
+   * @param idempotencyKey The client's idempotency key; may be {@code null}.
+   * @return The status of the accepted submission, or {@code null} if the queue is full or shutting
+   *     down.
+   */
+  public ReviewSubmissionStatus submit(
+      String productId, ReviewDto review, String userId, String idempotencyKey) {
+    if (!accepting) {
+      rejected.increment();
+      return null;
+    }
+    String trackingId = UUID.randomUUID().toString();
+    Submission submission = new Submission(trackingId, productId, review, userId, idempotencyKey);
+    ReviewSubmissionStatus status = submission.toStatus();
+    submissions.put(trackingId, submission);
+    if (!queue.offer(submission)) {
+      submissions.remove(trackingId);
+      rejected.increment();
+      return null;
+    }
+    return status;
+  }
+
+  /**
+   * Looks up the status of a submission.
+   *
+   * @param trackingId The tracking ID returned by {@link #submit}.
+   * @param userId The requesting user; only the submitting user can see a submission.
+   * @return The status, or {@code null} if the ID is unknown, expired or belongs to another user.
+   */
+  public ReviewSubmissionStatus status(String trackingId, String userId) {
+    Submission submission = submissions.get(trackingId);
+    if (submission == null || !submission.userId.equals(userId)) {
+      return null;
+    }
+    return submission.toStatus();
+  }
+
+  /**
+   * Returns the number of reviews waiting to be flushed.
+   *
+   * @return The queue depth.
+   */
+  public int queueDepth() {
+    return queue.size();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("review.write-behind.queue.depth", this, WriteBehindReviewQueue::queueDepth)
+        .description("Reviews waiting to be submitted upstream")
+        .register(registry);
+    FunctionCounter.builder("review.write-behind.submitted", submitted, LongAdder::sum)
+        .description("Queued reviews delivered upstream")
+        .register(registry);
+    FunctionCounter.builder("review.write-behind.failed", failed, LongAdder::sum)
+        .description("Queued reviews that could not be delivered")
+        .register(registry);
+    FunctionCounter.builder("review.write-behind.rejected", rejected, LongAdder::sum)
+        .description("Reviews refused because the queue was full")
+        .register(registry);
+  }
+
+  private void flushLoop() {
+    List<Submission> batch = new ArrayList<>(batchSize);
+    while (true) {
+      Submission first;
+      try {
+        first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (first == null) {
+        if (!accepting) {
+          return;
+        }
+        continue;
+      }
+      batch.add(first);
+      queue.drainTo(batch, batchSize - 1);
+      for (Submission submission : batch) {
+        flush(submission);
+      }
+      batch.clear();
+    }
+  }
+
+  private void flush(Submission submission) {
+    try {
+      ReviewDto created =
+          reviewService.addReview(
+              submission.productId,
+              submission.review,
+              submission.userId,
+              submission.idempotencyKey);
+      submission.result = created;
+      submission.state = ReviewSubmissionStatus.SUBMITTED;
+      submitted.increment();
+      complete(submission);
+    } catch (RuntimeException e) {
+      if (outbox.isEnabled() && ReviewOutbox.isDeferrable(e)) {
+        defer(submission);
+        return;
+      }
+      if (logger.isWarnEnabled()) {
+        logger.warn(
+            "Failed to submit queued review {} for productId={}: {}",
+            submission.trackingId,
+            submission.productId,
+            e.getMessage());
+      }
+      fail(submission, e.getMessage());
+    }
+  }
+
+  private void defer(Submission submission) {
+    try {
+      outbox.store(
+          submission.productId, submission.review, submission.userId, submission.idempotencyKey);
+    } catch (RuntimeException e) {
+      fail(submission, e.getMessage());
+      return;
+    }
+    submission.state = ReviewSubmissionStatus.DEFERRED;
+    complete(submission);
+  }
+
+  private void fail(Submission submission, String error) {
+    submission.error = error;
+    submission.state = ReviewSubmissionStatus.FAILED;
+    failed.increment();
+    complete(submission);
+  }
+
+  private void complete(Submission submission) {
+    completed.add(submission);
+    if (completedCount.incrementAndGet() > maxTracked) {
+      Submission oldest = completed.poll();
+      if (oldest != null) {
+        completedCount.decrementAndGet();
+        submissions.remove(oldest.trackingId, oldest);
+      }
+    }
+  }
+
+  /** A queued review and its progress. */
+  private static final class Submission {
+    private final String trackingId;
+    private final String productId;
+    private final ReviewDto review;
+    private final String userId;
+    private final String idempotencyKey;
+    private volatile String state = ReviewSubmissionStatus.PENDING;
+    private volatile ReviewDto result;
+    private volatile String error;
+
+    private Submission(
+        String trackingId,
+        String productId,
+        ReviewDto review,
+        String userId,
+        String idempotencyKey) {
+      this.trackingId = trackingId;
+      this.productId = productId;
+      this.review = review;
+      this.userId = userId;
+      this.idempotencyKey = idempotencyKey;
+    }
+
+    private ReviewSubmissionStatus toStatus() {
+      // result and error are written before state, so read state first.
+      String current = state;
+      ReviewSubmissionStatus status = new ReviewSubmissionStatus(trackingId, current, productId);
+      status.setReview(result);
+      status.setError(error);
+      return status;
+    }
+  }
+}
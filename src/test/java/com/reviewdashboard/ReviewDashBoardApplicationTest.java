@@ -8,13 +8,15 @@ import org.springframework.test.context.TestPropertySource;
  * Integration test to verify that the Spring Boot application context loads successfully.
  *
  * <p>This test provides placeholder values for Feign client URLs to allow the context to load
- * without requiring actual external services.
+ * without requiring actual external services, and keeps the review event log from writing segment
+ * files into the working directory.
  */
 @SpringBootTest
 @TestPropertySource(
     properties = {
       "company.client.url=http://localhost:8081",
-      "product.client.url=http://localhost:8082"
+      "product.client.url=http://localhost:8082",
+      "review.event-log.enabled=false"
     })
 class ReviewDashBoardApplicationTest {
 
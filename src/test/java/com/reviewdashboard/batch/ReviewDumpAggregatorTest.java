@@ -0,0 +1,179 @@
+package com.reviewdashboard.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.model.RatingAggregate;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link ReviewDumpAggregator} and {@link AggregateRebuildCommand}.
+ *
+ * <ul>
+ *   <li>Lines spanning chunk boundaries → each counted exactly once, same result for any chunking
+ *   <li>Nested values, escaped IDs, CRLF, blank and malformed lines → parsed or counted malformed
+ *   <li>Command → writes a snapshot, rejects missing arguments
+ *   <li>Large dump → throughput logged for one worker and all cores (tagged {@code benchmark}, run
+ *       with {@code -Pbenchmark})
+ * </ul>
+ */
+public class ReviewDumpAggregatorTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewDumpAggregatorTest.class);
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void testChunkBoundaries() throws IOException {
+    Path dump = writeDump("dump.ndjson", 20_000, 37);
+
+    ReviewDumpAggregator.Result single =
+        new ReviewDumpAggregator(1, 1L << 30).aggregate(List.of(dump));
+    ReviewDumpAggregator.Result chunked =
+        new ReviewDumpAggregator(4, 1 << 16).aggregate(List.of(dump));
+
+    assertEquals(20_000, single.getReviews());
+    assertEquals(0, single.getMalformed());
+    assertEquals(37, single.getProducts().size());
+    assertEquals(5, single.getCompanies().size());
+    assertEquals(single.getReviews(), chunked.getReviews());
+    assertEquals(single.getLines(), chunked.getLines());
+    for (int p = 0; p < 37; p++) {
+      RatingAggregate expected = single.getProducts().get("p" + p);
+      RatingAggregate actual = chunked.getProducts().get("p" + p);
+      assertEquals(expected.getCount(), actual.getCount());
+      assertEquals(expected.getSum(), actual.getSum(), 1e-6);
+      assertEquals(expected.getMin(), actual.getMin());
+      assertEquals(expected.getMax(), actual.getMax());
+    }
+    RatingAggregate p0 = single.getProducts().get("p0");
+    assertEquals((20_000 + 36) / 37, p0.getCount());
+    assertEquals(1.0, p0.getMin());
+    assertEquals(5.0, p0.getMax());
+  }
+
+  @Test
+  public void testLineVariants() throws IOException {
+    Path dump = tempDir.resolve("variants.ndjson");
+    Files.writeString(
+        dump,
+        String.join(
+            "\n",
+            "{\"id\":\"r1\",\"rating\":4.5,\"productId\":\"p1\",\"companyId\":\"c1\"}",
+            "  { \"reviewer\" : {\"id\": \"u\", \"tags\": [\"a}\", 1]}, \"rating\" : 2 ,"
+                + " \"comment\": \"say \\\"hi\\\"\", \"productId\" : \"p1\" }\r",
+            "",
+            "{\"rating\":3.25,\"productId\":\"p\\u00e9\",\"companyId\":null}",
+            "{\"rating\":1e0,\"productId\":\"p2\",\"companyId\":\"c1\"}",
+            "{\"rating\":\"five\",\"productId\":\"p3\"}",
+            "{\"rating\":5,\"companyId\":\"c1\"}",
+            "not json",
+            "{\"rating\":5,\"productId\":\"p4\""),
+        StandardCharsets.UTF_8);
+
+    ReviewDumpAggregator.Result result =
+        new ReviewDumpAggregator(2, 1 << 16).aggregate(List.of(dump));
+
+    assertEquals(8, result.getLines());
+    assertEquals(4, result.getReviews());
+    assertEquals(4, result.getMalformed());
+    RatingAggregate p1 = result.getProducts().get("p1");
+    assertEquals(2, p1.getCount());
+    assertEquals(3.25, p1.getAverage());
+    assertEquals(1, result.getProducts().get("pé").getCount());
+    assertEquals(3.25, result.getProducts().get("pé").getSum());
+    assertEquals(1.0, result.getProducts().get("p2").getSum());
+    assertNull(result.getProducts().get("p3"));
+    assertEquals(2, result.getCompanies().get("c1").getCount());
+    assertEquals(1, result.getCompanies().size());
+  }
+
+  @Test
+  public void testCommandWritesSnapshot() throws IOException {
+    writeDump("a.ndjson", 500, 10);
+    writeDump("b.jsonl", 500, 10);
+    Files.writeString(tempDir.resolve("ignored.txt"), "not a dump");
+    Path output = tempDir.resolve("out/aggregates.snapshot");
+    ByteArrayOutputStream console = new ByteArrayOutputStream();
+
+    int status =
+        AggregateRebuildCommand.run(
+            new String[] {"--output", output.toString(), "--parallelism", "2", tempDir.toString()},
+            new PrintStream(console, true, StandardCharsets.UTF_8));
+
+    assertEquals(0, status);
+    assertTrue(Files.isRegularFile(output));
+    assertTrue(console.toString(StandardCharsets.UTF_8).contains("Aggregated 1000 reviews"));
+  }
+
+  @Test
+  public void testCommandUsage() {
+    ByteArrayOutputStream console = new ByteArrayOutputStream();
+    PrintStream out = new PrintStream(console, true, StandardCharsets.UTF_8);
+
+    assertEquals(2, AggregateRebuildCommand.run(new String[0], out));
+    assertEquals(2, AggregateRebuildCommand.run(new String[] {"--parallelism"}, out));
+    assertEquals(1, AggregateRebuildCommand.run(new String[] {"missing.ndjson"}, out));
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testThroughput() throws IOException {
+    Path dump = writeDump("large.ndjson", 1_000_000, 10_000);
+    int cores = Runtime.getRuntime().availableProcessors();
+    new ReviewDumpAggregator(cores, 4 << 20).aggregate(List.of(dump));
+
+    for (int parallelism : new int[] {1, cores}) {
+      long started = System.nanoTime();
+      ReviewDumpAggregator.Result result =
+          new ReviewDumpAggregator(parallelism, 4 << 20).aggregate(List.of(dump));
+      double seconds = (System.nanoTime() - started) / 1e9;
+      assertEquals(1_000_000, result.getReviews());
+      if (logger.isInfoEnabled()) {
+        logger.info(
+            String.format(
+                Locale.ROOT,
+                "%d workers: %.0f MB/s, %.0f reviews/s",
+                parallelism,
+                result.getBytes() / 1e6 / seconds,
+                result.getReviews() / seconds));
+      }
+    }
+  }
+
+  private Path writeDump(String name, int reviews, int products) throws IOException {
+    Path dump = tempDir.resolve(name);
+    try (BufferedWriter writer = Files.newBufferedWriter(dump, StandardCharsets.UTF_8)) {
+      for (int i = 0; i < reviews; i++) {
+        writer.write(
+            String.format(
+                Locale.ROOT,
+                "{\"id\":\"r%d\",\"rating\":%.1f,\"comment\":\"Review number %d of this product\","
+                    + "\"reviewer\":{\"id\":\"u%d\",\"username\":\"user%d\"},"
+                    + "\"productId\":\"p%d\",\"companyId\":\"c%d\"}\n",
+                i,
+                1 + (i * 7 % 41) / 10.0,
+                i,
+                i % 1000,
+                i % 1000,
+                i % products,
+                i % 5));
+      }
+    }
+    return dump;
+  }
+}
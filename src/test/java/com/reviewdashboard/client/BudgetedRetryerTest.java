@@ -0,0 +1,100 @@
+package com.reviewdashboard.client;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BudgetedRetryer}.
+ *
+ * <ul>
+ *   <li>GET → retried until {@code maxAttempts}
+ *   <li>POST without idempotency key → never retried
+ *   <li>POST with idempotency key → retried
+ *   <li>Empty budget → not retried
+ *   <li>Backoff past the call deadline → not retried
+ *   <li>Backoff stays within {@code [0, min(max, base * 2^n)]}
+ * </ul>
+ */
+public class BudgetedRetryerTest {
+
+  @Test
+  public void testGet_RetriedUntilMaxAttempts() {
+    Retryer retryer = new BudgetedRetryer(new RetryBudget(0.1, 10), 3, 0, 0, 1000).clone();
+    RetryableException e = retryable(Request.HttpMethod.GET, Collections.emptyMap());
+
+    assertDoesNotThrow(() -> retryer.continueOrPropagate(e));
+    assertDoesNotThrow(() -> retryer.continueOrPropagate(e));
+    assertThrows(RetryableException.class, () -> retryer.continueOrPropagate(e));
+  }
+
+  @Test
+  public void testPost_WithoutIdempotencyKey_NotRetried() {
+    Retryer retryer = new BudgetedRetryer(new RetryBudget(0.1, 10), 3, 0, 0, 1000).clone();
+    RetryableException e = retryable(Request.HttpMethod.POST, Collections.emptyMap());
+
+    assertThrows(RetryableException.class, () -> retryer.continueOrPropagate(e));
+  }
+
+  @Test
+  public void testPost_WithIdempotencyKey_Retried() {
+    Retryer retryer = new BudgetedRetryer(new RetryBudget(0.1, 10), 3, 0, 0, 1000).clone();
+    Map<String, Collection<String>> headers =
+        Map.of(BudgetedRetryer.IDEMPOTENCY_KEY_HEADER, List.of("k-1"));
+    RetryableException e = retryable(Request.HttpMethod.POST, headers);
+
+    assertDoesNotThrow(() -> retryer.continueOrPropagate(e));
+  }
+
+  @Test
+  public void testGet_BudgetEmpty_NotRetried() {
+    RetryBudget budget = new RetryBudget(0.0, 0);
+    Retryer retryer = new BudgetedRetryer(budget, 3, 0, 0, 1000).clone();
+
+    assertThrows(
+        RetryableException.class,
+        () -> retryer.continueOrPropagate(retryable(Request.HttpMethod.GET, Map.of())));
+    assertEquals(1, budget.exhaustedCount());
+  }
+
+  @Test
+  public void testGet_PastDeadline_NotRetried() {
+    AtomicLong now = new AtomicLong(1_000L);
+    Retryer retryer = new BudgetedRetryer(new RetryBudget(0.1, 10), 3, 0, 0, 500, now::get).clone();
+    now.addAndGet(600);
+
+    assertThrows(
+        RetryableException.class,
+        () -> retryer.continueOrPropagate(retryable(Request.HttpMethod.GET, Map.of())));
+  }
+
+  @Test
+  public void testBackoff_WithinExponentialCap() {
+    BudgetedRetryer retryer = new BudgetedRetryer(new RetryBudget(0.1, 10), 5, 10, 30, 1000);
+
+    for (int i = 0; i < 100; i++) {
+      long first = retryer.backoffMillis(1);
+      long third = retryer.backoffMillis(3);
+      assertEquals(true, first >= 0 && first <= 10);
+      assertEquals(true, third >= 0 && third <= 30);
+    }
+  }
+
+  private static RetryableException retryable(
+      Request.HttpMethod method, Map<String, Collection<String>> headers) {
+    Request request =
+        Request.create(method, "/products/1/average-rating", headers, null, StandardCharsets.UTF_8);
+    return new RetryableException(503, "Service Unavailable", method, (Long) null, request);
+  }
+}
@@ -0,0 +1,91 @@
+package com.reviewdashboard.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DeficitRoundRobinQueue}.
+ *
+ * <ul>
+ *   <li>Empty queue → poll returns null
+ *   <li>Equal weights → flows are served alternately
+ *   <li>Heavy flow backlog → a light flow is served within one round
+ *   <li>Weighted flows → dispatch share follows the weights
+ *   <li>Removing a waiting item → size and flows shrink accordingly
+ * </ul>
+ */
+public class DeficitRoundRobinQueueTest {
+
+  @Test
+  public void testPoll_Empty() {
+    DeficitRoundRobinQueue<String> queue = new DeficitRoundRobinQueue<>(Map.of(), 1);
+
+    assertNull(queue.poll());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void testPoll_EqualWeightsAlternate() {
+    DeficitRoundRobinQueue<String> queue = new DeficitRoundRobinQueue<>(Map.of(), 1);
+    queue.offer("a", "a1");
+    queue.offer("a", "a2");
+    queue.offer("b", "b1");
+    queue.offer("b", "b2");
+
+    assertEquals(List.of("a1", "b1", "a2", "b2"), drain(queue));
+  }
+
+  @Test
+  public void testPoll_LightFlowNotStarvedByHeavyBacklog() {
+    DeficitRoundRobinQueue<String> queue = new DeficitRoundRobinQueue<>(Map.of(), 1);
+    for (int i = 0; i < 100; i++) {
+      queue.offer("heavy", "h" + i);
+    }
+    queue.offer("light", "l0");
+
+    assertEquals("h0", queue.poll());
+    assertEquals("l0", queue.poll());
+    assertEquals(1, queue.activeFlowCount());
+  }
+
+  @Test
+  public void testPoll_WeightsControlShare() {
+    DeficitRoundRobinQueue<String> queue = new DeficitRoundRobinQueue<>(Map.of("gold", 3), 1);
+    for (int i = 0; i < 6; i++) {
+      queue.offer("gold", "g");
+      queue.offer("basic", "b");
+    }
+
+    List<String> firstRounds = drain(queue).subList(0, 8);
+
+    assertEquals(List.of("g", "g", "g", "b", "g", "g", "g", "b"), firstRounds);
+  }
+
+  @Test
+  public void testRemove_WaitingItem() {
+    DeficitRoundRobinQueue<String> queue = new DeficitRoundRobinQueue<>(Map.of(), 1);
+    queue.offer("a", "a1");
+    queue.offer("b", "b1");
+
+    assertTrue(queue.remove("a", "a1"));
+    assertFalse(queue.remove("a", "a1"));
+    assertEquals(1, queue.size());
+    assertEquals(1, queue.activeFlowCount());
+    assertEquals("b1", queue.poll());
+  }
+
+  private static List<String> drain(DeficitRoundRobinQueue<String> queue) {
+    List<String> out = new ArrayList<>();
+    for (String item = queue.poll(); item != null; item = queue.poll()) {
+      out.add(item);
+    }
+    return out;
+  }
+}
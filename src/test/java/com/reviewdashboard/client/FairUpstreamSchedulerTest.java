@@ -0,0 +1,84 @@
+package com.reviewdashboard.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link FairUpstreamScheduler}.
+ *
+ * <ul>
+ *   <li>Free slot → acquire returns immediately
+ *   <li>No free slot → caller waits until a slot is released
+ *   <li>Queue full → caller is rejected
+ *   <li>Wait exceeds the limit → caller is rejected and dequeued
+ * </ul>
+ */
+public class FairUpstreamSchedulerTest {
+
+  @Test
+  public void testAcquire_FreeSlot() throws Exception {
+    FairUpstreamScheduler scheduler = new FairUpstreamScheduler(2, 10, 1000, Map.of(), 1);
+
+    scheduler.acquire("u1");
+    scheduler.acquire("u2");
+
+    assertEquals(2, scheduler.inFlight());
+    scheduler.release();
+    scheduler.release();
+    assertEquals(0, scheduler.inFlight());
+  }
+
+  @Test
+  public void testAcquire_WaitsForRelease() throws Exception {
+    FairUpstreamScheduler scheduler = new FairUpstreamScheduler(1, 10, 5000, Map.of(), 1);
+    scheduler.acquire("u1");
+    CountDownLatch admitted = new CountDownLatch(1);
+
+    Thread waiter =
+        new Thread(
+            () -> {
+              try {
+                scheduler.acquire("u2");
+                admitted.countDown();
+                scheduler.release();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    waiter.start();
+    while (scheduler.queueDepth() == 0) {
+      Thread.onSpinWait();
+    }
+
+    scheduler.release();
+
+    assertTrue(admitted.await(5, TimeUnit.SECONDS));
+    waiter.join();
+    assertEquals(0, scheduler.inFlight());
+  }
+
+  @Test
+  public void testAcquire_QueueFull() throws Exception {
+    FairUpstreamScheduler scheduler = new FairUpstreamScheduler(1, 0, 1000, Map.of(), 1);
+    scheduler.acquire("u1");
+
+    assertThrows(UpstreamRejectedException.class, () -> scheduler.acquire("u2"));
+    assertEquals(1, scheduler.rejectedCount());
+  }
+
+  @Test
+  public void testAcquire_WaitTimesOut() throws Exception {
+    FairUpstreamScheduler scheduler = new FairUpstreamScheduler(1, 10, 20, Map.of(), 1);
+    scheduler.acquire("u1");
+
+    assertThrows(UpstreamRejectedException.class, () -> scheduler.acquire("u2"));
+    assertEquals(0, scheduler.queueDepth());
+    assertEquals(1, scheduler.inFlight());
+  }
+}
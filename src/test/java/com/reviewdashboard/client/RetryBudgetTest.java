@@ -0,0 +1,58 @@
+package com.reviewdashboard.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RetryBudget}.
+ *
+ * <ul>
+ *   <li>Fresh budget → allows up to {@code maxTokens} retries
+ *   <li>Drained budget → refuses retries and counts the refusals
+ *   <li>Deposits → earn one retry per {@code 1 / ratio} requests
+ *   <li>Deposits never exceed {@code maxTokens}
+ * </ul>
+ */
+public class RetryBudgetTest {
+
+  @Test
+  public void testWithdraw_FreshBudget() {
+    RetryBudget budget = new RetryBudget(0.1, 2);
+
+    assertTrue(budget.tryWithdraw());
+    assertTrue(budget.tryWithdraw());
+    assertFalse(budget.tryWithdraw());
+    assertEquals(2, budget.retryCount());
+    assertEquals(1, budget.exhaustedCount());
+  }
+
+  @Test
+  public void testDeposit_EarnsRetriesAtRatio() {
+    RetryBudget budget = new RetryBudget(0.1, 5);
+    while (budget.tryWithdraw()) {
+      // drain
+    }
+
+    for (int i = 0; i < 9; i++) {
+      budget.deposit();
+    }
+    assertFalse(budget.tryWithdraw());
+
+    budget.deposit();
+    assertTrue(budget.tryWithdraw());
+  }
+
+  @Test
+  public void testDeposit_CappedAtMaxTokens() {
+    RetryBudget budget = new RetryBudget(0.5, 3);
+
+    for (int i = 0; i < 100; i++) {
+      budget.deposit();
+    }
+
+    assertEquals(3.0, budget.availableTokens());
+  }
+}
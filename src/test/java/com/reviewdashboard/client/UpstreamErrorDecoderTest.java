@@ -0,0 +1,130 @@
+package com.reviewdashboard.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import feign.FeignException;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.RetryableException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link UpstreamErrorDecoder}.
+ *
+ * <ul>
+ *   <li>Expected status (401/404/409) → stackless {@link UpstreamStatusException} with a shared
+ *       message
+ *   <li>503 on a GET → {@link RetryableException}
+ *   <li>Retry-After in seconds or as an HTTP date → passed on as the retry time; invalid → none
+ *   <li>503 on a POST without idempotency key → plain {@link FeignException}
+ *   <li>500 → plain {@link FeignException}
+ * </ul>
+ */
+public class UpstreamErrorDecoderTest {
+
+  private static final String METHOD_KEY = "ProductClient#getAverageRating(String,String)";
+
+  private static final long NOW = 1_700_000_000_000L;
+
+  private final UpstreamErrorDecoder decoder = new UpstreamErrorDecoder(() -> NOW);
+
+  @Test
+  public void testDecode_Unauthorized_Stackless() {
+    Exception first = decoder.decode(METHOD_KEY, response(401, Request.HttpMethod.GET));
+    Exception second = decoder.decode(METHOD_KEY, response(401, Request.HttpMethod.GET));
+
+    assertTrue(first instanceof UpstreamStatusException);
+    assertEquals(401, ((FeignException) first).status());
+    assertEquals(0, first.getStackTrace().length);
+    assertSame(first.getMessage(), second.getMessage());
+  }
+
+  @Test
+  public void testDecode_NotFoundAndConflict_Stackless() {
+    Exception notFound = decoder.decode(METHOD_KEY, response(404, Request.HttpMethod.GET));
+    Exception conflict =
+        decoder.decode("AuthClient#createUser", response(409, Request.HttpMethod.POST));
+
+    assertTrue(notFound instanceof UpstreamStatusException);
+    assertEquals("[404 Not Found] during [" + METHOD_KEY + "]", notFound.getMessage());
+    assertTrue(conflict instanceof UpstreamStatusException);
+    assertEquals(409, ((FeignException) conflict).status());
+  }
+
+  @Test
+  public void testDecode_ServiceUnavailableOnGet_Retryable() {
+    Exception decoded = decoder.decode(METHOD_KEY, response(503, Request.HttpMethod.GET));
+
+    assertTrue(decoded instanceof RetryableException);
+    assertEquals(503, ((FeignException) decoded).status());
+    assertNull(((RetryableException) decoded).retryAfter());
+  }
+
+  @Test
+  public void testDecode_RetryAfter_PassedOn() {
+    Exception seconds = decoder.decode(METHOD_KEY, response(503, Request.HttpMethod.GET, "2"));
+    Exception date =
+        decoder.decode(
+            METHOD_KEY, response(502, Request.HttpMethod.GET, "Tue, 14 Nov 2023 22:13:30 GMT"));
+    Exception invalid = decoder.decode(METHOD_KEY, response(504, Request.HttpMethod.GET, "soon"));
+
+    assertEquals(NOW + 2_000, ((RetryableException) seconds).retryAfter());
+    assertTrue(seconds.getCause() instanceof FeignException);
+    assertFalse(seconds.getCause() instanceof RetryableException);
+    assertEquals(NOW + 10_000, ((RetryableException) date).retryAfter());
+    assertTrue(invalid instanceof RetryableException);
+    assertNull(((RetryableException) invalid).retryAfter());
+  }
+
+  @Test
+  public void testDecode_ServiceUnavailableOnPost_NotRetryable() {
+    Exception decoded =
+        decoder.decode("ProductClient#postReview", response(503, Request.HttpMethod.POST));
+
+    assertTrue(decoded instanceof FeignException);
+    assertFalse(decoded instanceof RetryableException);
+  }
+
+  @Test
+  public void testDecode_InternalServerError_Default() {
+    Exception decoded = decoder.decode(METHOD_KEY, response(500, Request.HttpMethod.GET));
+
+    assertTrue(decoded instanceof FeignException);
+    assertFalse(decoded instanceof UpstreamStatusException);
+    assertFalse(decoded instanceof RetryableException);
+  }
+
+  static Response response(int status, Request.HttpMethod method) {
+    return response(status, method, null);
+  }
+
+  private static Response response(int status, Request.HttpMethod method, String retryAfter) {
+    Request request =
+        Request.create(
+            method,
+            "/products/1/average-rating",
+            Collections.emptyMap(),
+            null,
+            StandardCharsets.UTF_8,
+            new RequestTemplate());
+    return Response.builder()
+        .status(status)
+        .reason("status " + status)
+        .request(request)
+        .headers(
+            retryAfter == null
+                ? Collections.emptyMap()
+                : Map.of("Retry-After", List.of(retryAfter)))
+        .body("upstream error", StandardCharsets.UTF_8)
+        .build();
+  }
+}
@@ -0,0 +1,75 @@
+package com.reviewdashboard.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import feign.codec.ErrorDecoder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Micro-benchmark of the upstream {@code 401} error path.
+ *
+ * <p>Compares Feign's default decoder, which reads the body and captures a full stack trace, with
+ * {@link UpstreamErrorDecoder}. Each iteration decodes a 401 response and throws and catches the
+ * result from a stack of realistic depth, as happens when a Feign proxy is called from a Spring MVC
+ * controller. Throughput is logged; the test only asserts that both paths report the same status.
+ * Tagged {@code benchmark}, so it runs only with {@code -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class UpstreamErrorPathBenchmarkTest {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(UpstreamErrorPathBenchmarkTest.class);
+
+  private static final String METHOD_KEY = "ProductClient#getAverageRating(String,String)";
+  private static final int STACK_DEPTH = 120;
+  private static final int WARMUP = 20_000;
+  private static final int ITERATIONS = 100_000;
+
+  @Test
+  public void benchmarkUnauthorizedPath() {
+    ErrorDecoder before = new ErrorDecoder.Default();
+    ErrorDecoder after = new UpstreamErrorDecoder();
+
+    run(before, WARMUP);
+    run(after, WARMUP);
+    double beforeOps = run(before, ITERATIONS);
+    double afterOps = run(after, ITERATIONS);
+
+    logger.info(
+        "401 error path: default decoder {} ops/s, stackless decoder {} ops/s ({}x)",
+        String.format("%.0f", beforeOps),
+        String.format("%.0f", afterOps),
+        String.format("%.1f", afterOps / beforeOps));
+    assertEquals(401, statusAtDepth(before, STACK_DEPTH));
+    assertEquals(401, statusAtDepth(after, STACK_DEPTH));
+  }
+
+  private static double run(ErrorDecoder decoder, int iterations) {
+    long sink = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      sink += statusAtDepth(decoder, STACK_DEPTH);
+    }
+    long elapsed = System.nanoTime() - start;
+    assertEquals(401L * iterations, sink);
+    return iterations / (elapsed / 1e9);
+  }
+
+  private static int statusAtDepth(ErrorDecoder decoder, int depth) {
+    if (depth > 0) {
+      return statusAtDepth(decoder, depth - 1);
+    }
+    Response response = UpstreamErrorDecoderTest.response(401, Request.HttpMethod.GET);
+    try {
+      throw (FeignException) decoder.decode(METHOD_KEY, response);
+    } catch (FeignException e) {
+      return e.status();
+    }
+  }
+}
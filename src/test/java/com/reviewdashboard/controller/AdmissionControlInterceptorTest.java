@@ -0,0 +1,102 @@
+package com.reviewdashboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for {@link AdmissionControlInterceptor}.
+ *
+ * <ul>
+ *   <li>No {@code X-Request-Start} header → admitted
+ *   <li>Queue time under the route's threshold → admitted
+ *   <li>Queue time over a low-priority threshold → 503 and counted per route
+ *   <li>Same queue time on a high-priority route → admitted
+ *   <li>Header formats (seconds, ms, µs, ns, {@code t=} prefix, garbage) → parsed or ignored
+ * </ul>
+ */
+public class AdmissionControlInterceptorTest {
+
+  private static final long NOW = 1_700_000_000_000L;
+
+  private AdmissionControlInterceptor interceptor;
+
+  @BeforeEach
+  public void setUp() {
+    interceptor = new AdmissionControlInterceptor(2000, 1000, 500, () -> NOW);
+  }
+
+  @Test
+  public void testPreHandle_NoHeader_Admitted() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertTrue(interceptor.preHandle(request(null), response, handler("lowRoute")));
+    assertEquals(200, response.getStatus());
+  }
+
+  @Test
+  public void testPreHandle_UnderThreshold_Admitted() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertTrue(interceptor.preHandle(request("t=" + (NOW - 400)), response, handler("lowRoute")));
+  }
+
+  @Test
+  public void testPreHandle_LowPriorityOverThreshold_Shed() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertFalse(interceptor.preHandle(request("t=" + (NOW - 800)), response, handler("lowRoute")));
+    assertEquals(503, response.getStatus());
+    assertEquals("1", response.getHeader("Retry-After"));
+    assertEquals(Map.of("LOW POST /auth/users", 1L), interceptor.shedCounts());
+  }
+
+  @Test
+  public void testPreHandle_HighPriorityOverLowThreshold_Admitted() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertTrue(interceptor.preHandle(request("t=" + (NOW - 800)), response, handler("highRoute")));
+    assertTrue(interceptor.shedCounts().isEmpty());
+  }
+
+  @Test
+  public void testParseRequestStart_Formats() {
+    assertEquals(NOW, AdmissionControlInterceptor.parseRequestStart("t=1700000000.000"));
+    assertEquals(NOW, AdmissionControlInterceptor.parseRequestStart("1700000000000"));
+    assertEquals(NOW, AdmissionControlInterceptor.parseRequestStart("t=1700000000000000"));
+    assertEquals(NOW, AdmissionControlInterceptor.parseRequestStart("1700000000000000000"));
+    assertEquals(NOW, AdmissionControlInterceptor.parseRequestStart("1700000000"));
+    assertEquals(-1L, AdmissionControlInterceptor.parseRequestStart("yesterday"));
+    assertEquals(-1L, AdmissionControlInterceptor.parseRequestStart(null));
+  }
+
+  private static MockHttpServletRequest request(String requestStart) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/users");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/auth/users");
+    if (requestStart != null) {
+      request.addHeader(AdmissionControlInterceptor.REQUEST_START_HEADER, requestStart);
+    }
+    return request;
+  }
+
+  private static HandlerMethod handler(String methodName) throws NoSuchMethodException {
+    return new HandlerMethod(new Routes(), Routes.class.getDeclaredMethod(methodName));
+  }
+
+  /** Stand-in controller with one route per priority. */
+  static class Routes {
+    @AdmissionPriority(RequestPriority.HIGH)
+    void highRoute() {}
+
+    @AdmissionPriority(RequestPriority.LOW)
+    void lowRoute() {}
+  }
+}
@@ -1,16 +1,20 @@
 package com.reviewdashboard.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
+import com.reviewdashboard.model.BulkCreateUsersRequest;
 import com.reviewdashboard.model.CreateUserRequest;
+import com.reviewdashboard.model.UserProvisioningResult;
 import com.reviewdashboard.service.AuthService;
 import feign.FeignException;
 import feign.Request;
 import feign.RequestTemplate;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -113,6 +117,46 @@ public class AuthControllerTest {
     assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
   }
 
+  @Test
+  public void testCreateUsers_ReturnsResults() throws Exception {
+    List<UserProvisioningResult> results =
+        List.of(
+            new UserProvisioningResult("a", UserProvisioningResult.CREATED, "User created"),
+            new UserProvisioningResult(
+                "b",
+                UserProvisioningResult.CONFLICT,
+                "This user ID is already taken. Please choose another."));
+    when(authService.createUsers(List.of("a", "b", "a"))).thenReturn(results);
+
+    ResponseEntity<?> response =
+        controller.createUsers(new BulkCreateUsersRequest(List.of("a", "b", "a")));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(results, response.getBody());
+  }
+
+  @Test
+  public void testCreateUsers_MissingUserIds() {
+    ResponseEntity<?> response = controller.createUsers(new BulkCreateUsersRequest(List.of()));
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals("Please provide a non-empty list of userIds", response.getBody());
+
+    assertEquals(HttpStatus.BAD_REQUEST, controller.createUsers(null).getStatusCode());
+  }
+
+  @Test
+  public void testCreateUsers_TooMany() throws Exception {
+    when(authService.createUsers(anyList()))
+        .thenThrow(
+            new IllegalArgumentException("At most 2 distinct user IDs can be created at once"));
+
+    ResponseEntity<?> response =
+        controller.createUsers(new BulkCreateUsersRequest(List.of("a", "b", "c")));
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals("At most 2 distinct user IDs can be created at once", response.getBody());
+  }
+
   private FeignException buildFeignException(int status, String message) {
     Request request =
         Request.create(
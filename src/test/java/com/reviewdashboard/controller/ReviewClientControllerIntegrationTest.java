@@ -13,7 +13,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reviewdashboard.model.ReviewDto;
 import com.reviewdashboard.model.UserDto;
 import com.reviewdashboard.service.CompanyService;
+import com.reviewdashboard.service.DuplicateReviewDetector;
+import com.reviewdashboard.service.ReviewOutbox;
 import com.reviewdashboard.service.ReviewService;
+import com.reviewdashboard.service.WriteBehindReviewQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +40,11 @@ public class ReviewClientControllerIntegrationTest {
 
   @MockBean private CompanyService companyService;
 
+  @MockBean private WriteBehindReviewQueue writeBehindQueue;
+
+  @MockBean private ReviewOutbox outbox;
+  @MockBean private DuplicateReviewDetector duplicateDetector;
+
   private ObjectMapper objectMapper;
   private ReviewDto review;
 
@@ -13,7 +13,10 @@ import ch.qos.logback.core.read.ListAppender;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reviewdashboard.model.ReviewDto;
 import com.reviewdashboard.service.CompanyService;
+import com.reviewdashboard.service.DuplicateReviewDetector;
+import com.reviewdashboard.service.ReviewOutbox;
 import com.reviewdashboard.service.ReviewService;
+import com.reviewdashboard.service.WriteBehindReviewQueue;
 import feign.FeignException;
 import feign.Request;
 import feign.RequestTemplate;
@@ -45,6 +48,9 @@ class ReviewClientControllerLoggerTest {
 
   @MockBean private ReviewService reviewService;
   @MockBean private CompanyService companyService;
+  @MockBean private WriteBehindReviewQueue writeBehindQueue;
+  @MockBean private ReviewOutbox outbox;
+  @MockBean private DuplicateReviewDetector duplicateDetector;
 
   private Logger controllerLogger;
   private ListAppender<ILoggingEvent> listAppender;
@@ -91,7 +97,6 @@ class ReviewClientControllerLoggerTest {
   void addReview_invalidRating_withLoggingOff() throws Exception {
     controllerLogger.setLevel(Level.OFF);
     ReviewDto review = createInvalidRatingReview();
-    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1"))).thenReturn(review);
 
     mockMvc
         .perform(
@@ -99,7 +104,7 @@ class ReviewClientControllerLoggerTest {
                 .header("X-User-Id", "U1")
                 .contentType("application/json")
                 .content(objectMapper.writeValueAsString(review)))
-        .andExpect(status().isCreated());
+        .andExpect(status().isBadRequest());
 
     assertNoLogsAtLevel(Level.WARN);
   }
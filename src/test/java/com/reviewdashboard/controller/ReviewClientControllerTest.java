@@ -5,13 +5,24 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reviewdashboard.client.UpstreamRejectedException;
+import com.reviewdashboard.client.UpstreamStatusException;
 import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.ReviewSubmissionStatus;
+import com.reviewdashboard.model.SentimentScore;
+import com.reviewdashboard.model.UserDto;
 import com.reviewdashboard.service.CompanyService;
+import com.reviewdashboard.service.DuplicateReviewDetector;
+import com.reviewdashboard.service.ProductRatingAggregates;
+import com.reviewdashboard.service.ReviewOutbox;
 import com.reviewdashboard.service.ReviewService;
+import com.reviewdashboard.service.ReviewValidator;
+import com.reviewdashboard.service.WriteBehindReviewQueue;
 import feign.FeignException;
 import feign.Request;
 import java.nio.charset.StandardCharsets;
@@ -33,6 +44,9 @@ class ReviewClientControllerTest {
 
   @MockBean private ReviewService reviewService;
   @MockBean private CompanyService companyService;
+  @MockBean private WriteBehindReviewQueue writeBehindQueue;
+  @MockBean private ReviewOutbox outbox;
+  @MockBean private DuplicateReviewDetector duplicateDetector;
 
   private ReviewDto validReview;
 
@@ -121,25 +135,41 @@ class ReviewClientControllerTest {
     review.setRating(6);
     review.setComment("Invalid rating high test");
 
-    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1")))
-        .thenThrow(new IllegalArgumentException("Invalid rating"));
-
     mockMvc
         .perform(
             post("/review/product/123")
                 .header("X-User-Id", "U1")
                 .contentType("application/json")
                 .content(objectMapper.writeValueAsString(review)))
-        .andExpect(status().isBadRequest());
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Rating must be between 0 and 5"));
+
+    Mockito.verify(reviewService, Mockito.never()).addReview(any(), any(), any());
   }
 
   @Test
-  void addReview_nullComment() throws Exception {
+  void addReview_nullComment_returns400() throws Exception {
     ReviewDto review = new ReviewDto();
     review.setRating(3);
     review.setComment(null);
 
-    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1"))).thenReturn(review);
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(review)))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Comment must not be blank"));
+
+    Mockito.verify(reviewService, Mockito.never()).addReview(any(), any(), any());
+  }
+
+  @Test
+  void addReview_commentTooLong_returns400() throws Exception {
+    ReviewDto review = new ReviewDto();
+    review.setRating(3);
+    review.setComment("a".repeat(ReviewValidator.MAX_COMMENT_LENGTH + 1));
 
     mockMvc
         .perform(
@@ -147,8 +177,29 @@ class ReviewClientControllerTest {
                 .header("X-User-Id", "U1")
                 .contentType("application/json")
                 .content(objectMapper.writeValueAsString(review)))
-        .andExpect(status().isCreated())
-        .andExpect(jsonPath("$.rating").value(3));
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Comment must be at most 5000 characters"));
+
+    Mockito.verify(reviewService, Mockito.never()).addReview(any(), any(), any());
+  }
+
+  @Test
+  void addReview_blankUser_returns400() throws Exception {
+    ReviewDto review = new ReviewDto();
+    review.setRating(3);
+    review.setComment("Anonymous user");
+    review.setUser(new UserDto());
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(review)))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Review user must have an id or username"));
+
+    Mockito.verify(reviewService, Mockito.never()).addReview(any(), any(), any());
   }
 
   @Test
@@ -165,6 +216,209 @@ class ReviewClientControllerTest {
         .andExpect(status().isInternalServerError());
   }
 
+  @Test
+  void addReview_withIdempotencyKey_delegatesKeyedSubmission() throws Exception {
+    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1"), eq("key-1")))
+        .thenReturn(validReview);
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .header("Idempotency-Key", "key-1")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(validReview)))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.rating").value(4));
+  }
+
+  @Test
+  void addReview_preferAsync_returns202WithTrackingId() throws Exception {
+    Mockito.when(writeBehindQueue.isEnabled()).thenReturn(true);
+    Mockito.when(writeBehindQueue.submit(eq("123"), any(), eq("U1"), any()))
+        .thenReturn(new ReviewSubmissionStatus("T1", ReviewSubmissionStatus.PENDING, "123"));
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .header("Prefer", "respond-async, wait=5")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(validReview)))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/review/submissions/T1"))
+        .andExpect(jsonPath("$.trackingId").value("T1"))
+        .andExpect(jsonPath("$.status").value("PENDING"));
+
+    Mockito.verify(reviewService, Mockito.never()).addReview(any(), any(), any());
+  }
+
+  @Test
+  void addReview_preferAsync_queueFull_returns429() throws Exception {
+    Mockito.when(writeBehindQueue.isEnabled()).thenReturn(true);
+    Mockito.when(writeBehindQueue.submit(eq("123"), any(), eq("U1"), any())).thenReturn(null);
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .header("Prefer", "respond-async")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(validReview)))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "1"));
+  }
+
+  @Test
+  void addReview_preferAsync_disabled_submitsSynchronously() throws Exception {
+    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1"))).thenReturn(validReview);
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .header("Prefer", "respond-async")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(validReview)))
+        .andExpect(status().isCreated());
+
+    Mockito.verify(writeBehindQueue, Mockito.never()).submit(any(), any(), any(), any());
+  }
+
+  @Test
+  void addReview_upstreamUnavailable_withOutbox_returns202Deferred() throws Exception {
+    Mockito.when(outbox.isEnabled()).thenReturn(true);
+    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1")))
+        .thenThrow(new UpstreamRejectedException("Upstream queue is full, please retry later"));
+    Mockito.when(outbox.store(eq("123"), any(), eq("U1"), any())).thenReturn("O1");
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(validReview)))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.trackingId").value("O1"))
+        .andExpect(jsonPath("$.status").value("DEFERRED"));
+  }
+
+  @Test
+  void addReview_upstreamUnavailable_withoutOutbox_returns503() throws Exception {
+    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1")))
+        .thenThrow(new UpstreamRejectedException("Upstream queue is full, please retry later"));
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(validReview)))
+        .andExpect(status().isServiceUnavailable());
+
+    Mockito.verify(outbox, Mockito.never()).store(any(), any(), any(), any());
+  }
+
+  @Test
+  void addReview_nearDuplicate_rejected_returns409() throws Exception {
+    Mockito.when(duplicateDetector.isNearDuplicate(eq("123"), any())).thenReturn(true);
+    Mockito.when(duplicateDetector.rejects()).thenReturn(true);
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(validReview)))
+        .andExpect(status().isConflict())
+        .andExpect(
+            content().string("This review nearly duplicates a recent review of this product"));
+
+    Mockito.verify(reviewService, Mockito.never()).addReview(any(), any(), any());
+  }
+
+  @Test
+  void addReview_nearDuplicate_flagged_returns201WithHeader() throws Exception {
+    Mockito.when(duplicateDetector.isNearDuplicate(eq("123"), any())).thenReturn(true);
+    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1"))).thenReturn(validReview);
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(validReview)))
+        .andExpect(status().isCreated())
+        .andExpect(header().string("X-Near-Duplicate", "true"));
+  }
+
+  @Test
+  void addReview_sameIdempotencyKeyTwice_rejectMode_replays201() throws Exception {
+    // The first attempt feeds the detector, so only the known key keeps the retry from matching it.
+    Mockito.when(duplicateDetector.isNearDuplicate(eq("123"), any())).thenReturn(false, true);
+    Mockito.when(duplicateDetector.rejects()).thenReturn(true);
+    Mockito.when(reviewService.isKnownSubmission("123", "U1", "key-1")).thenReturn(false, true);
+    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1"), eq("key-1")))
+        .thenReturn(validReview);
+
+    for (int attempt = 0; attempt < 2; attempt++) {
+      mockMvc
+          .perform(
+              post("/review/product/123")
+                  .header("X-User-Id", "U1")
+                  .header("Idempotency-Key", "key-1")
+                  .contentType("application/json")
+                  .content(objectMapper.writeValueAsString(validReview)))
+          .andExpect(status().isCreated())
+          .andExpect(header().doesNotExist("X-Near-Duplicate"))
+          .andExpect(jsonPath("$.rating").value(4));
+    }
+
+    Mockito.verify(duplicateDetector, Mockito.times(1)).isNearDuplicate(eq("123"), any());
+  }
+
+  @Test
+  void addReview_success_includesSentiment() throws Exception {
+    ReviewDto created = new ReviewDto();
+    created.setId("r1");
+    created.setComment(validReview.getComment());
+    created.setRating(validReview.getRating());
+    created.setSentiment(new SentimentScore(0.72, SentimentScore.POSITIVE, 2));
+    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1"))).thenReturn(created);
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(validReview)))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.id").value("r1"))
+        .andExpect(jsonPath("$.sentiment.label").value("POSITIVE"))
+        .andExpect(jsonPath("$.sentiment.score").value(0.72));
+  }
+
+  @Test
+  void getSubmissionStatus_success() throws Exception {
+    ReviewSubmissionStatus submitted =
+        new ReviewSubmissionStatus("T1", ReviewSubmissionStatus.SUBMITTED, "123");
+    submitted.setReview(validReview);
+    Mockito.when(writeBehindQueue.status("T1", "U1")).thenReturn(submitted);
+
+    mockMvc
+        .perform(get("/review/submissions/T1").header("X-User-Id", "U1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("SUBMITTED"))
+        .andExpect(jsonPath("$.review.rating").value(4));
+  }
+
+  @Test
+  void getSubmissionStatus_unknown_returns404() throws Exception {
+    mockMvc
+        .perform(get("/review/submissions/T1").header("X-User-Id", "U1"))
+        .andExpect(status().isNotFound());
+  }
+
   @Test
   void missingUserIdHeader_returns400() throws Exception {
     mockMvc
@@ -186,7 +440,27 @@ class ReviewClientControllerTest {
     mockMvc
         .perform(get("/review/product/123/average-rating").header("X-User-Id", "U1"))
         .andExpect(status().isOk())
-        .andExpect(content().string("4.5"));
+        .andExpect(content().string("4.5"))
+        .andExpect(header().doesNotExist(ProductRatingAggregates.LOCAL_REVIEW_COUNT_HEADER));
+  }
+
+  @Test
+  void getProductAverageRating_localReviewsReported() throws Exception {
+    Mockito.when(reviewService.getAverageRating("123", "U1"))
+        .thenReturn(
+            ResponseEntity.ok()
+                .header(ProductRatingAggregates.LOCAL_REVIEW_COUNT_HEADER, "2")
+                .header(ProductRatingAggregates.LOCAL_AVERAGE_HEADER, "1.5")
+                .header("X-Upstream-Only", "x")
+                .body(4.5));
+
+    mockMvc
+        .perform(get("/review/product/123/average-rating").header("X-User-Id", "U1"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("4.5"))
+        .andExpect(header().string(ProductRatingAggregates.LOCAL_REVIEW_COUNT_HEADER, "2"))
+        .andExpect(header().string(ProductRatingAggregates.LOCAL_AVERAGE_HEADER, "1.5"))
+        .andExpect(header().doesNotExist("X-Upstream-Only"));
   }
 
   @Test
@@ -305,22 +579,21 @@ class ReviewClientControllerTest {
   }
 
   @Test
-  void addReview_emptyComment_success() throws Exception {
+  void addReview_emptyComment_returns400() throws Exception {
     ReviewDto review = new ReviewDto();
     review.setRating(3);
     review.setComment("");
 
-    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1"))).thenReturn(review);
-
     mockMvc
         .perform(
             post("/review/product/123")
                 .header("X-User-Id", "U1")
                 .contentType("application/json")
                 .content(objectMapper.writeValueAsString(review)))
-        .andExpect(status().isCreated())
-        .andExpect(jsonPath("$.rating").value(3))
-        .andExpect(jsonPath("$.comment").value(""));
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Comment must not be blank"));
+
+    Mockito.verify(reviewService, Mockito.never()).addReview(any(), any(), any());
   }
 
   @Test
@@ -367,4 +640,47 @@ class ReviewClientControllerTest {
         .perform(get("/review/company/C1/average-rating").header("X-User-Id", "U1"))
         .andExpect(status().isInternalServerError());
   }
+
+  // Stackless upstream errors decoded by UpstreamErrorDecoder
+  @Test
+  void getProductAverageRating_stacklessUnauthorized_returns401() throws Exception {
+    UpstreamStatusException ex =
+        new UpstreamStatusException(
+            401,
+            "[401 Unauthorized] during [ProductClient#getAverageRating(String,String)]",
+            Request.create(
+                Request.HttpMethod.GET, "", Collections.emptyMap(), null, StandardCharsets.UTF_8));
+
+    Mockito.when(reviewService.getAverageRating("123", "U1")).thenThrow(ex);
+
+    mockMvc
+        .perform(get("/review/product/123/average-rating").header("X-User-Id", "U1"))
+        .andExpect(status().isUnauthorized())
+        .andExpect(content().string("Your user ID does not exist. Please create a new user."));
+  }
+
+  @Test
+  void getCompanyAverageRating_upstreamRejected_returns503() throws Exception {
+    Mockito.when(companyService.getAverageRating("C1", "U1"))
+        .thenThrow(new UpstreamRejectedException("Upstream queue is full, please retry later"));
+
+    mockMvc
+        .perform(get("/review/company/C1/average-rating").header("X-User-Id", "U1"))
+        .andExpect(status().isServiceUnavailable());
+  }
+
+  @Test
+  void addReview_runtimeException_usesFailureMessage() throws Exception {
+    Mockito.when(reviewService.addReview(eq("123"), any(), eq("U1")))
+        .thenThrow(new RuntimeException("Service down"));
+
+    mockMvc
+        .perform(
+            post("/review/product/123")
+                .header("X-User-Id", "U1")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(validReview)))
+        .andExpect(status().isInternalServerError())
+        .andExpect(content().string("Failed to create review: Service down"));
+  }
 }
@@ -0,0 +1,110 @@
+package com.reviewdashboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.reviewdashboard.service.ReviewExporter;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ReviewExportController.class)
+class ReviewExportControllerTest {
+
+  private static final String CSV = "productId,count,average,min,max\np1,2,4.5,4.0,5.0\n";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private ReviewExporter exporter;
+
+  @Test
+  void exportReviews_invalidRequest_returns400() throws Exception {
+    mockMvc
+        .perform(get("/review/export"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Please provide a userID in a header"));
+    mockMvc
+        .perform(get("/review/export").param("dataset", "users").header("X-User-Id", "U1"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("dataset must be reviews, products or companies"));
+    mockMvc
+        .perform(get("/review/export").param("format", "xml").header("X-User-Id", "U1"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("format must be csv or columnar"));
+
+    Mockito.verifyNoInteractions(exporter);
+  }
+
+  @Test
+  void exportReviews_streamsCsv() throws Exception {
+    stubExport();
+
+    mockMvc
+        .perform(get("/review/export").param("dataset", "products").header("X-User-Id", "U1"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/csv"))
+        .andExpect(header().string("Content-Disposition", "attachment; filename=\"products.csv\""))
+        .andExpect(header().doesNotExist("Content-Encoding"))
+        .andExpect(content().string(CSV));
+  }
+
+  @Test
+  void exportReviews_gzip() throws Exception {
+    stubExport();
+
+    byte[] body =
+        mockMvc
+            .perform(
+                get("/review/export")
+                    .param("dataset", "products")
+                    .header("X-User-Id", "U1")
+                    .header("Accept-Encoding", "br, gzip;q=0.8"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      assertEquals(CSV, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void acceptsGzip() {
+    assertTrue(ReviewExportController.acceptsGzip("gzip, deflate"));
+    assertTrue(ReviewExportController.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+    assertFalse(ReviewExportController.acceptsGzip("gzip;q=0"));
+    assertFalse(ReviewExportController.acceptsGzip("identity"));
+    assertFalse(ReviewExportController.acceptsGzip(null));
+  }
+
+  private void stubExport() throws Exception {
+    Mockito.when(
+            exporter.export(
+                eq(ReviewExporter.Dataset.PRODUCTS),
+                eq(ReviewExporter.Format.CSV),
+                any(OutputStream.class)))
+        .thenAnswer(
+            invocation -> {
+              invocation
+                  .getArgument(2, OutputStream.class)
+                  .write(CSV.getBytes(StandardCharsets.UTF_8));
+              return 1L;
+            });
+  }
+}
@@ -0,0 +1,80 @@
+package com.reviewdashboard.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.reviewdashboard.service.ReviewImportService;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ReviewImportController.class)
+class ReviewImportControllerTest {
+
+  private static final String BODY =
+      "{\"productId\":\"123\",\"review\":{\"rating\":5,\"comment\":\"Great\"}}\n";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private ReviewImportService importService;
+
+  @Test
+  void importReviews_missingUserId_returns400() throws Exception {
+    mockMvc
+        .perform(post("/review/import").contentType("application/x-ndjson").content(BODY))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Please provide a userID in a header"));
+
+    Mockito.verifyNoInteractions(importService);
+  }
+
+  @Test
+  void importReviews_streamsResults() throws Exception {
+    String result =
+        "{\"line\":1,\"status\":\"CREATED\",\"productId\":\"123\",\"reviewId\":\"r1\"}\n";
+    Mockito.when(importService.importReviews(any(InputStream.class), eq("U1"), any()))
+        .thenAnswer(
+            invocation -> {
+              String received =
+                  new String(
+                      invocation.getArgument(0, InputStream.class).readAllBytes(),
+                      StandardCharsets.UTF_8);
+              if (received.equals(BODY)) {
+                invocation
+                    .getArgument(2, OutputStream.class)
+                    .write(result.getBytes(StandardCharsets.UTF_8));
+              }
+              return 1L;
+            });
+
+    mockMvc
+        .perform(
+            post("/review/import")
+                .header("X-User-Id", "U1")
+                .contentType("application/x-ndjson")
+                .content(BODY))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+        .andExpect(content().string(result));
+  }
+
+  @Test
+  void importReviews_wrongContentType_returns415() throws Exception {
+    mockMvc
+        .perform(
+            post("/review/import")
+                .header("X-User-Id", "U1")
+                .contentType("application/json")
+                .content(BODY))
+        .andExpect(status().isUnsupportedMediaType());
+  }
+}
@@ -0,0 +1,102 @@
+package com.reviewdashboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reviewdashboard.model.ReviewPage;
+import com.reviewdashboard.model.StoredReview;
+import com.reviewdashboard.service.ReviewColumnStore;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/** Unit tests for {@link ReviewListingController}. */
+@ExtendWith(MockitoExtension.class)
+public class ReviewListingControllerTest {
+
+  @Mock private ReviewColumnStore reviewStore;
+
+  private ReviewListingController controller;
+
+  @BeforeEach
+  public void setUp() {
+    controller = new ReviewListingController(reviewStore);
+  }
+
+  @Test
+  public void testGetProductReviews_Success() {
+    ReviewPage page =
+        new ReviewPage(List.of(new StoredReview("P1", "U2", 4.5, "Solid", 1_000)), "AAAAAAAAAAE");
+    when(reviewStore.productReviews("P1", null, 4.0, null, 50)).thenReturn(page);
+
+    ResponseEntity<?> response = controller.getProductReviews("P1", null, 50, 4.0, null, "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(page, response.getBody());
+  }
+
+  @Test
+  public void testGetProductReviews_NotFound() {
+    when(reviewStore.productReviews("P9", null, null, null, 50)).thenReturn(null);
+
+    ResponseEntity<?> response = controller.getProductReviews("P9", null, 50, null, null, "U1");
+
+    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    assertEquals("No reviews found for productId: P9", response.getBody());
+  }
+
+  @Test
+  public void testGetProductReviews_InvalidCursor() {
+    when(reviewStore.productReviews("P1", "junk", null, null, 50))
+        .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+    ResponseEntity<?> response = controller.getProductReviews("P1", "junk", 50, null, null, "U1");
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals("Invalid cursor", response.getBody());
+  }
+
+  @Test
+  public void testGetProductReviews_InvalidRequest() {
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.getProductReviews("P1", null, 50, null, null, null).getStatusCode());
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.getProductReviews("P1", null, 101, null, null, "U1").getStatusCode());
+    verifyNoInteractions(reviewStore);
+  }
+
+  @Test
+  public void testGetReviewHistory_Success() {
+    ReviewPage page = new ReviewPage(List.of(new StoredReview("P1", "U1", 2, "Meh", 1_000)), null);
+    when(reviewStore.userReviews("U1", null, null, null, 20)).thenReturn(page);
+
+    ResponseEntity<?> response = controller.getReviewHistory(null, 20, null, null, "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(page, response.getBody());
+  }
+
+  @Test
+  public void testGetReviewHistory_InvalidRequest() {
+    when(reviewStore.userReviews("U1", "junk", null, null, 50))
+        .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.getReviewHistory("junk", 50, null, null, "U1").getStatusCode());
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.getReviewHistory(null, 50, null, null, " ").getStatusCode());
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.getReviewHistory(null, 101, null, null, "U1").getStatusCode());
+  }
+}
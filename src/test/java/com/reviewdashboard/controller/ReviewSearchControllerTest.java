@@ -0,0 +1,66 @@
+package com.reviewdashboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reviewdashboard.model.ReviewSearchHit;
+import com.reviewdashboard.model.ReviewSearchResult;
+import com.reviewdashboard.service.ReviewSearchIndex;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/** Unit tests for {@link ReviewSearchController}. */
+@ExtendWith(MockitoExtension.class)
+public class ReviewSearchControllerTest {
+
+  @Mock private ReviewSearchIndex searchIndex;
+
+  private ReviewSearchController controller;
+
+  @BeforeEach
+  public void setUp() {
+    controller = new ReviewSearchController(searchIndex);
+  }
+
+  @Test
+  public void testSearchReviews_Success() {
+    ReviewSearchResult result =
+        new ReviewSearchResult(
+            1, 0, 20, List.of(new ReviewSearchHit("P1", "U2", 1, "Broken", 1_000, 0.8)));
+    when(searchIndex.search("broken", "P1", 0, 20)).thenReturn(result);
+
+    ResponseEntity<?> response = controller.searchReviews("broken", "P1", 0, 20, "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(result, response.getBody());
+  }
+
+  @Test
+  public void testSearchReviews_RejectedQuery() {
+    when(searchIndex.search("!!", null, 0, 20))
+        .thenThrow(new IllegalArgumentException("Please provide at least one word to search for"));
+
+    ResponseEntity<?> response = controller.searchReviews("!!", null, 0, 20, "U1");
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals("Please provide at least one word to search for", response.getBody());
+  }
+
+  @Test
+  public void testSearchReviews_InvalidRequest() {
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.searchReviews("broken", null, 0, 20, null).getStatusCode());
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.searchReviews("broken", null, 0, 101, "U1").getStatusCode());
+    verifyNoInteractions(searchIndex);
+  }
+}
@@ -0,0 +1,203 @@
+package com.reviewdashboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reviewdashboard.model.DistinctCount;
+import com.reviewdashboard.model.LeaderboardEntry;
+import com.reviewdashboard.model.RatingDistribution;
+import com.reviewdashboard.model.RatingTrend;
+import com.reviewdashboard.model.RatingWindow;
+import com.reviewdashboard.model.TrendingProduct;
+import com.reviewdashboard.service.DistinctReviewers;
+import com.reviewdashboard.service.RatingDistributions;
+import com.reviewdashboard.service.RatingLeaderboard;
+import com.reviewdashboard.service.RatingTrends;
+import com.reviewdashboard.service.TrendingProducts;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/** Unit tests for {@link ReviewStatisticsController}. */
+@ExtendWith(MockitoExtension.class)
+public class ReviewStatisticsControllerTest {
+
+  @Mock private RatingTrends ratingTrends;
+  @Mock private RatingLeaderboard leaderboard;
+  @Mock private TrendingProducts trendingProducts;
+  @Mock private DistinctReviewers distinctReviewers;
+  @Mock private RatingDistributions ratingDistributions;
+
+  private ReviewStatisticsController controller;
+
+  @BeforeEach
+  public void setUp() {
+    controller =
+        new ReviewStatisticsController(
+            ratingTrends, leaderboard, trendingProducts, distinctReviewers, ratingDistributions);
+  }
+
+  @Test
+  public void testGetProductTrend_Success() {
+    RatingTrend trend =
+        new RatingTrend(
+            new RatingWindow(1, 4.0), new RatingWindow(3, 3.5), new RatingWindow(10, 3.2));
+    when(ratingTrends.productTrend("P1")).thenReturn(trend);
+
+    ResponseEntity<?> response = controller.getProductTrend("P1", "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(trend, response.getBody());
+  }
+
+  @Test
+  public void testGetProductTrend_NoRecentReviews() {
+    ResponseEntity<?> response = controller.getProductTrend("P1", "U1");
+
+    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    assertEquals("No recent reviews found for productId: P1", response.getBody());
+  }
+
+  @Test
+  public void testGetCompanyTrend_Success() {
+    RatingTrend trend =
+        new RatingTrend(
+            new RatingWindow(0, null), new RatingWindow(2, 4.5), new RatingWindow(2, 4.5));
+    when(ratingTrends.companyTrend("C1")).thenReturn(trend);
+
+    ResponseEntity<?> response = controller.getCompanyTrend("C1", "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(trend, response.getBody());
+  }
+
+  @Test
+  public void testGetTrend_MissingUserId() {
+    assertEquals(HttpStatus.BAD_REQUEST, controller.getProductTrend("P1", " ").getStatusCode());
+    assertEquals(HttpStatus.BAD_REQUEST, controller.getCompanyTrend("C1", null).getStatusCode());
+    verifyNoInteractions(ratingTrends);
+  }
+
+  @Test
+  public void testGetLeaderboard_Top() {
+    List<LeaderboardEntry> entries = List.of(new LeaderboardEntry("P1", 4.8, 120));
+    when(leaderboard.top(RatingLeaderboard.Scope.PRODUCT, 5)).thenReturn(entries);
+
+    ResponseEntity<?> response = controller.getLeaderboard("product", "top", 5, "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(entries, response.getBody());
+  }
+
+  @Test
+  public void testGetLeaderboard_BottomCompanies() {
+    List<LeaderboardEntry> entries = List.of(new LeaderboardEntry("C1", 1.2, 40));
+    when(leaderboard.bottom(RatingLeaderboard.Scope.COMPANY, 10)).thenReturn(entries);
+
+    ResponseEntity<?> response = controller.getLeaderboard("COMPANY", "bottom", 10, "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(entries, response.getBody());
+  }
+
+  @Test
+  public void testGetLeaderboard_InvalidParameters() {
+    assertEquals(
+        HttpStatus.BAD_REQUEST, controller.getLeaderboard("user", "top", 5, "U1").getStatusCode());
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.getLeaderboard("product", "middle", 5, "U1").getStatusCode());
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.getLeaderboard("product", "top", 0, "U1").getStatusCode());
+    assertEquals(
+        HttpStatus.BAD_REQUEST, controller.getLeaderboard("product", "top", 5, "").getStatusCode());
+    verifyNoInteractions(leaderboard);
+  }
+
+  @Test
+  public void testGetTrendingProducts_Success() {
+    List<TrendingProduct> trending = List.of(new TrendingProduct("P1", 42.5, 1.3));
+    when(trendingProducts.top(10)).thenReturn(trending);
+
+    ResponseEntity<?> response = controller.getTrendingProducts(10, "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(trending, response.getBody());
+  }
+
+  @Test
+  public void testGetTrendingProducts_InvalidParameters() {
+    assertEquals(HttpStatus.BAD_REQUEST, controller.getTrendingProducts(0, "U1").getStatusCode());
+    assertEquals(HttpStatus.BAD_REQUEST, controller.getTrendingProducts(5, null).getStatusCode());
+    verifyNoInteractions(trendingProducts);
+  }
+
+  @Test
+  public void testGetProductReviewers_Success() {
+    DistinctCount reviewers = new DistinctCount(1200, 39.0);
+    when(distinctReviewers.productReviewers("P1")).thenReturn(reviewers);
+
+    ResponseEntity<?> response = controller.getProductReviewers("P1", "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(reviewers, response.getBody());
+  }
+
+  @Test
+  public void testGetCompanyReviewers_NotFound() {
+    ResponseEntity<?> response = controller.getCompanyReviewers("C1", "U1");
+
+    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    assertEquals("No reviewers found for companyId: C1", response.getBody());
+  }
+
+  @Test
+  public void testGetReviewers_MissingUserId() {
+    assertEquals(
+        HttpStatus.BAD_REQUEST, controller.getProductReviewers("P1", null).getStatusCode());
+    assertEquals(HttpStatus.BAD_REQUEST, controller.getCompanyReviewers("C1", "").getStatusCode());
+    verifyNoInteractions(distinctReviewers);
+  }
+
+  @Test
+  public void testGetProductDistribution_Success() {
+    RatingDistribution distribution =
+        new RatingDistribution(3, new long[] {0, 1, 0, 0, 1, 1}, Map.of("0.5", 4.0));
+    when(ratingDistributions.distribution("P1", List.of(0.5))).thenReturn(distribution);
+
+    ResponseEntity<?> response = controller.getProductDistribution("P1", " 0.5", "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(distribution, response.getBody());
+  }
+
+  @Test
+  public void testGetProductDistribution_NotFound() {
+    ResponseEntity<?> response = controller.getProductDistribution("P1", "0.25,0.5", "U1");
+
+    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    assertEquals("No reviews found for productId: P1", response.getBody());
+  }
+
+  @Test
+  public void testGetProductDistribution_InvalidParameters() {
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.getProductDistribution("P1", "0.5,1.5", "U1").getStatusCode());
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.getProductDistribution("P1", "median", "U1").getStatusCode());
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        controller.getProductDistribution("P1", "0.5", null).getStatusCode());
+    verifyNoInteractions(ratingDistributions);
+  }
+}
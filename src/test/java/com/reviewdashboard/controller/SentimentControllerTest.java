@@ -0,0 +1,78 @@
+package com.reviewdashboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reviewdashboard.model.SentimentBatchRequest;
+import com.reviewdashboard.model.SentimentScore;
+import com.reviewdashboard.service.SentimentScorer;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/** Unit tests for {@link SentimentController}. */
+@ExtendWith(MockitoExtension.class)
+public class SentimentControllerTest {
+
+  @Mock private SentimentScorer sentimentScorer;
+
+  private SentimentController controller;
+
+  @BeforeEach
+  public void setUp() {
+    controller = new SentimentController(sentimentScorer);
+  }
+
+  @Test
+  public void testScoreComments_Success() {
+    List<SentimentScore> scores =
+        List.of(
+            new SentimentScore(0.6, SentimentScore.POSITIVE, 1),
+            new SentimentScore(-0.5, SentimentScore.NEGATIVE, 1));
+    when(sentimentScorer.scoreAll(List.of("Great", "Broken"))).thenReturn(scores);
+
+    ResponseEntity<?> response =
+        controller.scoreComments(new SentimentBatchRequest(List.of("Great", "Broken")), "U1");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(scores, response.getBody());
+  }
+
+  @Test
+  public void testScoreComments_MissingUserId() {
+    ResponseEntity<?> response =
+        controller.scoreComments(new SentimentBatchRequest(List.of("Great")), " ");
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals("Please provide a userID in a header", response.getBody());
+    verifyNoInteractions(sentimentScorer);
+  }
+
+  @Test
+  public void testScoreComments_EmptyList() {
+    ResponseEntity<?> response =
+        controller.scoreComments(new SentimentBatchRequest(List.of()), "U1");
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals("Please provide a non-empty list of comments", response.getBody());
+  }
+
+  @Test
+  public void testScoreComments_TooMany() {
+    when(sentimentScorer.scoreAll(anyList()))
+        .thenThrow(new IllegalArgumentException("Please provide at most 1 comments per request"));
+
+    ResponseEntity<?> response =
+        controller.scoreComments(new SentimentBatchRequest(List.of("a", "b")), "U1");
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals("Please provide at most 1 comments per request", response.getBody());
+  }
+}
@@ -57,4 +57,36 @@ public class ReviewDtoTest {
     // Then
     assertEquals(expectedUser, actualUser, "The user should be correctly set and retrieved.");
   }
+
+  /** Tests the getter and setter for the 'sentiment' field. */
+  @Test
+  public void testGetAndSetSentiment() {
+    // Given
+    ReviewDto review = new ReviewDto();
+    SentimentScore expectedSentiment = new SentimentScore(0.5, SentimentScore.POSITIVE, 1);
+
+    // When
+    review.setSentiment(expectedSentiment);
+    SentimentScore actualSentiment = review.getSentiment();
+
+    // Then
+    assertEquals(
+        expectedSentiment, actualSentiment, "The sentiment should be correctly set and retrieved.");
+  }
+
+  /** Tests the getter and setter for the 'companyId' field. */
+  @Test
+  public void testGetAndSetCompanyId() {
+    // Given
+    ReviewDto review = new ReviewDto();
+    String expectedCompanyId = "company456";
+
+    // When
+    review.setCompanyId(expectedCompanyId);
+    String actualCompanyId = review.getCompanyId();
+
+    // Then
+    assertEquals(
+        expectedCompanyId, actualCompanyId, "The companyId should be correctly set and retrieved.");
+  }
 }
@@ -0,0 +1,180 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.client.AuthClient;
+import com.reviewdashboard.client.UpstreamRejectedException;
+import com.reviewdashboard.client.UpstreamStatusException;
+import com.reviewdashboard.model.CreateUserRequest;
+import com.reviewdashboard.model.UserProvisioningResult;
+import feign.Request;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Unit tests for {@link AuthService}.
+ *
+ * <ul>
+ *   <li>Upstream outcomes → mapped like {@code POST /auth/users}
+ *   <li>Duplicate IDs → created once; blank IDs → invalid without an upstream call
+ *   <li>Too many distinct IDs → rejected
+ *   <li>Batch against a stub with fixed latency → all created, concurrency bounded; a 10k-user
+ *       batch logs throughput (tagged {@code benchmark}, run with {@code -Pbenchmark})
+ * </ul>
+ */
+public class AuthServiceTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(AuthServiceTest.class);
+
+  private static final Request REQUEST =
+      Request.create(
+          Request.HttpMethod.POST, "/users", Collections.emptyMap(), null, StandardCharsets.UTF_8);
+
+  private final StubAuthClient authClient = new StubAuthClient();
+  private final List<AuthService> opened = new ArrayList<>();
+
+  @AfterEach
+  public void tearDown() {
+    opened.forEach(AuthService::shutdown);
+  }
+
+  @Test
+  public void testProvision_MapsOutcomes() {
+    assertEquals(
+        UserProvisioningResult.CREATED,
+        AuthService.provision("u", () -> ResponseEntity.status(201).build()).getStatus());
+    assertEquals(
+        UserProvisioningResult.CONFLICT, AuthService.provision("u", () -> fail(409)).getStatus());
+    assertEquals(
+        UserProvisioningResult.INVALID, AuthService.provision("u", () -> fail(400)).getStatus());
+    assertEquals(
+        UserProvisioningResult.ERROR, AuthService.provision("u", () -> fail(503)).getStatus());
+    assertEquals(
+        UserProvisioningResult.ERROR,
+        AuthService.provision("u", () -> ResponseEntity.status(500).build()).getStatus());
+
+    UserProvisioningResult rejected =
+        AuthService.provision(
+            "u",
+            () -> {
+              throw new UpstreamRejectedException("Upstream overloaded");
+            });
+    assertEquals(UserProvisioningResult.UNAVAILABLE, rejected.getStatus());
+    assertEquals("Upstream overloaded", rejected.getMessage());
+  }
+
+  @Test
+  public void testCreateUsers_DedupesAndMaps() throws Exception {
+    authClient.conflicts.add("taken");
+    AuthService service = open(4, 100);
+
+    List<UserProvisioningResult> results =
+        service.createUsers(Arrays.asList("a", "taken", "a", " ", "b", "taken"));
+
+    assertEquals(4, results.size());
+    assertEquals("a", results.get(0).getUserId());
+    assertEquals(UserProvisioningResult.CREATED, results.get(0).getStatus());
+    assertEquals(UserProvisioningResult.CONFLICT, results.get(1).getStatus());
+    assertEquals(
+        "This user ID is already taken. Please choose another.", results.get(1).getMessage());
+    assertEquals(UserProvisioningResult.INVALID, results.get(2).getStatus());
+    assertEquals(UserProvisioningResult.CREATED, results.get(3).getStatus());
+    assertEquals(3, authClient.calls.get());
+  }
+
+  @Test
+  public void testCreateUsers_TooMany() {
+    AuthService service = open(4, 2);
+
+    assertThrows(IllegalArgumentException.class, () -> service.createUsers(List.of("a", "b", "c")));
+    assertEquals(0, authClient.calls.get());
+  }
+
+  @Test
+  public void testCreateUsers_BoundedConcurrency() throws Exception {
+    createUsers(200);
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testCreateUsers_TenThousandUsers() throws Exception {
+    int users = 10_000;
+    long elapsed = createUsers(users);
+
+    logger.info(
+        "Created {} users at {} users/s with concurrency 16 and 200us upstream latency",
+        users,
+        String.format("%.0f", users / (elapsed / 1e9)));
+  }
+
+  /** Creates distinct users against a stub with fixed latency; returns the elapsed nanos. */
+  private long createUsers(int users) throws Exception {
+    authClient.latencyNanos = 200_000;
+    AuthService service = open(16, users);
+    List<String> userIds = new ArrayList<>();
+    for (int i = 0; i < users; i++) {
+      userIds.add("user-" + i);
+    }
+
+    long start = System.nanoTime();
+    List<UserProvisioningResult> results = service.createUsers(userIds);
+    long elapsed = System.nanoTime() - start;
+
+    assertEquals(users, results.size());
+    assertTrue(
+        results.stream().allMatch(r -> UserProvisioningResult.CREATED.equals(r.getStatus())));
+    assertTrue(authClient.maxInFlight.get() <= 16);
+    return elapsed;
+  }
+
+  private AuthService open(int concurrency, int maxUsers) {
+    AuthService service = new AuthService(authClient, concurrency, maxUsers);
+    opened.add(service);
+    return service;
+  }
+
+  private static ResponseEntity<Void> fail(int status) {
+    throw new UpstreamStatusException(status, "status " + status, REQUEST);
+  }
+
+  /** Creates every user except the configured conflicts, tracking call concurrency. */
+  private static final class StubAuthClient implements AuthClient {
+    private final Set<String> conflicts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long latencyNanos;
+
+    @Override
+    public ResponseEntity<Void> createUser(CreateUserRequest request) {
+      calls.incrementAndGet();
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        if (latencyNanos > 0) {
+          LockSupport.parkNanos(latencyNanos);
+        }
+        if (conflicts.contains(request.getUserId())) {
+          return fail(409);
+        }
+        return ResponseEntity.status(201).build();
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.reviewdashboard.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.reviewdashboard.client.CompanyClient;
@@ -32,6 +33,9 @@ public class CompanyServiceTest {
   /** Mocks the {@link CompanyClient} to isolate the service during testing. */
   @Mock private CompanyClient companyClient;
 
+  /** Mocks the {@link RatingLeaderboard} fed with fetched averages. */
+  @Mock private RatingLeaderboard leaderboard;
+
   /** Injects the mocked {@link CompanyClient} into the {@link CompanyService}. */
   @InjectMocks private CompanyService companyService;
 
@@ -52,6 +56,7 @@ public class CompanyServiceTest {
     ResponseEntity<Double> actual = companyService.getAverageRating(companyId, userId);
 
     assertEquals(expectedRating, actual.getBody());
+    verify(leaderboard).updateCompany(companyId, expectedRating);
   }
 
   /**
@@ -0,0 +1,69 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.reviewdashboard.model.DistinctCount;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DistinctReviewers}.
+ *
+ * <ul>
+ *   <li>Same user reviewing twice → counted once, per product and per company
+ *   <li>Sketch copies → merge with another replica's sketch into the union
+ *   <li>Disabled, no company, key limit reached → not counted
+ * </ul>
+ */
+public class DistinctReviewersTest {
+
+  @Test
+  public void testDistinctUsers() {
+    DistinctReviewers reviewers = new DistinctReviewers(true, 10, 100);
+    reviewers.record("p1", "c1", "u1");
+    reviewers.record("p1", "c1", "u1");
+    reviewers.record("p1", "c1", "u2");
+    reviewers.record("p2", "c1", "u3");
+
+    DistinctCount product = reviewers.productReviewers("p1");
+    assertEquals(2, product.getEstimate());
+    assertEquals(2 * 1.04 / 32, product.getStandardError(), 1e-12);
+    assertEquals(1, reviewers.productReviewers("p2").getEstimate());
+    assertEquals(3, reviewers.companyReviewers("c1").getEstimate());
+    assertNull(reviewers.productReviewers("p3"));
+  }
+
+  @Test
+  public void testReplicaMerge() {
+    DistinctReviewers first = new DistinctReviewers(true, 12, 100);
+    DistinctReviewers second = new DistinctReviewers(true, 12, 100);
+    for (int i = 0; i < 1_000; i++) {
+      first.record("p1", null, "u" + i);
+      second.record("p1", null, "u" + (i + 500));
+    }
+
+    HyperLogLog merged = first.productSketch("p1");
+    merged.merge(second.productSketch("p1"));
+
+    assertEquals(1_500, merged.estimate(), 1_500 * 3 * merged.relativeStandardError());
+    assertEquals(first.productReviewers("p1").getEstimate(), first.productSketch("p1").estimate());
+    assertNull(first.companySketch("c1"));
+  }
+
+  @Test
+  public void testNotCounted() {
+    DistinctReviewers disabled = new DistinctReviewers(false, 10, 100);
+    disabled.record("p1", "c1", "u1");
+    assertNull(disabled.productReviewers("p1"));
+
+    DistinctReviewers limited = new DistinctReviewers(true, 10, 1);
+    limited.record("p1", " ", "u1");
+    limited.record("p2", null, "u1");
+    limited.record("p3", "c1", null);
+
+    assertEquals(1, limited.productReviewers("p1").getEstimate());
+    assertNull(limited.companyReviewers(" "));
+    assertNull(limited.productReviewers("p2"));
+    assertNull(limited.productReviewers("p3"));
+  }
+}
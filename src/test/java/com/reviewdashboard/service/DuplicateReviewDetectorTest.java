@@ -0,0 +1,135 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.model.ReviewDto;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link DuplicateReviewDetector}.
+ *
+ * <ul>
+ *   <li>Same comment with different case and punctuation → near-duplicate
+ *   <li>Long comment with one word changed → near-duplicate
+ *   <li>Unrelated comment, other product or short comment → not a near-duplicate
+ *   <li>Mode off → nothing is flagged
+ *   <li>Bounded index → old fingerprints are eventually overwritten; lookup latency logged for a
+ *       large index (tagged {@code benchmark}, run with {@code -Pbenchmark})
+ * </ul>
+ */
+public class DuplicateReviewDetectorTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(DuplicateReviewDetectorTest.class);
+
+  private static final String COMMENT =
+      "The blender arrived quickly and works well for smoothies, but the lid leaks a little when"
+          + " it is full and the motor gets loud at the highest speed setting after a few minutes";
+
+  private final DuplicateReviewDetector detector = new DuplicateReviewDetector("flag", 4096, 7, 5);
+
+  @Test
+  public void testNearDuplicate_SameWords() {
+    accept("123", COMMENT);
+
+    assertTrue(detector.isNearDuplicate("123", review(COMMENT.toUpperCase() + "!!!")));
+    assertFalse(detector.rejects());
+  }
+
+  @Test
+  public void testNearDuplicate_OneWordChanged() {
+    accept("123", COMMENT);
+
+    assertTrue(detector.isNearDuplicate("123", review(COMMENT.replace("quickly", "promptly"))));
+  }
+
+  @Test
+  public void testNotDuplicate() {
+    accept("123", COMMENT);
+
+    assertFalse(
+        detector.isNearDuplicate(
+            "123",
+            review("Terrible customer service, the package was damaged and nobody answered")));
+    assertFalse(detector.isNearDuplicate("456", review(COMMENT)));
+    accept("123", "Great product!");
+    assertFalse(detector.isNearDuplicate("123", review("Great product!")));
+  }
+
+  @Test
+  public void testModeOff() {
+    DuplicateReviewDetector off = new DuplicateReviewDetector("off", 1024, 7, 5);
+    off.onReviewSubmitted(event("123", COMMENT));
+
+    assertFalse(off.isNearDuplicate("123", review(COMMENT)));
+    assertTrue(new DuplicateReviewDetector("reject", 1024, 7, 5).rejects());
+  }
+
+  @Test
+  public void testFingerprint_Distance() {
+    long original = detector.fingerprint(COMMENT);
+    long edited = detector.fingerprint(COMMENT.replace("quickly", "promptly"));
+    long unrelated = detector.fingerprint("Battery died after two days and support never replied");
+
+    assertEquals(original, detector.fingerprint(COMMENT.toLowerCase()));
+    assertTrue(Long.bitCount(original ^ edited) <= 7);
+    assertTrue(Long.bitCount(original ^ unrelated) > 7);
+    assertEquals(0, detector.fingerprint("Too short"));
+  }
+
+  @Test
+  public void testBoundedIndex() {
+    lookUpInBoundedIndex(1_000, 1_000);
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testLookupLatency() {
+    long elapsed = lookUpInBoundedIndex(10_000, 100_000);
+
+    logger.info("Near-duplicate lookup: {} ns/review", elapsed / 100_000);
+  }
+
+  /** Overfills a small index, then looks up an unrelated comment; returns the lookup nanos. */
+  private static long lookUpInBoundedIndex(int accepted, int lookups) {
+    DuplicateReviewDetector small = new DuplicateReviewDetector("flag", 16, 7, 5);
+    List<String> words = List.of("alpha", "bravo", "charlie", "delta", "echo", "foxtrot");
+    for (int i = 0; i < accepted; i++) {
+      small.onReviewSubmitted(event("123", "review number " + i + " " + String.join(" ", words)));
+    }
+
+    long start = System.nanoTime();
+    int found = 0;
+    for (int i = 0; i < lookups; i++) {
+      if (small.isNearDuplicate("p" + (i & 1023), review(COMMENT))) {
+        found++;
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+
+    assertEquals(0, found);
+    return elapsed;
+  }
+
+  private void accept(String productId, String comment) {
+    detector.onReviewSubmitted(event(productId, comment));
+  }
+
+  private static ReviewEvent event(String productId, String comment) {
+    ReviewEvent event = new ReviewEvent();
+    event.set(0, productId, "user123", review(comment), null, System.currentTimeMillis());
+    return event;
+  }
+
+  private static ReviewDto review(String comment) {
+    ReviewDto review = new ReviewDto();
+    review.setComment(comment);
+    review.setRating(4);
+    return review;
+  }
+}
@@ -0,0 +1,95 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link HyperLogLog}.
+ *
+ * <ul>
+ *   <li>Few values → exact while sparse; repeats counted once
+ *   <li>Many values → within three standard errors
+ *   <li>Overlapping sketches merged → estimate of the union, sparse or dense
+ *   <li>Serialized and read back → same registers; bad bytes or precisions rejected
+ * </ul>
+ */
+public class HyperLogLogTest {
+
+  @Test
+  public void testSmallCounts() {
+    HyperLogLog sketch = new HyperLogLog(10);
+    assertEquals(0, sketch.estimate());
+
+    for (int i = 0; i < 20; i++) {
+      sketch.add("user-" + i);
+      sketch.add("user-" + i);
+    }
+
+    assertEquals(20, sketch.estimate());
+  }
+
+  @Test
+  public void testLargeCounts() {
+    for (int precision : new int[] {10, 14}) {
+      HyperLogLog sketch = new HyperLogLog(precision);
+      int distinct = 200_000;
+      for (int i = 0; i < distinct; i++) {
+        sketch.add("user-" + i);
+      }
+
+      double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+      assertTrue(error < 3 * sketch.relativeStandardError(), "precision " + precision);
+    }
+  }
+
+  @Test
+  public void testMerge() {
+    HyperLogLog first = new HyperLogLog(12);
+    HyperLogLog second = new HyperLogLog(12);
+    HyperLogLog union = new HyperLogLog(12);
+    for (int i = 0; i < 30_000; i++) {
+      first.add("user-" + i);
+      second.add("user-" + (i + 20_000));
+      union.add("user-" + i);
+      union.add("user-" + (i + 20_000));
+    }
+    HyperLogLog sparse = new HyperLogLog(12);
+    sparse.add("user-1");
+
+    first.merge(second);
+    first.merge(sparse);
+    sparse.merge(second);
+
+    assertEquals(union.estimate(), first.estimate());
+    assertArrayEquals(union.toByteArray(), first.toByteArray());
+    assertEquals(second.estimate(), sparse.estimate());
+    assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(10)));
+  }
+
+  @Test
+  public void testSerialization() {
+    HyperLogLog sparse = new HyperLogLog(8);
+    HyperLogLog dense = new HyperLogLog(8);
+    for (int i = 0; i < 5; i++) {
+      sparse.add("user-" + i);
+    }
+    for (int i = 0; i < 5_000; i++) {
+      dense.add("user-" + i);
+    }
+
+    HyperLogLog sparseCopy = HyperLogLog.fromByteArray(sparse.toByteArray());
+    HyperLogLog denseCopy = HyperLogLog.fromByteArray(dense.toByteArray());
+
+    assertEquals(sparse.estimate(), sparseCopy.estimate());
+    assertArrayEquals(dense.toByteArray(), denseCopy.toByteArray());
+    assertEquals(dense.estimate(), denseCopy.estimate());
+    assertEquals(8, denseCopy.getPrecision());
+    assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(new byte[3]));
+    assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+    assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(17));
+  }
+}
@@ -0,0 +1,144 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link IdempotencyStore}.
+ *
+ * <ul>
+ *   <li>Same key twice → action runs once, stored result replayed
+ *   <li>Same key while in flight → second caller joins the first
+ *   <li>Failed action → not remembered, retry runs again
+ *   <li>Expired key → action runs again
+ *   <li>More keys than capacity → oldest evicted
+ *   <li>contains → true only for live keys
+ * </ul>
+ */
+public class IdempotencyStoreTest {
+
+  @Test
+  public void testExecute_SameKeyReplaysResult() {
+    IdempotencyStore store = new IdempotencyStore(60_000, 100);
+    AtomicInteger calls = new AtomicInteger();
+
+    String first = store.execute("k", () -> "created-" + calls.incrementAndGet());
+    String second = store.execute("k", () -> "created-" + calls.incrementAndGet());
+
+    assertEquals("created-1", first);
+    assertEquals("created-1", second);
+    assertEquals(1, calls.get());
+    assertEquals(1, store.replayCount());
+  }
+
+  @Test
+  public void testExecute_InFlightCallerJoins() throws Exception {
+    IdempotencyStore store = new IdempotencyStore(60_000, 100);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+
+    Thread first =
+        new Thread(
+            () ->
+                store.execute(
+                    "k",
+                    () -> {
+                      calls.incrementAndGet();
+                      started.countDown();
+                      await(release);
+                      return "created";
+                    }));
+    first.start();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    AtomicReference<String> joined = new AtomicReference<>();
+    Thread second = new Thread(() -> joined.set(store.execute("k", () -> "duplicate")));
+    second.start();
+    while (store.replayCount() == 0) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+    first.join();
+    second.join();
+
+    assertEquals("created", joined.get());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void testExecute_FailureNotRemembered() {
+    IdempotencyStore store = new IdempotencyStore(60_000, 100);
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            store.execute(
+                "k",
+                () -> {
+                  throw new IllegalStateException("upstream down");
+                }));
+
+    assertEquals("created", store.execute("k", () -> "created"));
+    assertEquals(0, store.replayCount());
+  }
+
+  @Test
+  public void testExecute_ExpiredKeyRunsAgain() throws Exception {
+    IdempotencyStore store = new IdempotencyStore(1, 100);
+    store.execute("k", () -> "first");
+    Thread.sleep(5);
+
+    assertEquals("second", store.execute("k", () -> "second"));
+  }
+
+  @Test
+  public void testExecute_OldestEvictedAtCapacity() {
+    IdempotencyStore store = new IdempotencyStore(60_000, 2);
+    store.execute("a", () -> "a1");
+    store.execute("b", () -> "b1");
+    store.execute("c", () -> "c1");
+
+    assertEquals(2, store.size());
+    assertEquals("a2", store.execute("a", () -> "a2"));
+    assertEquals("c1", store.execute("c", () -> "c2"));
+  }
+
+  @Test
+  public void testContains_OnlyLiveKeys() throws Exception {
+    IdempotencyStore store = new IdempotencyStore(60_000, 100);
+    IdempotencyStore expiring = new IdempotencyStore(1, 100);
+    store.execute("k", () -> "created");
+    expiring.execute("k", () -> "created");
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            store.execute(
+                "failed",
+                () -> {
+                  throw new IllegalStateException("upstream down");
+                }));
+    Thread.sleep(5);
+
+    assertTrue(store.contains("k"));
+    assertFalse(store.contains("other"));
+    assertFalse(store.contains("failed"));
+    assertFalse(expiring.contains("k"));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reviewdashboard.model.LeaderboardEntry;
+import com.reviewdashboard.model.RatingAggregate;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Unit tests for {@link ProductRatingAggregates}.
+ *
+ * <ul>
+ *   <li>Seeded product → served locally; without a review count the seed is served unchanged and
+ *       local reviews reported in headers; variance kept
+ *   <li>Snapshot entry → local reviews weighted against the upstream average by its review count
+ *   <li>Stale seed → refreshed, keeping only reviews recorded after the refresh started
+ *   <li>Upstream failure → rethrown and not cached
+ *   <li>Disabled or over capacity → every read goes upstream
+ *   <li>Concurrent writers to one product → no review lost; leaderboard holds the last state
+ *   <li>Seed and recorded reviews → passed on to the leaderboard; no aggregate or rank without a
+ *       known upstream count
+ * </ul>
+ */
+public class ProductRatingAggregatesTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void testLocalReadsAfterSeed() {
+    ProductRatingAggregates aggregates = new ProductRatingAggregates(true, 60_000, 100, null, null);
+    CountingUpstream upstream = new CountingUpstream(3.0);
+
+    assertEquals(3.0, aggregates.averageRating("p1", upstream).getBody());
+    aggregates.record("p1", 5);
+    aggregates.record("p1", 4);
+    aggregates.record("p1", 3);
+
+    // Without an upstream review count the average is left as is, the local reviews beside it.
+    ResponseEntity<Double> response = aggregates.averageRating("p1", upstream);
+    assertEquals(3.0, response.getBody());
+    assertEquals(
+        "3", response.getHeaders().getFirst(ProductRatingAggregates.LOCAL_REVIEW_COUNT_HEADER));
+    assertEquals(
+        "4.0", response.getHeaders().getFirst(ProductRatingAggregates.LOCAL_AVERAGE_HEADER));
+    assertEquals(1, upstream.calls.get());
+    assertEquals(1.0, aggregates.localVariance("p1"), 1e-12);
+    assertNull(aggregates.aggregate("p1"));
+  }
+
+  @Test
+  public void testSnapshotCountWeightsSeed() throws Exception {
+    Path file = tempDir.resolve("aggregates.snapshot");
+    AggregateSnapshot.write(
+        file, 1L, Map.of("p1", new RatingAggregate(1000, 2000, 1, 5)), Map.of());
+    AggregateSnapshot snapshot = new AggregateSnapshot(file.toString());
+    snapshot.load();
+    ProductRatingAggregates aggregates =
+        new ProductRatingAggregates(true, 60_000, 100, snapshot, null);
+
+    aggregates.averageRating("p1", new CountingUpstream(2.5));
+    aggregates.record("p1", 5);
+
+    ResponseEntity<Double> response = aggregates.averageRating("p1", null);
+    assertEquals((2.5 * 1000 + 5) / 1001, response.getBody(), 1e-12);
+    assertNull(response.getHeaders().getFirst(ProductRatingAggregates.LOCAL_REVIEW_COUNT_HEADER));
+    RatingAggregate aggregate = aggregates.aggregate("p1");
+    assertEquals(1001, aggregate.getCount());
+    assertEquals(2.5 * 1000 + 5, aggregate.getSum(), 1e-9);
+    assertEquals(1.0, aggregate.getMin());
+    assertEquals(5.0, aggregate.getMax());
+  }
+
+  @Test
+  public void testSnapshotCountOfOne() throws Exception {
+    Path file = tempDir.resolve("aggregates.snapshot");
+    AggregateSnapshot.write(file, 1L, Map.of("p1", new RatingAggregate(1, 4, 4, 4)), Map.of());
+    AggregateSnapshot snapshot = new AggregateSnapshot(file.toString());
+    snapshot.load();
+    ProductRatingAggregates aggregates =
+        new ProductRatingAggregates(true, 60_000, 100, snapshot, null);
+
+    aggregates.averageRating("p1", new CountingUpstream(4.0));
+    aggregates.record("p1", 2);
+
+    assertEquals(3.0, aggregates.averageRating("p1", null).getBody(), 1e-12);
+  }
+
+  @Test
+  public void testRefreshKeepsReviewsRecordedDuringFetch() {
+    ProductRatingAggregates aggregates = new ProductRatingAggregates(true, 0, 100, null, null);
+    aggregates.averageRating("p1", new CountingUpstream(null));
+    aggregates.record("p1", 1);
+
+    Supplier<ResponseEntity<Double>> racing =
+        () -> {
+          aggregates.record("p1", 5);
+          return ResponseEntity.ok(null);
+        };
+
+    assertEquals(5.0, aggregates.averageRating("p1", racing).getBody());
+    assertEquals(1, aggregates.aggregate("p1").getCount());
+  }
+
+  @Test
+  public void testUpstreamFailureIsNotCached() {
+    ProductRatingAggregates aggregates = new ProductRatingAggregates(true, 60_000, 100, null, null);
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            aggregates.averageRating(
+                "p1",
+                () -> {
+                  throw new IllegalStateException("down");
+                }));
+
+    assertNull(aggregates.aggregate("p1"));
+    assertEquals(4.0, aggregates.averageRating("p1", new CountingUpstream(4.0)).getBody());
+  }
+
+  @Test
+  public void testDisabledAndOverCapacityGoUpstream() {
+    ProductRatingAggregates disabled = new ProductRatingAggregates(false, 60_000, 100, null, null);
+    ProductRatingAggregates full = new ProductRatingAggregates(true, 60_000, 1, null, null);
+    CountingUpstream upstream = new CountingUpstream(3.0);
+
+    disabled.averageRating("p1", upstream);
+    disabled.record("p1", 5);
+    disabled.averageRating("p1", upstream);
+    full.averageRating("p1", upstream);
+    full.averageRating("p2", upstream);
+    full.averageRating("p2", upstream);
+
+    assertEquals(5, upstream.calls.get());
+    assertNull(disabled.aggregate("p1"));
+    assertNull(full.aggregate("p2"));
+  }
+
+  @Test
+  public void testConcurrentWritersToOneProduct() throws Exception {
+    RatingLeaderboard leaderboard = new RatingLeaderboard(10, 1, 100, null);
+    ProductRatingAggregates aggregates =
+        new ProductRatingAggregates(true, 60_000, 100, null, leaderboard);
+    aggregates.averageRating("p1", new CountingUpstream(null));
+    int threads = 8;
+    int perThread = 20_000;
+    CountDownLatch start = new CountDownLatch(1);
+    Thread[] writers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      int rating = t % 5 + 1;
+      writers[t] =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perThread; i++) {
+                  aggregates.record("p1", rating);
+                }
+              });
+      writers[t].start();
+    }
+    start.countDown();
+    for (Thread writer : writers) {
+      writer.join();
+    }
+
+    RatingAggregate aggregate = aggregates.aggregate("p1");
+    assertEquals((long) threads * perThread, aggregate.getCount());
+    assertEquals((1 + 2 + 3 + 4 + 5 + 1 + 2 + 3) * (double) perThread, aggregate.getSum(), 1e-6);
+    // The leaderboard ends with the last state, not one published late by a slower writer.
+    LeaderboardEntry ranked = leaderboard.top(RatingLeaderboard.Scope.PRODUCT, 1).get(0);
+    assertEquals(aggregate.getCount(), ranked.getCount());
+    assertEquals(aggregate.getAverage(), ranked.getAverage(), 1e-12);
+  }
+
+  @Test
+  public void testChangesUpdateLeaderboard() {
+    RatingLeaderboard leaderboard = new RatingLeaderboard(10, 1, 100, null);
+    ProductRatingAggregates aggregates =
+        new ProductRatingAggregates(true, 60_000, 100, null, leaderboard);
+
+    aggregates.averageRating("p1", new CountingUpstream(3.0));
+    aggregates.record("p1", 4);
+    aggregates.averageRating("p2", new CountingUpstream(null));
+    aggregates.record("p2", 5);
+
+    // p1's upstream review count is unknown, so it is not ranked.
+    List<LeaderboardEntry> top = leaderboard.top(RatingLeaderboard.Scope.PRODUCT, 10);
+    assertEquals(1, top.size());
+    assertEquals("p2", top.get(0).getId());
+    assertEquals(1, top.get(0).getCount());
+  }
+
+  private static final class CountingUpstream implements Supplier<ResponseEntity<Double>> {
+    private final Double average;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private CountingUpstream(Double average) {
+      this.average = average;
+    }
+
+    @Override
+    public ResponseEntity<Double> get() {
+      calls.incrementAndGet();
+      return ResponseEntity.ok(average);
+    }
+  }
+}
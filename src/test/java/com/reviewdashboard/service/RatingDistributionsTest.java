@@ -0,0 +1,69 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.reviewdashboard.model.RatingDistribution;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RatingDistributions}.
+ *
+ * <ul>
+ *   <li>Recorded ratings → star counts and requested quantiles per product
+ *   <li>Histogram copies → merge with another replica's histogram
+ *   <li>Disabled, unknown product, product limit reached → no distribution
+ * </ul>
+ */
+public class RatingDistributionsTest {
+
+  @Test
+  public void testDistribution() {
+    RatingDistributions distributions = new RatingDistributions(true, 100);
+    distributions.record("p1", 1);
+    distributions.record("p1", 5);
+    distributions.record("p1", 5);
+    distributions.record("p2", 3);
+
+    RatingDistribution distribution = distributions.distribution("p1", List.of(0.5, 0.0));
+
+    assertEquals(3, distribution.getCount());
+    assertArrayEquals(new long[] {0, 1, 0, 0, 0, 2}, distribution.getStars());
+    assertEquals(List.of("0.5", "0.0"), List.copyOf(distribution.getQuantiles().keySet()));
+    assertEquals(5.0, distribution.getQuantiles().get("0.5"));
+    assertEquals(1.0, distribution.getQuantiles().get("0.0"));
+  }
+
+  @Test
+  public void testReplicaMerge() {
+    RatingDistributions first = new RatingDistributions(true, 100);
+    RatingDistributions second = new RatingDistributions(true, 100);
+    first.record("p1", 2);
+    second.record("p1", 4);
+    second.record("p1", 4);
+
+    RatingHistogram merged = first.histogram("p1");
+    merged.merge(second.histogram("p1"));
+
+    assertEquals(3, merged.count());
+    assertEquals(4.0, merged.quantile(0.5));
+    assertEquals(1, first.histogram("p1").count());
+  }
+
+  @Test
+  public void testNotRecorded() {
+    RatingDistributions disabled = new RatingDistributions(false, 100);
+    disabled.record("p1", 4);
+    assertNull(disabled.distribution("p1", List.of(0.5)));
+
+    RatingDistributions limited = new RatingDistributions(true, 1);
+    limited.record("p1", 4);
+    limited.record("p2", 4);
+
+    assertEquals(1, limited.distribution("p1", List.of()).getCount());
+    assertNull(limited.distribution("p2", List.of(0.5)));
+    assertNull(limited.histogram("p2"));
+  }
+}
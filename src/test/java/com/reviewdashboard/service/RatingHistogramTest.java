@@ -0,0 +1,96 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RatingHistogram}.
+ *
+ * <ul>
+ *   <li>Whole and half stars → star counts rounded half up, quantiles exact
+ *   <li>Fractional ratings → quantiles within a quarter star of the exact ones
+ *   <li>Counts past 16 bits → widened without losing any; merged histograms add up
+ *   <li>Empty, out of range → no quantiles, clamped ratings, rejected quantiles
+ * </ul>
+ */
+public class RatingHistogramTest {
+
+  @Test
+  public void testWholeAndHalfStars() {
+    RatingHistogram histogram = new RatingHistogram();
+    for (double rating : new double[] {1, 2, 2.5, 3, 3.5, 4, 4, 5, 5, 5}) {
+      histogram.add(rating);
+    }
+
+    assertEquals(10, histogram.count());
+    assertArrayEquals(new long[] {0, 1, 1, 2, 3, 3}, histogram.stars());
+    assertEquals(1.0, histogram.quantile(0));
+    assertEquals(3.5, histogram.quantile(0.5));
+    assertEquals(4.0, histogram.quantile(0.6));
+    assertEquals(5.0, histogram.quantile(1));
+  }
+
+  @Test
+  public void testFractionalRatings() {
+    RatingHistogram histogram = new RatingHistogram();
+    Random random = new Random(42);
+    double[] ratings = new double[10_001];
+    for (int i = 0; i < ratings.length; i++) {
+      ratings[i] = Math.round(random.nextDouble() * 50) / 10.0;
+      histogram.add(ratings[i]);
+    }
+    Arrays.sort(ratings);
+
+    for (double quantile : new double[] {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99}) {
+      double exact = ratings[(int) Math.ceil(quantile * ratings.length) - 1];
+      assertTrue(Math.abs(histogram.quantile(quantile) - exact) < 0.25, "quantile " + quantile);
+    }
+    long[] stars = new long[RatingHistogram.STARS];
+    for (double rating : ratings) {
+      stars[(int) Math.floor(rating + 0.5)]++;
+    }
+    assertArrayEquals(stars, histogram.stars());
+  }
+
+  @Test
+  public void testWideningAndMerge() {
+    RatingHistogram first = new RatingHistogram();
+    RatingHistogram second = new RatingHistogram();
+    for (int i = 0; i < 70_000; i++) {
+      first.add(4);
+    }
+    second.add(1);
+    second.add(4.1);
+
+    second.merge(first);
+    second.merge(first.copy());
+
+    assertEquals(140_002, second.count());
+    assertArrayEquals(new long[] {0, 1, 0, 0, 140_001, 0}, second.stars());
+    assertEquals(4.0, second.quantile(0.5));
+    assertEquals(4.25, second.quantile(1));
+  }
+
+  @Test
+  public void testEdgeCases() {
+    RatingHistogram histogram = new RatingHistogram();
+    assertNull(histogram.quantile(0.5));
+
+    histogram.add(-1);
+    histogram.add(7);
+    histogram.add(Double.NaN);
+
+    assertEquals(2, histogram.count());
+    assertEquals(0.0, histogram.quantile(0));
+    assertEquals(5.0, histogram.quantile(1));
+    assertThrows(IllegalArgumentException.class, () -> histogram.quantile(1.1));
+    assertThrows(IllegalArgumentException.class, () -> histogram.quantile(Double.NaN));
+  }
+}
@@ -0,0 +1,151 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.model.LeaderboardEntry;
+import com.reviewdashboard.model.RatingAggregate;
+import com.reviewdashboard.service.RatingLeaderboard.Scope;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link RatingLeaderboard}.
+ *
+ * <ul>
+ *   <li>Products → ranked by average, then count; bottom is the reverse; limit respected
+ *   <li>Too few reviews, no reviews → not ranked; later updates move or remove a key
+ *   <li>Companies → counted from the snapshot; too few or no count there → not ranked
+ *   <li>Concurrent updates → every key ranked once with its last value; throughput logged at full
+ *       size (tagged {@code benchmark}, run with {@code -Pbenchmark})
+ * </ul>
+ */
+public class RatingLeaderboardTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(RatingLeaderboardTest.class);
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void testRanking() {
+    RatingLeaderboard leaderboard = new RatingLeaderboard(3, 5, 100, null);
+    leaderboard.updateProduct("a", new RatingAggregate(10, 40, 1, 5));
+    leaderboard.updateProduct("b", new RatingAggregate(10, 45, 1, 5));
+    leaderboard.updateProduct("c", new RatingAggregate(20, 80, 1, 5));
+    leaderboard.updateProduct("d", new RatingAggregate(5, 10, 1, 5));
+    leaderboard.updateProduct("e", new RatingAggregate(4, 20, 5, 5));
+
+    assertEquals(List.of("b", "c", "a"), ids(leaderboard.top(Scope.PRODUCT, 10)));
+    assertEquals(List.of("d", "a", "c"), ids(leaderboard.bottom(Scope.PRODUCT, 10)));
+    assertEquals(List.of("b"), ids(leaderboard.top(Scope.PRODUCT, 1)));
+    assertEquals(4.5, leaderboard.top(Scope.PRODUCT, 1).get(0).getAverage());
+    assertEquals(List.of(), ids(leaderboard.top(Scope.COMPANY, 10)));
+  }
+
+  @Test
+  public void testUpdatesMoveAndRemoveKeys() {
+    RatingLeaderboard leaderboard = new RatingLeaderboard(10, 5, 100, null);
+    leaderboard.updateProduct("a", new RatingAggregate(10, 40, 1, 5));
+    leaderboard.updateProduct("b", new RatingAggregate(10, 30, 1, 5));
+    assertEquals(List.of("a", "b"), ids(leaderboard.top(Scope.PRODUCT, 10)));
+
+    leaderboard.updateProduct("b", new RatingAggregate(11, 55, 1, 5));
+    assertEquals(List.of("b", "a"), ids(leaderboard.top(Scope.PRODUCT, 10)));
+
+    leaderboard.updateProduct("a", new RatingAggregate(0, 0, 0, 0));
+    leaderboard.updateProduct("c", null);
+    assertEquals(List.of("b"), ids(leaderboard.top(Scope.PRODUCT, 10)));
+  }
+
+  @Test
+  public void testCompanyCounts() throws Exception {
+    Path file = tempDir.resolve("aggregates.snapshot");
+    AggregateSnapshot.write(
+        file,
+        1L,
+        Map.of(),
+        Map.of("c1", new RatingAggregate(3, 9, 1, 5), "c2", new RatingAggregate(8, 32, 1, 5)));
+    AggregateSnapshot snapshot = new AggregateSnapshot(file.toString());
+    snapshot.load();
+    RatingLeaderboard leaderboard = new RatingLeaderboard(10, 5, 100, snapshot);
+
+    leaderboard.updateCompany("c1", 4.9);
+    leaderboard.updateCompany("c2", 4.1);
+    leaderboard.updateCompany("c3", null);
+    leaderboard.updateCompany("c4", 5.0);
+
+    List<LeaderboardEntry> top = leaderboard.top(Scope.COMPANY, 10);
+    assertEquals(List.of("c2"), ids(top));
+    assertEquals(8, top.get(0).getCount());
+  }
+
+  @Test
+  public void testConcurrentUpdates() throws Exception {
+    updateConcurrently(5_000, 1_000);
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testUpdate_Throughput() throws Exception {
+    double seconds = updateConcurrently(250_000, 10_000);
+
+    if (logger.isInfoEnabled()) {
+      logger.info("{} leaderboard updates/s with 4 writers", Math.round(4 * 250_000 / seconds));
+    }
+  }
+
+  /** Updates {@code keys} products from 4 writers; returns the elapsed seconds. */
+  private static double updateConcurrently(int updates, int keys) throws Exception {
+    RatingLeaderboard leaderboard = new RatingLeaderboard(100, 1, 100_000, null);
+    int threads = 4;
+    CountDownLatch start = new CountDownLatch(1);
+    Thread[] writers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      int seed = t;
+      writers[t] =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < updates; i++) {
+                  int key = (i * 31 + seed * 7) % keys;
+                  long count = 1 + i % 50;
+                  leaderboard.updateProduct(
+                      "p" + key, new RatingAggregate(count, count * ((i + seed) % 5 + 1), 1, 5));
+                  if (i % 1000 == 0) {
+                    leaderboard.top(Scope.PRODUCT, 10);
+                  }
+                }
+              });
+      writers[t].start();
+    }
+    long started = System.nanoTime();
+    start.countDown();
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    double seconds = (System.nanoTime() - started) / 1e9;
+
+    List<LeaderboardEntry> top = leaderboard.top(Scope.PRODUCT, 100);
+    assertEquals(100, top.size());
+    assertEquals(100, top.stream().map(LeaderboardEntry::getId).distinct().count());
+    for (int i = 1; i < top.size(); i++) {
+      assertTrue(top.get(i - 1).getAverage() >= top.get(i).getAverage());
+    }
+    return seconds;
+  }
+
+  private static List<String> ids(List<LeaderboardEntry> entries) {
+    return entries.stream().map(LeaderboardEntry::getId).toList();
+  }
+}
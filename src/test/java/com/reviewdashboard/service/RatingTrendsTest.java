@@ -0,0 +1,102 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.reviewdashboard.model.RatingTrend;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RatingTrends}.
+ *
+ * <ul>
+ *   <li>Reviews spread over a week → each window counts and averages only its own buckets
+ *   <li>Long gap → old buckets cleared before reuse; no reviews in a week → no trend
+ *   <li>Company ID present → tracked per company as well
+ *   <li>Key limit reached → idle keys swept, otherwise new keys dropped
+ * </ul>
+ */
+public class RatingTrendsTest {
+
+  private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+  private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+  private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+  /** A Monday at midnight UTC, so buckets line up with round numbers. */
+  private static final long START = 1_700_438_400_000L;
+
+  @Test
+  public void testWindows() {
+    RatingTrends trends = new RatingTrends(true, 100);
+    long now = START + 10 * DAY;
+    trends.record("p1", null, 1, now - 5 * DAY);
+    trends.record("p1", null, 2, now - 3 * HOUR);
+    trends.record("p1", null, 4, now - 30 * MINUTE);
+    trends.record("p1", null, 5, now);
+
+    RatingTrend trend = trends.productTrend("p1", now + MINUTE);
+
+    assertEquals(2, trend.getLastHour().getCount());
+    assertEquals(4.5, trend.getLastHour().getAverage());
+    assertEquals(3, trend.getLastDay().getCount());
+    assertEquals(11 / 3.0, trend.getLastDay().getAverage(), 1e-9);
+    assertEquals(4, trend.getLastWeek().getCount());
+    assertEquals(3.0, trend.getLastWeek().getAverage());
+  }
+
+  @Test
+  public void testBucketsExpire() {
+    RatingTrends trends = new RatingTrends(true, 100);
+    trends.record("p1", null, 3.5, START);
+    trends.record("p1", null, 1.25, START + 2 * HOUR);
+
+    RatingTrend later = trends.productTrend("p1", START + 2 * HOUR + 5 * MINUTE);
+    assertEquals(1, later.getLastHour().getCount());
+    assertEquals(1.25, later.getLastHour().getAverage());
+    assertEquals(2, later.getLastDay().getCount());
+
+    RatingTrend quiet = trends.productTrend("p1", START + 4 * HOUR);
+    assertEquals(0, quiet.getLastHour().getCount());
+    assertNull(quiet.getLastHour().getAverage());
+
+    // The same ring positions a day later must not still hold the first reviews.
+    trends.record("p1", null, 5, START + DAY + 2 * HOUR);
+    RatingTrend nextDay = trends.productTrend("p1", START + DAY + 2 * HOUR);
+    assertEquals(1, nextDay.getLastHour().getCount());
+    assertEquals(1, nextDay.getLastDay().getCount());
+    assertEquals(3, nextDay.getLastWeek().getCount());
+
+    assertNull(trends.productTrend("p1", START + 9 * DAY));
+    assertNull(trends.productTrend("unknown", START));
+  }
+
+  @Test
+  public void testCompanies() {
+    RatingTrends trends = new RatingTrends(true, 100);
+    trends.record("p1", "c1", 4, START);
+    trends.record("p2", "c1", 2, START);
+    trends.record("p3", " ", 5, START);
+
+    assertEquals(2, trends.companyTrend("c1", START).getLastHour().getCount());
+    assertEquals(3.0, trends.companyTrend("c1", START).getLastHour().getAverage());
+    assertNotNull(trends.productTrend("p3", START));
+    assertNull(trends.companyTrend(" ", START));
+  }
+
+  @Test
+  public void testKeyLimit() {
+    RatingTrends trends = new RatingTrends(true, 2);
+    trends.record("p1", null, 4, START);
+    trends.record("p2", null, 4, START + 2 * HOUR);
+    trends.record("p3", null, 4, START + 2 * HOUR);
+
+    assertNull(trends.productTrend("p3", START + 2 * HOUR));
+
+    trends.record("p3", null, 4, START + 8 * DAY);
+
+    assertNull(trends.productTrend("p1", START + 8 * DAY));
+    assertNotNull(trends.productTrend("p3", START + 8 * DAY));
+  }
+}
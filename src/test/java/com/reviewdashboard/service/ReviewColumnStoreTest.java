@@ -0,0 +1,198 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reviewdashboard.model.ReviewPage;
+import com.reviewdashboard.model.StoredReview;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link ReviewColumnStore}.
+ *
+ * <ul>
+ *   <li>Stored reviews → listed per product, newest first, with their fields intact
+ *   <li>Cursors → consecutive pages cover every review once; foreign or junk cursors rejected
+ *   <li>Rating filters → only reviews within the bounds, scans capped per page
+ *   <li>User history → a user's reviews across products, newest first; none for unknown users
+ *   <li>Disabled, unknown product, review limit reached → nothing listed
+ *   <li>Paging through many products → every page listed; latency logged (at full size tagged
+ *       {@code benchmark}, run with {@code -Pbenchmark})
+ * </ul>
+ */
+public class ReviewColumnStoreTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewColumnStoreTest.class);
+
+  @Test
+  public void testListNewestFirst() {
+    ReviewColumnStore store = new ReviewColumnStore(true, 100);
+    store.append("p1", "u1", null, 4.7, "Grand café, naïve 😀 and \uD800 alone", 1_000);
+    store.append("p2", "u2", null, 1, "Other product", 2_000);
+    store.append("p1", "u3", null, 3, null, 3_000);
+
+    List<StoredReview> reviews = store.productReviews("p1", null, null, null, 10).getReviews();
+
+    assertEquals(2, reviews.size());
+    assertEquals("u3", reviews.get(0).getUserId());
+    assertNull(reviews.get(0).getComment());
+    StoredReview oldest = reviews.get(1);
+    assertEquals("p1", oldest.getProductId());
+    assertEquals("u1", oldest.getUserId());
+    assertEquals(4.7, oldest.getRating());
+    assertEquals("Grand café, naïve 😀 and ? alone", oldest.getComment());
+    assertEquals(1_000, oldest.getTimestampMillis());
+  }
+
+  @Test
+  public void testCursorPagination() {
+    ReviewColumnStore store = new ReviewColumnStore(true, 100);
+    for (int i = 0; i < 25; i++) {
+      store.append(i % 2 == 0 ? "p1" : "p2", "u" + i, null, 3, "review " + i, i);
+    }
+
+    List<String> users = new ArrayList<>();
+    ReviewPage page = store.productReviews("p1", null, null, null, 5);
+    String p2Cursor = store.productReviews("p2", null, null, null, 1).getNextCursor();
+    while (true) {
+      page.getReviews().forEach(review -> users.add(review.getUserId()));
+      if (page.getNextCursor() == null) {
+        break;
+      }
+      // Reviews arriving between pages do not shift the pages already being read.
+      store.append("p1", "late", null, 3, "late", 100);
+      page = store.productReviews("p1", page.getNextCursor(), null, null, 5);
+    }
+
+    assertEquals(13, users.size());
+    assertEquals("u24", users.get(0));
+    assertEquals("u0", users.get(12));
+    assertThrows(
+        IllegalArgumentException.class, () -> store.productReviews("p1", p2Cursor, null, null, 5));
+    assertThrows(
+        IllegalArgumentException.class, () -> store.productReviews("p1", "!!", null, null, 5));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> store.productReviews("p1", "AAAAAQAAAAA", null, null, 5));
+    assertThrows(
+        IllegalArgumentException.class, () -> store.productReviews("p1", null, 1.0, 2.0, 0));
+  }
+
+  @Test
+  public void testRatingFilter() {
+    ReviewColumnStore store = new ReviewColumnStore(true, 100_000);
+    for (int i = 0; i < 30_000; i++) {
+      store.append("p1", "u" + i, null, i == 5 ? 1 : 4.2, "review", i);
+    }
+
+    ReviewPage good = store.productReviews("p1", null, 4.2, null, 3);
+    assertEquals(3, good.getReviews().size());
+    assertEquals(4.2, good.getReviews().get(0).getRating());
+
+    // Only one bad review, near the end of the walk: pages return early with a cursor.
+    List<StoredReview> bad = new ArrayList<>();
+    int pages = 0;
+    String cursor = null;
+    do {
+      ReviewPage page = store.productReviews("p1", cursor, null, 1.5, 3);
+      bad.addAll(page.getReviews());
+      cursor = page.getNextCursor();
+      pages++;
+    } while (cursor != null);
+
+    assertEquals(1, bad.size());
+    assertEquals("u5", bad.get(0).getUserId());
+    assertEquals(3, pages);
+  }
+
+  @Test
+  public void testUserHistory() {
+    ReviewColumnStore store = new ReviewColumnStore(true, 100);
+    for (int i = 0; i < 9; i++) {
+      store.append("p" + i, i % 3 == 0 ? "u0" : "u" + i, null, i % 5 + 1, "review " + i, i);
+    }
+
+    ReviewPage first = store.userReviews("u0", null, null, null, 2);
+    assertEquals(List.of("p6", "p3"), productIds(first));
+    ReviewPage last = store.userReviews("u0", first.getNextCursor(), null, null, 2);
+    assertEquals(List.of("p0"), productIds(last));
+    assertNull(last.getNextCursor());
+    assertEquals(List.of("p3"), productIds(store.userReviews("u0", null, 4.0, null, 10)));
+
+    ReviewPage unknown = store.userReviews("nobody", null, null, null, 10);
+    assertEquals(List.of(), unknown.getReviews());
+    assertNull(unknown.getNextCursor());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> store.userReviews("u1", first.getNextCursor(), null, null, 2));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> store.userReviews("nobody", first.getNextCursor(), null, null, 2));
+  }
+
+  @Test
+  public void testNotStored() {
+    ReviewColumnStore disabled = new ReviewColumnStore(false, 100);
+    disabled.append("p1", "u1", null, 4, "first", 1);
+    assertNull(disabled.productReviews("p1", null, null, null, 10));
+
+    ReviewColumnStore limited = new ReviewColumnStore(true, 1);
+    limited.append("p1", "u1", null, 4, "first", 1);
+    limited.append("p2", "u2", null, 4, "second", 2);
+    limited.append("p1", "u3", null, 4, "x".repeat(400_000), 3);
+
+    assertEquals(1, limited.productReviews("p1", null, null, null, 10).getReviews().size());
+    assertNull(limited.productReviews("p2", null, null, null, 10));
+    assertNull(limited.productReviews(null, null, null, null, 10));
+  }
+
+  private static List<String> productIds(ReviewPage page) {
+    return page.getReviews().stream().map(StoredReview::getProductId).toList();
+  }
+
+  @Test
+  public void testPagesCoverEveryProduct() {
+    pageThrough(10_000);
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testPageLatency() {
+    pageThrough(1_000_000);
+  }
+
+  /** Lists every page of 20 products holding {@code reviews / 100} reviews each; logs latency. */
+  private static void pageThrough(int reviews) {
+    ReviewColumnStore store = new ReviewColumnStore(true, reviews);
+    for (int i = 0; i < reviews; i++) {
+      store.append("p" + (i % 100), "u" + (i % 50_000), null, i % 5 + 1, "Review number " + i, i);
+    }
+
+    int pages = 0;
+    long start = System.nanoTime();
+    for (int round = 0; round < 20; round++) {
+      String cursor = null;
+      do {
+        ReviewPage page = store.productReviews("p" + round, cursor, null, null, 50);
+        cursor = page.getNextCursor();
+        pages++;
+      } while (cursor != null);
+    }
+    long elapsed = System.nanoTime() - start;
+
+    assertEquals(20 * reviews / 100 / 50, pages);
+    if (logger.isInfoEnabled()) {
+      logger.info(
+          "Listed {} pages of 50 reviews in {} ms ({} µs per page)",
+          pages,
+          elapsed / 1_000_000,
+          elapsed / 1_000 / pages);
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.UserDto;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link ReviewEventLog}.
+ *
+ * <ul>
+ *   <li>Appended reviews → replayed in order with all fields, from any offset
+ *   <li>Small segments → rolled, replay crosses segments, old segments deleted past the limit
+ *   <li>Restart → offsets continue after the last valid record; a corrupt tail is ignored
+ *   <li>Replay concurrent with appends through the pipeline → sees a consistent prefix
+ *   <li>Append throughput (tagged {@code benchmark}, run with {@code -Pbenchmark})
+ *   <li>Disabled → nothing written
+ * </ul>
+ */
+public class ReviewEventLogTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewEventLogTest.class);
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void testAppendAndReplay() throws Exception {
+    ReviewEventLog log = open(1 << 20, 4);
+    for (int i = 0; i < 600; i++) {
+      log.onReviewSubmitted(event(i));
+    }
+    log.onBatchEnd();
+
+    List<ReviewLogEntry> all = new ArrayList<>();
+    long next = log.replay(0, Integer.MAX_VALUE, all::add);
+
+    assertEquals(600, next);
+    assertEquals(600, log.endOffset());
+    assertEquals(600, all.size());
+    ReviewLogEntry entry = all.get(42);
+    assertEquals(42, entry.getOffset());
+    assertEquals(1_000_042L, entry.getTimestampMillis());
+    assertEquals("p2", entry.getProductId());
+    assertEquals("user42", entry.getUserId());
+    assertEquals("r42", entry.getReview().getId());
+    assertEquals("Comment 42 – très bien", entry.getReview().getComment());
+    assertEquals(2.0, entry.getReview().getRating());
+    assertEquals("reviewer42", entry.getReview().getUser().getUsername());
+    assertNull(entry.getReview().getUser().getId());
+    assertEquals("c0", entry.getReview().getCompanyId());
+    assertNull(all.get(43).getReview().getCompanyId());
+
+    List<ReviewLogEntry> page = new ArrayList<>();
+    assertEquals(310, log.replay(300, 10, page::add));
+    assertEquals(300, page.get(0).getOffset());
+    assertEquals("r309", page.get(9).getReview().getId());
+  }
+
+  @Test
+  public void testRollingAndRetention() throws Exception {
+    ReviewEventLog log = open(4096, 3);
+    for (int i = 0; i < 500; i++) {
+      log.onReviewSubmitted(event(i));
+    }
+
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertEquals(3, files.count());
+    }
+    long first = log.firstOffset();
+    assertTrue(first > 0);
+    List<ReviewLogEntry> entries = new ArrayList<>();
+    assertEquals(500, log.replay(0, Integer.MAX_VALUE, entries::add));
+    assertEquals(500 - first, entries.size());
+    for (int i = 0; i < entries.size(); i++) {
+      assertEquals(first + i, entries.get(i).getOffset());
+      assertEquals("r" + (first + i), entries.get(i).getReview().getId());
+    }
+  }
+
+  @Test
+  public void testRestart_ContinuesAfterLastValidRecord() throws Exception {
+    ReviewEventLog log = open(1 << 16, 4);
+    for (int i = 0; i < 100; i++) {
+      log.onReviewSubmitted(event(i));
+    }
+    log.shutdown();
+    corruptTail();
+
+    ReviewEventLog reopened = open(1 << 16, 4);
+    assertEquals(100, reopened.endOffset());
+    reopened.onReviewSubmitted(event(100));
+
+    List<ReviewLogEntry> entries = new ArrayList<>();
+    assertEquals(101, reopened.replay(95, 100, entries::add));
+    assertEquals(6, entries.size());
+    assertEquals("r100", entries.get(5).getReview().getId());
+  }
+
+  @Test
+  public void testReplayWhileAppending() throws Exception {
+    replayWhileAppending(5_000, 16 * 1024);
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testAppend_Throughput() throws Exception {
+    int total = 200_000;
+    long elapsed = replayWhileAppending(total, 1 << 20);
+
+    logger.info(
+        "Event log appended {} reviews at {} reviews/s",
+        total,
+        String.format("%.0f", total / (elapsed / 1e9)));
+  }
+
+  /** Appends through the pipeline while replaying concurrently; returns the append nanos. */
+  private long replayWhileAppending(int total, int segmentBytes) throws Exception {
+    ReviewEventLog log = open(segmentBytes, 64);
+    ReviewPipeline pipeline = new ReviewPipeline(List.of(log), 4096, 5000);
+    pipeline.start();
+    long elapsed;
+    ReviewDto review = review(1);
+    List<Long> seen = new ArrayList<>();
+    try {
+      Thread reader =
+          new Thread(
+              () -> {
+                long offset = 0;
+                while (offset < total) {
+                  offset = log.replay(offset, 1000, entry -> seen.add(entry.getOffset()));
+                }
+              });
+      reader.start();
+      long start = System.nanoTime();
+      for (int i = 0; i < total; i++) {
+        while (!pipeline.publish("p" + (i % 10), "user1", review, review)) {
+          Thread.onSpinWait();
+        }
+      }
+      assertTrue(pipeline.awaitIdle(10_000));
+      elapsed = System.nanoTime() - start;
+      reader.join(10_000);
+      assertFalse(reader.isAlive());
+    } finally {
+      pipeline.shutdown();
+    }
+    assertEquals(total, seen.size());
+    for (int i = 0; i < total; i++) {
+      assertEquals(i, (long) seen.get(i));
+    }
+    return elapsed;
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    Path dir = tempDir.resolve("off");
+    ReviewEventLog log = new ReviewEventLog(false, dir.toString(), 4096, 4, 0, 0);
+    log.start();
+    log.onReviewSubmitted(event(0));
+
+    assertFalse(log.isEnabled());
+    assertFalse(Files.exists(dir));
+    assertEquals(0, log.replay(0, 10, entry -> {}));
+  }
+
+  private ReviewEventLog open(int segmentBytes, int maxSegments) throws IOException {
+    ReviewEventLog log =
+        new ReviewEventLog(true, tempDir.toString(), segmentBytes, maxSegments, 0, 0);
+    log.start();
+    return log;
+  }
+
+  /** Appends a torn record to the newest segment, as if the process died mid-write. */
+  private void corruptTail() throws IOException {
+    Path newest;
+    try (Stream<Path> files = Files.list(tempDir)) {
+      newest = files.sorted().reduce((a, b) -> b).orElseThrow();
+    }
+    try (FileChannel channel =
+        FileChannel.open(newest, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      long end = 0;
+      ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+      while (true) {
+        header.clear();
+        channel.read(header, end);
+        int length = header.getInt(0);
+        if (length <= 0) {
+          break;
+        }
+        end += 8 + length;
+      }
+      ByteBuffer torn = ByteBuffer.allocate(12);
+      torn.putInt(40).putInt(12345).putInt(7).flip();
+      channel.write(torn, end);
+    }
+  }
+
+  private static ReviewEvent event(int i) {
+    ReviewDto created = review(i);
+    ReviewEvent event = new ReviewEvent();
+    event.set(i, "p" + (i % 10), "user" + i, created, created, 1_000_000L + i);
+    return event;
+  }
+
+  private static ReviewDto review(int i) {
+    ReviewDto review = new ReviewDto();
+    review.setId("r" + i);
+    review.setComment("Comment " + i + " – très bien");
+    review.setRating(i % 5);
+    review.setCompanyId(i % 2 == 0 ? "c" + i % 3 : null);
+    UserDto user = new UserDto();
+    user.setUsername("reviewer" + i);
+    review.setUser(user);
+    return review;
+  }
+}
@@ -0,0 +1,256 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link ReviewExporter}.
+ *
+ * <ul>
+ *   <li>Reviews as CSV → one quoted line per review, absent fields empty
+ *   <li>Aggregates as CSV → count, average, min and max per product and per company; a decimal
+ *       rating averages to its own decimal, not its float's binary expansion
+ *   <li>Columnar → decodes back to the same reviews and aggregates across blocks
+ *   <li>Large export → streamed in a fixed buffer; throughput logged (at full size tagged {@code
+ *       benchmark}, run with {@code -Pbenchmark})
+ * </ul>
+ */
+public class ReviewExporterTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewExporterTest.class);
+
+  @Test
+  public void testReviewsCsv() throws IOException {
+    ReviewColumnStore store = new ReviewColumnStore(true, 100);
+    store.append("p1", "u1", "c1", 4.5, "Said \"great\", then ¡broke!", 1_000);
+    store.append("p,2", "u2", null, 1, null, 2_000);
+
+    assertEquals(
+        "productId,userId,companyId,rating,comment,timestampMillis\n"
+            + "p1,u1,c1,4.5,\"Said \"\"great\"\", then ¡broke!\",1000\n"
+            + "\"p,2\",u2,,1.0,,2000\n",
+        export(store, ReviewExporter.Dataset.REVIEWS, ReviewExporter.Format.CSV));
+  }
+
+  @Test
+  public void testAggregatesCsv() throws IOException {
+    ReviewColumnStore store = new ReviewColumnStore(true, 100);
+    store.append("p1", "u1", "c1", 4, "a", 1);
+    store.append("p2", "u2", "c1", 1, "b", 2);
+    store.append("p1", "u3", null, 5, "c", 3);
+
+    assertEquals(
+        "productId,count,average,min,max\np1,2,4.5,4.0,5.0\np2,1,1.0,1.0,1.0\n",
+        export(store, ReviewExporter.Dataset.PRODUCTS, ReviewExporter.Format.CSV));
+    assertEquals(
+        "companyId,count,average,min,max\nc1,2,2.5,1.0,4.0\n",
+        export(store, ReviewExporter.Dataset.COMPANIES, ReviewExporter.Format.CSV));
+  }
+
+  @Test
+  public void testAggregatesCsv_DecimalRating() throws IOException {
+    ReviewColumnStore store = new ReviewColumnStore(true, 100);
+    store.append("p1", "u1", "c1", 4.7, "a", 1);
+
+    assertEquals(
+        "productId,count,average,min,max\np1,1,4.7,4.7,4.7\n",
+        export(store, ReviewExporter.Dataset.PRODUCTS, ReviewExporter.Format.CSV));
+  }
+
+  @Test
+  public void testColumnar() throws IOException {
+    ReviewColumnStore store = new ReviewColumnStore(true, 100_000);
+    int reviews = ReviewExporter.BLOCK_ROWS * 2 + 10;
+    for (int i = 0; i < reviews; i++) {
+      String company = i % 3 == 0 ? null : "c" + i % 7;
+      String comment = i % 5 == 0 ? null : "comment " + i;
+      store.append("p" + i % 100, "u" + i, company, i % 5 + 0.5, comment, 1_000_000 - i * 3L);
+    }
+
+    List<String> decoded =
+        decodeReviews(
+            exportBytes(store, ReviewExporter.Dataset.REVIEWS, ReviewExporter.Format.COLUMNAR));
+    assertEquals(reviews, decoded.size());
+    assertEquals("p0,u0,,0.5,null,1000000", decoded.get(0));
+    assertEquals("p1,u1,c1,1.5,comment 1,999997", decoded.get(1));
+    int last = reviews - 1;
+    assertEquals(
+        String.format(
+            "p%d,u%d,c%d,%s,comment %d,%d",
+            last % 100, last, last % 7, last % 5 + 0.5, last, 1_000_000 - last * 3L),
+        decoded.get(last));
+
+    DataInputStream in =
+        input(exportBytes(store, ReviewExporter.Dataset.PRODUCTS, ReviewExporter.Format.COLUMNAR));
+    in.readInt();
+    assertEquals(ReviewExporter.Dataset.PRODUCTS.ordinal(), in.read());
+    assertEquals(100, readVarint(in));
+    assertEquals("p0", readString(in));
+  }
+
+  @Test
+  public void testLargeExport() throws IOException {
+    exportReviews(10_000);
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testExport_Throughput() throws IOException {
+    exportReviews(1_000_000);
+  }
+
+  /** Exports {@code reviews} reviews as CSV, checks the fixed buffer and logs the time taken. */
+  private static void exportReviews(int reviews) throws IOException {
+    ReviewColumnStore store = new ReviewColumnStore(true, reviews);
+    for (int i = 0; i < reviews; i++) {
+      store.append("p" + i % 1_000, "u" + i % 100_000, "c" + i % 10, i % 5 + 1, "Review " + i, i);
+    }
+    CountingStream out = new CountingStream();
+
+    long start = System.nanoTime();
+    long rows =
+        new ReviewExporter(store)
+            .export(ReviewExporter.Dataset.REVIEWS, ReviewExporter.Format.CSV, out);
+    long elapsed = System.nanoTime() - start;
+
+    assertEquals(reviews, rows);
+    assertEquals(reviews + 1, out.lines);
+    if (logger.isInfoEnabled()) {
+      logger.info(
+          "Exported {} reviews, {} bytes, in {} ms, largest write {} bytes",
+          rows,
+          out.bytes,
+          elapsed / 1_000_000,
+          out.largestWrite);
+    }
+    assertEquals(64 * 1024, out.largestWrite);
+  }
+
+  private static String export(
+      ReviewColumnStore store, ReviewExporter.Dataset dataset, ReviewExporter.Format format)
+      throws IOException {
+    return new String(exportBytes(store, dataset, format), StandardCharsets.UTF_8);
+  }
+
+  private static byte[] exportBytes(
+      ReviewColumnStore store, ReviewExporter.Dataset dataset, ReviewExporter.Format format)
+      throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new ReviewExporter(store).export(dataset, format, out);
+    return out.toByteArray();
+  }
+
+  /** Decodes a columnar review export into {@code product,user,company,rating,comment,time}. */
+  private static List<String> decodeReviews(byte[] bytes) throws IOException {
+    DataInputStream in = input(bytes);
+    assertEquals(0x52564331, in.readInt());
+    assertEquals(ReviewExporter.Dataset.REVIEWS.ordinal(), in.read());
+    List<String> products = new ArrayList<>();
+    List<String> users = new ArrayList<>();
+    List<String> companies = new ArrayList<>();
+    List<String> rows = new ArrayList<>();
+    long time = 0;
+    for (int size = (int) readVarint(in); size > 0; size = (int) readVarint(in)) {
+      for (List<String> dictionary : List.of(products, users, companies)) {
+        for (long i = readVarint(in); i > 0; i--) {
+          dictionary.add(readString(in));
+        }
+      }
+      String[][] columns = new String[6][size];
+      for (int i = 0; i < size; i++) {
+        columns[0][i] = products.get((int) readVarint(in));
+      }
+      for (int i = 0; i < size; i++) {
+        columns[1][i] = users.get((int) readVarint(in));
+      }
+      for (int i = 0; i < size; i++) {
+        int company = (int) readVarint(in);
+        columns[2][i] = company == 0 ? "" : companies.get(company - 1);
+      }
+      for (int i = 0; i < size; i++) {
+        columns[3][i] = Float.toString(in.readFloat());
+      }
+      for (int i = 0; i < size; i++) {
+        long zigzag = readVarint(in);
+        time += zigzag >>> 1 ^ -(zigzag & 1);
+        columns[5][i] = Long.toString(time);
+      }
+      int[] lengths = new int[size];
+      for (int i = 0; i < size; i++) {
+        lengths[i] = (int) readVarint(in) - 1;
+      }
+      for (int i = 0; i < size; i++) {
+        columns[4][i] =
+            lengths[i] < 0 ? "null" : new String(in.readNBytes(lengths[i]), StandardCharsets.UTF_8);
+      }
+      for (int i = 0; i < size; i++) {
+        rows.add(
+            String.join(
+                ",",
+                columns[0][i],
+                columns[1][i],
+                columns[2][i],
+                columns[3][i],
+                columns[4][i],
+                columns[5][i]));
+      }
+    }
+    assertEquals(-1, in.read());
+    return rows;
+  }
+
+  private static DataInputStream input(byte[] bytes) {
+    return new DataInputStream(new ByteArrayInputStream(bytes));
+  }
+
+  private static long readVarint(DataInputStream in) throws IOException {
+    long value = 0;
+    int shift = 0;
+    int b;
+    do {
+      b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    return new String(in.readNBytes((int) readVarint(in)), StandardCharsets.UTF_8);
+  }
+
+  /** Counts the bytes and lines written, keeping none of them. */
+  private static final class CountingStream extends OutputStream {
+    private long bytes;
+    private long lines;
+    private int largestWrite;
+
+    @Override
+    public void write(int b) {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      bytes += len;
+      largestWrite = Math.max(largestWrite, len);
+      for (int i = off; i < off + len; i++) {
+        if (b[i] == '\n') {
+          lines++;
+        }
+      }
+    }
+  }
+}
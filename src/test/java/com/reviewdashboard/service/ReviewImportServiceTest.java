@@ -0,0 +1,290 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reviewdashboard.client.UpstreamRejectedException;
+import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.ReviewImportResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link ReviewImportService}.
+ *
+ * <ul>
+ *   <li>Valid records → created as the header's user, with their key; another user → invalid
+ *   <li>Malformed, invalid or overlong records → reported as invalid, never sent upstream
+ *   <li>Near-duplicate in reject mode → invalid, unless its idempotency key is already known, in
+ *       which case the stored result is replayed
+ *   <li>Upstream unavailable with the outbox enabled → deferred
+ *   <li>Upstream failure otherwise → failed with the reason
+ *   <li>Many records → every record processed, upstream concurrency bounded by the parallelism;
+ *       throughput against a stub upstream with fixed latency is logged for a large import (tagged
+ *       {@code benchmark}, run with {@code -Pbenchmark})
+ * </ul>
+ */
+public class ReviewImportServiceTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewImportServiceTest.class);
+
+  @TempDir Path directory;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final DuplicateReviewDetector detector = new DuplicateReviewDetector("flag", 1024, 7, 5);
+  private RecordingReviewService reviewService;
+  private ReviewOutbox outbox;
+  private ReviewImportService importService;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    reviewService = new RecordingReviewService();
+    outbox = outbox(false);
+    importService = new ReviewImportService(reviewService, outbox, detector, objectMapper, 4);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    importService.shutdown();
+    outbox.shutdown();
+  }
+
+  @Test
+  public void testImport_ValidRecords() throws Exception {
+    String body =
+        "{\"productId\":\"123\",\"review\":{\"rating\":5,\"comment\":\"Great\"}}\n"
+            + "\n"
+            + "{\"productId\":\"456\",\"userId\":\"user123\",\"idempotencyKey\":\"k-1\","
+            + "\"review\":{\"rating\":3,\"comment\":\"Fine\"}}\r\n"
+            + "{\"productId\":\"789\",\"userId\":\"other\","
+            + "\"review\":{\"rating\":4,\"comment\":\"Someone else's\"}}\n";
+
+    List<ReviewImportResult> results = new ArrayList<>(importReviews(body));
+    results.sort(Comparator.comparingLong(ReviewImportResult::getLine));
+
+    assertEquals(3, results.size());
+    assertEquals(1, results.get(0).getLine());
+    assertEquals(ReviewImportResult.CREATED, results.get(0).getStatus());
+    assertEquals("r-123", results.get(0).getReviewId());
+    assertEquals(3, results.get(1).getLine());
+    assertEquals(ReviewImportResult.CREATED, results.get(1).getStatus());
+    assertEquals(ReviewImportResult.INVALID, results.get(2).getStatus());
+    assertEquals("userId must match the X-User-Id header", results.get(2).getError());
+    assertEquals(2, reviewService.calls.size());
+    assertTrue(reviewService.calls.contains("123|user123|null"));
+    assertTrue(reviewService.calls.contains("456|user123|k-1"));
+  }
+
+  @Test
+  public void testImport_InvalidRecordsNotSent() throws Exception {
+    String body =
+        "{not json\n"
+            + "{\"productId\":\"123\",\"review\":{\"rating\":9,\"comment\":\"Great\"}}\n"
+            + "{\"productId\":\"\",\"review\":{\"rating\":5,\"comment\":\"Great\"}}\n"
+            + "{\"productId\":\"123\"}\n"
+            + "{\"productId\":\"123\",\"review\":{\"rating\":5,\"comment\":\""
+            + "x".repeat(ReviewImportService.MAX_LINE_CHARS)
+            + "\"}}\n"
+            + "{\"productId\":\"123\",\"review\":{\"rating\":5,\"comment\":\"Great\"}}";
+
+    List<ReviewImportResult> results = importReviews(body);
+
+    assertEquals(6, results.size());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(ReviewImportResult.INVALID, results.get(i).getStatus());
+      assertEquals(i + 1, results.get(i).getLine());
+    }
+    assertTrue(results.get(0).getError().startsWith("Malformed record"));
+    assertEquals(
+        ReviewValidator.Violation.RATING_OUT_OF_RANGE.message(), results.get(1).getError());
+    assertEquals(ReviewValidator.Violation.BLANK_PRODUCT_ID.message(), results.get(2).getError());
+    assertEquals(ReviewValidator.Violation.MISSING_REVIEW.message(), results.get(3).getError());
+    assertEquals(ReviewImportResult.CREATED, results.get(5).getStatus());
+    assertEquals(List.of("123|user123|null"), reviewService.calls);
+  }
+
+  @Test
+  public void testImport_NearDuplicateRejectedUnlessKeyKnown() throws Exception {
+    DuplicateReviewDetector rejecting = new DuplicateReviewDetector("reject", 1024, 7, 5);
+    importService.shutdown();
+    importService = new ReviewImportService(reviewService, outbox, rejecting, objectMapper, 4);
+    String comment = "The blender arrived broken and the lid cracked on the first use";
+    String record =
+        "{\"productId\":\"123\",\"idempotencyKey\":\"k-1\","
+            + "\"review\":{\"rating\":1,\"comment\":\""
+            + comment
+            + "\"}}";
+    assertEquals(ReviewImportResult.CREATED, importReviews(record).get(0).getStatus());
+    ReviewDto review = new ReviewDto();
+    review.setRating(1);
+    review.setComment(comment);
+    ReviewEvent accepted = new ReviewEvent();
+    accepted.set(0, "123", "user123", review, null, System.currentTimeMillis());
+    rejecting.onReviewSubmitted(accepted);
+
+    ReviewImportResult resent = importReviews(record).get(0);
+    ReviewImportResult copied = importReviews(record.replace("k-1", "k-2")).get(0);
+
+    assertEquals(ReviewImportResult.CREATED, resent.getStatus());
+    assertEquals("r-123", resent.getReviewId());
+    assertEquals(ReviewImportResult.INVALID, copied.getStatus());
+    assertEquals(List.of("123|user123|k-1", "123|user123|k-1"), reviewService.calls);
+  }
+
+  @Test
+  public void testImport_UpstreamUnavailableDeferred() throws Exception {
+    outbox.shutdown();
+    outbox = outbox(true);
+    importService.shutdown();
+    importService = new ReviewImportService(reviewService, outbox, detector, objectMapper, 4);
+    reviewService.failure = new UpstreamRejectedException("Upstream overloaded");
+
+    List<ReviewImportResult> results =
+        importReviews("{\"productId\":\"123\",\"review\":{\"rating\":5,\"comment\":\"Great\"}}");
+
+    assertEquals(ReviewImportResult.DEFERRED, results.get(0).getStatus());
+    assertNull(results.get(0).getReviewId());
+    assertEquals(1, outbox.pendingCount());
+  }
+
+  @Test
+  public void testImport_UpstreamFailure() throws Exception {
+    reviewService.failure = new IllegalStateException("Service down");
+
+    List<ReviewImportResult> results =
+        importReviews("{\"productId\":\"123\",\"review\":{\"rating\":5,\"comment\":\"Great\"}}");
+
+    assertEquals(ReviewImportResult.FAILED, results.get(0).getStatus());
+    assertEquals("Service down", results.get(0).getError());
+  }
+
+  @Test
+  public void testImport_ManyRecordsBoundedConcurrency() throws Exception {
+    importMany(100);
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testImport_Throughput() throws Exception {
+    int records = 2_000;
+    long elapsed = importMany(records);
+
+    logger.info(
+        "Imported {} reviews at {} reviews/s with parallelism 4 and 200us upstream latency",
+        records,
+        String.format("%.0f", records / (elapsed / 1e9)));
+  }
+
+  /** Imports distinct records against a stub with fixed latency; returns the elapsed nanos. */
+  private long importMany(int records) throws Exception {
+    reviewService.latencyNanos = 200_000;
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i < records; i++) {
+      body.append("{\"productId\":\"")
+          .append(i)
+          .append("\",\"review\":{\"rating\":4,\"comment\":\"Review ")
+          .append(i)
+          .append("\"}}\n");
+    }
+
+    long start = System.nanoTime();
+    List<ReviewImportResult> results = importReviews(body.toString());
+    long elapsed = System.nanoTime() - start;
+
+    assertEquals(records, results.size());
+    for (int i = 0; i < records; i++) {
+      assertEquals(i + 1, results.get(i).getLine());
+      assertEquals(ReviewImportResult.CREATED, results.get(i).getStatus());
+    }
+    assertTrue(reviewService.maxInFlight.get() <= 4);
+    return elapsed;
+  }
+
+  private List<ReviewImportResult> importReviews(String body) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    importService.importReviews(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), "user123", out);
+    List<ReviewImportResult> results = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+      if (!line.isEmpty()) {
+        results.add(objectMapper.readValue(line, ReviewImportResult.class));
+      }
+    }
+    // Results are written in completion order.
+    results.sort(Comparator.comparingLong(ReviewImportResult::getLine));
+    return results;
+  }
+
+  private ReviewOutbox outbox(boolean enabled) throws Exception {
+    ReviewOutbox outbox =
+        new ReviewOutbox(
+            reviewService, enabled, directory.toString(), 1 << 20, "never", 0, 0, 1, 0);
+    outbox.start();
+    return outbox;
+  }
+
+  /** Records submissions, optionally failing or adding latency, and tracks their concurrency. */
+  private static final class RecordingReviewService extends ReviewService {
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile RuntimeException failure;
+    private volatile long latencyNanos;
+
+    private RecordingReviewService() {
+      super(null, null, null, null, null);
+    }
+
+    /** A key is known once a submission with it was made, as the idempotency store would have. */
+    @Override
+    public boolean isKnownSubmission(String productId, String userId, String idempotencyKey) {
+      return idempotencyKey != null
+          && calls.contains(productId + "|" + userId + "|" + idempotencyKey);
+    }
+
+    @Override
+    public ReviewDto addReview(String productId, ReviewDto review, String userId) {
+      return addReview(productId, review, userId, null);
+    }
+
+    @Override
+    public ReviewDto addReview(
+        String productId, ReviewDto review, String userId, String idempotencyKey) {
+      int current = inFlight.incrementAndGet();
+      maxInFlight.accumulateAndGet(current, Math::max);
+      try {
+        calls.add(productId + "|" + userId + "|" + idempotencyKey);
+        if (latencyNanos > 0) {
+          LockSupport.parkNanos(latencyNanos);
+        }
+        if (failure != null) {
+          throw failure;
+        }
+        ReviewDto created = new ReviewDto();
+        created.setId("r-" + productId);
+        created.setRating(review.getRating());
+        created.setComment(review.getComment());
+        return created;
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    }
+  }
+}
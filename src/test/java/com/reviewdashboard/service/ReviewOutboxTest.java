@@ -0,0 +1,264 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.client.UpstreamRejectedException;
+import com.reviewdashboard.client.UpstreamStatusException;
+import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.UserDto;
+import feign.Request;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ReviewOutbox}.
+ *
+ * <ul>
+ *   <li>Stored reviews survive a restart and are replayed with their idempotency key, or none
+ *   <li>Same user, product and idempotency key stored twice → kept once; other users not merged
+ *   <li>Torn tail or CRC mismatch → truncated at the last valid record
+ *   <li>Upstream still unavailable → replay pauses and backs off, never drops; rejected review →
+ *       dropped
+ *   <li>Fully delivered segments are deleted
+ *   <li>Only unavailability failures are deferrable
+ * </ul>
+ */
+public class ReviewOutboxTest {
+
+  @TempDir Path directory;
+
+  private RecordingReviewService reviewService;
+  private final List<ReviewOutbox> opened = new ArrayList<>();
+  private ReviewDto review;
+
+  @BeforeEach
+  public void setUp() {
+    reviewService = new RecordingReviewService();
+    review = new ReviewDto();
+    review.setComment("Great product!");
+    review.setRating(4.5);
+    review.setCompanyId("C1");
+    UserDto user = new UserDto();
+    user.setUsername("testuser");
+    review.setUser(user);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    opened.forEach(ReviewOutbox::shutdown);
+  }
+
+  @Test
+  public void testStore_SurvivesRestartAndReplays() throws Exception {
+    ReviewOutbox outbox = open(1 << 20);
+    outbox.store("123", review, "user123", "key-1");
+    String keyless = outbox.store("456", review, "user456", null);
+
+    ReviewOutbox recovered = open(1 << 20);
+    assertEquals(2, recovered.pendingCount());
+    assertEquals(2, recovered.replayPending());
+
+    assertEquals("123|user123|key-1", reviewService.calls.get(0));
+    assertTrue(keyless.startsWith("user456|456|"));
+    // The generated ID is local; the review is replayed without an idempotency key.
+    assertEquals("456|user456|null", reviewService.calls.get(1));
+    ReviewDto replayed = reviewService.reviews.get(0);
+    assertEquals("Great product!", replayed.getComment());
+    assertEquals(4.5, replayed.getRating());
+    assertEquals("testuser", replayed.getUser().getUsername());
+    assertEquals("C1", replayed.getCompanyId());
+    assertEquals(0, open(1 << 20).pendingCount());
+  }
+
+  @Test
+  public void testStore_DeduplicatesByIdempotencyKey() throws Exception {
+    ReviewOutbox outbox = open(1 << 20);
+
+    assertEquals("user123|123|key-1", outbox.store("123", review, "user123", "key-1"));
+    assertEquals("user123|123|key-1", outbox.store("123", review, "user123", "key-1"));
+    // Another user, or another product, reusing the key is a different review.
+    outbox.store("123", review, "user456", "key-1");
+    outbox.store("456", review, "user123", "key-1");
+
+    assertEquals(3, outbox.pendingCount());
+    assertTrue(outbox.isPending("user123|123|key-1"));
+    assertEquals(3, outbox.replayPending());
+    assertEquals("123|user456|key-1", reviewService.calls.get(1));
+  }
+
+  @Test
+  public void testRecover_TruncatesTornTail() throws Exception {
+    ReviewOutbox outbox = open(1 << 20);
+    outbox.store("123", review, "user123", "key-1");
+    Path segment = segments().get(0);
+    long validSize = Files.size(segment);
+    Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+    ReviewOutbox recovered = open(1 << 20);
+
+    assertEquals(1, recovered.pendingCount());
+    assertEquals(validSize, Files.size(segment));
+  }
+
+  @Test
+  public void testRecover_StopsAtChecksumMismatch() throws Exception {
+    ReviewOutbox outbox = open(1 << 20);
+    outbox.store("123", review, "user123", "key-1");
+    Path segment = segments().get(0);
+    long firstRecordEnd = Files.size(segment);
+    outbox.store("123", review, "user123", "key-2");
+    byte[] bytes = Files.readAllBytes(segment);
+    bytes[bytes.length - 1] ^= 0x7f;
+    Files.write(segment, bytes);
+
+    ReviewOutbox recovered = open(1 << 20);
+
+    assertEquals(1, recovered.pendingCount());
+    assertTrue(recovered.isPending("user123|123|key-1"));
+    assertEquals(firstRecordEnd, Files.size(segment));
+  }
+
+  @Test
+  public void testReplay_PausesWhileUpstreamUnavailable() throws Exception {
+    ReviewOutbox outbox = open(1 << 20);
+    outbox.store("123", review, "user123", "key-1");
+    reviewService.failure = new UpstreamRejectedException("Upstream queue is full");
+
+    assertEquals(0, outbox.replayPending());
+    assertEquals(1, outbox.pendingCount());
+
+    reviewService.failure = null;
+    assertEquals(1, outbox.replayPending());
+    assertEquals(0, outbox.pendingCount());
+  }
+
+  @Test
+  public void testReplay_LongOutageKeepsReview() throws Exception {
+    ReviewOutbox outbox = open(1 << 20);
+    outbox.store("123", review, "user123", "key-1");
+    reviewService.failure = new UpstreamRejectedException("Upstream queue is full");
+
+    for (int tick = 0; tick < 1000; tick++) {
+      assertEquals(0, outbox.replayPending());
+    }
+    assertEquals(1, outbox.pendingCount());
+
+    reviewService.failure = null;
+    assertEquals(1, outbox.replayPending());
+  }
+
+  @Test
+  public void testReplay_BacksOffWhileUpstreamUnavailable() throws Exception {
+    ReviewOutbox outbox = open(1 << 20, 60_000, 600_000);
+    outbox.store("123", review, "user123", "key-1");
+    reviewService.failure = new UpstreamRejectedException("Upstream queue is full");
+    assertEquals(0, outbox.replayPending());
+    reviewService.failure = null;
+
+    assertEquals(0, outbox.replayPending());
+    assertTrue(reviewService.calls.isEmpty());
+    assertEquals(1, outbox.pendingCount());
+  }
+
+  @Test
+  public void testReplay_DropsRejectedReview() throws Exception {
+    ReviewOutbox outbox = open(1 << 20);
+    outbox.store("123", review, "user123", "key-1");
+    reviewService.failure = new IllegalArgumentException("Invalid review");
+
+    assertEquals(0, outbox.replayPending());
+    assertEquals(0, outbox.pendingCount());
+  }
+
+  @Test
+  public void testReplay_DeletesDeliveredSegments() throws Exception {
+    ReviewOutbox outbox = open(128);
+    for (int i = 0; i < 5; i++) {
+      outbox.store("123", review, "user123", "key-" + i);
+    }
+    assertTrue(segments().size() > 1);
+
+    assertEquals(5, outbox.replayPending());
+
+    assertEquals(1, segments().size());
+    assertEquals(0, open(128).pendingCount());
+  }
+
+  @Test
+  public void testIsDeferrable() {
+    Request request =
+        Request.create(
+            Request.HttpMethod.POST, "", Collections.emptyMap(), null, StandardCharsets.UTF_8);
+
+    assertTrue(ReviewOutbox.isDeferrable(new UpstreamRejectedException("full")));
+    assertTrue(ReviewOutbox.isDeferrable(new UpstreamStatusException(503, "down", request)));
+    assertFalse(ReviewOutbox.isDeferrable(new UpstreamStatusException(400, "bad", request)));
+    assertFalse(ReviewOutbox.isDeferrable(new IllegalArgumentException("bad")));
+  }
+
+  private ReviewOutbox open(long segmentBytes) throws IOException {
+    return open(segmentBytes, 0, 0);
+  }
+
+  private ReviewOutbox open(long segmentBytes, long replayIntervalMillis, long maxBackoffMillis)
+      throws IOException {
+    ReviewOutbox outbox =
+        new ReviewOutbox(
+            reviewService,
+            true,
+            directory.toString(),
+            segmentBytes,
+            "always",
+            0,
+            replayIntervalMillis,
+            1000,
+            maxBackoffMillis);
+    outbox.start();
+    opened.add(outbox);
+    return outbox;
+  }
+
+  private List<Path> segments() throws IOException {
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "outbox-*.log")) {
+      stream.forEach(files::add);
+    }
+    files.sort(null);
+    return files;
+  }
+
+  /** Records replayed submissions, optionally failing them. */
+  private static final class RecordingReviewService extends ReviewService {
+    private final List<String> calls = new ArrayList<>();
+    private final List<ReviewDto> reviews = new ArrayList<>();
+    private RuntimeException failure;
+
+    private RecordingReviewService() {
+      super(null, null, null, null, null);
+    }
+
+    @Override
+    public ReviewDto addReview(
+        String productId, ReviewDto review, String userId, String idempotencyKey) {
+      if (failure != null) {
+        throw failure;
+      }
+      calls.add(productId + "|" + userId + "|" + idempotencyKey);
+      reviews.add(review);
+      return review;
+    }
+  }
+}
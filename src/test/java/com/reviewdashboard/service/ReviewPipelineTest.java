@@ -0,0 +1,214 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.model.ReviewDto;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link ReviewPipeline}.
+ *
+ * <ul>
+ *   <li>Every stage sees every event, in publication order, from concurrent publishers
+ *   <li>Throughput (tagged {@code benchmark}, run with {@code -Pbenchmark})
+ *   <li>A stage a full ring behind → further events dropped, publisher not blocked
+ *   <li>A failing stage → counted, the stage keeps going
+ *   <li>No stages or not started → nothing published
+ *   <li>Shutdown → published events are processed first
+ * </ul>
+ */
+public class ReviewPipelineTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewPipelineTest.class);
+
+  private final ReviewDto review = new ReviewDto();
+  private ReviewPipeline pipeline;
+
+  @AfterEach
+  public void tearDown() {
+    if (pipeline != null) {
+      pipeline.shutdown();
+    }
+  }
+
+  @Test
+  public void testPublish_FansOutInOrder() throws Exception {
+    fanOut(4, 1_000);
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testPublish_Throughput() throws Exception {
+    int events = 4 * 50_000;
+    long elapsed = fanOut(4, 50_000);
+
+    logger.info(
+        "Pipeline moved {} events to 2 stages at {} events/s",
+        events,
+        String.format("%.0f", events / (elapsed / 1e9)));
+  }
+
+  /** Publishes concurrently to two stages, checks order and returns the elapsed nanos. */
+  private long fanOut(int publishers, int perPublisher) throws Exception {
+    RecordingListener first = new RecordingListener("first");
+    RecordingListener second = new RecordingListener("second");
+    pipeline = new ReviewPipeline(List.of(first, second), 64, 1000);
+    pipeline.start();
+
+    List<Thread> threads = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int p = 0; p < publishers; p++) {
+      String userId = "user" + p;
+      Thread thread =
+          new Thread(
+              () -> {
+                for (int i = 0; i < perPublisher; i++) {
+                  while (!pipeline.publish(String.valueOf(i), userId, review, null)) {
+                    Thread.onSpinWait();
+                  }
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(pipeline.awaitIdle(10_000));
+    long elapsed = System.nanoTime() - start;
+
+    for (RecordingListener listener : List.of(first, second)) {
+      assertEquals(publishers * perPublisher, listener.count);
+      assertTrue(listener.inOrder);
+      for (int p = 0; p < publishers; p++) {
+        // Each publisher's events keep their relative order.
+        assertEquals(perPublisher - 1, listener.lastProductByUser[p]);
+      }
+    }
+    return elapsed;
+  }
+
+  @Test
+  public void testPublish_SlowStageDropsInsteadOfBlocking() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    ReviewSubmissionListener blocked =
+        event -> {
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    pipeline = new ReviewPipeline(List.of(blocked), 4, 1000);
+    pipeline.start();
+
+    int accepted = 0;
+    for (int i = 0; i < 10; i++) {
+      if (pipeline.publish("123", "user123", review, null)) {
+        accepted++;
+      }
+    }
+
+    // The stage holds its slot until it returns, so the ring fills after four events.
+    assertEquals(4, accepted);
+    release.countDown();
+    assertTrue(pipeline.awaitIdle(5_000));
+    assertEquals(0, pipeline.backlog());
+    assertTrue(pipeline.publish("123", "user123", review, null));
+  }
+
+  @Test
+  public void testPublish_FailingStageContinues() throws Exception {
+    RecordingListener recorder = new RecordingListener("recorder");
+    ReviewSubmissionListener failing =
+        event -> {
+          if (event.getSequence() % 2 == 0) {
+            throw new IllegalStateException("boom");
+          }
+          recorder.onReviewSubmitted(event);
+        };
+    pipeline = new ReviewPipeline(List.of(failing), 16, 1000);
+    pipeline.start();
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(pipeline.publish(String.valueOf(i), "user0", review, null));
+    }
+
+    assertTrue(pipeline.awaitIdle(5_000));
+    assertEquals(5, recorder.count);
+  }
+
+  @Test
+  public void testPublish_NotRunning() {
+    pipeline = new ReviewPipeline(List.of(), 16, 1000);
+    pipeline.start();
+    assertFalse(pipeline.publish("123", "user123", review, null));
+
+    ReviewPipeline stopped = new ReviewPipeline(List.of(new RecordingListener("r")), 16, 1000);
+    assertFalse(stopped.publish("123", "user123", review, null));
+  }
+
+  @Test
+  public void testShutdown_DrainsPublishedEvents() {
+    RecordingListener listener = new RecordingListener("slow");
+    listener.delayNanos = TimeUnit.MICROSECONDS.toNanos(200);
+    pipeline = new ReviewPipeline(List.of(listener), 128, 5000);
+    pipeline.start();
+    for (int i = 0; i < 100; i++) {
+      assertTrue(pipeline.publish(String.valueOf(i), "user0", review, null));
+    }
+
+    pipeline.shutdown();
+
+    assertEquals(100, listener.count);
+    assertFalse(pipeline.publish("123", "user0", review, null));
+  }
+
+  /** Counts events and checks that sequences and per-user order are preserved. */
+  private static final class RecordingListener implements ReviewSubmissionListener {
+    private final String name;
+    private final long[] lastProductByUser = {-1, -1, -1, -1};
+    private volatile int count;
+    private volatile boolean inOrder = true;
+    private long lastSequence = -1;
+    private long delayNanos;
+
+    private RecordingListener(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void onReviewSubmitted(ReviewEvent event) {
+      if (event.getSequence() != lastSequence + 1) {
+        inOrder = false;
+      }
+      lastSequence = event.getSequence();
+      int user = event.getUserId().charAt(event.getUserId().length() - 1) - '0';
+      long product = Long.parseLong(event.getProductId());
+      if (product <= lastProductByUser[user]) {
+        inOrder = false;
+      }
+      lastProductByUser[user] = product;
+      if (delayNanos > 0) {
+        LockSupport.parkNanos(delayNanos);
+      }
+      count++;
+    }
+
+    @Override
+    public String stageName() {
+      return name;
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.model.ReviewSearchHit;
+import com.reviewdashboard.model.ReviewSearchResult;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link ReviewSearchIndex}.
+ *
+ * <ul>
+ *   <li>Words → every word must occur, case-insensitively; best matches first
+ *   <li>Quoted phrases → words must be adjacent and in order
+ *   <li>Product filter, pagination → only that product's reviews, pages of the ranking
+ *   <li>No words, page too deep, unknown word, document limit → rejected or empty
+ *   <li>Searching while indexing → only whole reviews seen; indexing throughput logged (at full
+ *       size tagged {@code benchmark}, run with {@code -Pbenchmark})
+ * </ul>
+ */
+public class ReviewSearchIndexTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReviewSearchIndexTest.class);
+
+  @Test
+  public void testTermsAndRanking() {
+    ReviewSearchIndex index = new ReviewSearchIndex(true, 100);
+    index.index("p1", "u1", 1, "Arrived broken, asked for a refund.", 1_000);
+    index.index("p1", "u2", 2, "Refund refund REFUND!", 2_000);
+    index.index("p2", "u3", 5, "Works great, no need for a refund", 3_000);
+    index.index("p2", "u4", 4, "Great value", 4_000);
+
+    ReviewSearchResult refund = index.search("refund", null, 0, 10);
+    assertEquals(3, refund.getTotal());
+    ReviewSearchHit best = refund.getHits().get(0);
+    assertEquals("u2", best.getUserId());
+    assertEquals("p1", best.getProductId());
+    assertEquals(2.0, best.getRating());
+    assertEquals("Refund refund REFUND!", best.getComment());
+    assertEquals(2_000, best.getTimestampMillis());
+    assertTrue(best.getScore() > refund.getHits().get(1).getScore());
+
+    ReviewSearchResult both = index.search("Great REFUND", null, 0, 10);
+    assertEquals(1, both.getTotal());
+    assertEquals("u3", both.getHits().get(0).getUserId());
+  }
+
+  @Test
+  public void testPhrases() {
+    ReviewSearchIndex index = new ReviewSearchIndex(true, 100);
+    index.index("p1", "u1", 1, "The screen arrived broken", 1_000);
+    index.index("p1", "u2", 2, "Broken on arrival, the screen arrived late", 2_000);
+    index.index("p1", "u3", 3, "very very good", 3_000);
+
+    ReviewSearchResult phrase = index.search("\"arrived broken\"", null, 0, 10);
+    assertEquals(1, phrase.getTotal());
+    assertEquals("u1", phrase.getHits().get(0).getUserId());
+
+    assertEquals(2, index.search("arrived broken", null, 0, 10).getTotal());
+    assertEquals(1, index.search("\"very very good\"", null, 0, 10).getTotal());
+    assertEquals(0, index.search("screen \"very very\"", null, 0, 10).getTotal());
+    assertEquals(1, index.search("\"very good", null, 0, 10).getTotal());
+    assertEquals(0, index.search("\"good very\"", null, 0, 10).getTotal());
+  }
+
+  @Test
+  public void testProductFilterAndPagination() {
+    ReviewSearchIndex index = new ReviewSearchIndex(true, 100);
+    for (int i = 0; i < 25; i++) {
+      index.index(i % 2 == 0 ? "p1" : "p2", "u" + i, 3, "decent battery life", i);
+    }
+
+    ReviewSearchResult p1 = index.search("battery", "p1", 0, 10);
+    assertEquals(13, p1.getTotal());
+    assertEquals(10, p1.getHits().size());
+    assertTrue(p1.getHits().stream().allMatch(hit -> hit.getProductId().equals("p1")));
+    // Equal scores are ordered newest first.
+    assertEquals("u24", p1.getHits().get(0).getUserId());
+
+    ReviewSearchResult last = index.search("battery", "p1", 1, 10);
+    assertEquals(3, last.getHits().size());
+    assertEquals("u4", last.getHits().get(0).getUserId());
+    assertEquals(0, index.search("battery", "p3", 0, 10).getTotal());
+  }
+
+  @Test
+  public void testRejectedAndEmpty() {
+    ReviewSearchIndex index = new ReviewSearchIndex(true, 2);
+    index.index("p1", "u1", 3, "first", 1);
+    index.index("p1", "u2", 3, "second " + "x".repeat(100), 2);
+    index.index("p1", "u3", 3, "third", 3);
+    index.index("p1", "u4", 3, "!!!", 4);
+
+    assertThrows(IllegalArgumentException.class, () -> index.search(" ?! ", null, 0, 10));
+    assertThrows(IllegalArgumentException.class, () -> index.search(null, null, 0, 10));
+    assertThrows(IllegalArgumentException.class, () -> index.search("first", null, 100, 100));
+    assertThrows(IllegalArgumentException.class, () -> index.search("first", null, -1, 10));
+    // (page + 1) * size overflows an int here; it must still be rejected, not wrap around.
+    assertThrows(
+        IllegalArgumentException.class, () -> index.search("first", null, Integer.MAX_VALUE, 20));
+    assertEquals(0, index.search("third", null, 0, 10).getTotal());
+    assertEquals(0, index.search("x".repeat(100), null, 0, 10).getTotal());
+    assertEquals(1, index.search("second", null, 0, 10).getTotal());
+    assertEquals(List.of(), index.search("missing", null, 0, 10).getHits());
+
+    ReviewSearchIndex disabled = new ReviewSearchIndex(false, 100);
+    disabled.index("p1", "u1", 3, "first", 1);
+    assertEquals(0, disabled.search("first", null, 0, 10).getTotal());
+  }
+
+  @Test
+  public void testSearchWhileIndexing() throws Exception {
+    searchWhileIndexing(6_400);
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testIndex_Throughput() throws Exception {
+    searchWhileIndexing(200_000);
+  }
+
+  /** Indexes {@code reviews} (a multiple of 64) while searching; logs indexing throughput. */
+  private static void searchWhileIndexing(int reviews) throws Exception {
+    ReviewSearchIndex index = new ReviewSearchIndex(true, 1_000_000);
+    String[] words = {"broken", "refund", "great", "battery", "screen", "late", "value", "quiet"};
+    AtomicReference<String> failure = new AtomicReference<>();
+    Thread reader =
+        new Thread(
+            () -> {
+              long previous = 0;
+              while (previous < reviews / 2) {
+                // Every review contains "review", so the total only ever grows.
+                long total = index.search("review \"number\"", null, 0, 5).getTotal();
+                if (total < previous) {
+                  failure.set("total went from " + previous + " to " + total);
+                  return;
+                }
+                previous = total;
+              }
+            });
+    reader.start();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < reviews; i++) {
+      String comment =
+          "Review number "
+              + i
+              + ": "
+              + words[i % words.length]
+              + " and "
+              + words[(i / 8) % words.length];
+      index.index("p" + (i % 1_000), "u" + i, i % 5 + 1, comment, i);
+    }
+    long elapsed = System.nanoTime() - start;
+    reader.join(60_000);
+
+    assertEquals(null, failure.get());
+    assertEquals(reviews, index.search("review", null, 0, 1).getTotal());
+    assertEquals(reviews / 64, index.search("\"broken and broken\"", null, 0, 1).getTotal());
+    if (logger.isInfoEnabled()) {
+      logger.info(
+          "Indexed {} reviews in {} ms ({} reviews/s)",
+          reviews,
+          elapsed / 1_000_000,
+          reviews * 1_000_000_000L / Math.max(1, elapsed));
+    }
+  }
+}
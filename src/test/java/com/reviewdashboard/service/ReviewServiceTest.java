@@ -1,19 +1,28 @@
 package com.reviewdashboard.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.reviewdashboard.client.ProductClient;
 import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.SentimentScore;
 import com.reviewdashboard.model.UserDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
@@ -25,17 +34,26 @@ import org.springframework.http.ResponseEntity;
  * <ul>
  *   <li>addReview(String, ReviewDto)
  *       <ul>
- *         <li>Valid product ID and review → returns created ReviewDto
+ *         <li>Valid product ID and review → returns created ReviewDto with its sentiment and
+ *             publishes it
  *         <li>Invalid product ID → throws IllegalArgumentException
  *         <li>Invalid review → throws IllegalArgumentException
  *         <li>Unexpected client error → throws RuntimeException
  *       </ul>
+ *   <li>addReview(String, ReviewDto, String, String)
+ *       <ul>
+ *         <li>Same idempotency key twice → posts and publishes once, replays stored review; the key
+ *             is known only for the same user and product
+ *         <li>Idempotency key too long → throws IllegalArgumentException
+ *       </ul>
  *   <li>getAverageRating(String)
  *       <ul>
  *         <li>Valid product ID with ratings → returns ResponseEntity with rating
  *         <li>Valid product ID with no ratings → returns ResponseEntity with null
  *         <li>Invalid product ID → throws IllegalArgumentException
  *         <li>Unexpected client error → throws RuntimeException
+ *         <li>Review added after the first read → reflected locally without another upstream call
+ *         <li>First review of a product without ratings → its rating becomes the average
  *       </ul>
  * </ul>
  */
@@ -43,6 +61,12 @@ import org.springframework.http.ResponseEntity;
 public class ReviewServiceTest {
 
   @Mock private ProductClient productClient;
+  @Mock private ReviewPipeline pipeline;
+  @Mock private SentimentScorer sentimentScorer;
+
+  @Spy
+  private ProductRatingAggregates ratingAggregates =
+      new ProductRatingAggregates(true, 60_000, 1000, null, null);
 
   @InjectMocks private ReviewService reviewService;
 
@@ -70,16 +94,21 @@ public class ReviewServiceTest {
   /**
    * Scenario: Valid product ID and valid review.
    *
-   * <p>Expects: addReview returns the created ReviewDto as returned by the client.
+   * <p>Expects: addReview returns the created ReviewDto as returned by the client, with the locally
+   * scored sentiment of the comment attached.
    */
   @Test
   public void testAddReview_Valid() {
+    SentimentScore sentiment = new SentimentScore(0.6, SentimentScore.POSITIVE, 1);
     when(productClient.postReview(anyString(), any(ReviewDto.class), anyString()))
         .thenReturn(review);
+    when(sentimentScorer.score("Great product!")).thenReturn(sentiment);
 
     ReviewDto result = reviewService.addReview("123", review, "user123");
 
     assertEquals(review, result);
+    assertEquals(sentiment, result.getSentiment());
+    verify(pipeline).publish("123", "user123", review, review);
   }
 
   /**
@@ -95,6 +124,7 @@ public class ReviewServiceTest {
     assertThrows(
         IllegalArgumentException.class,
         () -> reviewService.addReview("invalid", review, "user123"));
+    verify(pipeline, never()).publish(anyString(), anyString(), any(), any());
   }
 
   /**
@@ -126,6 +156,60 @@ public class ReviewServiceTest {
     assertThrows(RuntimeException.class, () -> reviewService.addReview("123", review, "user123"));
   }
 
+  /**
+   * Scenario: The same review is submitted twice with the same idempotency key.
+   *
+   * <p>Expects: the review is posted upstream once and both calls return the created review.
+   */
+  @Test
+  public void testAddReview_IdempotencyKeyReplaysResult() {
+    ReviewService keyedService =
+        new ReviewService(
+            productClient,
+            new IdempotencyStore(60_000, 100),
+            pipeline,
+            sentimentScorer,
+            ratingAggregates);
+    when(productClient.postReview(anyString(), any(ReviewDto.class), anyString(), eq("key-1")))
+        .thenReturn(review);
+
+    assertFalse(keyedService.isKnownSubmission("123", "user123", "key-1"));
+    ReviewDto first = keyedService.addReview("123", review, "user123", "key-1");
+    assertTrue(keyedService.isKnownSubmission("123", "user123", "key-1"));
+    assertFalse(keyedService.isKnownSubmission("123", "other", "key-1"));
+    assertFalse(keyedService.isKnownSubmission("123", "user123", null));
+    ReviewDto second = keyedService.addReview("123", review, "user123", "key-1");
+
+    assertEquals(review, first);
+    assertEquals(review, second);
+    verify(productClient, times(1))
+        .postReview(anyString(), any(ReviewDto.class), anyString(), eq("key-1"));
+    verify(pipeline, times(1)).publish("123", "user123", review, review);
+  }
+
+  /**
+   * Scenario: The idempotency key exceeds the maximum length.
+   *
+   * <p>Expects: addReview throws IllegalArgumentException without calling the client.
+   */
+  @Test
+  public void testAddReview_IdempotencyKeyTooLong() {
+    ReviewService keyedService =
+        new ReviewService(
+            productClient,
+            new IdempotencyStore(60_000, 100),
+            pipeline,
+            sentimentScorer,
+            ratingAggregates);
+    String key = "k".repeat(ReviewService.MAX_IDEMPOTENCY_KEY_LENGTH + 1);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> keyedService.addReview("123", review, "user123", key));
+    verify(productClient, never())
+        .postReview(anyString(), any(ReviewDto.class), anyString(), anyString());
+  }
+
   // ---------------- getAverageRating tests ----------------
 
   /**
@@ -185,4 +269,46 @@ public class ReviewServiceTest {
 
     assertThrows(RuntimeException.class, () -> reviewService.getAverageRating("123", "user123"));
   }
+
+  /**
+   * Scenario: A review is added after the average was read.
+   *
+   * <p>Expects: without an upstream review count the upstream average is returned unchanged and the
+   * new rating is reported beside it, without calling the client again.
+   */
+  @Test
+  public void testGetAverageRating_ReflectsOwnReview() {
+    when(productClient.getAverageRating("456", "user123")).thenReturn(ResponseEntity.ok(4.0));
+    when(productClient.postReview(anyString(), any(ReviewDto.class), anyString()))
+        .thenReturn(review);
+
+    assertEquals(4.0, reviewService.getAverageRating("456", "user123").getBody());
+    reviewService.addReview("456", review, "user123");
+
+    ResponseEntity<Double> response = reviewService.getAverageRating("456", "user123");
+    assertEquals(4.0, response.getBody());
+    assertEquals(
+        "1", response.getHeaders().getFirst(ProductRatingAggregates.LOCAL_REVIEW_COUNT_HEADER));
+    assertEquals(
+        "5.0", response.getHeaders().getFirst(ProductRatingAggregates.LOCAL_AVERAGE_HEADER));
+    verify(productClient, times(1)).getAverageRating("456", "user123");
+    verify(ratingAggregates, atLeastOnce()).record("456", 5.0);
+  }
+
+  /**
+   * Scenario: The first review of a product that had no ratings.
+   *
+   * <p>Expects: the next read returns exactly that rating.
+   */
+  @Test
+  public void testGetAverageRating_FirstReview() {
+    when(productClient.getAverageRating("456", "user123")).thenReturn(ResponseEntity.ok(null));
+    when(productClient.postReview(anyString(), any(ReviewDto.class), anyString()))
+        .thenReturn(review);
+
+    assertEquals(null, reviewService.getAverageRating("456", "user123").getBody());
+    reviewService.addReview("456", review, "user123");
+
+    assertEquals(5.0, reviewService.getAverageRating("456", "user123").getBody());
+  }
 }
@@ -0,0 +1,96 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.UserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ReviewValidator}.
+ *
+ * <ul>
+ *   <li>Valid review, including rating boundaries and missing user → no violation
+ *   <li>Null review, blank product ID → MISSING_REVIEW, BLANK_PRODUCT_ID
+ *   <li>Rating below 0, above 5 or NaN → RATING_OUT_OF_RANGE
+ *   <li>Null, blank or overlong comment → BLANK_COMMENT, COMMENT_TOO_LONG
+ *   <li>User with neither id nor username → BLANK_USER
+ * </ul>
+ */
+public class ReviewValidatorTest {
+
+  private ReviewDto review;
+
+  @BeforeEach
+  public void setUp() {
+    review = new ReviewDto();
+    review.setComment("Great product!");
+    review.setRating(5);
+    UserDto user = new UserDto();
+    user.setUsername("testuser");
+    review.setUser(user);
+  }
+
+  @Test
+  public void testValidate_ValidReview() {
+    assertNull(ReviewValidator.validate("123", review));
+
+    review.setRating(0);
+    review.setUser(null);
+    assertNull(ReviewValidator.validate("123", review));
+
+    review.setComment("a".repeat(ReviewValidator.MAX_COMMENT_LENGTH));
+    assertNull(ReviewValidator.validate("123", review));
+  }
+
+  @Test
+  public void testValidate_MissingReviewOrProduct() {
+    assertEquals(ReviewValidator.Violation.MISSING_REVIEW, ReviewValidator.validate("123", null));
+    assertEquals(ReviewValidator.Violation.BLANK_PRODUCT_ID, ReviewValidator.validate(" ", review));
+  }
+
+  @Test
+  public void testValidate_RatingOutOfRange() {
+    review.setRating(-0.5);
+    assertEquals(
+        ReviewValidator.Violation.RATING_OUT_OF_RANGE, ReviewValidator.validate("123", review));
+
+    review.setRating(5.5);
+    assertEquals(
+        ReviewValidator.Violation.RATING_OUT_OF_RANGE, ReviewValidator.validate("123", review));
+
+    review.setRating(Double.NaN);
+    assertEquals(
+        ReviewValidator.Violation.RATING_OUT_OF_RANGE, ReviewValidator.validate("123", review));
+  }
+
+  @Test
+  public void testValidate_InvalidComment() {
+    review.setComment(null);
+    assertEquals(ReviewValidator.Violation.BLANK_COMMENT, ReviewValidator.validate("123", review));
+
+    review.setComment("   ");
+    assertEquals(ReviewValidator.Violation.BLANK_COMMENT, ReviewValidator.validate("123", review));
+
+    review.setComment("a".repeat(ReviewValidator.MAX_COMMENT_LENGTH + 1));
+    assertEquals(
+        ReviewValidator.Violation.COMMENT_TOO_LONG, ReviewValidator.validate("123", review));
+  }
+
+  @Test
+  public void testValidate_BlankUser() {
+    review.setUser(new UserDto());
+    assertEquals(ReviewValidator.Violation.BLANK_USER, ReviewValidator.validate("123", review));
+  }
+
+  @Test
+  public void testViolation_Messages() {
+    assertEquals(
+        "Rating must be between 0 and 5", ReviewValidator.Violation.RATING_OUT_OF_RANGE.message());
+    assertEquals(
+        "Comment must be at most 5000 characters",
+        ReviewValidator.Violation.COMMENT_TOO_LONG.message());
+  }
+}
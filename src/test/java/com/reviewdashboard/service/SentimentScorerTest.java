@@ -0,0 +1,149 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.model.SentimentScore;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for {@link SentimentScorer}.
+ *
+ * <ul>
+ *   <li>Bundled lexicon → positive, negative and neutral comments labelled accordingly
+ *   <li>Negator within the window → weight flipped and dampened; a sentence end stops it
+ *   <li>Phrases → matched across case and punctuation, replacing the shorter terms they cover
+ *   <li>Whole words only → no matches inside longer words
+ *   <li>Configured lexicon file → used instead of the bundled one; malformed → rejected
+ *   <li>Batch over the limit → rejected
+ *   <li>Scoring throughput (tagged {@code benchmark}, run with {@code -Pbenchmark})
+ * </ul>
+ */
+public class SentimentScorerTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(SentimentScorerTest.class);
+
+  @TempDir Path tempDir;
+
+  private final SentimentScorer scorer = new SentimentScorer("", 3, 1000);
+
+  @Test
+  public void testScore_BundledLexicon() {
+    assertEquals(SentimentScore.POSITIVE, scorer.score("Excellent blender, I love it.").getLabel());
+    assertEquals(SentimentScore.NEGATIVE, scorer.score("Terrible. Broke after a week!").getLabel());
+    SentimentScore neutral = scorer.score("Arrived on Tuesday in a box");
+    assertEquals(SentimentScore.NEUTRAL, neutral.getLabel());
+    assertEquals(0, neutral.getMatches());
+    assertEquals(SentimentScore.NEUTRAL, scorer.score(null).getLabel());
+  }
+
+  @Test
+  public void testScore_Negation() throws Exception {
+    SentimentScorer custom = scorer(3, "good\t2", "not\tNEGATE");
+
+    double plain = custom.score("it is good").getScore();
+    double negated = custom.score("it is not good").getScore();
+    double negatedLater = custom.score("not all that good").getScore();
+    double outOfWindow = custom.score("not what I expected but good").getScore();
+    double otherSentence = custom.score("Not bad. Good").getScore();
+
+    assertTrue(plain > 0);
+    assertEquals(-score(2 * -SentimentScorer.NEGATION_SCALAR), negated, 1e-9);
+    assertTrue(negatedLater < 0);
+    assertEquals(plain, outOfWindow, 1e-9);
+    assertEquals(plain, otherSentence, 1e-9);
+  }
+
+  @Test
+  public void testScore_Phrases() throws Exception {
+    SentimentScorer custom = scorer(3, "works\t1", "works great\t3", "waste of money\t-3");
+
+    SentimentScore phrase = custom.score("It WORKS... great!");
+    SentimentScore negative = custom.score("A total waste-of-money");
+
+    assertEquals(score(3), phrase.getScore(), 1e-9);
+    assertEquals(1, phrase.getMatches());
+    assertEquals(score(-3), negative.getScore(), 1e-9);
+  }
+
+  @Test
+  public void testScore_WholeWordsOnly() throws Exception {
+    SentimentScorer custom = scorer(3, "good\t2", "bad\t-2");
+
+    assertEquals(0, custom.score("goodness, badminton and a goody bag").getMatches());
+    assertEquals(2, custom.score("good-bad").getMatches());
+  }
+
+  @Test
+  public void testLexicon_Invalid() throws Exception {
+    Path file = tempDir.resolve("bad.tsv");
+    Files.writeString(file, "good\tvery\n", StandardCharsets.UTF_8);
+
+    assertThrows(IllegalArgumentException.class, () -> new SentimentScorer(file.toString(), 3, 10));
+  }
+
+  @Test
+  public void testScoreAll() {
+    SentimentScorer small = new SentimentScorer("", 3, 2);
+
+    List<SentimentScore> scores = small.scoreAll(List.of("great", "awful"));
+
+    assertEquals(SentimentScore.POSITIVE, scores.get(0).getLabel());
+    assertEquals(SentimentScore.NEGATIVE, scores.get(1).getLabel());
+    assertThrows(IllegalArgumentException.class, () -> small.scoreAll(List.of("a", "b", "c")));
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testScore_Throughput() {
+    String text =
+        "the blender is great but not very quiet and lid leaks works fine for smoothies would"
+            + " recommend terrible support okay";
+    String[] words = text.split(" ");
+    List<String> comments = new ArrayList<>();
+    for (int i = 0; i < 20_000; i++) {
+      StringBuilder comment = new StringBuilder();
+      for (int w = 0; w < 40; w++) {
+        comment.append(words[(i * 7 + w * 13) % words.length]).append(w % 9 == 8 ? ". " : " ");
+      }
+      comments.add(comment.toString());
+    }
+    for (String comment : comments) {
+      scorer.score(comment);
+    }
+
+    long start = System.nanoTime();
+    double checksum = 0;
+    for (String comment : comments) {
+      checksum += scorer.score(comment).getScore();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    logger.info(
+        "Scored {} comments at {} comments/s (checksum {})",
+        comments.size(),
+        String.format("%.0f", comments.size() / (elapsed / 1e9)),
+        String.format("%.3f", checksum));
+    assertTrue(Double.isFinite(checksum));
+  }
+
+  private SentimentScorer scorer(int negationWindow, String... lines) throws Exception {
+    Path file = tempDir.resolve("lexicon.tsv");
+    Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+    return new SentimentScorer(file.toString(), negationWindow, 1000);
+  }
+
+  private static double score(double sum) {
+    return sum / Math.sqrt(sum * sum + 15);
+  }
+}
@@ -0,0 +1,105 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.model.TrendingProduct;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TrendingProducts}.
+ *
+ * <ul>
+ *   <li>Few hot products among thousands reviewed once → ranked first, estimates within bounds
+ *   <li>Older burst vs. newer steady reviews → older reviews count less as they age
+ *   <li>Many half-lives pass → counters rescaled, estimates stay finite
+ *   <li>No reviews, limit above size → empty list, at most size products
+ * </ul>
+ */
+public class TrendingProductsTest {
+
+  private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+  private static final long START = 1_700_438_400_000L;
+
+  @Test
+  public void testHeavyHittersAmongNoise() {
+    TrendingProducts trending = new TrendingProducts(true, 256, 4, 5, 60);
+    int[] hot = {500, 300, 200};
+    int noise = 0;
+    for (int i = 0; i < 500; i++) {
+      for (int p = 0; p < hot.length; p++) {
+        if (i < hot[p]) {
+          trending.record("hot-" + p, START);
+        }
+      }
+      for (int n = 0; n < 4; n++) {
+        trending.record("noise-" + noise++, START);
+      }
+    }
+
+    List<TrendingProduct> top = trending.top(3, START);
+
+    assertEquals(3, top.size());
+    double total = 1000 + noise;
+    for (int p = 0; p < hot.length; p++) {
+      TrendingProduct product = top.get(p);
+      assertEquals("hot-" + p, product.getProductId());
+      assertEquals(Math.E / 256 * total, product.getErrorBound(), 1e-9);
+      assertTrue(product.getEstimatedCount() >= hot[p]);
+      assertTrue(product.getEstimatedCount() - hot[p] <= product.getErrorBound());
+    }
+  }
+
+  @Test
+  public void testDecay() {
+    TrendingProducts trending = new TrendingProducts(true, 4096, 4, 10, 60);
+    for (int i = 0; i < 100; i++) {
+      trending.record("burst", START);
+    }
+    trending.record("steady", START + HOUR);
+    assertEquals("burst", trending.top(1, START + HOUR).get(0).getProductId());
+    for (int i = 0; i < 29; i++) {
+      trending.record("steady", START + 2 * HOUR);
+    }
+
+    List<TrendingProduct> top = trending.top(2, START + 2 * HOUR);
+    assertEquals("steady", top.get(0).getProductId());
+    assertEquals(29.5, top.get(0).getEstimatedCount(), 1e-9);
+    assertEquals(25, top.get(1).getEstimatedCount(), 1e-9);
+    assertEquals(54.5, trending.decayedTotal(START + 2 * HOUR), 1e-9);
+  }
+
+  @Test
+  public void testRescale() {
+    TrendingProducts trending = new TrendingProducts(true, 4096, 4, 10, 60);
+    trending.record("old", START);
+    trending.record("new", START + 70 * HOUR);
+    trending.record("new", START + 70 * HOUR);
+
+    List<TrendingProduct> top = trending.top(2, START + 71 * HOUR);
+
+    assertEquals("new", top.get(0).getProductId());
+    assertEquals(1.0, top.get(0).getEstimatedCount(), 1e-9);
+    assertEquals(Math.pow(2, -71), top.get(1).getEstimatedCount(), 1e-30);
+  }
+
+  @Test
+  public void testLimits() {
+    TrendingProducts trending = new TrendingProducts(true, 64, 2, 2, 60);
+    assertTrue(trending.top(5, START).isEmpty());
+
+    trending.record("a", START);
+    trending.record("b", START);
+    trending.record("c", START);
+    trending.record("c", START);
+
+    assertEquals(2, trending.top(5, START).size());
+    assertEquals("c", trending.top(1, START).get(0).getProductId());
+
+    TrendingProducts disabled = new TrendingProducts(false, 64, 2, 2, 60);
+    disabled.record("a", START);
+    assertTrue(disabled.top(5, START).isEmpty());
+  }
+}
@@ -0,0 +1,198 @@
+package com.reviewdashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reviewdashboard.client.UpstreamRejectedException;
+import com.reviewdashboard.model.ReviewDto;
+import com.reviewdashboard.model.ReviewSubmissionStatus;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link WriteBehindReviewQueue}.
+ *
+ * <ul>
+ *   <li>Disabled → nothing is accepted
+ *   <li>Accepted review without a key → flushed upstream without an idempotency key
+ *   <li>Upstream failure → status FAILED with the reason
+ *   <li>Upstream unavailable with the outbox enabled → status DEFERRED, review stored
+ *   <li>Full queue → submission refused
+ *   <li>Shutdown → queued reviews are delivered before it returns
+ *   <li>Status lookup by another user → not found
+ * </ul>
+ */
+public class WriteBehindReviewQueueTest {
+
+  @TempDir Path directory;
+
+  private RecordingReviewService reviewService;
+  private ReviewOutbox outbox;
+  private WriteBehindReviewQueue queue;
+  private ReviewDto review;
+
+  @BeforeEach
+  public void setUp() {
+    reviewService = new RecordingReviewService();
+    outbox =
+        new ReviewOutbox(reviewService, false, directory.toString(), 1 << 20, "never", 0, 0, 1, 0);
+    review = new ReviewDto();
+    review.setComment("Great product!");
+    review.setRating(5);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (queue != null) {
+      reviewService.release.countDown();
+      queue.shutdown();
+    }
+    outbox.shutdown();
+  }
+
+  @Test
+  public void testSubmit_Disabled() {
+    queue = new WriteBehindReviewQueue(reviewService, outbox, false, 10, 1, 1, 10, 1000);
+    queue.start();
+
+    assertFalse(queue.isEnabled());
+    assertNull(queue.submit("123", review, "user123", null));
+  }
+
+  @Test
+  public void testSubmit_FlushesUpstream() throws Exception {
+    reviewService.release.countDown();
+    queue = new WriteBehindReviewQueue(reviewService, outbox, true, 10, 2, 4, 10, 1000);
+    queue.start();
+
+    ReviewSubmissionStatus accepted = queue.submit("123", review, "user123", null);
+
+    assertEquals(ReviewSubmissionStatus.PENDING, accepted.getStatus());
+    ReviewSubmissionStatus done = awaitCompletion(accepted.getTrackingId(), "user123");
+    assertEquals(ReviewSubmissionStatus.SUBMITTED, done.getStatus());
+    assertEquals(review, done.getReview());
+    assertEquals(Collections.singletonList(null), reviewService.keys);
+  }
+
+  @Test
+  public void testSubmit_UpstreamFailure() throws Exception {
+    reviewService.release.countDown();
+    reviewService.failure = new IllegalStateException("Service down");
+    queue = new WriteBehindReviewQueue(reviewService, outbox, true, 10, 1, 1, 10, 1000);
+    queue.start();
+
+    ReviewSubmissionStatus accepted = queue.submit("123", review, "user123", "key-1");
+
+    ReviewSubmissionStatus done = awaitCompletion(accepted.getTrackingId(), "user123");
+    assertEquals(ReviewSubmissionStatus.FAILED, done.getStatus());
+    assertEquals("Service down", done.getError());
+    assertEquals(List.of("key-1"), reviewService.keys);
+  }
+
+  @Test
+  public void testSubmit_UpstreamUnavailableDefersToOutbox() throws Exception {
+    reviewService.release.countDown();
+    reviewService.failure = new UpstreamRejectedException("Upstream queue is full");
+    outbox =
+        new ReviewOutbox(reviewService, true, directory.toString(), 1 << 20, "never", 0, 0, 1, 0);
+    outbox.start();
+    queue = new WriteBehindReviewQueue(reviewService, outbox, true, 10, 1, 1, 10, 1000);
+    queue.start();
+
+    ReviewSubmissionStatus accepted = queue.submit("123", review, "user123", "key-1");
+
+    ReviewSubmissionStatus done = awaitCompletion(accepted.getTrackingId(), "user123");
+    assertEquals(ReviewSubmissionStatus.DEFERRED, done.getStatus());
+    assertTrue(outbox.isPending("user123|123|key-1"));
+  }
+
+  @Test
+  public void testSubmit_QueueFull() throws Exception {
+    queue = new WriteBehindReviewQueue(reviewService, outbox, true, 1, 1, 1, 10, 1000);
+    queue.start();
+
+    assertNotNull(queue.submit("123", review, "user123", null));
+    assertTrue(reviewService.started.await(5, TimeUnit.SECONDS));
+    assertNotNull(queue.submit("123", review, "user123", null));
+
+    assertNull(queue.submit("123", review, "user123", null));
+    assertEquals(1, queue.queueDepth());
+  }
+
+  @Test
+  public void testShutdown_DrainsQueue() throws Exception {
+    queue = new WriteBehindReviewQueue(reviewService, outbox, true, 10, 1, 1, 10, 5000);
+    queue.start();
+    String first = queue.submit("123", review, "user123", null).getTrackingId();
+    String second = queue.submit("123", review, "user123", null).getTrackingId();
+    assertTrue(reviewService.started.await(5, TimeUnit.SECONDS));
+
+    reviewService.release.countDown();
+    queue.shutdown();
+
+    assertEquals(ReviewSubmissionStatus.SUBMITTED, queue.status(first, "user123").getStatus());
+    assertEquals(ReviewSubmissionStatus.SUBMITTED, queue.status(second, "user123").getStatus());
+    assertNull(queue.submit("123", review, "user123", null));
+  }
+
+  @Test
+  public void testStatus_OtherUser() {
+    queue = new WriteBehindReviewQueue(reviewService, outbox, true, 10, 1, 1, 10, 1000);
+    queue.start();
+    String trackingId = queue.submit("123", review, "user123", null).getTrackingId();
+
+    assertNull(queue.status(trackingId, "someone-else"));
+    assertNull(queue.status("unknown", "user123"));
+  }
+
+  private ReviewSubmissionStatus awaitCompletion(String trackingId, String userId)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    ReviewSubmissionStatus status = queue.status(trackingId, userId);
+    while (ReviewSubmissionStatus.PENDING.equals(status.getStatus())
+        && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+      status = queue.status(trackingId, userId);
+    }
+    return status;
+  }
+
+  /** Records keyed submissions and blocks each one until {@link #release} opens. */
+  private static final class RecordingReviewService extends ReviewService {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> keys = new CopyOnWriteArrayList<>();
+    private volatile RuntimeException failure;
+
+    private RecordingReviewService() {
+      super(null, null, null, null, null);
+    }
+
+    @Override
+    public ReviewDto addReview(
+        String productId, ReviewDto review, String userId, String idempotencyKey) {
+      keys.add(idempotencyKey);
+      started.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      return review;
+    }
+  }
+}